@@ -0,0 +1,144 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.arrow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.LogicalTypeAnnotation.DateLogicalTypeAnnotation;
+import org.apache.parquet.schema.LogicalTypeAnnotation.DecimalLogicalTypeAnnotation;
+import org.apache.parquet.schema.LogicalTypeAnnotation.EnumLogicalTypeAnnotation;
+import org.apache.parquet.schema.LogicalTypeAnnotation.IntLogicalTypeAnnotation;
+import org.apache.parquet.schema.LogicalTypeAnnotation.JsonLogicalTypeAnnotation;
+import org.apache.parquet.schema.LogicalTypeAnnotation.StringLogicalTypeAnnotation;
+import org.apache.parquet.schema.LogicalTypeAnnotation.TimeLogicalTypeAnnotation;
+import org.apache.parquet.schema.LogicalTypeAnnotation.TimestampLogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+import org.apache.parquet.schema.Type.Repetition;
+
+import com.jerolba.carpet.RecordTypeConversionException;
+
+/**
+ * Maps a flat Parquet schema to the equivalent Arrow schema. Each column is
+ * mapped to an Arrow field with the same name, nullable if the column is
+ * optional.
+ */
+class ArrowReadSchema {
+
+    private static final int MAX_DECIMAL128_PRECISION = 38;
+
+    private ArrowReadSchema() {
+    }
+
+    static Schema toArrowSchema(MessageType schema) {
+        List<Field> fields = new ArrayList<>();
+        for (Type type : schema.getFields()) {
+            if (!type.isPrimitive() || type.isRepetition(Repetition.REPEATED)) {
+                throw new RecordTypeConversionException(
+                        "Nested or repeated column '" + type.getName() + "' is not supported");
+            }
+            PrimitiveType primitive = type.asPrimitiveType();
+            boolean nullable = primitive.isRepetition(Repetition.OPTIONAL);
+            fields.add(new Field(type.getName(), new FieldType(nullable, arrowType(primitive), null), null));
+        }
+        return new Schema(fields);
+    }
+
+    private static ArrowType arrowType(PrimitiveType type) {
+        LogicalTypeAnnotation logicalType = type.getLogicalTypeAnnotation();
+        if (logicalType instanceof DecimalLogicalTypeAnnotation decimal) {
+            int precision = decimal.getPrecision();
+            return new ArrowType.Decimal(precision, decimal.getScale(),
+                    precision <= MAX_DECIMAL128_PRECISION ? 128 : 256);
+        }
+        return switch (type.getPrimitiveTypeName()) {
+        case BOOLEAN -> ArrowType.Bool.INSTANCE;
+        case INT32 -> int32Type(type, logicalType);
+        case INT64 -> int64Type(type, logicalType);
+        case FLOAT -> new ArrowType.FloatingPoint(FloatingPointPrecision.SINGLE);
+        case DOUBLE -> new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+        case BINARY -> {
+            if (logicalType instanceof StringLogicalTypeAnnotation
+                    || logicalType instanceof EnumLogicalTypeAnnotation
+                    || logicalType instanceof JsonLogicalTypeAnnotation) {
+                yield ArrowType.Utf8.INSTANCE;
+            }
+            yield ArrowType.Binary.INSTANCE;
+        }
+        case FIXED_LEN_BYTE_ARRAY -> new ArrowType.FixedSizeBinary(type.getTypeLength());
+        case INT96 -> throw unsupported(type);
+        };
+    }
+
+    private static ArrowType int32Type(PrimitiveType type, LogicalTypeAnnotation logicalType) {
+        if (logicalType == null) {
+            return new ArrowType.Int(32, true);
+        }
+        if (logicalType instanceof IntLogicalTypeAnnotation intType && intType.isSigned()) {
+            return new ArrowType.Int(intType.getBitWidth(), true);
+        }
+        if (logicalType instanceof DateLogicalTypeAnnotation) {
+            return new ArrowType.Date(DateUnit.DAY);
+        }
+        if (logicalType instanceof TimeLogicalTypeAnnotation time
+                && time.getUnit() == LogicalTypeAnnotation.TimeUnit.MILLIS) {
+            return new ArrowType.Time(TimeUnit.MILLISECOND, 32);
+        }
+        throw unsupported(type);
+    }
+
+    private static ArrowType int64Type(PrimitiveType type, LogicalTypeAnnotation logicalType) {
+        if (logicalType == null) {
+            return new ArrowType.Int(64, true);
+        }
+        if (logicalType instanceof IntLogicalTypeAnnotation intType && intType.isSigned()) {
+            return new ArrowType.Int(64, true);
+        }
+        if (logicalType instanceof TimestampLogicalTypeAnnotation timestamp) {
+            return new ArrowType.Timestamp(arrowTimeUnit(timestamp.getUnit()),
+                    timestamp.isAdjustedToUTC() ? "UTC" : null);
+        }
+        if (logicalType instanceof TimeLogicalTypeAnnotation time
+                && time.getUnit() != LogicalTypeAnnotation.TimeUnit.MILLIS) {
+            return new ArrowType.Time(arrowTimeUnit(time.getUnit()), 64);
+        }
+        throw unsupported(type);
+    }
+
+    private static TimeUnit arrowTimeUnit(LogicalTypeAnnotation.TimeUnit unit) {
+        return switch (unit) {
+        case MILLIS -> TimeUnit.MILLISECOND;
+        case MICROS -> TimeUnit.MICROSECOND;
+        case NANOS -> TimeUnit.NANOSECOND;
+        };
+    }
+
+    private static RecordTypeConversionException unsupported(PrimitiveType type) {
+        return new RecordTypeConversionException("Column '" + type.getName() + "' of type " + type
+                + " can not be read as Arrow vector");
+    }
+
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.arrow;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.apache.arrow.memory.ArrowBuf;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.FieldVector;
+
+/**
+ * Cursor over the rows of a VectorSchemaRoot. The writer moves it through all
+ * rows of each written batch and the write model reads the values of the
+ * current row directly from the vectors, without creating an object per row.
+ */
+public final class ArrowRow {
+
+    private FieldVector[] vectors;
+    private ByteBuffer[] dataBuffers;
+    private int index;
+
+    ArrowRow() {
+    }
+
+    void reset(List<FieldVector> fieldVectors) {
+        this.vectors = fieldVectors.toArray(FieldVector[]::new);
+        this.dataBuffers = new ByteBuffer[vectors.length];
+        for (int i = 0; i < vectors.length; i++) {
+            if (vectors[i] instanceof BaseVariableWidthVector) {
+                ArrowBuf data = vectors[i].getDataBuffer();
+                dataBuffers[i] = data.nioBuffer(0, (int) data.capacity());
+            }
+        }
+        this.index = 0;
+    }
+
+    void moveTo(int index) {
+        this.index = index;
+    }
+
+    FieldVector vector(int column) {
+        return vectors[column];
+    }
+
+    /**
+     * @param column index of a variable width column
+     * @return a view of the data buffer of the column vector
+     */
+    ByteBuffer dataBuffer(int column) {
+        return dataBuffers[column];
+    }
+
+    int index() {
+        return index;
+    }
+
+}
@@ -0,0 +1,262 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.arrow;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.Decimal256Vector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.FixedSizeBinaryVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TimeMicroVector;
+import org.apache.arrow.vector.TimeMilliVector;
+import org.apache.arrow.vector.TimeNanoVector;
+import org.apache.arrow.vector.TimeStampVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.Converter;
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.io.api.RecordMaterializer;
+
+/**
+ * Materializes each Parquet record as a row of a VectorSchemaRoot. Converters
+ * set the values directly in the vectors at the current row, without creating
+ * intermediate objects. Values not set by a converter are null.
+ */
+class ArrowVectorMaterializer extends RecordMaterializer<Integer> {
+
+    private final RowConverter root;
+    private int row;
+
+    ArrowVectorMaterializer(VectorSchemaRoot vectorSchemaRoot) {
+        this.root = new RowConverter(vectorSchemaRoot.getFieldVectors());
+    }
+
+    void moveTo(int row) {
+        this.row = row;
+    }
+
+    @Override
+    public Integer getCurrentRecord() {
+        return row;
+    }
+
+    @Override
+    public GroupConverter getRootConverter() {
+        return root;
+    }
+
+    private class RowConverter extends GroupConverter {
+
+        private final Converter[] converters;
+
+        RowConverter(List<FieldVector> vectors) {
+            this.converters = new Converter[vectors.size()];
+            for (int i = 0; i < converters.length; i++) {
+                converters[i] = converterFor(vectors.get(i));
+            }
+        }
+
+        @Override
+        public Converter getConverter(int fieldIndex) {
+            return converters[fieldIndex];
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void end() {
+        }
+
+    }
+
+    private Converter converterFor(FieldVector vector) {
+        if (vector instanceof BitVector bits) {
+            return new PrimitiveConverter() {
+                @Override
+                public void addBoolean(boolean value) {
+                    bits.setSafe(row, value ? 1 : 0);
+                }
+            };
+        }
+        if (vector instanceof TinyIntVector tinyInts) {
+            return new PrimitiveConverter() {
+                @Override
+                public void addInt(int value) {
+                    tinyInts.setSafe(row, value);
+                }
+            };
+        }
+        if (vector instanceof SmallIntVector smallInts) {
+            return new PrimitiveConverter() {
+                @Override
+                public void addInt(int value) {
+                    smallInts.setSafe(row, value);
+                }
+            };
+        }
+        if (vector instanceof IntVector ints) {
+            return new PrimitiveConverter() {
+                @Override
+                public void addInt(int value) {
+                    ints.setSafe(row, value);
+                }
+            };
+        }
+        if (vector instanceof DateDayVector days) {
+            return new PrimitiveConverter() {
+                @Override
+                public void addInt(int value) {
+                    days.setSafe(row, value);
+                }
+            };
+        }
+        if (vector instanceof TimeMilliVector millis) {
+            return new PrimitiveConverter() {
+                @Override
+                public void addInt(int value) {
+                    millis.setSafe(row, value);
+                }
+            };
+        }
+        if (vector instanceof BigIntVector longs) {
+            return new PrimitiveConverter() {
+                @Override
+                public void addLong(long value) {
+                    longs.setSafe(row, value);
+                }
+            };
+        }
+        if (vector instanceof TimeStampVector timestamps) {
+            return new PrimitiveConverter() {
+                @Override
+                public void addLong(long value) {
+                    timestamps.setSafe(row, value);
+                }
+            };
+        }
+        if (vector instanceof TimeMicroVector micros) {
+            return new PrimitiveConverter() {
+                @Override
+                public void addLong(long value) {
+                    micros.setSafe(row, value);
+                }
+            };
+        }
+        if (vector instanceof TimeNanoVector nanos) {
+            return new PrimitiveConverter() {
+                @Override
+                public void addLong(long value) {
+                    nanos.setSafe(row, value);
+                }
+            };
+        }
+        if (vector instanceof Float4Vector floats) {
+            return new PrimitiveConverter() {
+                @Override
+                public void addFloat(float value) {
+                    floats.setSafe(row, value);
+                }
+            };
+        }
+        if (vector instanceof Float8Vector doubles) {
+            return new PrimitiveConverter() {
+                @Override
+                public void addDouble(double value) {
+                    doubles.setSafe(row, value);
+                }
+            };
+        }
+        if (vector instanceof VarCharVector strings) {
+            return new PrimitiveConverter() {
+                @Override
+                public void addBinary(Binary value) {
+                    ByteBuffer buffer = value.toByteBuffer();
+                    strings.setSafe(row, buffer, buffer.position(), buffer.remaining());
+                }
+            };
+        }
+        if (vector instanceof VarBinaryVector binaries) {
+            return new PrimitiveConverter() {
+                @Override
+                public void addBinary(Binary value) {
+                    ByteBuffer buffer = value.toByteBuffer();
+                    binaries.setSafe(row, buffer, buffer.position(), buffer.remaining());
+                }
+            };
+        }
+        if (vector instanceof FixedSizeBinaryVector fixed) {
+            return new PrimitiveConverter() {
+                @Override
+                public void addBinary(Binary value) {
+                    fixed.setSafe(row, value.getBytes());
+                }
+            };
+        }
+        if (vector instanceof DecimalVector decimals) {
+            return new PrimitiveConverter() {
+                @Override
+                public void addInt(int value) {
+                    decimals.setSafe(row, value);
+                }
+
+                @Override
+                public void addLong(long value) {
+                    decimals.setSafe(row, value);
+                }
+
+                @Override
+                public void addBinary(Binary value) {
+                    decimals.setBigEndianSafe(row, value.getBytes());
+                }
+            };
+        }
+        if (vector instanceof Decimal256Vector decimals) {
+            return new PrimitiveConverter() {
+                @Override
+                public void addInt(int value) {
+                    decimals.setSafe(row, value);
+                }
+
+                @Override
+                public void addLong(long value) {
+                    decimals.setSafe(row, value);
+                }
+
+                @Override
+                public void addBinary(Binary value) {
+                    decimals.setBigEndianSafe(row, value.getBytes());
+                }
+            };
+        }
+        throw new IllegalStateException("Unexpected vector type " + vector.getClass().getName());
+    }
+
+}
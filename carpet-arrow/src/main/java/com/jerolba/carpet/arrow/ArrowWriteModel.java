@@ -0,0 +1,293 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.arrow;
+
+import static com.jerolba.carpet.model.FieldTypes.BIG_DECIMAL;
+import static com.jerolba.carpet.model.FieldTypes.BINARY;
+import static com.jerolba.carpet.model.FieldTypes.BOOLEAN;
+import static com.jerolba.carpet.model.FieldTypes.BYTE;
+import static com.jerolba.carpet.model.FieldTypes.DOUBLE;
+import static com.jerolba.carpet.model.FieldTypes.FLOAT;
+import static com.jerolba.carpet.model.FieldTypes.INSTANT;
+import static com.jerolba.carpet.model.FieldTypes.INTEGER;
+import static com.jerolba.carpet.model.FieldTypes.LOCAL_DATE;
+import static com.jerolba.carpet.model.FieldTypes.LOCAL_DATE_TIME;
+import static com.jerolba.carpet.model.FieldTypes.LOCAL_TIME;
+import static com.jerolba.carpet.model.FieldTypes.LONG;
+import static com.jerolba.carpet.model.FieldTypes.SHORT;
+import static com.jerolba.carpet.model.FieldTypes.writeRecordModel;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DateMilliVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TimeMicroVector;
+import org.apache.arrow.vector.TimeMilliVector;
+import org.apache.arrow.vector.TimeNanoVector;
+import org.apache.arrow.vector.TimeSecVector;
+import org.apache.arrow.vector.TimeStampVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.parquet.io.api.Binary;
+
+import com.jerolba.carpet.RecordTypeConversionException;
+import com.jerolba.carpet.TimeUnit;
+import com.jerolba.carpet.model.FieldType;
+import com.jerolba.carpet.model.ToBooleanFunction;
+import com.jerolba.carpet.model.ToByteFunction;
+import com.jerolba.carpet.model.ToFloatFunction;
+import com.jerolba.carpet.model.ToShortFunction;
+import com.jerolba.carpet.model.WriteRecordModelType;
+
+/**
+ * Builds the write model of an Arrow schema. Each Arrow field is mapped to a
+ * Parquet column with the same name, and its value is read from the vector of
+ * the current row of an {@link ArrowRow}.
+ *
+ * Fixed width fields are written from their physical value with primitive
+ * accessors, checking the validity of nullable fields, without boxing or
+ * creating temporal objects. Dates are converted to epoch days, and times and
+ * timestamps to the time unit of the file. Decimals with a precision up to 18
+ * are written from their unscaled value, and larger ones as BigDecimal.
+ * Variable width values are written from the data buffer of the vector without
+ * copying them. Only flat schemas are supported.
+ */
+class ArrowWriteModel {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final int MAX_LONG_PRECISION = 18;
+
+    private ArrowWriteModel() {
+    }
+
+    /**
+     * Builds the write model of an Arrow schema
+     *
+     * @param schema   Arrow schema
+     * @param timeUnit time unit of the time and timestamp columns of the file
+     * @return the write model of rows of the schema
+     */
+    static WriteRecordModelType<ArrowRow> fromSchema(Schema schema, TimeUnit timeUnit) {
+        WriteRecordModelType<ArrowRow> model = writeRecordModel(ArrowRow.class);
+        List<Field> fields = schema.getFields();
+        for (int i = 0; i < fields.size(); i++) {
+            addField(model, fields.get(i), i, timeUnit);
+        }
+        return model;
+    }
+
+    /**
+     * Returns the finest time unit used by the time and timestamp fields of the
+     * schema, or null if the schema has no time fields.
+     *
+     * @param schema Arrow schema
+     * @return the time unit to write time fields without losing precision
+     */
+    static TimeUnit timeUnit(Schema schema) {
+        TimeUnit unit = null;
+        for (Field field : schema.getFields()) {
+            org.apache.arrow.vector.types.TimeUnit arrowUnit = null;
+            if (field.getType() instanceof ArrowType.Timestamp timestamp) {
+                arrowUnit = timestamp.getUnit();
+            } else if (field.getType() instanceof ArrowType.Time time) {
+                arrowUnit = time.getUnit();
+            }
+            if (arrowUnit != null) {
+                TimeUnit fieldUnit = switch (arrowUnit) {
+                case SECOND, MILLISECOND -> TimeUnit.MILLIS;
+                case MICROSECOND -> TimeUnit.MICROS;
+                case NANOSECOND -> TimeUnit.NANOS;
+                };
+                if (unit == null || fieldUnit.compareTo(unit) > 0) {
+                    unit = fieldUnit;
+                }
+            }
+        }
+        return unit;
+    }
+
+    private static void addField(WriteRecordModelType<ArrowRow> model, Field field, int column, TimeUnit timeUnit) {
+        if (!field.getChildren().isEmpty()) {
+            throw new RecordTypeConversionException("Nested Arrow field '" + field.getName() + "' is not supported");
+        }
+        String name = field.getName();
+        boolean notNull = !field.isNullable();
+        ArrowType type = field.getType();
+        switch (type.getTypeID()) {
+        case Int -> addInt(model, name, notNull, (ArrowType.Int) type, column);
+        case FloatingPoint -> addFloatingPoint(model, name, notNull, (ArrowType.FloatingPoint) type, column);
+        case Bool -> addPrimitive(model, name, notNull ? BOOLEAN.notNull() : BOOLEAN, column,
+                (ToBooleanFunction<ArrowRow>) row -> vector(row, column, BitVector.class).get(row.index()) != 0);
+        case Utf8 -> addBinary(model, name, notNull ? BINARY.asString().notNull() : BINARY.asString(), column);
+        case Binary -> addBinary(model, name, notNull ? BINARY.notNull() : BINARY, column);
+        case Decimal -> addDecimal(model, name, notNull, (ArrowType.Decimal) type, column);
+        case Date -> addDate(model, name, notNull, (ArrowType.Date) type, column);
+        case Time -> addTime(model, name, notNull, (ArrowType.Time) type, column, timeUnit);
+        case Timestamp -> addTimestamp(model, name, notNull, (ArrowType.Timestamp) type, column, timeUnit);
+        default -> throw new RecordTypeConversionException(
+                "Arrow type " + type + " of field '" + name + "' is not supported");
+        }
+    }
+
+    private static void addInt(WriteRecordModelType<ArrowRow> model, String name, boolean notNull,
+            ArrowType.Int type, int column) {
+        if (!type.getIsSigned()) {
+            throw new RecordTypeConversionException("Unsigned Arrow type of field '" + name + "' is not supported");
+        }
+        switch (type.getBitWidth()) {
+        case 8 -> addPrimitive(model, name, notNull ? BYTE.notNull() : BYTE, column,
+                (ToByteFunction<ArrowRow>) row -> vector(row, column, TinyIntVector.class).get(row.index()));
+        case 16 -> addPrimitive(model, name, notNull ? SHORT.notNull() : SHORT, column,
+                (ToShortFunction<ArrowRow>) row -> vector(row, column, SmallIntVector.class).get(row.index()));
+        case 32 -> addPrimitive(model, name, notNull ? INTEGER.notNull() : INTEGER, column,
+                (ToIntFunction<ArrowRow>) row -> vector(row, column, IntVector.class).get(row.index()));
+        default -> addPrimitive(model, name, notNull ? LONG.notNull() : LONG, column,
+                (ToLongFunction<ArrowRow>) row -> vector(row, column, BigIntVector.class).get(row.index()));
+        }
+    }
+
+    private static void addFloatingPoint(WriteRecordModelType<ArrowRow> model, String name, boolean notNull,
+            ArrowType.FloatingPoint type, int column) {
+        if (type.getPrecision() == FloatingPointPrecision.SINGLE) {
+            addPrimitive(model, name, notNull ? FLOAT.notNull() : FLOAT, column,
+                    (ToFloatFunction<ArrowRow>) row -> vector(row, column, Float4Vector.class).get(row.index()));
+        } else if (type.getPrecision() == FloatingPointPrecision.DOUBLE) {
+            addPrimitive(model, name, notNull ? DOUBLE.notNull() : DOUBLE, column,
+                    (ToDoubleFunction<ArrowRow>) row -> vector(row, column, Float8Vector.class).get(row.index()));
+        } else {
+            throw new RecordTypeConversionException("Half float Arrow type of field '" + name + "' is not supported");
+        }
+    }
+
+    private static void addBinary(WriteRecordModelType<ArrowRow> model, String name, FieldType type, int column) {
+        // The data buffer is reused by the next batches: Parquet copies the values it keeps
+        model.withField(name, type, row -> {
+            var vector = vector(row, column, BaseVariableWidthVector.class);
+            int index = row.index();
+            if (vector.isNull(index)) {
+                return null;
+            }
+            int start = vector.getStartOffset(index);
+            return Binary.fromReusedByteBuffer(row.dataBuffer(column), start, vector.getEndOffset(index) - start);
+        });
+    }
+
+    private static void addDecimal(WriteRecordModelType<ArrowRow> model, String name, boolean notNull,
+            ArrowType.Decimal type, int column) {
+        var decimalType = BIG_DECIMAL.withPrecisionScale(type.getPrecision(), type.getScale());
+        if (type.getPrecision() <= MAX_LONG_PRECISION) {
+            // Little endian two's complement: the low 8 bytes hold the unscaled value
+            long width = type.getBitWidth() / 8;
+            addPrimitive(model, name, notNull ? decimalType.notNull() : decimalType, column,
+                    (ToLongFunction<ArrowRow>) row -> row.vector(column).getDataBuffer().getLong(row.index() * width));
+        } else {
+            model.withField(name, notNull ? decimalType.notNull() : decimalType, row -> {
+                FieldVector vector = row.vector(column);
+                return vector.isNull(row.index()) ? null : vector.getObject(row.index());
+            });
+        }
+    }
+
+    private static void addDate(WriteRecordModelType<ArrowRow> model, String name, boolean notNull,
+            ArrowType.Date type, int column) {
+        ToIntFunction<ArrowRow> accessor = switch (type.getUnit()) {
+        case DAY -> row -> vector(row, column, DateDayVector.class).get(row.index());
+        case MILLISECOND -> row -> (int) Math.floorDiv(vector(row, column, DateMilliVector.class).get(row.index()),
+                MILLIS_PER_DAY);
+        };
+        addPrimitive(model, name, notNull ? LOCAL_DATE.notNull() : LOCAL_DATE, column, accessor);
+    }
+
+    private static void addTime(WriteRecordModelType<ArrowRow> model, String name, boolean notNull,
+            ArrowType.Time type, int column, TimeUnit timeUnit) {
+        long from = unitsPerSecond(type.getUnit());
+        long to = unitsPerSecond(timeUnit);
+        ToLongFunction<ArrowRow> accessor = switch (type.getUnit()) {
+        case SECOND -> row -> rescale(vector(row, column, TimeSecVector.class).get(row.index()), from, to);
+        case MILLISECOND -> row -> rescale(vector(row, column, TimeMilliVector.class).get(row.index()), from, to);
+        case MICROSECOND -> row -> rescale(vector(row, column, TimeMicroVector.class).get(row.index()), from, to);
+        case NANOSECOND -> row -> rescale(vector(row, column, TimeNanoVector.class).get(row.index()), from, to);
+        };
+        addPrimitive(model, name, notNull ? LOCAL_TIME.notNull() : LOCAL_TIME, column, accessor);
+    }
+
+    private static void addTimestamp(WriteRecordModelType<ArrowRow> model, String name, boolean notNull,
+            ArrowType.Timestamp type, int column, TimeUnit timeUnit) {
+        long from = unitsPerSecond(type.getUnit());
+        long to = unitsPerSecond(timeUnit);
+        FieldType fieldType;
+        if (type.getTimezone() != null) {
+            fieldType = notNull ? INSTANT.notNull() : INSTANT;
+        } else {
+            fieldType = notNull ? LOCAL_DATE_TIME.notNull() : LOCAL_DATE_TIME;
+        }
+        addPrimitive(model, name, fieldType, column,
+                (ToLongFunction<ArrowRow>) row -> rescale(vector(row, column, TimeStampVector.class).get(row.index()),
+                        from, to));
+    }
+
+    private static void addPrimitive(WriteRecordModelType<ArrowRow> model, String name, FieldType type,
+            int column, Object accessor) {
+        if (type.isNotNull()) {
+            model.withPrimitiveField(name, type, accessor);
+        } else {
+            model.withPrimitiveField(name, type, accessor, row -> row.vector(column).isNull(row.index()));
+        }
+    }
+
+    private static long unitsPerSecond(org.apache.arrow.vector.types.TimeUnit unit) {
+        return switch (unit) {
+        case SECOND -> 1L;
+        case MILLISECOND -> 1_000L;
+        case MICROSECOND -> 1_000_000L;
+        case NANOSECOND -> 1_000_000_000L;
+        };
+    }
+
+    private static long unitsPerSecond(TimeUnit unit) {
+        return switch (unit) {
+        case MILLIS -> 1_000L;
+        case MICROS -> 1_000_000L;
+        case NANOS -> 1_000_000_000L;
+        };
+    }
+
+    private static long rescale(long value, long fromUnitsPerSecond, long toUnitsPerSecond) {
+        if (toUnitsPerSecond >= fromUnitsPerSecond) {
+            return value * (toUnitsPerSecond / fromUnitsPerSecond);
+        }
+        return Math.floorDiv(value, fromUnitsPerSecond / toUnitsPerSecond);
+    }
+
+    private static <V extends FieldVector> V vector(ArrowRow row, int column, Class<V> vectorClass) {
+        return vectorClass.cast(row.vector(column));
+    }
+
+}
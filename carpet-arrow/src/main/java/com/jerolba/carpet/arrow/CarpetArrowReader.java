@@ -0,0 +1,208 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.arrow;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.conf.PlainParquetConfiguration;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.MessageColumnIO;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.schema.MessageType;
+
+import com.jerolba.carpet.FieldMatchingStrategy;
+import com.jerolba.carpet.impl.read.ColumnToFieldMapper;
+import com.jerolba.carpet.impl.read.SchemaFilter;
+import com.jerolba.carpet.impl.read.SchemaValidation;
+
+/**
+ * Reads a Parquet file into batches of Arrow vectors. Following Arrow readers
+ * convention, all batches are loaded in the same {@link VectorSchemaRoot},
+ * which is owned by the reader and is valid until the next call to
+ * {@link #loadNextBatch()}.
+ *
+ * <pre>{@code
+ * try (var reader = CarpetArrowReader.builder(inputFile, allocator).build()) {
+ *     VectorSchemaRoot root = reader.getVectorSchemaRoot();
+ *     while (reader.loadNextBatch()) {
+ *         process(root);
+ *     }
+ * }
+ * }</pre>
+ *
+ * Only flat schemas are supported. Reading can be restricted to the columns of
+ * a record class, with the same projection used reading records.
+ */
+public class CarpetArrowReader implements Closeable {
+
+    public static final int DEFAULT_BATCH_SIZE = 64 * 1024;
+
+    private final ParquetFileReader fileReader;
+    private final MessageColumnIO columnIO;
+    private final VectorSchemaRoot root;
+    private final ArrowVectorMaterializer materializer;
+    private final int batchSize;
+    private RecordReader<Integer> recordReader;
+    private long pendingRowGroupRows = 0;
+
+    /**
+     * Constructs a CarpetArrowReader that reads all columns of the specified
+     * InputFile.
+     *
+     * @param inputFile The input file to read from.
+     * @param allocator The allocator of the Arrow vectors.
+     * @throws IOException If an I/O error occurs while opening the file.
+     */
+    public CarpetArrowReader(InputFile inputFile, BufferAllocator allocator) throws IOException {
+        this(inputFile, allocator, null, DEFAULT_BATCH_SIZE);
+    }
+
+    private CarpetArrowReader(InputFile inputFile, BufferAllocator allocator, Class<?> projection, int batchSize)
+            throws IOException {
+        ParquetReadOptions readOptions = ParquetReadOptions.builder(new PlainParquetConfiguration()).build();
+        this.fileReader = ParquetFileReader.open(inputFile, readOptions);
+        try {
+            MessageType fileSchema = fileReader.getFileMetaData().getSchema();
+            MessageType requestedSchema = projection == null ? fileSchema : project(projection, fileSchema);
+            fileReader.setRequestedSchema(requestedSchema);
+            this.columnIO = new ColumnIOFactory().getColumnIO(requestedSchema, fileSchema);
+            this.root = VectorSchemaRoot.create(ArrowReadSchema.toArrowSchema(requestedSchema), allocator);
+        } catch (RuntimeException e) {
+            fileReader.close();
+            throw e;
+        }
+        this.root.allocateNew();
+        this.materializer = new ArrowVectorMaterializer(root);
+        this.batchSize = batchSize;
+    }
+
+    private static MessageType project(Class<?> projection, MessageType fileSchema) {
+        var validation = new SchemaValidation(true, false, false);
+        var schemaFilter = new SchemaFilter(validation, new ColumnToFieldMapper(FieldMatchingStrategy.FIELD_NAME));
+        return schemaFilter.project(projection, fileSchema);
+    }
+
+    public static Builder builder(InputFile inputFile, BufferAllocator allocator) {
+        return new Builder(inputFile, allocator);
+    }
+
+    /**
+     * Returns the VectorSchemaRoot where batches are loaded.
+     *
+     * @return the VectorSchemaRoot owned by this reader
+     */
+    public VectorSchemaRoot getVectorSchemaRoot() {
+        return root;
+    }
+
+    /**
+     * Loads the next batch of rows in the VectorSchemaRoot, replacing the
+     * previous batch.
+     *
+     * @return true if some rows were loaded, false at the end of the file
+     * @throws IOException if an error occurs while reading the file
+     */
+    public boolean loadNextBatch() throws IOException {
+        for (FieldVector vector : root.getFieldVectors()) {
+            vector.reset();
+        }
+        int rows = 0;
+        while (rows < batchSize && nextRowGroupIfNeeded()) {
+            materializer.moveTo(rows);
+            recordReader.read();
+            pendingRowGroupRows--;
+            rows++;
+        }
+        root.setRowCount(rows);
+        return rows > 0;
+    }
+
+    private boolean nextRowGroupIfNeeded() throws IOException {
+        while (pendingRowGroupRows == 0) {
+            PageReadStore rowGroup = fileReader.readNextRowGroup();
+            if (rowGroup == null) {
+                return false;
+            }
+            recordReader = columnIO.getRecordReader(rowGroup, materializer);
+            pendingRowGroupRows = rowGroup.getRowCount();
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            fileReader.close();
+        } finally {
+            root.close();
+        }
+    }
+
+    public static class Builder {
+
+        private final InputFile inputFile;
+        private final BufferAllocator allocator;
+        private Class<?> projection;
+        private int batchSize = DEFAULT_BATCH_SIZE;
+
+        private Builder(InputFile inputFile, BufferAllocator allocator) {
+            this.inputFile = requireNonNull(inputFile);
+            this.allocator = requireNonNull(allocator);
+        }
+
+        /**
+         * Reads only the columns mapped to the fields of a record class, validating
+         * that they are compatible with the field types.
+         *
+         * @param projection record class with the columns to read
+         * @return this builder for method chaining.
+         */
+        public Builder withProjection(Class<?> projection) {
+            this.projection = projection;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of rows loaded in each batch.
+         *
+         * @param batchSize maximum number of rows of a batch
+         * @return this builder for method chaining.
+         */
+        public Builder withBatchSize(int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("batchSize must be > 0, got: " + batchSize);
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public CarpetArrowReader build() throws IOException {
+            return new CarpetArrowReader(inputFile, allocator, projection, batchSize);
+        }
+
+    }
+
+}
@@ -0,0 +1,184 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.arrow;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.io.OutputFile;
+
+import com.jerolba.carpet.CarpetWriterConfigurationBuilder;
+import com.jerolba.carpet.TimeUnit;
+import com.jerolba.carpet.io.OutputStreamOutputFile;
+
+/**
+ * A Parquet file writer for Arrow data. Writes the rows of each
+ * {@link VectorSchemaRoot} with the configured schema, reading the values
+ * directly from the Arrow vectors.
+ *
+ * Each Arrow field is written as a Parquet column with the same name. Only flat
+ * schemas are supported. Time and timestamp fields are written with the finest
+ * time unit used in the schema, unless a default time unit is configured.
+ */
+public class CarpetArrowWriter implements Closeable {
+
+    private final ParquetWriter<ArrowRow> writer;
+    private final Schema schema;
+    private final ArrowRow row = new ArrowRow();
+
+    /**
+     * Constructs a CarpetArrowWriter that writes Arrow data with the specified
+     * schema to the specified OutputFile.
+     *
+     * @param outputFile The output file to write to.
+     * @param schema     The Arrow schema of the data to write.
+     * @throws IOException If an I/O error occurs while creating the Parquet writer.
+     */
+    public CarpetArrowWriter(OutputFile outputFile, Schema schema) throws IOException {
+        this(new Builder(outputFile, schema).buildParquetWriter(), schema);
+    }
+
+    /**
+     * Constructs a CarpetArrowWriter that writes Arrow data with the specified
+     * schema to the specified OutputStream.
+     *
+     * @param outputStream An OutputStream to write to, of any type.
+     * @param schema       The Arrow schema of the data to write.
+     * @throws IOException If an I/O error occurs while creating the Parquet writer.
+     */
+    public CarpetArrowWriter(OutputStream outputStream, Schema schema) throws IOException {
+        this(new OutputStreamOutputFile(outputStream), schema);
+    }
+
+    private CarpetArrowWriter(ParquetWriter<ArrowRow> writer, Schema schema) {
+        this.writer = writer;
+        this.schema = schema;
+    }
+
+    /**
+     * Writes all rows of the specified VectorSchemaRoot to the Parquet file.
+     *
+     * @param root the Arrow data to write, with the schema of the writer
+     * @throws IOException              if an error occurs while writing the rows
+     * @throws IllegalArgumentException if the schema of the data is not the
+     *                                  schema of the writer
+     */
+    public void write(VectorSchemaRoot root) throws IOException {
+        if (!schema.equals(root.getSchema())) {
+            throw new IllegalArgumentException("Arrow schema " + root.getSchema()
+                    + " does not match writer schema " + schema);
+        }
+        row.reset(root.getFieldVectors());
+        int rowCount = root.getRowCount();
+        for (int i = 0; i < rowCount; i++) {
+            row.moveTo(i);
+            writer.write(row);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    public static class Builder extends CarpetWriterConfigurationBuilder<ArrowRow, Builder> {
+
+        private final Schema schema;
+        private TimeUnit timeUnit;
+
+        /**
+         * Creates a new {@code Builder} instance from the specified Arrow schema.
+         *
+         * The OutputFile must be set later.
+         *
+         * @param schema the Arrow schema of the data being written
+         */
+        public Builder(Schema schema) {
+            super(ArrowRow.class);
+            this.schema = requireNonNull(schema);
+        }
+
+        /**
+         * Creates a new {@code Builder} instance from the specified OutputFile and
+         * Arrow schema.
+         *
+         * @param outputFile the output file to which the data will be written
+         * @param schema     the Arrow schema of the data being written
+         */
+        public Builder(OutputFile outputFile, Schema schema) {
+            this(schema);
+            withFile(outputFile);
+        }
+
+        /**
+         * Creates a new {@code Builder} instance from the specified OutputStream and
+         * Arrow schema.
+         *
+         * @param outputStream the OutputStream to write to
+         * @param schema       the Arrow schema of the data being written
+         */
+        public Builder(OutputStream outputStream, Schema schema) {
+            this(new OutputStreamOutputFile(outputStream), schema);
+        }
+
+        /**
+         * Set the {@link OutputFile} used by the constructed writer.
+         *
+         * @param outputFile a {@code OutputFile}
+         * @return this builder for method chaining.
+         */
+        @Override
+        public Builder withFile(OutputFile outputFile) {
+            super.withFile(outputFile);
+            return this;
+        }
+
+        @Override
+        public Builder withDefaultTimeUnit(TimeUnit defaultTimeUnit) {
+            this.timeUnit = defaultTimeUnit;
+            return super.withDefaultTimeUnit(defaultTimeUnit);
+        }
+
+        @Override
+        protected Builder self() {
+            return this;
+        }
+
+        @Override
+        protected ParquetWriter<ArrowRow> buildParquetWriter() throws IOException {
+            TimeUnit fileTimeUnit = timeUnit != null ? timeUnit : ArrowWriteModel.timeUnit(schema);
+            if (fileTimeUnit == null) {
+                fileTimeUnit = TimeUnit.MILLIS;
+            }
+            // Time values are converted from the unit of each vector to the unit of the file
+            super.withDefaultTimeUnit(fileTimeUnit);
+            withWriteRecordModel(ArrowWriteModel.fromSchema(schema, fileTimeUnit));
+            return super.buildParquetWriter();
+        }
+
+        public CarpetArrowWriter build() throws IOException {
+            return new CarpetArrowWriter(buildParquetWriter(), schema);
+        }
+
+    }
+
+}
@@ -0,0 +1,348 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.arrow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DateMilliVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeNanoVector;
+import org.apache.arrow.vector.TimeSecVector;
+import org.apache.arrow.vector.TimeStampMicroTZVector;
+import org.apache.arrow.vector.TimeStampMilliVector;
+import org.apache.arrow.vector.TimeStampSecVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.jerolba.carpet.CarpetMissingColumnException;
+import com.jerolba.carpet.CarpetReader;
+import com.jerolba.carpet.CarpetWriter;
+import com.jerolba.carpet.RecordTypeConversionException;
+import com.jerolba.carpet.io.FileSystemInputFile;
+import com.jerolba.carpet.io.FileSystemOutputFile;
+
+class CarpetArrowTest {
+
+    @TempDir
+    Path tempDir;
+
+    private BufferAllocator allocator;
+
+    @BeforeEach
+    void setup() {
+        allocator = new RootAllocator();
+    }
+
+    @AfterEach
+    void tearDown() {
+        allocator.close();
+    }
+
+    private static Field field(String name, boolean nullable, ArrowType type) {
+        return new Field(name, new FieldType(nullable, type, null), null);
+    }
+
+    @Nested
+    class Write {
+
+        record Item(long id, Double value, String name, Boolean active) {
+        }
+
+        @Test
+        void primitiveAndNullableColumns() throws IOException {
+            Schema schema = new Schema(List.of(
+                    field("id", false, new ArrowType.Int(64, true)),
+                    field("value", true, new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE)),
+                    field("name", true, ArrowType.Utf8.INSTANCE),
+                    field("active", true, ArrowType.Bool.INSTANCE)));
+            Path file = tempDir.resolve("items.parquet");
+            try (var root = VectorSchemaRoot.create(schema, allocator);
+                    var writer = new CarpetArrowWriter(new FileSystemOutputFile(file), schema)) {
+                root.allocateNew();
+                BigIntVector id = (BigIntVector) root.getVector("id");
+                Float8Vector value = (Float8Vector) root.getVector("value");
+                VarCharVector name = (VarCharVector) root.getVector("name");
+                BitVector active = (BitVector) root.getVector("active");
+                for (int i = 0; i < 3; i++) {
+                    id.setSafe(i, i + 1);
+                    if (i != 1) {
+                        value.setSafe(i, i * 1.5);
+                        name.setSafe(i, ("name" + i).getBytes(StandardCharsets.UTF_8));
+                        active.setSafe(i, i % 2);
+                    }
+                }
+                root.setRowCount(3);
+                writer.write(root);
+                // Vectors are reused between batches
+                root.clear();
+                root.allocateNew();
+                id.setSafe(0, 4);
+                value.setSafe(0, 6.0);
+                name.setSafe(0, "last".getBytes(StandardCharsets.UTF_8));
+                root.setRowCount(1);
+                writer.write(root);
+            }
+
+            List<Item> items = new CarpetReader<>(file.toFile(), Item.class).toList();
+            assertEquals(List.of(
+                    new Item(1, 0.0, "name0", false),
+                    new Item(2, null, null, null),
+                    new Item(3, 3.0, "name2", false),
+                    new Item(4, 6.0, "last", null)), items);
+        }
+
+        record Event(LocalDate day, Instant at, LocalDateTime local, BigDecimal amount) {
+        }
+
+        @Test
+        void temporalAndDecimalColumns() throws IOException {
+            Schema schema = new Schema(List.of(
+                    field("day", false, new ArrowType.Date(DateUnit.DAY)),
+                    field("at", true, new ArrowType.Timestamp(TimeUnit.MICROSECOND, "UTC")),
+                    field("local", true, new ArrowType.Timestamp(TimeUnit.MILLISECOND, null)),
+                    field("amount", true, new ArrowType.Decimal(10, 2, 128))));
+            Instant at = Instant.parse("2024-03-01T10:15:30.123456Z");
+            LocalDateTime local = LocalDateTime.parse("2024-03-01T10:15:30.123");
+            Path file = tempDir.resolve("events.parquet");
+            try (var root = VectorSchemaRoot.create(schema, allocator);
+                    var writer = new CarpetArrowWriter(new FileSystemOutputFile(file), schema)) {
+                root.allocateNew();
+                ((DateDayVector) root.getVector("day")).setSafe(0, (int) LocalDate.of(2024, 3, 1).toEpochDay());
+                ((TimeStampMicroTZVector) root.getVector("at")).setSafe(0,
+                        at.getEpochSecond() * 1_000_000 + at.getNano() / 1000);
+                ((TimeStampMilliVector) root.getVector("local")).setSafe(0,
+                        local.toInstant(java.time.ZoneOffset.UTC).toEpochMilli());
+                ((DecimalVector) root.getVector("amount")).setSafe(0, new BigDecimal("123.45"));
+                ((DateDayVector) root.getVector("day")).setSafe(1, 0);
+                root.setRowCount(2);
+                writer.write(root);
+            }
+
+            List<Event> events = new CarpetReader<>(file.toFile(), Event.class).toList();
+            assertEquals(List.of(
+                    new Event(LocalDate.of(2024, 3, 1), at, local, new BigDecimal("123.45")),
+                    new Event(LocalDate.ofEpochDay(0), null, null, null)), events);
+        }
+
+        record Times(LocalTime seconds, LocalTime nanos, LocalDate day, LocalDateTime at, BigDecimal big) {
+        }
+
+        @Test
+        void valuesAreConvertedToTheUnitOfTheFile() throws IOException {
+            Schema schema = new Schema(List.of(
+                    field("seconds", true, new ArrowType.Time(TimeUnit.SECOND, 32)),
+                    field("nanos", true, new ArrowType.Time(TimeUnit.NANOSECOND, 64)),
+                    field("day", true, new ArrowType.Date(DateUnit.MILLISECOND)),
+                    field("at", true, new ArrowType.Timestamp(TimeUnit.SECOND, null)),
+                    field("big", true, new ArrowType.Decimal(30, 3, 128))));
+            LocalTime nanos = LocalTime.parse("10:15:30.123456789");
+            BigDecimal big = new BigDecimal("123456789012345678901.234");
+            Path file = tempDir.resolve("times.parquet");
+            try (var root = VectorSchemaRoot.create(schema, allocator);
+                    var writer = new CarpetArrowWriter(new FileSystemOutputFile(file), schema)) {
+                root.allocateNew();
+                ((TimeSecVector) root.getVector("seconds")).setSafe(0, 3_600);
+                ((TimeNanoVector) root.getVector("nanos")).setSafe(0, nanos.toNanoOfDay());
+                ((DateMilliVector) root.getVector("day")).setSafe(0, 86_400_000L * 3);
+                ((TimeStampSecVector) root.getVector("at")).setSafe(0, -1);
+                ((DecimalVector) root.getVector("big")).setSafe(0, big);
+                root.setRowCount(2);
+                writer.write(root);
+            }
+
+            List<Times> times = new CarpetReader<>(file.toFile(), Times.class).toList();
+            assertEquals(List.of(
+                    new Times(LocalTime.of(1, 0), nanos, LocalDate.ofEpochDay(3),
+                            LocalDateTime.of(1969, 12, 31, 23, 59, 59), big),
+                    new Times(null, null, null, null, null)), times);
+        }
+
+        @Test
+        void batchWithOtherSchemaIsRejected() throws IOException {
+            Schema schema = new Schema(List.of(field("id", false, new ArrowType.Int(32, true))));
+            Schema other = new Schema(List.of(field("id", true, new ArrowType.Int(32, true))));
+            try (var root = VectorSchemaRoot.create(other, allocator);
+                    var writer = new CarpetArrowWriter(new FileSystemOutputFile(tempDir.resolve("f.parquet")),
+                            schema)) {
+                assertThrows(IllegalArgumentException.class, () -> writer.write(root));
+            }
+        }
+
+        @Test
+        void nestedFieldsAreNotSupported() {
+            Field child = field("value", true, new ArrowType.Int(32, true));
+            Field list = new Field("values", new FieldType(true, ArrowType.List.INSTANCE, null), List.of(child));
+            Schema schema = new Schema(List.of(list));
+            assertThrows(RecordTypeConversionException.class,
+                    () -> new CarpetArrowWriter(new FileSystemOutputFile(tempDir.resolve("f.parquet")), schema));
+        }
+
+    }
+
+    @Nested
+    class Read {
+
+        record Item(long id, Double value, String name, boolean active, LocalDate day) {
+        }
+
+        record IdAndName(long id, String name) {
+        }
+
+        record Missing(long id, String other) {
+        }
+
+        private Path writeItems(int count) throws IOException {
+            Path file = tempDir.resolve("items.parquet");
+            try (var writer = new CarpetWriter.Builder<>(new FileSystemOutputFile(file), Item.class)
+                    .withRowGroupRowCountLimit(7)
+                    .build()) {
+                for (int i = 0; i < count; i++) {
+                    writer.write(new Item(i, i % 3 == 0 ? null : i * 0.5, i % 4 == 0 ? null : "name" + i,
+                            i % 2 == 0, LocalDate.ofEpochDay(i)));
+                }
+            }
+            return file;
+        }
+
+        @Test
+        void allColumnsInBatchesAcrossRowGroups() throws IOException {
+            Path file = writeItems(20);
+            List<Item> items = new ArrayList<>();
+            List<Integer> batchSizes = new ArrayList<>();
+            try (var reader = CarpetArrowReader.builder(new FileSystemInputFile(file), allocator)
+                    .withBatchSize(8)
+                    .build()) {
+                VectorSchemaRoot root = reader.getVectorSchemaRoot();
+                assertEquals(5, root.getSchema().getFields().size());
+                assertFalse(root.getSchema().findField("id").isNullable());
+                assertTrue(root.getSchema().findField("name").isNullable());
+                while (reader.loadNextBatch()) {
+                    batchSizes.add(root.getRowCount());
+                    BigIntVector id = (BigIntVector) root.getVector("id");
+                    Float8Vector value = (Float8Vector) root.getVector("value");
+                    VarCharVector name = (VarCharVector) root.getVector("name");
+                    BitVector active = (BitVector) root.getVector("active");
+                    DateDayVector day = (DateDayVector) root.getVector("day");
+                    for (int i = 0; i < root.getRowCount(); i++) {
+                        items.add(new Item(id.get(i), value.getObject(i),
+                                name.isNull(i) ? null : new String(name.get(i), StandardCharsets.UTF_8),
+                                active.get(i) == 1, LocalDate.ofEpochDay(day.get(i))));
+                    }
+                }
+            }
+            assertEquals(List.of(8, 8, 4), batchSizes);
+            for (int i = 0; i < 20; i++) {
+                assertEquals(new Item(i, i % 3 == 0 ? null : i * 0.5, i % 4 == 0 ? null : "name" + i,
+                        i % 2 == 0, LocalDate.ofEpochDay(i)), items.get(i));
+            }
+        }
+
+        @Test
+        void projectedColumns() throws IOException {
+            Path file = writeItems(5);
+            try (var reader = CarpetArrowReader.builder(new FileSystemInputFile(file), allocator)
+                    .withProjection(IdAndName.class)
+                    .build()) {
+                VectorSchemaRoot root = reader.getVectorSchemaRoot();
+                assertEquals(List.of("id", "name"),
+                        root.getSchema().getFields().stream().map(Field::getName).toList());
+                assertTrue(reader.loadNextBatch());
+                assertEquals(5, root.getRowCount());
+                VarCharVector name = (VarCharVector) root.getVector("name");
+                assertNull(name.getObject(0));
+                assertEquals("name3", name.getObject(3).toString());
+                assertFalse(reader.loadNextBatch());
+            }
+        }
+
+        @Test
+        void projectionWithMissingColumnFails() throws IOException {
+            Path file = writeItems(5);
+            var builder = CarpetArrowReader.builder(new FileSystemInputFile(file), allocator)
+                    .withProjection(Missing.class);
+            assertThrows(CarpetMissingColumnException.class, builder::build);
+        }
+
+        @Test
+        void roundTrip() throws IOException {
+            Path file = writeItems(10);
+            Path copy = tempDir.resolve("copy.parquet");
+            try (var reader = new CarpetArrowReader(new FileSystemInputFile(file), allocator)) {
+                VectorSchemaRoot root = reader.getVectorSchemaRoot();
+                try (var writer = new CarpetArrowWriter(new FileSystemOutputFile(copy), root.getSchema())) {
+                    while (reader.loadNextBatch()) {
+                        writer.write(root);
+                    }
+                }
+            }
+            assertEquals(new CarpetReader<>(file.toFile(), Item.class).toList(),
+                    new CarpetReader<>(copy.toFile(), Item.class).toList());
+        }
+
+        @Test
+        void intColumnsKeepTheirWidth() throws IOException {
+            record Small(byte b, short s, int i) {
+            }
+            Path file = tempDir.resolve("small.parquet");
+            try (var writer = new CarpetWriter<>(new FileSystemOutputFile(file), Small.class)) {
+                writer.write(new Small((byte) 1, (short) 2, 3));
+            }
+            try (var reader = new CarpetArrowReader(new FileSystemInputFile(file), allocator)) {
+                VectorSchemaRoot root = reader.getVectorSchemaRoot();
+                assertEquals(new ArrowType.Int(8, true), root.getSchema().findField("b").getType());
+                assertEquals(new ArrowType.Int(16, true), root.getSchema().findField("s").getType());
+                assertTrue(reader.loadNextBatch());
+                assertEquals(3, ((IntVector) root.getVector("i")).get(0));
+            }
+        }
+
+    }
+
+}
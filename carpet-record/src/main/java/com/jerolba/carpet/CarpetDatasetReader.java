@@ -0,0 +1,423 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet;
+
+import static com.jerolba.carpet.impl.CaseConverter.camelCaseToSnakeCase;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.RecordComponent;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.parquet.io.InputFile;
+
+import com.jerolba.carpet.filter.CarpetFilter;
+import com.jerolba.carpet.filter.PartitionFilter;
+import com.jerolba.carpet.impl.AliasField;
+import com.jerolba.carpet.io.FileSystemInputFile;
+
+/**
+ * Reads a dataset of Parquet files partitioned in directories with the
+ * {@code column=value/} layout, like {@code year=2024/region=EU/part-0.parquet}.
+ *
+ * Partition values are parsed from the path of each file and set in the record
+ * components with the same name, alias or snake case name than the partition
+ * column. Values equal to {@value #DEFAULT_PARTITION} are read as null.
+ *
+ * The filter of the reader is evaluated with the partition values of each file
+ * before opening it, and files that can not contain matching records are never
+ * opened. The rest of the filter is pushed down to the Parquet reader of each
+ * file.
+ *
+ * Partition values are set in the records while they are read, and partition
+ * columns don't need to exist in the files. The rest of columns must exist in
+ * every file.
+ *
+ * @param <T> The type of the records being read.
+ */
+public class CarpetDatasetReader<T> implements Iterable<T> {
+
+    public static final String DEFAULT_PARTITION = "__HIVE_DEFAULT_PARTITION__";
+
+    private final Class<T> recordClass;
+    private final List<DatasetFile> files;
+    private final List<PartitionComponent> partitionComponents;
+    private CarpetFilter<? super T> filter;
+
+    /**
+     * Creates a reader of all the Parquet files under a directory. Files and
+     * directories starting with '.' or '_' are ignored.
+     *
+     * @param directory   the root directory of the dataset
+     * @param recordClass the class of the records being read
+     */
+    public CarpetDatasetReader(File directory, Class<T> recordClass) {
+        this(listFiles(directory), recordClass);
+    }
+
+    /**
+     * Creates a reader of a list of files, like the objects listed from a bucket
+     * prefix.
+     *
+     * @param files       the files of the dataset, by their path relative to the
+     *                    root of the dataset
+     * @param recordClass the class of the records being read
+     */
+    public CarpetDatasetReader(Map<String, InputFile> files, Class<T> recordClass) {
+        if (!recordClass.isRecord()) {
+            throw new IllegalArgumentException(recordClass.getName() + " is not a Java Record");
+        }
+        this.recordClass = recordClass;
+        this.files = files.entrySet().stream()
+                .map(e -> new DatasetFile(e.getKey(), e.getValue(), parsePartitions(e.getKey())))
+                .toList();
+        this.partitionComponents = partitionComponents(recordClass, this.files);
+    }
+
+    /**
+     * Reads only the records matching a filter over record fields. Conditions over
+     * partition fields prune whole files, and the rest of conditions are applied
+     * to each file.
+     *
+     * @param filter the filter, created with {@link CarpetFilter#where}
+     * @return CarpetDatasetReader
+     */
+    public CarpetDatasetReader<T> withFilter(CarpetFilter<? super T> filter) {
+        this.filter = filter;
+        return this;
+    }
+
+    /**
+     * Returns the path of the files that can contain records matching the filter,
+     * and that will be opened reading the dataset.
+     *
+     * @return the relative path of the files to read
+     */
+    public List<String> candidateFiles() {
+        return files.stream()
+                .filter(file -> bind(file, filter) != null)
+                .map(DatasetFile::path)
+                .toList();
+    }
+
+    /**
+     * Returns an {@link Iterator} over the records of all the files of the
+     * dataset, file by file. Each file is opened when the previous one has been
+     * consumed.
+     *
+     * @return an iterator for the records in the dataset
+     * @throws UncheckedIOException if an I/O error occurs
+     */
+    @Override
+    public CloseableIterator<T> iterator() {
+        return new DatasetIterator(filter);
+    }
+
+    /**
+     * Returns a {@link Stream} that can be used to access the records in the
+     * dataset.
+     *
+     * @return a stream for the records in the dataset
+     */
+    public Stream<T> stream() {
+        CloseableIterator<T> iterator = iterator();
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        return StreamSupport.stream(spliterator, false)
+                .onClose(() -> {
+                    try {
+                        iterator.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Returns a {@link List} containing all records in the dataset.
+     *
+     * @return a list of all records in the dataset
+     * @throws IOException if an I/O error occurs
+     */
+    public List<T> toList() throws IOException {
+        return toList(iterator());
+    }
+
+    /**
+     * Returns the records with a column value equal to any of the values, in
+     * addition to the configured filter.
+     *
+     * If the column is a partition column, only the files of the partitions with
+     * any of the values are opened. Otherwise, in each file the values are probed
+     * against the statistics, dictionary pages and bloom filters of each row
+     * group, as {@link CarpetReader#lookup(String, Object...)} does.
+     *
+     * @param column dot separated path of the column to look up, with column or
+     *               record field names
+     * @param values the values to look up
+     * @return the matching records
+     * @throws IOException if an I/O error occurs
+     */
+    public List<T> lookup(String column, Object... values) throws IOException {
+        return lookup(column, Arrays.asList(values));
+    }
+
+    /**
+     * Returns the records with a column value contained in a collection of values,
+     * in addition to the configured filter.
+     *
+     * @param column dot separated path of the column to look up, with column or
+     *               record field names
+     * @param values the values to look up
+     * @return the matching records
+     * @throws IOException if an I/O error occurs
+     * @see #lookup(String, Object...)
+     */
+    public List<T> lookup(String column, Collection<?> values) throws IOException {
+        CarpetFilter<T> lookup = CarpetFilter.<T>where(column).in(values);
+        return toList(new DatasetIterator(filter == null ? lookup : lookup.and(filter)));
+    }
+
+    private List<T> toList(CloseableIterator<T> iterator) throws IOException {
+        List<T> result = new ArrayList<>();
+        try (iterator) {
+            while (iterator.hasNext()) {
+                result.add(iterator.next());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates the filter with the partition values of a file.
+     *
+     * @return null if the file can not contain matching records
+     */
+    private PartitionFilter<T> bind(DatasetFile file, CarpetFilter<? super T> filter) {
+        Map<String, Object> knownValues = new HashMap<>();
+        for (PartitionComponent partition : partitionComponents) {
+            Object value = partition.valueOf(file);
+            knownValues.put(partition.key(), value);
+            knownValues.put(partition.component().getName(), value);
+        }
+        PartitionFilter<T> bound = PartitionFilter.bind(filter, knownValues);
+        return bound.matchesNone() ? null : bound;
+    }
+
+    private CloseableIterator<T> openFile(DatasetFile file, PartitionFilter<T> bound) throws IOException {
+        var builder = new CarpetReader.Builder<>(file.inputFile(), recordClass);
+        if (!partitionComponents.isEmpty()) {
+            builder.withComponentValues(partitionValues(file));
+        }
+        if (bound.remaining() != null) {
+            builder.withFilter(bound.remaining());
+        }
+        return builder.buildIterator();
+    }
+
+    /**
+     * Values of the partition components of a file, set by the record converter
+     * instead of being read from the file.
+     */
+    private Map<String, Object> partitionValues(DatasetFile file) {
+        Map<String, Object> values = new HashMap<>();
+        for (PartitionComponent partition : partitionComponents) {
+            values.put(partition.component().getName(), partition.valueOf(file));
+        }
+        return values;
+    }
+
+    private class DatasetIterator implements CloseableIterator<T> {
+
+        private final Iterator<DatasetFile> pending = files.iterator();
+        private final CarpetFilter<? super T> filter;
+        private CloseableIterator<T> current;
+
+        DatasetIterator(CarpetFilter<? super T> filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (current == null || !current.hasNext()) {
+                    if (current != null) {
+                        current.close();
+                        current = null;
+                    }
+                    if (!pending.hasNext()) {
+                        return false;
+                    }
+                    DatasetFile file = pending.next();
+                    PartitionFilter<T> bound = bind(file, filter);
+                    if (bound != null) {
+                        current = openFile(file, bound);
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (current != null) {
+                current.close();
+                current = null;
+            }
+        }
+
+    }
+
+    private record DatasetFile(String path, InputFile inputFile, Map<String, String> partitions) {
+    }
+
+    private record PartitionComponent(String key, RecordComponent component,
+            Function<String, Object> parser) {
+
+        Object valueOf(DatasetFile file) {
+            String value = file.partitions().get(key);
+            return value == null || value.equals(DEFAULT_PARTITION) ? null : parser.apply(value);
+        }
+
+    }
+
+    static Map<String, String> parsePartitions(String path) {
+        Map<String, String> partitions = new LinkedHashMap<>();
+        String[] segments = path.replace('\\', '/').split("/");
+        for (int i = 0; i < segments.length - 1; i++) {
+            int idx = segments[i].indexOf('=');
+            if (idx > 0) {
+                String key = unescape(segments[i].substring(0, idx));
+                partitions.put(key, unescape(segments[i].substring(idx + 1)));
+            }
+        }
+        return partitions;
+    }
+
+    private static String unescape(String value) {
+        return URLDecoder.decode(value.replace("+", "%2B"), StandardCharsets.UTF_8);
+    }
+
+    private static List<PartitionComponent> partitionComponents(Class<?> recordClass, List<DatasetFile> files) {
+        List<String> keys = files.stream()
+                .flatMap(file -> file.partitions().keySet().stream())
+                .distinct()
+                .toList();
+        List<PartitionComponent> result = new ArrayList<>();
+        RecordComponent[] components = recordClass.getRecordComponents();
+        for (int i = 0; i < components.length; i++) {
+            String key = partitionKey(components[i], keys);
+            if (key != null) {
+                result.add(new PartitionComponent(key, components[i], parser(components[i])));
+            }
+        }
+        return result;
+    }
+
+    private static String partitionKey(RecordComponent component, List<String> keys) {
+        for (String name : List.of(AliasField.getFieldName(component), component.getName(),
+                camelCaseToSnakeCase(component.getName()))) {
+            if (keys.contains(name)) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Function<String, Object> parser(RecordComponent component) {
+        Class<?> type = component.getType();
+        if (type == String.class) {
+            return value -> value;
+        } else if (type == int.class || type == Integer.class) {
+            return Integer::valueOf;
+        } else if (type == long.class || type == Long.class) {
+            return Long::valueOf;
+        } else if (type == short.class || type == Short.class) {
+            return Short::valueOf;
+        } else if (type == byte.class || type == Byte.class) {
+            return Byte::valueOf;
+        } else if (type == double.class || type == Double.class) {
+            return Double::valueOf;
+        } else if (type == float.class || type == Float.class) {
+            return Float::valueOf;
+        } else if (type == boolean.class || type == Boolean.class) {
+            return Boolean::valueOf;
+        } else if (type == LocalDate.class) {
+            return LocalDate::parse;
+        } else if (type.isEnum()) {
+            return value -> Enum.valueOf((Class<Enum>) type, value);
+        }
+        throw new IllegalArgumentException("Partition field '" + component.getName() + "' of type "
+                + type.getName() + " is not supported");
+    }
+
+    private static Map<String, InputFile> listFiles(File directory) {
+        if (!directory.isDirectory()) {
+            throw new IllegalArgumentException(directory + " is not a directory");
+        }
+        Map<String, InputFile> files = new LinkedHashMap<>();
+        listFiles(directory, "", files);
+        return files;
+    }
+
+    private static void listFiles(File directory, String prefix, Map<String, InputFile> files) {
+        File[] children = directory.listFiles();
+        if (children == null) {
+            throw new UncheckedIOException(new IOException("Can not list " + directory));
+        }
+        Arrays.sort(children);
+        for (File child : children) {
+            String name = child.getName();
+            if (name.startsWith(".") || name.startsWith("_")) {
+                continue;
+            }
+            if (child.isDirectory()) {
+                listFiles(child, prefix + name + "/", files);
+            } else if (name.endsWith(".parquet")) {
+                files.put(prefix + name, new FileSystemInputFile(child));
+            }
+        }
+    }
+
+}
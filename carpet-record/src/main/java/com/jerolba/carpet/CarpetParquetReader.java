@@ -15,6 +15,23 @@
  */
 package com.jerolba.carpet;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.bytes.ByteBufferAllocator;
+import org.apache.parquet.compression.CompressionCodecFactory;
+import org.apache.parquet.conf.ParquetConfiguration;
+import org.apache.parquet.conf.PlainParquetConfiguration;
+import org.apache.parquet.crypto.FileDecryptionProperties;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.compat.FilterCompat.Filter;
 import org.apache.parquet.hadoop.ParquetReader;
 import org.apache.parquet.hadoop.api.ReadSupport;
 import org.apache.parquet.io.InputFile;
@@ -28,6 +45,7 @@ public class CarpetParquetReader {
     public static final boolean DEFAULT_FAIL_ON_NULL_FOR_PRIMITIVES = false;
     public static final boolean DEFAULT_FAIL_NARROWING_PRIMITIVE_CONVERSION = false;
     public static final FieldMatchingStrategy DEFAULT_FIELD_MATCHING_STRATEGY = FieldMatchingStrategy.FIELD_NAME;
+    public static final boolean DEFAULT_LAZY_MAP_MATERIALIZATION = false;
 
     private CarpetParquetReader() {
     }
@@ -48,6 +66,12 @@ public class CarpetParquetReader {
         private boolean failOnNullForPrimitives = DEFAULT_FAIL_ON_NULL_FOR_PRIMITIVES;
         private boolean failNarrowingPrimitiveConversion = DEFAULT_FAIL_NARROWING_PRIMITIVE_CONVERSION;
         private FieldMatchingStrategy fieldMatchingStrategy = DEFAULT_FIELD_MATCHING_STRATEGY;
+        private Set<String> columnProjection = Set.of();
+        private boolean lazyMapMaterialization = DEFAULT_LAZY_MAP_MATERIALIZATION;
+        private Map<String, Object> componentValues = Map.of();
+        private Filter filter = FilterCompat.NOOP;
+        // Read options configured in the builder, replayed by getReadOptions
+        private final List<Consumer<ParquetReadOptions.Builder>> readOptions = new ArrayList<>();
 
         private Builder(Class<T> recordClass) {
             super();
@@ -72,6 +96,37 @@ public class CarpetParquetReader {
             return recordClass;
         }
 
+        /**
+         * Returns the configured strategy mapping record fields to columns.
+         *
+         * @return the field matching strategy
+         */
+        public FieldMatchingStrategy getFieldMatchingStrategy() {
+            return fieldMatchingStrategy;
+        }
+
+        /**
+         * Returns the configured row filter
+         *
+         * @return the filter, or {@link FilterCompat#NOOP} if not configured
+         */
+        public Filter getFilter() {
+            return filter;
+        }
+
+        /**
+         * Returns the read options of the configuration, with all the configured
+         * read options, without any row filter.
+         *
+         * @return read options to open the file footer and metadata
+         */
+        public ParquetReadOptions getReadOptions() {
+            var conf = configuration == null ? new PlainParquetConfiguration() : configuration;
+            var options = ParquetReadOptions.builder(conf);
+            readOptions.forEach(option -> option.accept(options));
+            return options.build();
+        }
+
         @Override
         public Builder<T> withFile(InputFile file) {
             super.withFile(file);
@@ -79,6 +134,147 @@ public class CarpetParquetReader {
             return this;
         }
 
+        @Override
+        public Builder<T> withConf(Configuration conf) {
+            // Parquet resets the read options with the new configuration
+            super.withConf(conf);
+            readOptions.clear();
+            return this;
+        }
+
+        @Override
+        public Builder<T> withConf(ParquetConfiguration conf) {
+            super.withConf(conf);
+            readOptions.clear();
+            return this;
+        }
+
+        @Override
+        public Builder<T> withFilter(Filter filter) {
+            super.withFilter(filter);
+            this.filter = filter;
+            return this;
+        }
+
+        @Override
+        public Builder<T> withAllocator(ByteBufferAllocator allocator) {
+            super.withAllocator(allocator);
+            readOptions.add(options -> options.withAllocator(allocator));
+            return this;
+        }
+
+        @Override
+        public Builder<T> useSignedStringMinMax(boolean useSignedStringMinMax) {
+            super.useSignedStringMinMax(useSignedStringMinMax);
+            readOptions.add(options -> options.useSignedStringMinMax(useSignedStringMinMax));
+            return this;
+        }
+
+        @Override
+        public Builder<T> useSignedStringMinMax() {
+            return useSignedStringMinMax(true);
+        }
+
+        @Override
+        public Builder<T> useStatsFilter(boolean useStatsFilter) {
+            super.useStatsFilter(useStatsFilter);
+            readOptions.add(options -> options.useStatsFilter(useStatsFilter));
+            return this;
+        }
+
+        @Override
+        public Builder<T> useStatsFilter() {
+            return useStatsFilter(true);
+        }
+
+        @Override
+        public Builder<T> useDictionaryFilter(boolean useDictionaryFilter) {
+            super.useDictionaryFilter(useDictionaryFilter);
+            readOptions.add(options -> options.useDictionaryFilter(useDictionaryFilter));
+            return this;
+        }
+
+        @Override
+        public Builder<T> useDictionaryFilter() {
+            return useDictionaryFilter(true);
+        }
+
+        @Override
+        public Builder<T> useRecordFilter(boolean useRecordFilter) {
+            super.useRecordFilter(useRecordFilter);
+            readOptions.add(options -> options.useRecordFilter(useRecordFilter));
+            return this;
+        }
+
+        @Override
+        public Builder<T> useRecordFilter() {
+            return useRecordFilter(true);
+        }
+
+        @Override
+        public Builder<T> useColumnIndexFilter(boolean useColumnIndexFilter) {
+            super.useColumnIndexFilter(useColumnIndexFilter);
+            readOptions.add(options -> options.useColumnIndexFilter(useColumnIndexFilter));
+            return this;
+        }
+
+        @Override
+        public Builder<T> useColumnIndexFilter() {
+            return useColumnIndexFilter(true);
+        }
+
+        @Override
+        public Builder<T> usePageChecksumVerification(boolean usePageChecksumVerification) {
+            super.usePageChecksumVerification(usePageChecksumVerification);
+            readOptions.add(options -> options.usePageChecksumVerification(usePageChecksumVerification));
+            return this;
+        }
+
+        @Override
+        public Builder<T> usePageChecksumVerification() {
+            return usePageChecksumVerification(true);
+        }
+
+        @Override
+        public Builder<T> useBloomFilter(boolean useBloomFilter) {
+            super.useBloomFilter(useBloomFilter);
+            readOptions.add(options -> options.useBloomFilter(useBloomFilter));
+            return this;
+        }
+
+        @Override
+        public Builder<T> useBloomFilter() {
+            return useBloomFilter(true);
+        }
+
+        @Override
+        public Builder<T> withFileRange(long start, long end) {
+            super.withFileRange(start, end);
+            readOptions.add(options -> options.withRange(start, end));
+            return this;
+        }
+
+        @Override
+        public Builder<T> withCodecFactory(CompressionCodecFactory codecFactory) {
+            super.withCodecFactory(codecFactory);
+            readOptions.add(options -> options.withCodecFactory(codecFactory));
+            return this;
+        }
+
+        @Override
+        public Builder<T> withDecryption(FileDecryptionProperties fileDecryptionProperties) {
+            super.withDecryption(fileDecryptionProperties);
+            readOptions.add(options -> options.withDecryption(fileDecryptionProperties));
+            return this;
+        }
+
+        @Override
+        public Builder<T> set(String key, String value) {
+            super.set(key, value);
+            readOptions.add(options -> options.set(key, value));
+            return this;
+        }
+
         /**
          * Feature that determines whether encountering of missed parquet column should
          * result in a failure (by throwing a RecordTypeConversionException) or not.
@@ -136,14 +332,80 @@ public class CarpetParquetReader {
             return this;
         }
 
+        /**
+         * Columns to read when records are read as Map. Other columns are not read
+         * from the file, and are not present in the map.
+         *
+         * Paths are dot separated column names, like "address.zip". A path to a
+         * group column includes all its nested columns.
+         *
+         * Record classes define their own projection, and ignore this setting.
+         *
+         * @param columnPaths paths of the columns to read
+         * @return Carpet Reader Builder
+         */
+        public Builder<T> withColumnProjection(String... columnPaths) {
+            this.columnProjection = new LinkedHashSet<>(Arrays.asList(columnPaths));
+            return this;
+        }
+
+        /**
+         * Feature that determines whether values of records read as Map are decoded
+         * when the record is read, or the first time they are accessed.
+         *
+         * With lazy materialization, string, temporal, decimal and other logical
+         * type values, nested records and variants are kept in their raw form until
+         * they are accessed with a method of the map. Values of collections are always
+         * decoded. It only applies to the generic Map interface, not to concrete map
+         * classes like HashMap.
+         *
+         * Feature is disabled by default.
+         *
+         * @param lazyMapMaterialization true to decode map values the first time they
+         *                               are accessed
+         * @return Carpet Reader Builder
+         */
+        public Builder<T> lazyMapMaterialization(boolean lazyMapMaterialization) {
+            this.lazyMapMaterialization = lazyMapMaterialization;
+            return this;
+        }
+
+        /**
+         * Sets the value of some components of the record class, which are not read
+         * from the file, like the partition values of a file in a dataset. Their
+         * columns don't need to exist in the file.
+         *
+         * @param componentValues values by record component name
+         * @return Carpet Reader Builder
+         */
+        Builder<T> withComponentValues(Map<String, Object> componentValues) {
+            this.componentValues = componentValues;
+            return this;
+        }
+
         @Override
         protected ReadSupport<T> getReadSupport() {
+            return getReadSupport(recordClass);
+        }
+
+        /**
+         * Creates a read support with the configuration of the builder for a class,
+         * which can be different from the configured record class.
+         *
+         * @param <R>       the type of the records to read
+         * @param readClass the class of the records to read
+         * @return the read support
+         */
+        public <R> CarpetReadSupport<R> getReadSupport(Class<R> readClass) {
             CarpetReadConfiguration configuration = new CarpetReadConfiguration(
                     failOnMissingColumn,
                     failNarrowingPrimitiveConversion,
                     failOnNullForPrimitives,
-                    fieldMatchingStrategy);
-            return new CarpetReadSupport<>(recordClass, configuration);
+                    fieldMatchingStrategy,
+                    columnProjection,
+                    lazyMapMaterialization,
+                    readClass == recordClass ? componentValues : Map.of());
+            return new CarpetReadSupport<>(readClass, configuration);
         }
 
     }
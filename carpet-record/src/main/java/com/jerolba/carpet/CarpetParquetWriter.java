@@ -18,18 +18,28 @@ package com.jerolba.carpet;
 import static com.jerolba.carpet.impl.write.DecimalConfig.decimalConfig;
 import static java.util.Objects.requireNonNull;
 
+import java.io.IOException;
 import java.math.RoundingMode;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.column.ParquetProperties;
 import org.apache.parquet.conf.ParquetConfiguration;
 import org.apache.parquet.conf.PlainParquetConfiguration;
 import org.apache.parquet.hadoop.ParquetWriter;
 import org.apache.parquet.hadoop.api.WriteSupport;
 import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.schema.MessageType;
 
+import com.jerolba.carpet.impl.write.CardinalityHints;
+import com.jerolba.carpet.impl.write.CardinalityHints.ColumnCardinality;
 import com.jerolba.carpet.impl.write.CarpetWriteConfiguration;
+import com.jerolba.carpet.impl.write.ColumnBatchRow;
 import com.jerolba.carpet.impl.write.DecimalConfig;
 import com.jerolba.carpet.impl.write.WriteSupportFactory;
 import com.jerolba.carpet.model.WriteRecordModelType;
@@ -56,6 +66,13 @@ public class CarpetParquetWriter {
         private ColumnNamingStrategy columnNamingStrategy = ColumnNamingStrategy.FIELD_NAME;
         private TimeUnit defaultTimeUnit = TimeUnit.MILLIS;
         private DecimalConfig decimalConfig = decimalConfig();
+        private final Map<String, ColumnCardinality> columnCardinalities = new HashMap<>();
+        private final Set<String> dictionaryConfiguredColumns = new HashSet<>();
+        private int dictionaryPageSize = ParquetProperties.DEFAULT_DICTIONARY_PAGE_SIZE;
+        private final Set<String> statisticsColumns = new LinkedHashSet<>();
+        private final Map<String, OutputFile> indexFiles = new LinkedHashMap<>();
+        private Runnable rowGroupListener;
+        private ColumnBatchRow columnBatchRow;
 
         private Builder(Class<T> recordClass) {
             super();
@@ -189,6 +206,126 @@ public class CarpetParquetWriter {
             return withWriteRecordModel((writeClass, writeConfigurationContext) -> rootWriteRecordModel);
         }
 
+        /**
+         * Declares the expected number of distinct values of a column in a row group,
+         * deciding whether the column is dictionary encoded. Overrides the
+         * {@link com.jerolba.carpet.annotation.Cardinality} annotation of the field.
+         *
+         * @param columnPath     the path of the column (dot-string)
+         * @param distinctValues expected number of distinct values
+         * @return this builder for method chaining.
+         */
+        public Builder<T> withColumnCardinality(String columnPath, long distinctValues) {
+            return withColumnCardinality(columnPath, distinctValues, 0);
+        }
+
+        /**
+         * Declares the expected number of distinct values of a column in a row group,
+         * and the average size of its values, deciding whether the column is
+         * dictionary encoded. Overrides the
+         * {@link com.jerolba.carpet.annotation.Cardinality} annotation of the field.
+         *
+         * @param columnPath       the path of the column (dot-string)
+         * @param distinctValues   expected number of distinct values
+         * @param averageValueSize average size in bytes of the values of a binary
+         *                         column
+         * @return this builder for method chaining.
+         */
+        public Builder<T> withColumnCardinality(String columnPath, long distinctValues, int averageValueSize) {
+            requireNonNull(columnPath, "Column path can not be null");
+            this.columnCardinalities.put(columnPath, new ColumnCardinality(distinctValues, averageValueSize));
+            return self();
+        }
+
+        /**
+         * Collects statistics of the values of the columns in each row group, and
+         * stores them in the key-value metadata of the file. Readers with a filter
+         * use them to skip row groups, and they can be inspected with
+         * {@link ColumnStatisticsPruner}.
+         *
+         * @param columnPaths the paths of the columns (dot-string)
+         * @return this builder for method chaining.
+         */
+        public Builder<T> withColumnStatistics(String... columnPaths) {
+            for (String columnPath : columnPaths) {
+                statisticsColumns.add(requireNonNull(columnPath, "Column path can not be null"));
+            }
+            return self();
+        }
+
+        /**
+         * Builds a secondary index of a column while the file is written, and writes
+         * it to an index file when the writer is closed. The index contains the not
+         * null values of the column sorted, with the row group and row of each value.
+         *
+         * @param columnPath the path of the column (dot-string)
+         * @param indexFile  the file where the index is written
+         * @return this builder for method chaining.
+         */
+        public Builder<T> withSecondaryIndex(String columnPath, OutputFile indexFile) {
+            requireNonNull(columnPath, "Column path can not be null");
+            requireNonNull(indexFile, "Index file can not be null");
+            this.indexFiles.put(columnPath, indexFile);
+            return self();
+        }
+
+        /**
+         * Sets a listener called each time the writer starts a new row group, used to
+         * align buffered records with row groups.
+         *
+         * @param rowGroupListener called when a row group is started
+         * @return this builder for method chaining.
+         */
+        Builder<T> withRowGroupListener(Runnable rowGroupListener) {
+            this.rowGroupListener = rowGroupListener;
+            return self();
+        }
+
+        /**
+         * Sets the cursor shared with the CarpetWriter to write column batches.
+         *
+         * @param columnBatchRow the cursor of the column batch being written
+         * @return this builder for method chaining.
+         */
+        Builder<T> withColumnBatchRow(ColumnBatchRow columnBatchRow) {
+            this.columnBatchRow = columnBatchRow;
+            return self();
+        }
+
+        @Override
+        public Builder<T> withDictionaryPageSize(int dictionaryPageSize) {
+            this.dictionaryPageSize = dictionaryPageSize;
+            return super.withDictionaryPageSize(dictionaryPageSize);
+        }
+
+        @Override
+        public Builder<T> withDictionaryEncoding(String columnPath, boolean enableDictionary) {
+            this.dictionaryConfiguredColumns.add(columnPath);
+            return super.withDictionaryEncoding(columnPath, enableDictionary);
+        }
+
+        @Override
+        public ParquetWriter<T> build() throws IOException {
+            applyCardinalityHints();
+            return super.build();
+        }
+
+        private void applyCardinalityHints() {
+            Map<String, ColumnCardinality> cardinalities = new HashMap<>();
+            if (writeModelFactory == null) {
+                cardinalities.putAll(CardinalityHints.fromAnnotations(recordClass, columnNamingStrategy));
+            }
+            cardinalities.putAll(columnCardinalities);
+            dictionaryConfiguredColumns.forEach(cardinalities::remove);
+            if (cardinalities.isEmpty()) {
+                return;
+            }
+            var parquetConfig = new PlainParquetConfiguration();
+            MessageType schema = getWriteSupport(parquetConfig).init(parquetConfig).getSchema();
+            var dictionaryEncoding = CardinalityHints.dictionaryEncoding(schema, cardinalities, dictionaryPageSize);
+            dictionaryEncoding.forEach(super::withDictionaryEncoding);
+        }
+
         @Override
         protected WriteSupport<T> getWriteSupport(ParquetConfiguration parquetConfig) {
             CarpetWriteConfiguration carpetCfg = new CarpetWriteConfiguration(
@@ -196,8 +333,11 @@ public class CarpetParquetWriter {
                     columnNamingStrategy,
                     defaultTimeUnit,
                     decimalConfig);
-            return WriteSupportFactory.createWriteSupport(recordClass, extraMetaData,
-                    parquetConfig, carpetCfg, writeModelFactory);
+            WriteSupport<T> writeSupport = WriteSupportFactory.createWriteSupport(recordClass, extraMetaData,
+                    parquetConfig, carpetCfg, writeModelFactory, columnBatchRow);
+            writeSupport = WriteSupportFactory.withColumnStatistics(writeSupport, statisticsColumns);
+            writeSupport = WriteSupportFactory.withSecondaryIndexes(writeSupport, indexFiles);
+            return WriteSupportFactory.withRowGroupListener(writeSupport, rowGroupListener);
         }
 
         @Override
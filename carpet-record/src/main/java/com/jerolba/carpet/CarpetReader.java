@@ -19,16 +19,19 @@ import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.apache.parquet.io.InputFile;
 
-import com.jerolba.carpet.impl.read.ParquetRecordIterator;
+import com.jerolba.carpet.filter.CarpetFilter;
 import com.jerolba.carpet.io.FileSystemInputFile;
 
 /**
@@ -127,6 +130,231 @@ public class CarpetReader<T> implements Iterable<T> {
         return this;
     }
 
+    /**
+     * Columns to read when records are read as Map. Paths are dot separated column
+     * names, like "address.zip", and a path to a group column includes all its
+     * nested columns.
+     *
+     * @param columnPaths paths of the columns to read
+     * @return CarpetReader
+     */
+    public CarpetReader<T> withColumnProjection(String... columnPaths) {
+        builder.withColumnProjection(columnPaths);
+        return this;
+    }
+
+    /**
+     * Decodes values of records read as Map the first time they are accessed,
+     * instead of when the record is read. Useful when only a few keys of each map
+     * are used.
+     *
+     * @param value if values are decoded on access
+     * @return CarpetReader
+     */
+    public CarpetReader<T> withLazyMapMaterialization(boolean value) {
+        builder.lazyMapMaterialization(value);
+        return this;
+    }
+
+    /**
+     * Reads records in two phases: first decodes only the columns of the
+     * projection record to evaluate the predicate, and then decodes all the
+     * columns only for the matching rows.
+     *
+     * @param <P>                 the type of the projection record
+     * @param predicateProjection the record class with the columns needed by the
+     *                            predicate
+     * @param predicate           the predicate selecting the rows to read
+     * @return CarpetReader
+     */
+    public <P> CarpetReader<T> withLateMaterialization(Class<P> predicateProjection,
+            Predicate<? super P> predicate) {
+        builder.withLateMaterialization(predicateProjection, predicate);
+        return this;
+    }
+
+    /**
+     * Skips a number of records. Without filters, whole row groups are skipped
+     * using the row counts of the footer, instead of decoding the skipped records.
+     *
+     * @param offset number of records to skip
+     * @return CarpetReader
+     */
+    public CarpetReader<T> withOffset(long offset) {
+        builder.withOffset(offset);
+        return this;
+    }
+
+    /**
+     * Reads at most a number of records, stopping reading the file when the limit
+     * is reached.
+     *
+     * @param limit maximum number of records to read
+     * @return CarpetReader
+     */
+    public CarpetReader<T> withLimit(long limit) {
+        builder.withLimit(limit);
+        return this;
+    }
+
+    /**
+     * Reads only the records matching a filter over record fields, skipping row
+     * groups and pages that can not contain them.
+     *
+     * @param filter the filter, created with {@link CarpetFilter#where}
+     * @return CarpetReader
+     */
+    public CarpetReader<T> withFilter(CarpetFilter<? super T> filter) {
+        builder.withFilter(filter);
+        return this;
+    }
+
+    /**
+     * Evaluates the filter of the reader against the metadata of each row group,
+     * returning which row groups will be read and why the other ones are skipped.
+     *
+     * @return the read plan
+     * @throws IOException if the file metadata can not be read
+     */
+    public ReadPlan plan() throws IOException {
+        return builder.buildReadPlan();
+    }
+
+    /**
+     * Returns the records with a column value equal to any of the values, in
+     * addition to the configured filter.
+     *
+     * Values are probed against the statistics, dictionary pages and bloom
+     * filters of each row group, and only row groups that may contain any of them
+     * are read. Enable bloom filters on the column when writing the file to make
+     * lookups over high cardinality columns selective.
+     *
+     * @param column dot separated path of the column to look up, with column
+     *               or record field names
+     * @param values the values to look up
+     * @return the matching records
+     * @throws IOException if an I/O error occurs
+     */
+    public List<T> lookup(String column, Object... values) throws IOException {
+        return lookup(column, Arrays.asList(values));
+    }
+
+    /**
+     * Returns the records with a column value contained in a collection of values,
+     * in addition to the configured filter.
+     *
+     * @param column dot separated path of the column to look up, with column
+     *               or record field names
+     * @param values the values to look up
+     * @return the matching records
+     * @throws IOException if an I/O error occurs
+     * @see #lookup(String, Object...)
+     */
+    public List<T> lookup(String column, Collection<?> values) throws IOException {
+        try (var iterator = builder.buildLookupIterator(column, values)) {
+            return toList(iterator);
+        }
+    }
+
+    /**
+     * Returns the records with a column value equal to any of the values, reading
+     * only the rows located by a secondary index of the column, in file order. The
+     * configured filter is also applied.
+     *
+     * @param index  the secondary index of the column, written with the file
+     * @param values the values to look up
+     * @return the matching records
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the index was not created for the file
+     */
+    public List<T> lookup(SecondaryIndex index, Object... values) throws IOException {
+        return lookup(index, Arrays.asList(values));
+    }
+
+    /**
+     * Returns the records with a column value contained in a collection of values,
+     * reading only the rows located by a secondary index of the column.
+     *
+     * @param index  the secondary index of the column, written with the file
+     * @param values the values to look up
+     * @return the matching records
+     * @throws IOException if an I/O error occurs
+     * @see #lookup(SecondaryIndex, Object...)
+     */
+    public List<T> lookup(SecondaryIndex index, Collection<?> values) throws IOException {
+        try (var iterator = builder.buildIndexLookupIterator(index, values)) {
+            return toList(iterator);
+        }
+    }
+
+    /**
+     * Evaluates a lookup of column values against the metadata of each row group,
+     * returning which row groups would be read by {@link #lookup(String, Object...)}.
+     *
+     * @param column dot separated path of the column to look up, with column
+     *               or record field names
+     * @param values the values to look up
+     * @return the read plan of the lookup
+     * @throws IOException if the file metadata can not be read
+     */
+    public ReadPlan lookupPlan(String column, Object... values) throws IOException {
+        return builder.buildLookupPlan(column, Arrays.asList(values));
+    }
+
+    /**
+     * Counts the records matching the configured filter. Row groups are counted
+     * from the footer metadata when their statistics prove that none or all of
+     * their rows match the filter, and only the columns of the filter are read
+     * for the rest of row groups.
+     *
+     * @return the number of records
+     * @throws IOException if an I/O error occurs
+     */
+    public long count() throws IOException {
+        return builder.buildAggregate(null).rowCount();
+    }
+
+    /**
+     * Returns the minimum not null value of a column in the records matching the
+     * configured filter, answered from the footer statistics when possible.
+     *
+     * Values are returned with the same Java type used reading records as Map.
+     *
+     * @param column dot separated path of the column
+     * @return the minimum value, or null if there are no values
+     * @throws IOException if an I/O error occurs
+     * @see #count()
+     */
+    public Object min(String column) throws IOException {
+        return builder.buildAggregate(column).min();
+    }
+
+    /**
+     * Returns the maximum not null value of a column in the records matching the
+     * configured filter, answered from the footer statistics when possible.
+     *
+     * @param column dot separated path of the column
+     * @return the maximum value, or null if there are no values
+     * @throws IOException if an I/O error occurs
+     * @see #min(String)
+     */
+    public Object max(String column) throws IOException {
+        return builder.buildAggregate(column).max();
+    }
+
+    /**
+     * Returns the number of null values of a column in the records matching the
+     * configured filter, answered from the footer statistics when possible.
+     *
+     * @param column dot separated path of the column
+     * @return the number of null values
+     * @throws IOException if an I/O error occurs
+     * @see #count()
+     */
+    public long nullCount(String column) throws IOException {
+        return builder.buildAggregate(column).nullCount();
+    }
+
     /**
      *
      * Returns an {@link Iterator} that can be used to iterate over the records in
@@ -149,11 +377,11 @@ public class CarpetReader<T> implements Iterable<T> {
      * @throws IOException if an I/O error occurs
      */
     public Stream<T> stream() {
-        ParquetRecordIterator<T> iterator = buildIterator();
+        CloseableIterator<T> iterator = buildIterator();
         Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator,
                 Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
         return StreamSupport.stream(spliterator, false)
-                .onClose(iterator::uncheckedCloseReader);
+                .onClose(() -> uncheckedClose(iterator));
     }
 
     /**
@@ -164,18 +392,30 @@ public class CarpetReader<T> implements Iterable<T> {
      * @throws IOException if an I/O error occurs
      */
     public List<T> toList() throws IOException {
-        List<T> result = new ArrayList<>();
         try (var iterator = buildIterator()) {
-            while (iterator.hasNext()) {
-                result.add(iterator.next());
-            }
-            return result;
+            return toList(iterator);
+        }
+    }
+
+    private static <T> List<T> toList(Iterator<T> iterator) {
+        List<T> result = new ArrayList<>();
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    private CloseableIterator<T> buildIterator() {
+        try {
+            return builder.buildIterator();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
-    private ParquetRecordIterator<T> buildIterator() {
+    private static void uncheckedClose(CloseableIterator<?> iterator) {
         try {
-            return new ParquetRecordIterator<>(builder.buildParquetReader());
+            iterator.close();
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
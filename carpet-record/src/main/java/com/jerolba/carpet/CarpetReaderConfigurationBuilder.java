@@ -17,15 +17,35 @@ package com.jerolba.carpet;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Predicate;
 
+import org.apache.parquet.ParquetReadOptions;
 import org.apache.parquet.bytes.ByteBufferAllocator;
 import org.apache.parquet.compression.CompressionCodecFactory;
 import org.apache.parquet.conf.ParquetConfiguration;
 import org.apache.parquet.crypto.FileDecryptionProperties;
+import org.apache.parquet.filter2.compat.FilterCompat;
 import org.apache.parquet.filter2.compat.FilterCompat.Filter;
+import org.apache.parquet.filter2.compat.FilterCompat.FilterPredicateCompat;
+import org.apache.parquet.filter2.compat.FilterCompat.NoOpFilter;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.hadoop.ParquetFileReader;
 import org.apache.parquet.hadoop.ParquetReader;
 import org.apache.parquet.io.InputFile;
-
+import org.apache.parquet.schema.MessageType;
+
+import com.jerolba.carpet.filter.CarpetFilter;
+import com.jerolba.carpet.impl.read.AggregatePushdown;
+import com.jerolba.carpet.impl.read.FooterCachedInputFile;
+import com.jerolba.carpet.impl.read.OffsetLimitIterator;
+import com.jerolba.carpet.impl.read.ParquetRecordIterator;
+import com.jerolba.carpet.impl.read.PredicateRowSelector;
+import com.jerolba.carpet.impl.read.RowRangeSelector;
+import com.jerolba.carpet.impl.read.RowSelector;
+import com.jerolba.carpet.impl.read.SelectedRowsIterator;
 import com.jerolba.carpet.io.FileSystemInputFile;
 
 /**
@@ -46,6 +66,11 @@ import com.jerolba.carpet.io.FileSystemInputFile;
 public abstract class CarpetReaderConfigurationBuilder<T, SELF extends CarpetReaderConfigurationBuilder<T, SELF>> {
 
     private final CarpetParquetReader.Builder<T> builder;
+    private CarpetFilter<? super T> carpetFilter;
+    private Class<?> lateMaterializationProjection;
+    private Predicate<Object> lateMaterializationPredicate;
+    private long offset = 0;
+    private long limit = Long.MAX_VALUE;
 
     /**
      *
@@ -141,6 +166,18 @@ public abstract class CarpetReaderConfigurationBuilder<T, SELF extends CarpetRea
         return self();
     }
 
+    /**
+     * Sets the value of some components of the record class, which are not read
+     * from the file, like the partition values of a file in a dataset.
+     *
+     * @param componentValues values by record component name
+     * @return Carpet Reader Builder
+     */
+    SELF withComponentValues(Map<String, Object> componentValues) {
+        this.builder.withComponentValues(componentValues);
+        return self();
+    }
+
     /**
      * Feature that determines whether encountering null is an error when
      * deserializing into Java primitive types (like 'int' or 'double'). If it is, a
@@ -184,6 +221,31 @@ public abstract class CarpetReaderConfigurationBuilder<T, SELF extends CarpetRea
         return self();
     }
 
+    /**
+     * Columns to read when records are read as Map, skipping the I/O and decoding
+     * of other columns. Paths are dot separated column names, like "address.zip",
+     * and a path to a group column includes all its nested columns.
+     *
+     * @param columnPaths paths of the columns to read
+     * @return this builder
+     */
+    public SELF withColumnProjection(String... columnPaths) {
+        this.builder.withColumnProjection(columnPaths);
+        return self();
+    }
+
+    /**
+     * Decodes values of records read as Map the first time they are accessed,
+     * instead of when the record is read.
+     *
+     * @param lazyMapMaterialization if values are decoded on access
+     * @return this builder
+     */
+    public SELF lazyMapMaterialization(boolean lazyMapMaterialization) {
+        this.builder.lazyMapMaterialization(lazyMapMaterialization);
+        return self();
+    }
+
     public SELF withConf(ParquetConfiguration conf) {
         this.builder.withConf(conf);
         return self();
@@ -191,6 +253,85 @@ public abstract class CarpetReaderConfigurationBuilder<T, SELF extends CarpetRea
 
     public SELF withFilter(Filter filter) {
         this.builder.withFilter(filter);
+        this.carpetFilter = null;
+        return self();
+    }
+
+    /**
+     * Filters the records to read with a condition over record fields, pushed
+     * down to the Parquet reader to skip row groups, pages and records.
+     *
+     * Field names are resolved to columns of the file schema when the reader is
+     * built, using the configured field matching strategy.
+     *
+     * @param filter the filter, created with {@link CarpetFilter#where}
+     * @return this builder
+     */
+    public SELF withFilter(CarpetFilter<? super T> filter) {
+        this.carpetFilter = filter;
+        return self();
+    }
+
+    /**
+     * Reads records in two phases: first decodes only the columns of a small
+     * projection record and evaluates a predicate on it, and then decodes the
+     * columns of the read class only for the rows matching the predicate,
+     * skipping the pages and values of the other rows.
+     *
+     * Useful for selective reads of wide records, where decoding all columns of
+     * all rows before filtering them would be wasted work. The projection record
+     * is mapped to the file columns like any read record.
+     *
+     * Only supported by iterators and streams of {@link CarpetReader}.
+     *
+     * @param <P>                 the type of the projection record
+     * @param predicateProjection the record class with the columns needed by the
+     *                            predicate
+     * @param predicate           the predicate selecting the rows to read
+     * @return this builder
+     */
+    @SuppressWarnings("unchecked")
+    public <P> SELF withLateMaterialization(Class<P> predicateProjection, Predicate<? super P> predicate) {
+        this.lateMaterializationProjection = predicateProjection;
+        this.lateMaterializationPredicate = (Predicate<Object>) predicate;
+        return self();
+    }
+
+    /**
+     * Skips a number of records from the beginning of the file, or of the records
+     * matching the filter if any filter is configured.
+     *
+     * Without filters, the row counts of the footer are used to skip whole row
+     * groups, and only the pages containing the first records are read in the
+     * first row group.
+     *
+     * Only supported by iterators and streams of {@link CarpetReader}.
+     *
+     * @param offset number of records to skip
+     * @return this builder
+     */
+    public SELF withOffset(long offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset can not be negative: " + offset);
+        }
+        this.offset = offset;
+        return self();
+    }
+
+    /**
+     * Reads at most a number of records. No more row groups are read once the
+     * limit is reached.
+     *
+     * Only supported by iterators and streams of {@link CarpetReader}.
+     *
+     * @param limit maximum number of records to read
+     * @return this builder
+     */
+    public SELF withLimit(long limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit can not be negative: " + limit);
+        }
+        this.limit = limit;
         return self();
     }
 
@@ -290,7 +431,261 @@ public abstract class CarpetReaderConfigurationBuilder<T, SELF extends CarpetRea
     }
 
     public ParquetReader<T> buildParquetReader() throws IOException {
-        return this.builder.build();
+        if (hasOffsetOrLimit()) {
+            throw new IllegalStateException("Offset and limit are only supported by CarpetReader iterators");
+        }
+        return buildParquetReader(null);
+    }
+
+    private ParquetReader<T> buildParquetReader(CarpetFilter<Object> lookup) throws IOException {
+        if (lateMaterializationProjection != null) {
+            throw new IllegalStateException("Late materialization is only supported by CarpetReader iterators");
+        }
+        if (carpetFilter == null && lookup == null) {
+            return this.builder.build();
+        }
+        // The footer is read once, resolving the filter and building the reader
+        return buildParquetReader(lookup, FooterCachedInputFile.read(getInputFile()));
+    }
+
+    private ParquetReader<T> buildParquetReader(CarpetFilter<Object> lookup, InputFile footerCachedFile)
+            throws IOException {
+        Filter configuredFilter = this.builder.getFilter();
+        InputFile inputFile = getInputFile();
+        try (ParquetFileReader fileReader = ParquetFileReader.open(footerCachedFile, builder.getReadOptions())) {
+            this.builder.withFilter(resolveFilter(fileReader.getFooter().getFileMetaData().getSchema(), lookup));
+        }
+        try {
+            return this.builder.withFile(footerCachedFile).build();
+        } finally {
+            this.builder.withFilter(configuredFilter);
+            this.builder.withFile(inputFile);
+        }
+    }
+
+    /**
+     * Builds an iterator over the records of the file, reading them in two phases
+     * if late materialization is configured.
+     *
+     * @return the iterator, that must be closed if not fully consumed
+     * @throws IOException if the file can not be opened
+     */
+    public CloseableIterator<T> buildIterator() throws IOException {
+        return buildIterator(null);
+    }
+
+    /**
+     * Builds an iterator over the records of the file with a column value in a set
+     * of values, in addition to the configured filter.
+     *
+     * Before reading a row group, the values are probed against its statistics,
+     * dictionary pages and bloom filters, and only row groups that may contain
+     * any of them are read.
+     *
+     * @param column dot separated path of the column to look up, with column
+     *               or record field names
+     * @param values the values to look up
+     * @return the iterator, that must be closed if not fully consumed
+     * @throws IOException if the file can not be opened
+     */
+    public CloseableIterator<T> buildLookupIterator(String column, Collection<?> values) throws IOException {
+        return buildIterator(lookupFilter(column, values));
+    }
+
+    private CloseableIterator<T> buildIterator(CarpetFilter<Object> lookup) throws IOException {
+        if (lateMaterializationProjection == null && lookup == null && carpetFilter == null) {
+            if (builder.getFilter() instanceof NoOpFilter && hasOffsetOrLimit()) {
+                return buildRowRangeIterator();
+            }
+            return limited(new ParquetRecordIterator<>(buildParquetReader(null)));
+        }
+        ParquetReadOptions options = builder.getReadOptions();
+        InputFile footerCachedFile = FooterCachedInputFile.read(getInputFile());
+        ParquetFileReader fileReader = ParquetFileReader.open(footerCachedFile, options);
+        try {
+            RowSelector rowSelector = null;
+            if (lateMaterializationProjection != null) {
+                rowSelector = lateMaterializationSelector(options);
+            } else if (hasColumnStatistics(fileReader)) {
+                rowSelector = RowSelector.all();
+            }
+            if (rowSelector != null) {
+                Filter filter = resolveFilter(fileReader.getFooter().getFileMetaData().getSchema(), lookup);
+                return limited(new SelectedRowsIterator<>(fileReader, options, filter,
+                        builder.getReadSupport(builder.getRecordClass()), rowSelector));
+            }
+        } catch (RuntimeException e) {
+            fileReader.close();
+            throw e;
+        }
+        fileReader.close();
+        return limited(new ParquetRecordIterator<>(buildParquetReader(lookup, footerCachedFile)));
+    }
+
+    /**
+     * Column statistics stored by the writer are only evaluated by the row group
+     * selection of SelectedRowsIterator, not by ParquetReader.
+     */
+    private static boolean hasColumnStatistics(ParquetFileReader fileReader) {
+        return !ColumnStatisticsPruner.of(fileReader.getFooter()).columns().isEmpty();
+    }
+
+    /**
+     * Without filters, the position of each row in the file is known from the row
+     * counts of the footer, and the rows between offset and limit are read
+     * directly.
+     */
+    private CloseableIterator<T> buildRowRangeIterator() throws IOException {
+        ParquetReadOptions options = builder.getReadOptions();
+        ParquetFileReader fileReader = openFileReader();
+        try {
+            return new SelectedRowsIterator<>(fileReader, options, FilterCompat.NOOP,
+                    builder.getReadSupport(builder.getRecordClass()), new RowRangeSelector(offset, limit));
+        } catch (RuntimeException e) {
+            fileReader.close();
+            throw e;
+        }
+    }
+
+    private boolean hasOffsetOrLimit() {
+        return offset > 0 || limit < Long.MAX_VALUE;
+    }
+
+    private CloseableIterator<T> limited(CloseableIterator<T> iterator) {
+        if (!hasOffsetOrLimit()) {
+            return iterator;
+        }
+        return new OffsetLimitIterator<>(iterator, offset, limit);
+    }
+
+    /**
+     * Builds an iterator over the records of the file with a column value in a set
+     * of values, reading only the rows located by a secondary index of the column.
+     * The configured filter and late materialization are also applied.
+     *
+     * @param index  the secondary index of the column, created with the file
+     * @param values the values to look up
+     * @return the iterator, that must be closed if not fully consumed
+     * @throws IOException if the file can not be opened
+     * @throws IllegalArgumentException if the index was not created for the file
+     */
+    public CloseableIterator<T> buildIndexLookupIterator(SecondaryIndex index, Collection<?> values)
+            throws IOException {
+        ParquetReadOptions options = builder.getReadOptions();
+        ParquetFileReader fileReader = openFileReader();
+        try {
+            index.checkIndexOf(fileReader.getFooter());
+            RowSelector rowSelector = index.selector(values);
+            if (lateMaterializationProjection != null) {
+                rowSelector = rowSelector.and(lateMaterializationSelector(options));
+            }
+            Filter filter = resolveFilter(fileReader.getFooter().getFileMetaData().getSchema());
+            return limited(new SelectedRowsIterator<>(fileReader, options, filter,
+                    builder.getReadSupport(builder.getRecordClass()), rowSelector));
+        } catch (IOException | RuntimeException e) {
+            fileReader.close();
+            throw e;
+        }
+    }
+
+    private RowSelector lateMaterializationSelector(ParquetReadOptions options) {
+        return new PredicateRowSelector<>(builder.getReadSupport(lateMaterializationProjection),
+                lateMaterializationPredicate, options.getConfiguration());
+    }
+
+    /**
+     * Evaluates the configured filter against the footer statistics, dictionary
+     * pages and bloom filters of each row group, without reading data pages.
+     *
+     * @return the row groups that will be read, and why the other ones are
+     *         skipped
+     * @throws IOException if the file metadata can not be read
+     */
+    public ReadPlan buildReadPlan() throws IOException {
+        return buildReadPlan(null);
+    }
+
+    /**
+     * Evaluates a lookup of column values, in addition to the configured filter,
+     * against the metadata of each row group, without reading data pages.
+     *
+     * @param column dot separated path of the column to look up, with column
+     *               or record field names
+     * @param values the values to look up
+     * @return the row groups that will be read, and why the other ones are
+     *         skipped
+     * @throws IOException if the file metadata can not be read
+     */
+    public ReadPlan buildLookupPlan(String column, Collection<?> values) throws IOException {
+        return buildReadPlan(lookupFilter(column, values));
+    }
+
+    private ReadPlan buildReadPlan(CarpetFilter<Object> lookup) throws IOException {
+        try (ParquetFileReader fileReader = openFileReader()) {
+            Filter filter = resolveFilter(fileReader.getFooter().getFileMetaData().getSchema(), lookup);
+            return ReadPlan.create(fileReader, filter, builder.getReadOptions());
+        }
+    }
+
+    /**
+     * Counts the rows matching the configured filter, and aggregates the values of
+     * a column in those rows. Row groups are answered from their footer
+     * statistics when the filter can not match any row, or matches all of them.
+     * Otherwise, only the columns of the filter and the aggregated column are
+     * read.
+     *
+     * @param column dot separated path of the column to aggregate, or null to
+     *               only count rows
+     * @return the aggregated values
+     * @throws IOException if the file can not be read
+     * @throws IllegalStateException if late materialization, offset or limit is
+     *                               configured
+     */
+    public AggregatePushdown.Result buildAggregate(String column) throws IOException {
+        if (lateMaterializationProjection != null) {
+            throw new IllegalStateException("Aggregates are not supported with late materialization");
+        }
+        if (hasOffsetOrLimit()) {
+            throw new IllegalStateException("Aggregates are not supported with offset or limit");
+        }
+        try (ParquetFileReader fileReader = openFileReader()) {
+            Filter filter = resolveFilter(fileReader.getFooter().getFileMetaData().getSchema());
+            return new AggregatePushdown(fileReader, builder.getReadOptions(), filter).aggregate(column);
+        }
+    }
+
+    private static CarpetFilter<Object> lookupFilter(String column, Collection<?> values) {
+        return CarpetFilter.where(column).in(values);
+    }
+
+    private ParquetFileReader openFileReader() throws IOException {
+        return ParquetFileReader.open(getInputFile(), builder.getReadOptions());
+    }
+
+    private Filter resolveFilter(MessageType schema) {
+        if (carpetFilter == null) {
+            return builder.getFilter();
+        }
+        return FilterCompat.get(toFilterPredicate(carpetFilter, schema));
+    }
+
+    private Filter resolveFilter(MessageType schema, CarpetFilter<Object> lookup) {
+        Filter filter = resolveFilter(schema);
+        if (lookup == null) {
+            return filter;
+        }
+        FilterPredicate lookupPredicate = toFilterPredicate(lookup, schema);
+        if (filter instanceof FilterPredicateCompat predicateCompat) {
+            return FilterCompat.get(FilterApi.and(predicateCompat.getFilterPredicate(), lookupPredicate));
+        }
+        if (filter instanceof NoOpFilter) {
+            return FilterCompat.get(lookupPredicate);
+        }
+        throw new IllegalStateException("Lookups can not be combined with an UnboundRecordFilter");
+    }
+
+    private FilterPredicate toFilterPredicate(CarpetFilter<?> filter, MessageType schema) {
+        return filter.toFilterPredicate(builder.getRecordClass(), schema, builder.getFieldMatchingStrategy());
     }
 
-}
\ No newline at end of file
+}
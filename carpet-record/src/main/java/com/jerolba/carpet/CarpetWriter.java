@@ -15,18 +15,26 @@
  */
 package com.jerolba.carpet;
 
+import static java.util.Objects.requireNonNull;
+
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
+import java.lang.reflect.RecordComponent;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import org.apache.parquet.hadoop.ParquetWriter;
 import org.apache.parquet.io.OutputFile;
 
+import com.jerolba.carpet.impl.write.ColumnBatchRow;
+import com.jerolba.carpet.impl.write.Reflection;
 import com.jerolba.carpet.io.OutputStreamOutputFile;
 
 /**
@@ -46,6 +54,8 @@ import com.jerolba.carpet.io.OutputStreamOutputFile;
 public class CarpetWriter<T> implements Closeable, Consumer<T> {
 
     private final ParquetWriter<T> writer;
+    private final RowGroupBuffer<T> rowGroupBuffer;
+    private final ColumnBatchRow columnBatchRow = new ColumnBatchRow();
 
     /**
      * Constructs a CarpetWriter that writes records of type T to the specified
@@ -56,7 +66,7 @@ public class CarpetWriter<T> implements Closeable, Consumer<T> {
      * @throws IOException If an I/O error occurs while creating the Parquet writer.
      */
     public CarpetWriter(OutputFile outputFile, Class<T> recordClass) throws IOException {
-        this.writer = new Builder<>(recordClass).withFile(outputFile).buildParquetWriter();
+        this(new Builder<>(recordClass).withFile(outputFile), null);
     }
 
     /**
@@ -71,8 +81,9 @@ public class CarpetWriter<T> implements Closeable, Consumer<T> {
         this(new OutputStreamOutputFile(outputStream), recordClass);
     }
 
-    private CarpetWriter(ParquetWriter<T> writer) {
-        this.writer = writer;
+    private CarpetWriter(Builder<T> builder, RowGroupBuffer<T> rowGroupBuffer) throws IOException {
+        this.writer = builder.withColumnBatchRow(columnBatchRow).buildParquetWriter();
+        this.rowGroupBuffer = rowGroupBuffer;
     }
 
     /**
@@ -84,7 +95,7 @@ public class CarpetWriter<T> implements Closeable, Consumer<T> {
      */
     public void write(Collection<T> collection) throws IOException {
         for (var value : collection) {
-            writer.write(value);
+            write(value);
         }
     }
 
@@ -96,7 +107,11 @@ public class CarpetWriter<T> implements Closeable, Consumer<T> {
      * @throws IOException if an error occurs while writing the records
      */
     public void write(T value) throws IOException {
-        writer.write(value);
+        if (rowGroupBuffer == null) {
+            writer.write(value);
+        } else if (rowGroupBuffer.add(value)) {
+            rowGroupBuffer.drain(writer::write);
+        }
     }
 
     /**
@@ -109,7 +124,7 @@ public class CarpetWriter<T> implements Closeable, Consumer<T> {
     @Override
     public void accept(T value) {
         try {
-            writer.write(value);
+            write(value);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -126,17 +141,63 @@ public class CarpetWriter<T> implements Closeable, Consumer<T> {
     public void write(Stream<T> stream) throws IOException {
         Iterator<T> it = stream.iterator();
         while (it.hasNext()) {
-            writer.write(it.next());
+            write(it.next());
+        }
+    }
+
+    /**
+     * Writes a batch of rows held column-wise, reading the values of each row
+     * directly from the column arrays, without creating a record per row.
+     *
+     * Values are written in the physical representation of their column (see
+     * {@link ColumnBatch}). Columns of an enum field only accept the names of its
+     * constants. Rows are counted one by one by Parquet to close row groups, and
+     * in flat schemas the values of each row are written directly to their
+     * column writers.
+     *
+     * @param batch the columns of the rows to write
+     * @throws IOException                   if an error occurs while writing the
+     *                                       rows
+     * @throws RecordTypeConversionException if the batch does not match the
+     *                                       schema, a value is out of the range of
+     *                                       its column type or is not a constant of
+     *                                       its enum
+     * @throws IllegalStateException         if row groups are sorted or clustered
+     */
+    public void writeColumns(ColumnBatch batch) throws IOException {
+        if (rowGroupBuffer != null) {
+            throw new IllegalStateException("Column batches can not be written with sorted row groups");
+        }
+        columnBatchRow.start(batch);
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                columnBatchRow.moveTo(i);
+                // The write support writes the current row of the batch in place of the null record
+                writer.write(null);
+            }
+        } finally {
+            columnBatchRow.end();
         }
     }
 
     @Override
     public void close() throws IOException {
-        writer.close();
+        try {
+            if (rowGroupBuffer != null) {
+                rowGroupBuffer.flush(writer::write);
+            }
+        } finally {
+            writer.close();
+        }
     }
 
     public static class Builder<T> extends CarpetWriterConfigurationBuilder<T, Builder<T>> {
 
+        private final Class<T> recordClass;
+        private Consumer<List<T>> rowGroupSorter;
+        private int rowGroupRecords;
+        private Integer rowGroupRowCountLimit;
+
         /**
          * Creates a new {@code Builder} instance from the specified record class.
          *
@@ -146,6 +207,7 @@ public class CarpetWriter<T> implements Closeable, Consumer<T> {
          */
         public Builder(Class<T> recordClass) {
             super(recordClass);
+            this.recordClass = recordClass;
         }
 
         /**
@@ -157,6 +219,7 @@ public class CarpetWriter<T> implements Closeable, Consumer<T> {
          */
         public Builder(OutputFile outputFile, Class<T> recordClass) {
             super(recordClass);
+            this.recordClass = recordClass;
             withFile(outputFile);
         }
 
@@ -169,6 +232,7 @@ public class CarpetWriter<T> implements Closeable, Consumer<T> {
          */
         public Builder(OutputStream outputStream, Class<T> recordClass) {
             super(recordClass);
+            this.recordClass = recordClass;
             withFile(new OutputStreamOutputFile(outputStream));
         }
 
@@ -189,8 +253,116 @@ public class CarpetWriter<T> implements Closeable, Consumer<T> {
             return this;
         }
 
+        /**
+         * Writes row groups of a fixed number of records, sorting the records of each
+         * row group with the comparator before writing them. Sorted row groups have
+         * tight min/max statistics and column indexes on the sorting columns, making
+         * filters on those columns effective when the file is read.
+         *
+         * Records of a row group are buffered in memory until it is complete.
+         *
+         * The row count limit of row groups is {@code rowGroupRecords}, and can not be
+         * changed with {@link #withRowGroupRowCountLimit(int)}. If a row group reaches
+         * the row group size in bytes first, Parquet ends it and the records not written
+         * yet are sorted with the records of the next row group, so every row group is
+         * still sorted.
+         *
+         * @param comparator      used to sort the records of each row group
+         * @param rowGroupRecords number of records of each row group
+         * @return this builder for method chaining.
+         */
+        public Builder<T> withSortedRowGroups(Comparator<? super T> comparator, int rowGroupRecords) {
+            requireNonNull(comparator, "Comparator can not be null");
+            return withRowGroupSorter(records -> records.sort(comparator), rowGroupRecords);
+        }
+
+        /**
+         * Writes row groups of a fixed number of records, sorting the records of each
+         * row group by the natural order of the given record fields, with nulls last.
+         *
+         * @param rowGroupRecords number of records of each row group
+         * @param fieldNames      names of the record fields to sort by, in order
+         * @return this builder for method chaining.
+         * @see #withSortedRowGroups(Comparator, int)
+         */
+        public Builder<T> withSortedRowGroups(int rowGroupRecords, String... fieldNames) {
+            if (fieldNames.length == 0) {
+                throw new IllegalArgumentException("At least one field name is required to sort row groups");
+            }
+            Comparator<T> comparator = null;
+            for (String fieldName : fieldNames) {
+                Comparator<T> fieldComparator = fieldComparator(fieldName);
+                comparator = comparator == null ? fieldComparator : comparator.thenComparing(fieldComparator);
+            }
+            return withSortedRowGroups(comparator, rowGroupRecords);
+        }
+
+        /**
+         * Writes row groups of a fixed number of records, clustering the records of
+         * each row group by the Z-order of the given record fields. Records close in
+         * the Z-order curve have close values in all the fields, so the min/max
+         * statistics of every clustering column are narrower than when sorting by the
+         * first field, and filters combining them can skip more row groups and pages.
+         *
+         * Supported field types are numbers, booleans, enums, strings (by their first 8
+         * bytes), dates, times, timestamps and UUIDs. Records of a row group are
+         * buffered in memory until it is complete, as in
+         * {@link #withSortedRowGroups(Comparator, int)}.
+         *
+         * @param rowGroupRecords number of records of each row group
+         * @param fieldNames      names of the record fields to cluster by
+         * @return this builder for method chaining.
+         */
+        public Builder<T> withClusteredRowGroups(int rowGroupRecords, String... fieldNames) {
+            return withRowGroupSorter(new ZOrderSorter<>(recordClass, fieldNames), rowGroupRecords);
+        }
+
+        private Builder<T> withRowGroupSorter(Consumer<List<T>> sorter, int rowGroupRecords) {
+            if (rowGroupRecords <= 0) {
+                throw new IllegalArgumentException("rowGroupRecords must be > 0, got: " + rowGroupRecords);
+            }
+            this.rowGroupSorter = sorter;
+            this.rowGroupRecords = rowGroupRecords;
+            return self();
+        }
+
+        @Override
+        public Builder<T> withRowGroupRowCountLimit(int rowCount) {
+            this.rowGroupRowCountLimit = rowCount;
+            return super.withRowGroupRowCountLimit(rowCount);
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private Comparator<T> fieldComparator(String fieldName) {
+            for (RecordComponent recordComponent : recordClass.getRecordComponents()) {
+                if (recordComponent.getName().equals(fieldName)) {
+                    Class<?> type = recordComponent.getType();
+                    if (!type.isPrimitive() && !Comparable.class.isAssignableFrom(type)) {
+                        throw new IllegalArgumentException("Field '" + fieldName + "' of type " + type.getName()
+                                + " is not Comparable");
+                    }
+                    Function<Object, Object> accessor = Reflection.recordAccessor(recordClass, recordComponent);
+                    Comparator<Comparable> natural = Comparator.nullsLast(Comparator.naturalOrder());
+                    return (a, b) -> natural.compare((Comparable) accessor.apply(a), (Comparable) accessor.apply(b));
+                }
+            }
+            throw new IllegalArgumentException("Field '" + fieldName + "' not found in " + recordClass.getName());
+        }
+
         public CarpetWriter<T> build() throws IOException {
-            return new CarpetWriter<>(buildParquetWriter());
+            if (rowGroupSorter == null) {
+                return new CarpetWriter<>(this, null);
+            }
+            if (rowGroupRowCountLimit != null && rowGroupRowCountLimit != rowGroupRecords) {
+                throw new IllegalStateException("Row group row count limit " + rowGroupRowCountLimit
+                        + " conflicts with the " + rowGroupRecords + " records of sorted row groups");
+            }
+            // Each buffer of sorted records is written as a row group, unless Parquet
+            // starts a new row group by size in bytes and the buffer stops draining
+            super.withRowGroupRowCountLimit(rowGroupRecords);
+            var rowGroupBuffer = new RowGroupBuffer<T>(rowGroupRecords, rowGroupSorter);
+            withRowGroupListener(rowGroupBuffer::rowGroupStarted);
+            return new CarpetWriter<>(this, rowGroupBuffer);
         }
 
     }
@@ -32,6 +32,7 @@ import org.apache.parquet.hadoop.ParquetWriter;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
 import org.apache.parquet.io.OutputFile;
 
+import com.jerolba.carpet.impl.write.ColumnBatchRow;
 import com.jerolba.carpet.model.WriteRecordModelType;
 
 /**
@@ -364,6 +365,78 @@ public abstract class CarpetWriterConfigurationBuilder<T, SELF extends CarpetWri
         return self();
     }
 
+    /**
+     * Declares the expected number of distinct values of a column in a row group.
+     * If the dictionary of the column can not fit in the dictionary page size,
+     * dictionary encoding is disabled for the column, otherwise it is enabled.
+     * Overrides the {@link com.jerolba.carpet.annotation.Cardinality} annotation
+     * of the field, and is ignored if dictionary encoding of the column is
+     * configured explicitly.
+     *
+     * @param columnPath     the path of the column (dot-string)
+     * @param distinctValues expected number of distinct values
+     * @return this builder for method chaining.
+     */
+    public SELF withColumnCardinality(String columnPath, long distinctValues) {
+        builder.withColumnCardinality(columnPath, distinctValues);
+        return self();
+    }
+
+    /**
+     * Declares the expected number of distinct values of a column in a row group,
+     * and the average size in bytes of the values of a binary column. Without the
+     * average size, the dictionary size of binary columns is estimated with a
+     * lower bound of one byte per value, underestimating long values like string
+     * identifiers.
+     *
+     * @param columnPath       the path of the column (dot-string)
+     * @param distinctValues   expected number of distinct values
+     * @param averageValueSize average size in bytes of the values of the column
+     * @return this builder for method chaining.
+     */
+    public SELF withColumnCardinality(String columnPath, long distinctValues, int averageValueSize) {
+        builder.withColumnCardinality(columnPath, distinctValues, averageValueSize);
+        return self();
+    }
+
+    /**
+     * Collects statistics of the values of the columns in each row group, and
+     * stores them in the key-value metadata of the file: an estimation of the
+     * number of distinct values, the most frequent values, and an equi-depth
+     * histogram. If a row group has few distinct values, all of them are stored.
+     * Readers with a filter on the columns use them to skip row groups, and they
+     * can be inspected with {@link ColumnStatisticsPruner}.
+     *
+     * Only primitive columns not nested in collections are supported.
+     *
+     * @param columnPaths the paths of the columns (dot-string)
+     * @return this builder for method chaining.
+     */
+    public SELF withColumnStatistics(String... columnPaths) {
+        builder.withColumnStatistics(columnPaths);
+        return self();
+    }
+
+    /**
+     * Builds a secondary index of a column while the file is written, and writes
+     * it to an index file when the writer is closed. The index contains the not
+     * null values of the column sorted, with the row group and row of each value,
+     * and can be read with {@link SecondaryIndex} to read only the rows with some
+     * values using {@link CarpetReader#lookup(SecondaryIndex, Object...)}.
+     *
+     * Only primitive columns not nested in collections are supported. The values
+     * of each row group are sorted and spilled to a temporary file when the row
+     * group is flushed, and merged into the index file when the writer is closed.
+     *
+     * @param columnPath the path of the column (dot-string)
+     * @param indexFile  the file where the index is written
+     * @return this builder for method chaining.
+     */
+    public SELF withSecondaryIndex(String columnPath, OutputFile indexFile) {
+        builder.withSecondaryIndex(columnPath, indexFile);
+        return self();
+    }
+
     /**
      * Set max Bloom filter bytes for related columns.
      *
@@ -685,6 +758,28 @@ public abstract class CarpetWriterConfigurationBuilder<T, SELF extends CarpetWri
         return self();
     }
 
+    /**
+     * Sets a listener called each time the writer starts a new row group.
+     *
+     * @param rowGroupListener called when a row group is started
+     * @return this builder for method chaining
+     */
+    SELF withRowGroupListener(Runnable rowGroupListener) {
+        builder.withRowGroupListener(rowGroupListener);
+        return self();
+    }
+
+    /**
+     * Sets the cursor shared with the write support to write column batches.
+     *
+     * @param columnBatchRow the cursor of the column batch being written
+     * @return this builder for method chaining
+     */
+    SELF withColumnBatchRow(ColumnBatchRow columnBatchRow) {
+        builder.withColumnBatchRow(columnBatchRow);
+        return self();
+    }
+
     /**
      * Builds the ParquetWriter from the current configuration.
      *
@@ -0,0 +1,152 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A batch of rows held column-wise, as parallel arrays of values, to be written
+ * with {@link CarpetWriter#writeColumns(ColumnBatch)} without creating a record
+ * per row.
+ *
+ * Each column is identified by its name in the Parquet schema, and its values
+ * are read from the first {@code size} positions of its array. Null values of
+ * primitive columns are declared with a {@link BitSet}, where a set bit marks a
+ * null row. Null elements of a String array are written as null.
+ *
+ * Only flat schemas are supported: columns must be top-level primitive fields.
+ * Columns of the schema missing in the batch are written as null.
+ *
+ * Values are written in the physical representation of their column, without
+ * conversion: DATE columns as days since epoch, TIME and TIMESTAMP columns as
+ * the number of units of the column since midnight or epoch, and DECIMAL
+ * columns as their unscaled value. Values out of the range of 8 and 16 bits
+ * integer columns, or with more digits than the precision of a DECIMAL column,
+ * are rejected.
+ *
+ * <pre>{@code
+ * var batch = new ColumnBatch(size)
+ *         .withLongs("time", times)
+ *         .withStrings("metric", names)
+ *         .withDoubles("value", values, nullValues);
+ * writer.writeColumns(batch);
+ * }</pre>
+ */
+public class ColumnBatch {
+
+    /**
+     * Values of a column
+     *
+     * @param name   name of the column in the Parquet schema
+     * @param values array of primitive values or Strings
+     * @param nulls  rows with null value, or null if there are no null values
+     */
+    public record Column(String name, Object values, BitSet nulls) {
+    }
+
+    private final int size;
+    private final Map<String, Column> columns = new LinkedHashMap<>();
+
+    /**
+     * Creates an empty batch of rows
+     *
+     * @param size number of rows of the batch
+     */
+    public ColumnBatch(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size must be >= 0, got: " + size);
+        }
+        this.size = size;
+    }
+
+    public ColumnBatch withInts(String column, int[] values) {
+        return withInts(column, values, null);
+    }
+
+    public ColumnBatch withInts(String column, int[] values, BitSet nulls) {
+        return withColumn(column, values, values.length, nulls);
+    }
+
+    public ColumnBatch withLongs(String column, long[] values) {
+        return withLongs(column, values, null);
+    }
+
+    public ColumnBatch withLongs(String column, long[] values, BitSet nulls) {
+        return withColumn(column, values, values.length, nulls);
+    }
+
+    public ColumnBatch withFloats(String column, float[] values) {
+        return withFloats(column, values, null);
+    }
+
+    public ColumnBatch withFloats(String column, float[] values, BitSet nulls) {
+        return withColumn(column, values, values.length, nulls);
+    }
+
+    public ColumnBatch withDoubles(String column, double[] values) {
+        return withDoubles(column, values, null);
+    }
+
+    public ColumnBatch withDoubles(String column, double[] values, BitSet nulls) {
+        return withColumn(column, values, values.length, nulls);
+    }
+
+    public ColumnBatch withBooleans(String column, boolean[] values) {
+        return withBooleans(column, values, null);
+    }
+
+    public ColumnBatch withBooleans(String column, boolean[] values, BitSet nulls) {
+        return withColumn(column, values, values.length, nulls);
+    }
+
+    public ColumnBatch withStrings(String column, String[] values) {
+        return withColumn(column, values, values.length, null);
+    }
+
+    private ColumnBatch withColumn(String column, Object values, int length, BitSet nulls) {
+        requireNonNull(column, "Column name can not be null");
+        if (length < size) {
+            throw new IllegalArgumentException("Column '" + column + "' has " + length
+                    + " values, but batch size is " + size);
+        }
+        if (columns.containsKey(column)) {
+            throw new IllegalArgumentException("Column '" + column + "' is already defined in the batch");
+        }
+        columns.put(column, new Column(column, values, nulls));
+        return this;
+    }
+
+    /**
+     * @return number of rows of the batch
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return columns of the batch, in the order they were added
+     */
+    public Collection<Column> columns() {
+        return Collections.unmodifiableCollection(columns.values());
+    }
+
+}
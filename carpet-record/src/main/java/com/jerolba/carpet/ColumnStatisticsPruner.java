@@ -0,0 +1,394 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.conf.PlainParquetConfiguration;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.filter2.predicate.Operators.Column;
+import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.LogicalTypeAnnotation.DateLogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+
+import com.jerolba.carpet.impl.ColumnStatisticsFormat;
+import com.jerolba.carpet.impl.HyperLogLog;
+import com.jerolba.carpet.io.FileSystemInputFile;
+
+/**
+ * Decides which row groups of a file can be skipped using the column statistics
+ * stored by the writer with {@code withColumnStatistics}, which can exclude row
+ * groups that min/max statistics can not, like a value between the minimum and
+ * maximum values that is not present in a row group with few distinct values.
+ *
+ * <pre>{@code
+ * ColumnStatisticsPruner pruner = ColumnStatisticsPruner.read(file);
+ * List<Integer> rowGroups = pruner.rowGroupsMatching("country", "ES");
+ * }</pre>
+ *
+ * Values can be provided with their Java types: numbers, String, Enum, Boolean,
+ * LocalDate or byte[], or with the Java class used by parquet for the primitive
+ * type of the column.
+ *
+ * Readers with a filter use it to skip the row groups that can not match the
+ * filter predicate, before reading them.
+ */
+public class ColumnStatisticsPruner {
+
+    private record ColumnStatistics(PrimitiveType type, List<RowGroupColumnStatistics> rowGroups) {
+    }
+
+    private final Map<String, ColumnStatistics> columns;
+
+    private ColumnStatisticsPruner(Map<String, ColumnStatistics> columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Creates a pruner from the metadata of a file
+     *
+     * @param metadata footer of the file
+     * @return the pruner
+     */
+    public static ColumnStatisticsPruner of(ParquetMetadata metadata) {
+        FileMetaData fileMetaData = metadata.getFileMetaData();
+        MessageType schema = fileMetaData.getSchema();
+        Map<String, ColumnStatistics> columns = new LinkedHashMap<>();
+        for (var entry : fileMetaData.getKeyValueMetaData().entrySet()) {
+            if (!entry.getKey().startsWith(ColumnStatisticsFormat.KEY_PREFIX)) {
+                continue;
+            }
+            String path = entry.getKey().substring(ColumnStatisticsFormat.KEY_PREFIX.length());
+            String[] columnPath = path.split("\\.");
+            if (!schema.containsPath(columnPath) || !schema.getType(columnPath).isPrimitive()) {
+                continue;
+            }
+            PrimitiveType type = schema.getType(columnPath).asPrimitiveType();
+            List<RowGroupColumnStatistics> rowGroups = new ArrayList<>();
+            for (var rowGroup : ColumnStatisticsFormat.parse(entry.getValue(), type)) {
+                rowGroups.add(new RowGroupColumnStatistics(rowGroup, type));
+            }
+            columns.put(path, new ColumnStatistics(type, List.copyOf(rowGroups)));
+        }
+        return new ColumnStatisticsPruner(columns);
+    }
+
+    /**
+     * Creates a pruner reading the footer of a file
+     *
+     * @param inputFile the file to read
+     * @return the pruner
+     * @throws IOException if the footer can not be read
+     */
+    public static ColumnStatisticsPruner read(InputFile inputFile) throws IOException {
+        ParquetReadOptions readOptions = ParquetReadOptions.builder(new PlainParquetConfiguration()).build();
+        try (ParquetFileReader fileReader = ParquetFileReader.open(inputFile, readOptions)) {
+            return of(fileReader.getFooter());
+        }
+    }
+
+    public static ColumnStatisticsPruner read(File file) throws IOException {
+        return read(new FileSystemInputFile(file));
+    }
+
+    /**
+     * @return the paths of the columns with statistics
+     */
+    public Set<String> columns() {
+        return columns.keySet();
+    }
+
+    /**
+     * Returns the statistics of each row group of a column
+     *
+     * @param columnPath the path of the column (dot-string)
+     * @return the statistics by row group
+     * @throws IllegalArgumentException if the column has no statistics
+     */
+    public List<RowGroupColumnStatistics> statistics(String columnPath) {
+        return column(columnPath).rowGroups();
+    }
+
+    /**
+     * Estimates the number of distinct values of a column in the whole file,
+     * merging the sketches of all row groups.
+     *
+     * @param columnPath the path of the column (dot-string)
+     * @return estimated number of distinct values
+     */
+    public long estimatedDistinctCount(String columnPath) {
+        HyperLogLog merged = null;
+        for (RowGroupColumnStatistics rowGroup : statistics(columnPath)) {
+            if (merged == null) {
+                merged = HyperLogLog.fromBytes(rowGroup.distinctSketch().toBytes());
+            } else {
+                merged.merge(rowGroup.distinctSketch());
+            }
+        }
+        return merged == null ? 0 : merged.estimate();
+    }
+
+    /**
+     * Returns true if the row group has no row with the value in the column
+     *
+     * @param rowGroup   index of the row group in the file
+     * @param columnPath the path of the column (dot-string)
+     * @param value      the value to find, null to find nulls
+     * @return true if the row group can be skipped
+     */
+    public boolean canSkip(int rowGroup, String columnPath, Object value) {
+        ColumnStatistics column = column(columnPath);
+        return !rowGroup(column, rowGroup).mightContain(toParquetValue(value, column.type()));
+    }
+
+    /**
+     * Returns true if the row group has no row with a value between two values,
+     * both inclusive.
+     *
+     * @param rowGroup   index of the row group in the file
+     * @param columnPath the path of the column (dot-string)
+     * @param from       the minimum value, or null for no minimum
+     * @param to         the maximum value, or null for no maximum
+     * @return true if the row group can be skipped
+     */
+    public boolean canSkipBetween(int rowGroup, String columnPath, Object from, Object to) {
+        ColumnStatistics column = column(columnPath);
+        return !rowGroup(column, rowGroup).mightContainBetween(toParquetValue(from, column.type()),
+                toParquetValue(to, column.type()));
+    }
+
+    /**
+     * Returns true if no row of the row group can match a parquet-mr filter
+     * predicate, like the predicates created from a CarpetFilter. Conditions on
+     * columns without statistics, and negated or user defined conditions, never
+     * skip a row group.
+     *
+     * @param rowGroup  index of the row group in the file
+     * @param predicate the filter predicate
+     * @return true if the row group can be skipped
+     */
+    public boolean canSkip(int rowGroup, FilterPredicate predicate) {
+        return predicate.accept(new SkipEvaluator(rowGroup));
+    }
+
+    /**
+     * Returns the indexes of the row groups that can contain the value in the
+     * column.
+     *
+     * @param columnPath the path of the column (dot-string)
+     * @param value      the value to find, null to find nulls
+     * @return the row groups that can not be skipped
+     */
+    public List<Integer> rowGroupsMatching(String columnPath, Object value) {
+        ColumnStatistics column = column(columnPath);
+        Object parquetValue = toParquetValue(value, column.type());
+        return column.rowGroups().stream()
+                .filter(rowGroup -> rowGroup.mightContain(parquetValue))
+                .map(RowGroupColumnStatistics::rowGroup)
+                .toList();
+    }
+
+    private ColumnStatistics column(String columnPath) {
+        ColumnStatistics column = columns.get(columnPath);
+        if (column == null) {
+            throw new IllegalArgumentException("Column '" + columnPath + "' has no statistics");
+        }
+        return column;
+    }
+
+    private static RowGroupColumnStatistics rowGroup(ColumnStatistics column, int rowGroup) {
+        for (RowGroupColumnStatistics statistics : column.rowGroups()) {
+            if (statistics.rowGroup() == rowGroup) {
+                return statistics;
+            }
+        }
+        throw new IllegalArgumentException("Row group " + rowGroup + " has no statistics");
+    }
+
+    private static Object toParquetValue(Object value, PrimitiveType type) {
+        if (value == null) {
+            return null;
+        }
+        Object converted = switch (type.getPrimitiveTypeName()) {
+        case BOOLEAN -> value instanceof Boolean ? value : null;
+        case INT32 -> {
+            if (value instanceof LocalDate date && type.getLogicalTypeAnnotation() instanceof DateLogicalTypeAnnotation) {
+                yield (int) date.toEpochDay();
+            }
+            yield isInteger(value) ? ((Number) value).intValue() : null;
+        }
+        case INT64 -> isInteger(value) ? ((Number) value).longValue() : null;
+        case FLOAT -> value instanceof Number n ? n.floatValue() : null;
+        case DOUBLE -> value instanceof Number n ? n.doubleValue() : null;
+        case BINARY, FIXED_LEN_BYTE_ARRAY, INT96 -> {
+            if (value instanceof Binary) {
+                yield value;
+            } else if (value instanceof String s) {
+                yield Binary.fromString(s);
+            } else if (value instanceof Enum<?> e) {
+                yield Binary.fromString(e.name());
+            } else if (value instanceof byte[] bytes) {
+                yield Binary.fromConstantByteArray(bytes);
+            }
+            yield null;
+        }
+        };
+        if (converted == null) {
+            throw new IllegalArgumentException("Value " + value + " of type " + value.getClass().getName()
+                    + " can not be compared with column '" + type.getName() + "' of type " + type);
+        }
+        return converted;
+    }
+
+    private static boolean isInteger(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    /**
+     * Evaluates if a row group can be skipped for a filter predicate
+     */
+    private final class SkipEvaluator implements FilterPredicate.Visitor<Boolean> {
+
+        private final int rowGroup;
+
+        private SkipEvaluator(int rowGroup) {
+            this.rowGroup = rowGroup;
+        }
+
+        private RowGroupColumnStatistics statistics(Column<?> column) {
+            ColumnStatistics statistics = columns.get(column.getColumnPath().toDotString());
+            if (statistics == null) {
+                return null;
+            }
+            for (RowGroupColumnStatistics rowGroupStatistics : statistics.rowGroups()) {
+                if (rowGroupStatistics.rowGroup() == rowGroup) {
+                    return rowGroupStatistics;
+                }
+            }
+            return null;
+        }
+
+        private Object value(Column<?> column, Object value) {
+            return toParquetValue(value, columns.get(column.getColumnPath().toDotString()).type());
+        }
+
+        private boolean cantContainBetween(Column<?> column, Object from, Object to) {
+            RowGroupColumnStatistics statistics = statistics(column);
+            return statistics != null
+                    && !statistics.mightContainBetween(value(column, from), value(column, to));
+        }
+
+        @Override
+        public <T extends Comparable<T>> Boolean visit(Operators.Eq<T> eq) {
+            RowGroupColumnStatistics statistics = statistics(eq.getColumn());
+            return statistics != null && !statistics.mightContain(value(eq.getColumn(), eq.getValue()));
+        }
+
+        @Override
+        public <T extends Comparable<T>> Boolean visit(Operators.NotEq<T> notEq) {
+            // Only "not null" can be evaluated, skipping row groups with only nulls
+            return notEq.getValue() == null && cantContainBetween(notEq.getColumn(), null, null);
+        }
+
+        @Override
+        public <T extends Comparable<T>> Boolean visit(Operators.Lt<T> lt) {
+            return cantContainBetween(lt.getColumn(), null, lt.getValue());
+        }
+
+        @Override
+        public <T extends Comparable<T>> Boolean visit(Operators.LtEq<T> ltEq) {
+            return cantContainBetween(ltEq.getColumn(), null, ltEq.getValue());
+        }
+
+        @Override
+        public <T extends Comparable<T>> Boolean visit(Operators.Gt<T> gt) {
+            return cantContainBetween(gt.getColumn(), gt.getValue(), null);
+        }
+
+        @Override
+        public <T extends Comparable<T>> Boolean visit(Operators.GtEq<T> gtEq) {
+            return cantContainBetween(gtEq.getColumn(), gtEq.getValue(), null);
+        }
+
+        @Override
+        public <T extends Comparable<T>> Boolean visit(Operators.In<T> in) {
+            RowGroupColumnStatistics statistics = statistics(in.getColumn());
+            if (statistics == null) {
+                return false;
+            }
+            for (T value : in.getValues()) {
+                if (statistics.mightContain(value(in.getColumn(), value))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public <T extends Comparable<T>> Boolean visit(Operators.NotIn<T> notIn) {
+            return false;
+        }
+
+        @Override
+        public <T extends Comparable<T>> Boolean visit(Operators.Contains<T> contains) {
+            return false;
+        }
+
+        @Override
+        public Boolean visit(Operators.And and) {
+            return and.getLeft().accept(this) || and.getRight().accept(this);
+        }
+
+        @Override
+        public Boolean visit(Operators.Or or) {
+            return or.getLeft().accept(this) && or.getRight().accept(this);
+        }
+
+        @Override
+        public Boolean visit(Operators.Not not) {
+            return false;
+        }
+
+        @Override
+        public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Boolean visit(
+                Operators.UserDefined<T, U> udp) {
+            return false;
+        }
+
+        @Override
+        public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Boolean visit(
+                Operators.LogicalNotUserDefined<T, U> udp) {
+            return false;
+        }
+
+    }
+
+}
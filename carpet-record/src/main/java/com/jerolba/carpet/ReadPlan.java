@@ -0,0 +1,215 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.filter2.bloomfilterlevel.BloomFilterImpl;
+import org.apache.parquet.filter2.compat.FilterCompat.Filter;
+import org.apache.parquet.filter2.compat.FilterCompat.FilterPredicateCompat;
+import org.apache.parquet.filter2.dictionarylevel.DictionaryFilter;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.SchemaCompatibilityValidator;
+import org.apache.parquet.filter2.statisticslevel.StatisticsFilter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+
+/**
+ * Row groups that a reader will read for its filter, and the reason why the
+ * other row groups are skipped.
+ *
+ * The plan is computed from the file footer, dictionary pages, bloom filters
+ * and column statistics stored by the writer, with the same filter levels
+ * enabled in the reader configuration, before any data page is read.
+ *
+ * Page level filtering with column indexes and record level filtering are
+ * applied later, while reading the row groups, and are not part of the plan.
+ */
+public final class ReadPlan {
+
+    /**
+     * Filter level that discarded a row group
+     */
+    public enum SkipReason {
+        /**
+         * Column min/max and null count statistics of the footer
+         */
+        STATISTICS,
+        /**
+         * Dictionary pages of the dictionary encoded columns
+         */
+        DICTIONARY,
+        /**
+         * Bloom filters of the columns
+         */
+        BLOOM_FILTER,
+        /**
+         * Column statistics stored by the writer, configured with
+         * withColumnStatistics
+         */
+        COLUMN_STATISTICS
+    }
+
+    /**
+     * Plan of a row group
+     *
+     * @param index          the ordinal of the row group in the file
+     * @param rowCount       the number of rows of the row group
+     * @param compressedSize the compressed size in bytes of the row group
+     * @param skipReason     the filter level that discarded the row group, or
+     *                       null if it will be read
+     */
+    public record RowGroup(int index, long rowCount, long compressedSize, SkipReason skipReason) {
+
+        public boolean isRead() {
+            return skipReason == null;
+        }
+
+    }
+
+    private final FilterPredicate predicate;
+    private final List<RowGroup> rowGroups;
+
+    private ReadPlan(FilterPredicate predicate, List<RowGroup> rowGroups) {
+        this.predicate = predicate;
+        this.rowGroups = List.copyOf(rowGroups);
+    }
+
+    static ReadPlan create(ParquetFileReader fileReader, Filter filter, ParquetReadOptions options) {
+        FilterPredicate predicate = null;
+        if (filter instanceof FilterPredicateCompat predicateCompat) {
+            predicate = predicateCompat.getFilterPredicate();
+            SchemaCompatibilityValidator.validate(predicate, fileReader.getFooter().getFileMetaData().getSchema());
+        }
+        ColumnStatisticsPruner pruner = ColumnStatisticsPruner.of(fileReader.getFooter());
+        List<RowGroup> rowGroups = new ArrayList<>();
+        List<BlockMetaData> blocks = fileReader.getRowGroups();
+        for (int i = 0; i < blocks.size(); i++) {
+            BlockMetaData block = blocks.get(i);
+            int index = block.getOrdinal() >= 0 ? block.getOrdinal() : i;
+            SkipReason reason = null;
+            if (predicate != null) {
+                reason = skipReason(fileReader, block, predicate, options);
+                if (reason == null && pruner.canSkip(i, predicate)) {
+                    reason = SkipReason.COLUMN_STATISTICS;
+                }
+            }
+            rowGroups.add(new RowGroup(index, block.getRowCount(), block.getCompressedSize(), reason));
+        }
+        return new ReadPlan(predicate, rowGroups);
+    }
+
+    private static SkipReason skipReason(ParquetFileReader fileReader, BlockMetaData block,
+            FilterPredicate predicate, ParquetReadOptions options) {
+        List<ColumnChunkMetaData> columns = block.getColumns();
+        if (options.useStatsFilter() && StatisticsFilter.canDrop(predicate, columns)) {
+            return SkipReason.STATISTICS;
+        }
+        if (options.useDictionaryFilter()
+                && DictionaryFilter.canDrop(predicate, columns, fileReader.getDictionaryReader(block))) {
+            return SkipReason.DICTIONARY;
+        }
+        if (options.useBloomFilter()
+                && BloomFilterImpl.canDrop(predicate, columns, fileReader.getBloomFilterDataReader(block))) {
+            return SkipReason.BLOOM_FILTER;
+        }
+        return null;
+    }
+
+    /**
+     * @return all the row groups of the file, in file order
+     */
+    public List<RowGroup> rowGroups() {
+        return rowGroups;
+    }
+
+    /**
+     * @return the row groups that will be read
+     */
+    public List<RowGroup> candidateRowGroups() {
+        return rowGroups.stream().filter(RowGroup::isRead).toList();
+    }
+
+    /**
+     * @return the number of row groups that will be read
+     */
+    public int candidateRowGroupCount() {
+        return (int) rowGroups.stream().filter(RowGroup::isRead).count();
+    }
+
+    /**
+     * @return the number of rows of the row groups that will be read, an upper
+     *         bound of the number of records returned by the reader
+     */
+    public long candidateRowCount() {
+        return rowGroups.stream().filter(RowGroup::isRead).mapToLong(RowGroup::rowCount).sum();
+    }
+
+    /**
+     * @return the number of rows of the file
+     */
+    public long totalRowCount() {
+        return rowGroups.stream().mapToLong(RowGroup::rowCount).sum();
+    }
+
+    /**
+     * @return the number of skipped row groups by each filter level
+     */
+    public Map<SkipReason, Integer> skippedRowGroups() {
+        Map<SkipReason, Integer> skipped = new EnumMap<>(SkipReason.class);
+        for (RowGroup rowGroup : rowGroups) {
+            if (!rowGroup.isRead()) {
+                skipped.merge(rowGroup.skipReason(), 1, Integer::sum);
+            }
+        }
+        return skipped;
+    }
+
+    /**
+     * Describes the plan in a human readable format, with a line per row group
+     *
+     * @return the description of the plan
+     */
+    public String explain() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Filter: ").append(predicate == null ? "none" : predicate).append('\n');
+        sb.append("Row groups: ").append(candidateRowGroupCount()).append(" of ").append(rowGroups.size())
+                .append(" to read (").append(candidateRowCount()).append(" of ").append(totalRowCount())
+                .append(" rows)\n");
+        for (var entry : skippedRowGroups().entrySet()) {
+            sb.append("Skipped by ").append(entry.getKey()).append(": ").append(entry.getValue()).append('\n');
+        }
+        for (RowGroup rowGroup : rowGroups) {
+            sb.append("  #").append(rowGroup.index())
+                    .append(" rows=").append(rowGroup.rowCount())
+                    .append(" size=").append(rowGroup.compressedSize())
+                    .append(rowGroup.isRead() ? " read" : " skipped by " + rowGroup.skipReason())
+                    .append('\n');
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return explain();
+    }
+
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Buffers the records of a row group to reorder them before they are written.
+ *
+ * @param <T> The type of records to write.
+ */
+class RowGroupBuffer<T> {
+
+    private final int capacity;
+    private final Consumer<List<T>> sorter;
+    private final List<T> records;
+    private boolean rowGroupStarted;
+
+    RowGroupBuffer(int capacity, Consumer<List<T>> sorter) {
+        this.capacity = capacity;
+        this.sorter = sorter;
+        this.records = new ArrayList<>(Math.min(capacity, 1024 * 1024));
+    }
+
+    /**
+     * Adds a record to the buffer
+     *
+     * @param record to add
+     * @return true if the buffer is full and must be drained
+     */
+    boolean add(T record) {
+        records.add(record);
+        return records.size() >= capacity;
+    }
+
+    /**
+     * Notifies that the writer started a new row group
+     */
+    void rowGroupStarted() {
+        rowGroupStarted = true;
+    }
+
+    /**
+     * Sorts the buffered records and passes them to the consumer until the writer
+     * starts a new row group. If the writer ends the row group before all records
+     * are written, because it reached its size in bytes, the rest of records remain
+     * in the buffer, and are sorted with the next records of the new row group.
+     *
+     * @param consumer of the sorted records
+     */
+    <E extends Exception> void drain(RecordWriter<T, E> consumer) throws E {
+        if (records.isEmpty()) {
+            return;
+        }
+        sorter.accept(records);
+        rowGroupStarted = false;
+        int written = 0;
+        while (written < records.size() && !rowGroupStarted) {
+            consumer.write(records.get(written++));
+        }
+        records.subList(0, written).clear();
+    }
+
+    /**
+     * Writes all buffered records, leaving the buffer empty
+     *
+     * @param consumer of the sorted records
+     */
+    <E extends Exception> void flush(RecordWriter<T, E> consumer) throws E {
+        while (!records.isEmpty()) {
+            drain(consumer);
+        }
+    }
+
+    @FunctionalInterface
+    interface RecordWriter<T, E extends Exception> {
+
+        void write(T record) throws E;
+
+    }
+
+}
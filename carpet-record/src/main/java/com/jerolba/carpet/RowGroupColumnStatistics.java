@@ -0,0 +1,217 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.parquet.schema.PrimitiveType;
+
+import com.jerolba.carpet.impl.ColumnStatisticsFormat.Entry;
+import com.jerolba.carpet.impl.HyperLogLog;
+
+/**
+ * Statistics of a column in a row group, collected by the writer when they are
+ * configured with {@code withColumnStatistics}.
+ *
+ * Values are represented with the Java class used by parquet for the primitive
+ * type of the column: Boolean, Integer, Long, Float, Double or Binary.
+ */
+public final class RowGroupColumnStatistics {
+
+    private final Entry entry;
+    private final Comparator<Object> comparator;
+    private final HyperLogLog distinct;
+
+    @SuppressWarnings("unchecked")
+    RowGroupColumnStatistics(Entry entry, PrimitiveType type) {
+        this.entry = entry;
+        this.comparator = (Comparator<Object>) type.comparator();
+        this.distinct = HyperLogLog.fromBytes(entry.distinctSketch());
+    }
+
+    public int rowGroup() {
+        return entry.rowGroup();
+    }
+
+    public long rowCount() {
+        return entry.rowCount();
+    }
+
+    public long nullCount() {
+        return entry.nullCount();
+    }
+
+    /**
+     * Returns the number of distinct not null values. It's exact if all values are
+     * known, and estimated otherwise.
+     *
+     * @return number of distinct values
+     */
+    public long distinctCount() {
+        if (entry.complete()) {
+            return entry.values().size();
+        }
+        return Math.max(distinct.estimate(), entry.values().size());
+    }
+
+    /**
+     * Returns true if {@link #frequentValues()} contains all distinct values of the
+     * row group with their exact count.
+     *
+     * @return true if all distinct values are known
+     */
+    public boolean isComplete() {
+        return entry.complete();
+    }
+
+    /**
+     * Returns the most frequent values with their count, in descending count
+     * order. If the statistics are not complete, counts are lower bounds.
+     *
+     * @return most frequent values
+     */
+    public Map<Object, Long> frequentValues() {
+        return entry.values();
+    }
+
+    /**
+     * Returns the boundaries of an equi-depth histogram of the not null values.
+     * The first and last boundaries are the minimum and maximum values, and each
+     * bucket between two consecutive boundaries contains a similar number of
+     * values.
+     *
+     * @return the histogram boundaries, empty if all values are null
+     */
+    public List<Object> histogram() {
+        return entry.histogram();
+    }
+
+    HyperLogLog distinctSketch() {
+        return distinct;
+    }
+
+    /**
+     * Returns false if the value is not present in the row group, which is only
+     * known if all distinct values are known or the value is out of the histogram
+     * range.
+     *
+     * @param value the value to find, null to find nulls
+     * @return false if the row group doesn't contain the value
+     */
+    public boolean mightContain(Object value) {
+        if (value == null) {
+            return nullCount() > 0;
+        }
+        if (entry.complete()) {
+            return entry.values().containsKey(value);
+        }
+        return mightContainBetween(value, value);
+    }
+
+    /**
+     * Returns false if no value of the row group is between two values, both
+     * inclusive.
+     *
+     * @param from the minimum value, or null for no minimum
+     * @param to   the maximum value, or null for no maximum
+     * @return false if the row group doesn't contain values in the range
+     */
+    public boolean mightContainBetween(Object from, Object to) {
+        List<Object> histogram = entry.histogram();
+        if (histogram.isEmpty()) {
+            return false;
+        }
+        if (from != null && to != null && comparator.compare(from, to) > 0) {
+            return false;
+        }
+        if (entry.complete()) {
+            return entry.values().keySet().stream().anyMatch(v -> inRange(v, from, to));
+        }
+        Object min = histogram.get(0);
+        Object max = histogram.get(histogram.size() - 1);
+        return (from == null || comparator.compare(max, from) >= 0)
+                && (to == null || comparator.compare(min, to) <= 0);
+    }
+
+    /**
+     * Estimates the number of rows with a value. It's exact if all distinct values
+     * are known.
+     *
+     * @param value the value to count, null to count nulls
+     * @return estimated number of rows with the value
+     */
+    public long estimatedCount(Object value) {
+        if (value == null) {
+            return nullCount();
+        }
+        Long count = entry.values().get(value);
+        if (count != null) {
+            return count;
+        }
+        if (!mightContain(value)) {
+            return 0;
+        }
+        // Values not tracked share uniformly the rows not tracked
+        long tracked = entry.values().values().stream().mapToLong(Long::longValue).sum();
+        long untrackedRows = rowCount() - nullCount() - tracked;
+        long untrackedValues = distinctCount() - entry.values().size();
+        return untrackedValues <= 0 ? 0 : Math.max(0, untrackedRows / untrackedValues);
+    }
+
+    /**
+     * Estimates the number of rows with a value between two values, both
+     * inclusive. It's exact if all distinct values are known, otherwise it's
+     * estimated from the histogram.
+     *
+     * @param from the minimum value, or null for no minimum
+     * @param to   the maximum value, or null for no maximum
+     * @return estimated number of rows in the range
+     */
+    public long estimatedCountBetween(Object from, Object to) {
+        if (!mightContainBetween(from, to)) {
+            return 0;
+        }
+        if (entry.complete()) {
+            return entry.values().entrySet().stream()
+                    .filter(e -> inRange(e.getKey(), from, to))
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+        }
+        List<Object> histogram = entry.histogram();
+        int buckets = histogram.size() - 1;
+        if (buckets == 0) {
+            return rowCount() - nullCount();
+        }
+        int overlapping = 0;
+        for (int i = 0; i < buckets; i++) {
+            Object lower = histogram.get(i);
+            Object upper = histogram.get(i + 1);
+            if ((from == null || comparator.compare(upper, from) >= 0)
+                    && (to == null || comparator.compare(lower, to) <= 0)) {
+                overlapping++;
+            }
+        }
+        return (rowCount() - nullCount()) * overlapping / buckets;
+    }
+
+    private boolean inRange(Object value, Object from, Object to) {
+        return (from == null || comparator.compare(value, from) >= 0)
+                && (to == null || comparator.compare(value, to) <= 0);
+    }
+
+}
@@ -0,0 +1,252 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.SeekableInputStream;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+
+import com.jerolba.carpet.impl.PhysicalValues;
+import com.jerolba.carpet.impl.SecondaryIndexFormat;
+import com.jerolba.carpet.impl.SecondaryIndexFormat.Footer;
+import com.jerolba.carpet.impl.read.RowSelector;
+import com.jerolba.carpet.io.FileSystemInputFile;
+
+/**
+ * Secondary index of a column of a Parquet file, written by the writer when it
+ * is configured with {@code withSecondaryIndex}.
+ *
+ * The index contains the not null values of the column sorted, with the row
+ * group and row of each value, and locates the rows of a value with a binary
+ * search. Unlike bloom filters, the index is exact: a lookup with
+ * {@link CarpetReader#lookup(SecondaryIndex, Object...)} only reads the pages
+ * containing the rows of the values.
+ *
+ * Values are stored in blocks, and only the footer of the index, with the first
+ * value of each block, is loaded in memory when it is read. Locating a value
+ * reads from the index file the blocks that can contain it, usually one.
+ */
+public final class SecondaryIndex {
+
+    /**
+     * Position of a row in the indexed file
+     *
+     * @param rowGroup index of the row group in the file
+     * @param row      index of the row in its row group
+     */
+    public record RowLocation(int rowGroup, long row) {
+    }
+
+    private final InputFile indexFile;
+    private final Footer footer;
+    private final Comparator<Object> comparator;
+
+    @SuppressWarnings("unchecked")
+    private SecondaryIndex(InputFile indexFile, Footer footer) {
+        this.indexFile = indexFile;
+        this.footer = footer;
+        this.comparator = (Comparator<Object>) footer.type().comparator();
+    }
+
+    /**
+     * Reads a secondary index file.
+     *
+     * @param indexFile the index file
+     * @return the index
+     * @throws IOException if the file can not be read or is not an index file
+     */
+    public static SecondaryIndex read(InputFile indexFile) throws IOException {
+        try (SeekableInputStream in = indexFile.newStream()) {
+            return new SecondaryIndex(indexFile, SecondaryIndexFormat.readFooter(in, indexFile.getLength()));
+        }
+    }
+
+    /**
+     * Reads a secondary index file.
+     *
+     * @param indexFile the index file
+     * @return the index
+     * @throws IOException if the file can not be read or is not an index file
+     */
+    public static SecondaryIndex read(File indexFile) throws IOException {
+        return read(new FileSystemInputFile(indexFile));
+    }
+
+    /**
+     * Returns the dot separated path of the indexed column.
+     *
+     * @return the column path
+     */
+    public String columnPath() {
+        return footer.columnPath();
+    }
+
+    /**
+     * Returns the number of not null values in the index.
+     *
+     * @return the number of indexed values
+     */
+    public long size() {
+        return footer.entryCount();
+    }
+
+    public int rowGroupCount() {
+        return footer.rowGroupCount();
+    }
+
+    public long rowCount() {
+        return footer.rowCount();
+    }
+
+    /**
+     * Returns the location of the rows with a value in the indexed column, in file
+     * order. Values are converted to the type of the column like filter values.
+     *
+     * @param value the value to find
+     * @return the location of the rows, empty if the value is null or not found
+     * @throws IOException if the index file can not be read
+     */
+    public List<RowLocation> locate(Object value) throws IOException {
+        List<RowLocation> locations = new ArrayList<>();
+        if (value != null) {
+            try (SeekableInputStream in = indexFile.newStream()) {
+                locate(in, value, locations::add);
+            }
+        }
+        return locations;
+    }
+
+    /**
+     * Reads the blocks that can contain a value: the last block starting with a
+     * lower value, and the following blocks starting with the same value.
+     */
+    private void locate(SeekableInputStream in, Object value, Consumer<RowLocation> consumer) throws IOException {
+        Object key = PhysicalValues.toPhysical(value, footer.type(), footer.columnPath());
+        Object[] firstKeys = footer.firstKeys();
+        int block = Math.max(0, firstBlockNotLowerThan(key) - 1);
+        for (; block < firstKeys.length; block++) {
+            if (comparator.compare(firstKeys[block], key) > 0 || !scanBlock(in, block, key, consumer)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Adds the rows of the key in a block
+     *
+     * @return true if the key can continue in the next block
+     */
+    private boolean scanBlock(SeekableInputStream in, int block, Object key, Consumer<RowLocation> consumer)
+            throws IOException {
+        DataInputStream entries = SecondaryIndexFormat.readBlock(in, footer, block);
+        int entryCount = entries.readInt();
+        for (int i = 0; i < entryCount; i++) {
+            int cmp = comparator.compare(SecondaryIndexFormat.readKey(entries, footer.type()), key);
+            if (cmp > 0) {
+                return false;
+            }
+            int rowGroup = entries.readInt();
+            int row = entries.readInt();
+            if (cmp == 0) {
+                consumer.accept(new RowLocation(rowGroup, row));
+            }
+        }
+        return true;
+    }
+
+    private int firstBlockNotLowerThan(Object key) {
+        Object[] keys = footer.firstKeys();
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(keys[mid], key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Validates that the index was created for a file, comparing the file id
+     * stored in its key-value metadata, the number of row groups and rows, and
+     * the type of the column.
+     */
+    void checkIndexOf(ParquetMetadata footer) {
+        List<BlockMetaData> rowGroups = footer.getBlocks();
+        long rowCount = rowGroups.stream().mapToLong(BlockMetaData::getRowCount).sum();
+        String[] path = columnPath().split("\\.");
+        FileMetaData fileMetaData = footer.getFileMetaData();
+        MessageType schema = fileMetaData.getSchema();
+        String fileId = fileMetaData.getKeyValueMetaData().get(SecondaryIndexFormat.FILE_ID_KEY);
+        if (!this.footer.fileId().equals(fileId) || rowGroups.size() != rowGroupCount() || rowCount != rowCount()
+                || !schema.containsPath(path) || !sameType(schema.getType(path))) {
+            throw new IllegalArgumentException("Secondary index of column '" + columnPath()
+                    + "' was not created for this file");
+        }
+    }
+
+    private boolean sameType(Type type) {
+        if (!type.isPrimitive()) {
+            return false;
+        }
+        PrimitiveType primitive = type.asPrimitiveType();
+        return primitive.getPrimitiveTypeName() == footer.type().getPrimitiveTypeName()
+                && Objects.equals(primitive.getLogicalTypeAnnotation(),
+                        footer.type().getLogicalTypeAnnotation());
+    }
+
+    /**
+     * Creates a selector of the rows containing any of the values.
+     */
+    RowSelector selector(Collection<?> values) throws IOException {
+        Map<Integer, BitSet> selected = new HashMap<>();
+        try (SeekableInputStream in = indexFile.newStream()) {
+            for (Object value : values) {
+                if (value != null) {
+                    locate(in, value, location -> selected
+                            .computeIfAbsent(location.rowGroup(), rowGroup -> new BitSet())
+                            .set((int) location.row()));
+                }
+            }
+        }
+        return (fileReader, rowGroup, rowCount) -> {
+            BitSet rows = selected.get(rowGroup);
+            return rows == null ? new BitSet() : (BitSet) rows.clone();
+        };
+    }
+
+}
@@ -0,0 +1,207 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import com.jerolba.carpet.impl.write.Reflection;
+
+/**
+ * Sorts records by the Z-order (Morton order) of several fields, giving
+ * locality to the records in all the fields at the same time.
+ *
+ * Each field value is mapped to a long preserving its order. To give the same
+ * weight to every field whatever its range of values, values are replaced by
+ * their rank in the sorted batch, scaled to 32 bits. Records are compared by the
+ * interleaved bits of their scaled ranks, without materializing the
+ * interleaved key: the field with the most significant differing bit decides
+ * the order.
+ *
+ * @param <T> The type of records to sort.
+ */
+class ZOrderSorter<T> implements Consumer<List<T>> {
+
+    private static final long NULL_KEY = Long.MAX_VALUE;
+
+    private final List<ToLongFunction<Object>> keyExtractors;
+
+    ZOrderSorter(Class<T> recordClass, String... fieldNames) {
+        if (fieldNames.length == 0) {
+            throw new IllegalArgumentException("At least one field name is required to cluster row groups");
+        }
+        this.keyExtractors = new ArrayList<>();
+        for (String fieldName : fieldNames) {
+            keyExtractors.add(keyExtractor(recordClass, fieldName));
+        }
+    }
+
+    @Override
+    public void accept(List<T> records) {
+        int size = records.size();
+        long[][] ranks = new long[keyExtractors.size()][];
+        for (int dim = 0; dim < ranks.length; dim++) {
+            ranks[dim] = scaledRanks(records, keyExtractors.get(dim));
+        }
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> compare(ranks, a, b));
+        List<T> sorted = new ArrayList<>(size);
+        for (Integer idx : order) {
+            sorted.add(records.get(idx));
+        }
+        for (int i = 0; i < size; i++) {
+            records.set(i, sorted.get(i));
+        }
+    }
+
+    private static int compare(long[][] ranks, int a, int b) {
+        int mostSignificantDim = 0;
+        long mostSignificantXor = 0;
+        for (int dim = 0; dim < ranks.length; dim++) {
+            long xor = ranks[dim][a] ^ ranks[dim][b];
+            if (lessMostSignificantBit(mostSignificantXor, xor)) {
+                mostSignificantDim = dim;
+                mostSignificantXor = xor;
+            }
+        }
+        return Long.compare(ranks[mostSignificantDim][a], ranks[mostSignificantDim][b]);
+    }
+
+    // True if the most significant bit of a is lower than the most significant bit of b
+    private static boolean lessMostSignificantBit(long a, long b) {
+        return a < b && a < (a ^ b);
+    }
+
+    private static <T> long[] scaledRanks(List<T> records, ToLongFunction<Object> keyExtractor) {
+        int size = records.size();
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = keyExtractor.applyAsLong(records.get(i));
+        }
+        long[] distinct = keys.clone();
+        Arrays.sort(distinct);
+        int distinctCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (i == 0 || distinct[i] != distinct[i - 1]) {
+                distinct[distinctCount++] = distinct[i];
+            }
+        }
+        long[] ranks = new long[size];
+        for (int i = 0; i < size; i++) {
+            long rank = Arrays.binarySearch(distinct, 0, distinctCount, keys[i]);
+            ranks[i] = (rank << 32) / distinctCount;
+        }
+        return ranks;
+    }
+
+    private static ToLongFunction<Object> keyExtractor(Class<?> recordClass, String fieldName) {
+        for (RecordComponent recordComponent : recordClass.getRecordComponents()) {
+            if (recordComponent.getName().equals(fieldName)) {
+                ToLongFunction<Object> toKey = orderedKey(recordComponent.getType());
+                if (toKey == null) {
+                    throw new IllegalArgumentException("Field '" + fieldName + "' of type "
+                            + recordComponent.getType().getName() + " can not be used to cluster records");
+                }
+                Function<Object, Object> accessor = Reflection.recordAccessor(recordClass, recordComponent);
+                return record -> {
+                    Object value = accessor.apply(record);
+                    return value == null ? NULL_KEY : toKey.applyAsLong(value);
+                };
+            }
+        }
+        throw new IllegalArgumentException("Field '" + fieldName + "' not found in " + recordClass.getName());
+    }
+
+    /**
+     * Maps values of a type to a long with the same order than the values. Strings
+     * are compared by their first 8 bytes, and decimals by their double value.
+     */
+    private static ToLongFunction<Object> orderedKey(Class<?> type) {
+        if (type == int.class || type == Integer.class || type == long.class || type == Long.class
+                || type == short.class || type == Short.class || type == byte.class || type == Byte.class) {
+            return v -> ((Number) v).longValue();
+        }
+        if (type == double.class || type == Double.class || type == float.class || type == Float.class) {
+            return v -> sortableDouble(((Number) v).doubleValue());
+        }
+        if (type == BigDecimal.class) {
+            return v -> sortableDouble(((BigDecimal) v).doubleValue());
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return v -> ((Boolean) v) ? 1L : 0L;
+        }
+        if (type == String.class) {
+            return v -> stringPrefix((String) v);
+        }
+        if (type.isEnum()) {
+            return v -> (long) ((Enum<?>) v).ordinal();
+        }
+        if (type == Instant.class) {
+            return v -> epochMicros(((Instant) v).getEpochSecond(), ((Instant) v).getNano());
+        }
+        if (type == LocalDateTime.class) {
+            return v -> epochMicros(((LocalDateTime) v).toEpochSecond(ZoneOffset.UTC), ((LocalDateTime) v).getNano());
+        }
+        if (type == LocalDate.class) {
+            return v -> ((LocalDate) v).toEpochDay();
+        }
+        if (type == LocalTime.class) {
+            return v -> ((LocalTime) v).toNanoOfDay();
+        }
+        if (type == UUID.class) {
+            // Same order as UUID::compareTo
+            return v -> ((UUID) v).getMostSignificantBits();
+        }
+        return null;
+    }
+
+    private static long sortableDouble(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits < 0 ? bits ^ Long.MAX_VALUE : bits;
+    }
+
+    private static long epochMicros(long seconds, int nanos) {
+        return seconds * 1_000_000 + nanos / 1_000;
+    }
+
+    private static long stringPrefix(String value) {
+        byte[] bytes = value.getBytes(UTF_8);
+        long prefix = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            prefix = (prefix << 8) | (i < bytes.length ? bytes[i] & 0xFF : 0);
+        }
+        // Unsigned byte order as signed long order
+        return prefix ^ Long.MIN_VALUE;
+    }
+
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.annotation;
+
+import static java.lang.annotation.ElementType.RECORD_COMPONENT;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the expected number of distinct values of a column in a row group.
+ *
+ * The hint decides up-front whether the column is dictionary encoded: if the
+ * dictionary of the expected distinct values can not fit in the dictionary page
+ * size, dictionary encoding is disabled for the column, avoiding to build a
+ * dictionary that would be discarded when it overflows. Otherwise, dictionary
+ * encoding is enabled for the column.
+ *
+ * The size of the dictionary of a binary column depends on the size of its
+ * values. Without {@link #averageSize()}, each value is estimated with its
+ * lower bound of one byte, underestimating the dictionary of long values.
+ *
+ * Applies to fields of the record and its nested records. Columns inside
+ * collections or maps can be configured with the writer builder.
+ */
+@Retention(RUNTIME)
+@Target(RECORD_COMPONENT)
+public @interface Cardinality {
+
+    long value();
+
+    /**
+     * Average size in bytes of the values of a binary column, used to estimate
+     * the size of its dictionary. Ignored in fixed size columns.
+     *
+     * @return average size of the values, or 0 if it is unknown
+     */
+    int averageSize() default 0;
+
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.filter;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandleInfo;
+import java.lang.invoke.SerializedLambda;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Gets the name of the record component referenced by a serializable accessor
+ * method reference, from its {@link SerializedLambda} representation.
+ */
+class Accessors {
+
+    private Accessors() {
+    }
+
+    static String fieldName(Serializable accessor) {
+        SerializedLambda lambda = serializedLambda(accessor);
+        String methodName = lambda.getImplMethodName();
+        if (lambda.getImplMethodKind() != MethodHandleInfo.REF_invokeVirtual
+                || lambda.getCapturedArgCount() != 0 || methodName.startsWith("lambda$")) {
+            throw new IllegalArgumentException(
+                    "Filter field must be a record accessor method reference, like Record::field");
+        }
+        return methodName;
+    }
+
+    private static SerializedLambda serializedLambda(Serializable accessor) {
+        try {
+            Method writeReplace = accessor.getClass().getDeclaredMethod("writeReplace");
+            writeReplace.setAccessible(true);
+            if (writeReplace.invoke(accessor) instanceof SerializedLambda lambda) {
+                return lambda;
+            }
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalArgumentException("Can not resolve field name from accessor " + accessor, e);
+        }
+        throw new IllegalArgumentException("Can not resolve field name from accessor " + accessor);
+    }
+
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.filter;
+
+import java.util.List;
+
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.schema.MessageType;
+
+import com.jerolba.carpet.FieldMatchingStrategy;
+
+/**
+ * Filter over the fields of a record, pushed down to the Parquet reader to skip
+ * row groups, pages and records that don't match it.
+ *
+ * Filters are created from record accessors or field names, with Java values:
+ *
+ * <pre>{@code
+ * CarpetFilter<Order> filter = where(Order::status).eq(Status.PAID)
+ *         .and(Order::createdAt).after(instant);
+ * }</pre>
+ *
+ * Field names are resolved to column paths, and Java values are converted to
+ * the physical type of the column, when the schema of the file is known, using
+ * the same field matching strategy and aliases used to read the records.
+ *
+ * @param <T> the type of the record
+ */
+public interface CarpetFilter<T> {
+
+    /**
+     * Starts a condition on a record component
+     *
+     * @param <T>      the type of the record
+     * @param <V>      the type of the record component
+     * @param accessor method reference to the record component accessor, like
+     *                 {@code Order::status}
+     * @return the condition builder
+     */
+    static <T, V> FieldCondition<T, V> where(SerializableFunction<T, V> accessor) {
+        return new FieldCondition<>(List.of(Accessors.fieldName(accessor)), filter -> filter);
+    }
+
+    /**
+     * Starts a condition on a field
+     *
+     * @param <T>       the type of the record
+     * @param fieldPath the name of the record component or of its column, or a
+     *                  dot separated path of them for nested records
+     * @return the condition builder
+     */
+    static <T> FieldCondition<T, Object> where(String fieldPath) {
+        return new FieldCondition<>(List.of(fieldPath.split("\\.")), filter -> filter);
+    }
+
+    /**
+     * Negates a filter
+     *
+     * @param <T>    the type of the record
+     * @param filter the filter to negate
+     * @return a filter matching the records not matching the filter
+     */
+    static <T> CarpetFilter<T> not(CarpetFilter<T> filter) {
+        return new NotFilter<>(filter);
+    }
+
+    default CarpetFilter<T> and(CarpetFilter<? super T> other) {
+        return new LogicalFilter<>(this, other, true);
+    }
+
+    default CarpetFilter<T> or(CarpetFilter<? super T> other) {
+        return new LogicalFilter<>(this, other, false);
+    }
+
+    default <V> FieldCondition<T, V> and(SerializableFunction<T, V> accessor) {
+        return new FieldCondition<>(List.of(Accessors.fieldName(accessor)), this::and);
+    }
+
+    default <V> FieldCondition<T, V> or(SerializableFunction<T, V> accessor) {
+        return new FieldCondition<>(List.of(Accessors.fieldName(accessor)), this::or);
+    }
+
+    default FieldCondition<T, Object> and(String fieldPath) {
+        return new FieldCondition<>(List.of(fieldPath.split("\\.")), this::and);
+    }
+
+    default FieldCondition<T, Object> or(String fieldPath) {
+        return new FieldCondition<>(List.of(fieldPath.split("\\.")), this::or);
+    }
+
+    /**
+     * Converts the filter to a parquet-mr predicate for a file schema, which can
+     * be used with {@link org.apache.parquet.filter2.compat.FilterCompat#get}.
+     *
+     * @param recordClass           the class of the records read
+     * @param schema                the schema of the file
+     * @param fieldMatchingStrategy the strategy mapping fields to columns
+     * @return the predicate
+     * @throws IllegalArgumentException if a field has no column, or a value can
+     *                                  not be converted to its column type
+     */
+    FilterPredicate toFilterPredicate(Class<?> recordClass, MessageType schema,
+            FieldMatchingStrategy fieldMatchingStrategy);
+
+}
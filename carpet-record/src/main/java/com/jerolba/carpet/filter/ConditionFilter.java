@@ -0,0 +1,176 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.filter;
+
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators.Column;
+import org.apache.parquet.filter2.predicate.Operators.SupportsEqNotEq;
+import org.apache.parquet.filter2.predicate.Operators.SupportsLtGt;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+import org.apache.parquet.schema.Type.Repetition;
+
+import com.jerolba.carpet.FieldMatchingStrategy;
+import com.jerolba.carpet.impl.PhysicalValues;
+import com.jerolba.carpet.impl.read.ColumnToFieldMapper;
+import com.jerolba.carpet.impl.read.ColumnToFieldMapper.NameMap;
+
+record ConditionFilter<T>(List<String> fieldPath, Operator operator, List<Object> values)
+        implements CarpetFilter<T> {
+
+    enum Operator {
+        EQ, NOT_EQ, LT, LT_EQ, GT, GT_EQ, BETWEEN, IN, NOT_IN
+    }
+
+    @Override
+    public FilterPredicate toFilterPredicate(Class<?> recordClass, MessageType schema,
+            FieldMatchingStrategy fieldMatchingStrategy) {
+        List<String> columnPath = new ArrayList<>();
+        PrimitiveType column = resolveColumn(recordClass, schema, fieldMatchingStrategy, columnPath);
+        String path = String.join(".", columnPath);
+        List<Comparable<?>> converted = new ArrayList<>();
+        for (Object value : values) {
+            converted.add(value == null ? null : PhysicalValues.toPhysical(value, column, path));
+        }
+        return switch (column.getPrimitiveTypeName()) {
+        case INT32 -> predicate(FilterApi.intColumn(path), converted);
+        case INT64 -> predicate(FilterApi.longColumn(path), converted);
+        case FLOAT -> predicate(FilterApi.floatColumn(path), converted);
+        case DOUBLE -> predicate(FilterApi.doubleColumn(path), converted);
+        case BINARY, FIXED_LEN_BYTE_ARRAY -> predicate(FilterApi.binaryColumn(path), converted);
+        case BOOLEAN -> equality(FilterApi.booleanColumn(path), converted);
+        case INT96 -> throw new IllegalArgumentException("INT96 column '" + path + "' can not be filtered");
+        };
+    }
+
+    private PrimitiveType resolveColumn(Class<?> recordClass, MessageType schema,
+            FieldMatchingStrategy fieldMatchingStrategy, List<String> columnPath) {
+        var mapper = new ColumnToFieldMapper(fieldMatchingStrategy);
+        GroupType group = schema;
+        Class<?> currentClass = recordClass;
+        Type type = null;
+        for (String field : fieldPath) {
+            if (type != null) {
+                if (type.isPrimitive()) {
+                    throw new IllegalArgumentException("Field '" + String.join(".", fieldPath)
+                            + "' can not be resolved, column '" + type.getName() + "' is not a group");
+                }
+                group = type.asGroupType();
+            }
+            if (currentClass != null && currentClass.isRecord()) {
+                NameMap nameMap = findField(mapper.mapFields(group, currentClass.getRecordComponents()), field);
+                if (nameMap == null) {
+                    throw new IllegalArgumentException("Field '" + field + "' of " + currentClass.getName()
+                            + " not found in file schema");
+                }
+                type = nameMap.parquetType();
+                RecordComponent component = nameMap.recordComponent();
+                currentClass = component.getType();
+            } else {
+                if (!group.containsField(field)) {
+                    throw new IllegalArgumentException("Field '" + field + "' not found in file schema");
+                }
+                type = group.getType(field);
+                currentClass = null;
+            }
+            if (type.isRepetition(Repetition.REPEATED) || type.getLogicalTypeAnnotation() != null
+                    && !type.isPrimitive()) {
+                throw new IllegalArgumentException("Field '" + String.join(".", fieldPath)
+                        + "' can not be filtered, only non repeated primitive columns are supported");
+            }
+            columnPath.add(type.getName());
+        }
+        if (!type.isPrimitive()) {
+            throw new IllegalArgumentException("Field '" + String.join(".", fieldPath)
+                    + "' can not be filtered, only non repeated primitive columns are supported");
+        }
+        return type.asPrimitiveType();
+    }
+
+    // Fields are found by record component name, or by the name of their column
+    private static NameMap findField(Map<String, NameMap> fields, String name) {
+        NameMap nameMap = fields.get(name);
+        if (nameMap != null) {
+            return nameMap;
+        }
+        for (NameMap candidate : fields.values()) {
+            if (candidate.parquetType().getName().equals(name)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V extends Comparable<V>, C extends Column<V> & SupportsLtGt> FilterPredicate predicate(C column,
+            List<Comparable<?>> converted) {
+        List<V> typed = (List<V>) (List<?>) converted;
+        return switch (operator) {
+        case LT -> FilterApi.lt(column, typed.get(0));
+        case LT_EQ -> FilterApi.ltEq(column, typed.get(0));
+        case GT -> FilterApi.gt(column, typed.get(0));
+        case GT_EQ -> FilterApi.gtEq(column, typed.get(0));
+        case BETWEEN -> FilterApi.and(FilterApi.gtEq(column, typed.get(0)), FilterApi.ltEq(column, typed.get(1)));
+        default -> equality(column, converted);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V extends Comparable<V>, C extends Column<V> & SupportsEqNotEq> FilterPredicate equality(C column,
+            List<Comparable<?>> converted) {
+        List<V> typed = (List<V>) (List<?>) converted;
+        return switch (operator) {
+        case EQ -> FilterApi.eq(column, typed.get(0));
+        case NOT_EQ -> FilterApi.notEq(column, typed.get(0));
+        case IN -> inValues(column, typed, true);
+        case NOT_IN -> inValues(column, typed, false);
+        default -> throw new IllegalArgumentException("Operator " + operator + " not supported by "
+                + column.getColumnType().getSimpleName() + " column '" + column.getColumnPath().toDotString() + "'");
+        };
+    }
+
+    private static <V extends Comparable<V>, C extends Column<V> & SupportsEqNotEq> FilterPredicate inValues(
+            C column, List<V> values, boolean in) {
+        Set<V> set = new LinkedHashSet<>(values);
+        boolean withNull = set.remove(null);
+        FilterPredicate predicate = null;
+        if (set.size() == 1) {
+            V value = set.iterator().next();
+            predicate = in ? FilterApi.eq(column, value) : FilterApi.notEq(column, value);
+        } else if (set.size() > 1) {
+            predicate = in ? FilterApi.in(column, set) : FilterApi.notIn(column, set);
+        }
+        if (!withNull) {
+            return predicate;
+        }
+        FilterPredicate nullPredicate = in ? FilterApi.eq(column, null) : FilterApi.notEq(column, null);
+        if (predicate == null) {
+            return nullPredicate;
+        }
+        return in ? FilterApi.or(predicate, nullPredicate) : FilterApi.and(predicate, nullPredicate);
+    }
+
+}
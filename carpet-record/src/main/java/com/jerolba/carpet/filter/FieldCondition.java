@@ -0,0 +1,163 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.filter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+import com.jerolba.carpet.filter.ConditionFilter.Operator;
+
+/**
+ * Builder of a condition over a record field, created with
+ * {@link CarpetFilter#where(SerializableFunction)} or chained to an existing
+ * filter with {@link CarpetFilter#and(SerializableFunction)} and
+ * {@link CarpetFilter#or(SerializableFunction)}.
+ *
+ * Values are Java values of the field type, converted to the physical type of
+ * the column when the filter is applied to a file.
+ *
+ * @param <T> the type of the record
+ * @param <V> the type of the field
+ */
+public final class FieldCondition<T, V> {
+
+    private final List<String> fieldPath;
+    private final UnaryOperator<CarpetFilter<T>> combiner;
+
+    FieldCondition(List<String> fieldPath, UnaryOperator<CarpetFilter<T>> combiner) {
+        this.fieldPath = fieldPath;
+        this.combiner = combiner;
+    }
+
+    /**
+     * Continues the field path with a component of a nested record
+     *
+     * @param <W>      the type of the nested record component
+     * @param accessor method reference to the nested record component accessor
+     * @return the condition builder over the nested field
+     */
+    public <W> FieldCondition<T, W> field(SerializableFunction<V, W> accessor) {
+        List<String> path = new ArrayList<>(fieldPath);
+        path.add(Accessors.fieldName(accessor));
+        return new FieldCondition<>(List.copyOf(path), combiner);
+    }
+
+    public CarpetFilter<T> eq(V value) {
+        return value == null ? isNull() : condition(Operator.EQ, value);
+    }
+
+    public CarpetFilter<T> notEq(V value) {
+        return value == null ? isNotNull() : condition(Operator.NOT_EQ, value);
+    }
+
+    public CarpetFilter<T> lt(V value) {
+        return condition(Operator.LT, Objects.requireNonNull(value, "value can not be null"));
+    }
+
+    public CarpetFilter<T> ltEq(V value) {
+        return condition(Operator.LT_EQ, Objects.requireNonNull(value, "value can not be null"));
+    }
+
+    public CarpetFilter<T> gt(V value) {
+        return condition(Operator.GT, Objects.requireNonNull(value, "value can not be null"));
+    }
+
+    public CarpetFilter<T> gtEq(V value) {
+        return condition(Operator.GT_EQ, Objects.requireNonNull(value, "value can not be null"));
+    }
+
+    /**
+     * Alias of {@link #lt(Object)}, intended for temporal values
+     */
+    public CarpetFilter<T> before(V value) {
+        return lt(value);
+    }
+
+    /**
+     * Alias of {@link #gt(Object)}, intended for temporal values
+     */
+    public CarpetFilter<T> after(V value) {
+        return gt(value);
+    }
+
+    /**
+     * Matches values between two bounds, both inclusive
+     *
+     * @param from the lower bound
+     * @param to   the upper bound
+     * @return the filter
+     */
+    public CarpetFilter<T> between(V from, V to) {
+        Objects.requireNonNull(from, "from can not be null");
+        Objects.requireNonNull(to, "to can not be null");
+        return condition(Operator.BETWEEN, from, to);
+    }
+
+    @SafeVarargs
+    public final CarpetFilter<T> in(V... values) {
+        // The array is only read, never passed to other methods
+        List<V> list = new ArrayList<>(values.length);
+        for (V value : values) {
+            list.add(value);
+        }
+        return in(list);
+    }
+
+    public CarpetFilter<T> in(Collection<? extends V> values) {
+        return condition(Operator.IN, nonEmpty(values));
+    }
+
+    @SafeVarargs
+    public final CarpetFilter<T> notIn(V... values) {
+        List<V> list = new ArrayList<>(values.length);
+        for (V value : values) {
+            list.add(value);
+        }
+        return notIn(list);
+    }
+
+    public CarpetFilter<T> notIn(Collection<? extends V> values) {
+        return condition(Operator.NOT_IN, nonEmpty(values));
+    }
+
+    public CarpetFilter<T> isNull() {
+        return condition(Operator.EQ, (Object) null);
+    }
+
+    public CarpetFilter<T> isNotNull() {
+        return condition(Operator.NOT_EQ, (Object) null);
+    }
+
+    private static List<Object> nonEmpty(Collection<?> values) {
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("At least one value is required");
+        }
+        return new ArrayList<>(values);
+    }
+
+    private CarpetFilter<T> condition(Operator operator, Object... values) {
+        return condition(operator, Arrays.asList(values));
+    }
+
+    private CarpetFilter<T> condition(Operator operator, List<Object> values) {
+        return combiner.apply(new ConditionFilter<>(fieldPath, operator, values));
+    }
+
+}
@@ -0,0 +1,35 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.filter;
+
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.schema.MessageType;
+
+import com.jerolba.carpet.FieldMatchingStrategy;
+
+record LogicalFilter<T>(CarpetFilter<? super T> left, CarpetFilter<? super T> right, boolean isAnd)
+        implements CarpetFilter<T> {
+
+    @Override
+    public FilterPredicate toFilterPredicate(Class<?> recordClass, MessageType schema,
+            FieldMatchingStrategy fieldMatchingStrategy) {
+        FilterPredicate leftPredicate = left.toFilterPredicate(recordClass, schema, fieldMatchingStrategy);
+        FilterPredicate rightPredicate = right.toFilterPredicate(recordClass, schema, fieldMatchingStrategy);
+        return isAnd ? FilterApi.and(leftPredicate, rightPredicate) : FilterApi.or(leftPredicate, rightPredicate);
+    }
+
+}
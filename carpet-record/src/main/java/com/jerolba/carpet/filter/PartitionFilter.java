@@ -0,0 +1,213 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.filter;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.schema.MessageType;
+
+import com.jerolba.carpet.FieldMatchingStrategy;
+import com.jerolba.carpet.filter.ConditionFilter.Operator;
+
+/**
+ * Result of evaluating a filter with the values of some fields known in
+ * advance, like the partition values of a file parsed from its path.
+ *
+ * Conditions over known fields are resolved in Java, and the filter is
+ * simplified to the conditions that still depend on the content of the file.
+ * Null known values follow the Parquet semantics: they match {@code notEq} and
+ * {@code notIn} conditions, and don't match range conditions. Negations are
+ * pushed down to the conditions, so negated range conditions don't match null
+ * values either.
+ *
+ * @param <T> the type of the record
+ */
+public final class PartitionFilter<T> {
+
+    private static final CarpetFilter<Object> ALWAYS = new Constant<>();
+    private static final CarpetFilter<Object> NEVER = new Constant<>();
+
+    private final CarpetFilter<? super T> remaining;
+
+    private PartitionFilter(CarpetFilter<? super T> remaining) {
+        this.remaining = remaining;
+    }
+
+    /**
+     * Evaluates the filter with the known values of some top level fields.
+     *
+     * @param <T>         the type of the record
+     * @param filter      the filter to evaluate, can be null
+     * @param knownValues value of each known field, by field name. Values can be
+     *                    null
+     * @return the evaluated filter
+     */
+    public static <T> PartitionFilter<T> bind(CarpetFilter<? super T> filter, Map<String, ?> knownValues) {
+        if (filter == null) {
+            return new PartitionFilter<>(ALWAYS);
+        }
+        return new PartitionFilter<>(evaluate(filter, knownValues));
+    }
+
+    /**
+     * @return true if no record can match the filter, whatever its content is
+     */
+    public boolean matchesNone() {
+        return remaining == NEVER;
+    }
+
+    /**
+     * @return true if all records match the filter, whatever its content is
+     */
+    public boolean matchesAll() {
+        return remaining == ALWAYS;
+    }
+
+    /**
+     * The filter to apply to the content, with the conditions over known fields
+     * removed
+     *
+     * @return the remaining filter, or null if the filter is fully resolved
+     */
+    public CarpetFilter<? super T> remaining() {
+        return matchesNone() || matchesAll() ? null : remaining;
+    }
+
+    private static CarpetFilter<Object> evaluate(CarpetFilter<?> filter, Map<String, ?> knownValues) {
+        if (filter instanceof LogicalFilter<?> logical) {
+            CarpetFilter<Object> left = evaluate(logical.left(), knownValues);
+            CarpetFilter<Object> right = evaluate(logical.right(), knownValues);
+            if (logical.isAnd()) {
+                if (left == NEVER || right == NEVER) {
+                    return NEVER;
+                }
+                return left == ALWAYS ? right : right == ALWAYS ? left : new LogicalFilter<>(left, right, true);
+            }
+            if (left == ALWAYS || right == ALWAYS) {
+                return ALWAYS;
+            }
+            return left == NEVER ? right : right == NEVER ? left : new LogicalFilter<>(left, right, false);
+        }
+        if (filter instanceof NotFilter<?> not) {
+            return evaluate(negate(not.filter()), knownValues);
+        }
+        if (filter instanceof ConditionFilter<?> condition && condition.fieldPath().size() == 1
+                && knownValues.containsKey(condition.fieldPath().get(0))) {
+            Object value = knownValues.get(condition.fieldPath().get(0));
+            return matches(condition, value) ? ALWAYS : NEVER;
+        }
+        return anyType(filter);
+    }
+
+    /**
+     * Pushes a negation down to the conditions, like the LogicalInverter of
+     * Parquet does before evaluating a filter. A negated range condition becomes
+     * the opposite range condition, that doesn't match null values.
+     */
+    private static CarpetFilter<Object> negate(CarpetFilter<?> filter) {
+        if (filter instanceof LogicalFilter<?> logical) {
+            return new LogicalFilter<>(negate(logical.left()), negate(logical.right()), !logical.isAnd());
+        }
+        if (filter instanceof NotFilter<?> not) {
+            return anyType(not.filter());
+        }
+        if (filter instanceof ConditionFilter<?> condition) {
+            List<String> path = condition.fieldPath();
+            List<Object> operands = condition.values();
+            return switch (condition.operator()) {
+            case EQ -> new ConditionFilter<>(path, Operator.NOT_EQ, operands);
+            case NOT_EQ -> new ConditionFilter<>(path, Operator.EQ, operands);
+            case IN -> new ConditionFilter<>(path, Operator.NOT_IN, operands);
+            case NOT_IN -> new ConditionFilter<>(path, Operator.IN, operands);
+            case LT -> new ConditionFilter<>(path, Operator.GT_EQ, operands);
+            case LT_EQ -> new ConditionFilter<>(path, Operator.GT, operands);
+            case GT -> new ConditionFilter<>(path, Operator.LT_EQ, operands);
+            case GT_EQ -> new ConditionFilter<>(path, Operator.LT, operands);
+            case BETWEEN -> new LogicalFilter<>(
+                    new ConditionFilter<>(path, Operator.LT, List.of(operands.get(0))),
+                    new ConditionFilter<>(path, Operator.GT, List.of(operands.get(1))), false);
+            };
+        }
+        return new NotFilter<>(anyType(filter));
+    }
+
+    /**
+     * The type of the record is not used to evaluate a filter
+     */
+    @SuppressWarnings("unchecked")
+    private static CarpetFilter<Object> anyType(CarpetFilter<?> filter) {
+        return (CarpetFilter<Object>) filter;
+    }
+
+    private static boolean matches(ConditionFilter<?> condition, Object value) {
+        List<Object> operands = condition.values();
+        return switch (condition.operator()) {
+        case EQ -> equal(value, operands.get(0));
+        case NOT_EQ -> !equal(value, operands.get(0));
+        case IN -> operands.stream().anyMatch(operand -> equal(value, operand));
+        case NOT_IN -> operands.stream().noneMatch(operand -> equal(value, operand));
+        case LT -> value != null && compare(value, operands.get(0)) < 0;
+        case LT_EQ -> value != null && compare(value, operands.get(0)) <= 0;
+        case GT -> value != null && compare(value, operands.get(0)) > 0;
+        case GT_EQ -> value != null && compare(value, operands.get(0)) >= 0;
+        case BETWEEN -> value != null && compare(value, operands.get(0)) >= 0
+                && compare(value, operands.get(1)) <= 0;
+        };
+    }
+
+    private static boolean equal(Object value, Object operand) {
+        if (value == null || operand == null) {
+            return value == operand;
+        }
+        return compare(value, operand) == 0;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static int compare(Object value, Object operand) {
+        Objects.requireNonNull(operand, "Null value can not be compared");
+        if (value instanceof Number number && operand instanceof Number other
+                && !value.getClass().equals(operand.getClass())) {
+            return new BigDecimal(number.toString()).compareTo(new BigDecimal(other.toString()));
+        }
+        if (value instanceof Enum<?> || operand instanceof Enum<?>) {
+            return name(value).compareTo(name(operand));
+        }
+        if (value instanceof Comparable comparable && value.getClass().isInstance(operand)) {
+            return comparable.compareTo(operand);
+        }
+        throw new IllegalArgumentException("Value " + operand + " of type " + operand.getClass().getName()
+                + " can not be compared with " + value.getClass().getName() + " value " + value);
+    }
+
+    private static String name(Object value) {
+        return value instanceof Enum<?> e ? e.name() : value.toString();
+    }
+
+    private static final class Constant<T> implements CarpetFilter<T> {
+
+        @Override
+        public FilterPredicate toFilterPredicate(Class<?> recordClass, MessageType schema,
+                FieldMatchingStrategy fieldMatchingStrategy) {
+            throw new IllegalStateException("Constant filter can not be applied to a file");
+        }
+
+    }
+
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.PrimitiveType;
+
+/**
+ * Text format of the column statistics stored in the key-value metadata of a
+ * file. Each column has a key with the {@link #KEY_PREFIX} prefix followed by
+ * the column path, and a line per row group with space separated fields:
+ *
+ * <pre>
+ * rowGroup rowCount nullCount hllRegisters complete value:count,... boundary,...
+ * </pre>
+ *
+ * Values are encoded with {@link #encodeValue(Object, PrimitiveType)}, and empty
+ * lists are written as "-".
+ */
+public class ColumnStatisticsFormat {
+
+    public static final String KEY_PREFIX = "carpet.statistics.";
+
+    private static final String EMPTY = "-";
+
+    private ColumnStatisticsFormat() {
+    }
+
+    /**
+     * Statistics of a column in a row group
+     *
+     * @param rowGroup       index of the row group in the file
+     * @param rowCount       number of rows of the row group
+     * @param nullCount      number of null values
+     * @param distinctSketch registers of the HyperLogLog sketch of the values
+     * @param complete       true if values contains all distinct values
+     * @param values         most frequent values with their count, in
+     *                       descending count order
+     * @param histogram      boundaries of the equi-depth histogram of the values
+     */
+    public record Entry(int rowGroup, long rowCount, long nullCount, byte[] distinctSketch, boolean complete,
+            Map<Object, Long> values, List<Object> histogram) {
+    }
+
+    public static String format(List<Entry> entries, PrimitiveType type) {
+        StringBuilder sb = new StringBuilder();
+        for (Entry entry : entries) {
+            if (!sb.isEmpty()) {
+                sb.append('\n');
+            }
+            sb.append(entry.rowGroup()).append(' ')
+                    .append(entry.rowCount()).append(' ')
+                    .append(entry.nullCount()).append(' ')
+                    .append(Base64.getEncoder().encodeToString(entry.distinctSketch())).append(' ')
+                    .append(entry.complete() ? '1' : '0').append(' ');
+            if (entry.values().isEmpty()) {
+                sb.append(EMPTY);
+            } else {
+                String separator = "";
+                for (var value : entry.values().entrySet()) {
+                    sb.append(separator).append(encodeValue(value.getKey(), type)).append(':').append(value.getValue());
+                    separator = ",";
+                }
+            }
+            sb.append(' ');
+            if (entry.histogram().isEmpty()) {
+                sb.append(EMPTY);
+            } else {
+                String separator = "";
+                for (Object boundary : entry.histogram()) {
+                    sb.append(separator).append(encodeValue(boundary, type));
+                    separator = ",";
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    public static List<Entry> parse(String text, PrimitiveType type) {
+        List<Entry> entries = new ArrayList<>();
+        for (String line : text.split("\n")) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] fields = line.split(" ");
+            if (fields.length != 7) {
+                throw new IllegalArgumentException("Invalid column statistics: " + line);
+            }
+            Map<Object, Long> values = new LinkedHashMap<>();
+            if (!fields[5].equals(EMPTY)) {
+                for (String value : fields[5].split(",")) {
+                    int idx = value.lastIndexOf(':');
+                    values.put(decodeValue(value.substring(0, idx), type), Long.parseLong(value.substring(idx + 1)));
+                }
+            }
+            List<Object> histogram = new ArrayList<>();
+            if (!fields[6].equals(EMPTY)) {
+                for (String boundary : fields[6].split(",")) {
+                    histogram.add(decodeValue(boundary, type));
+                }
+            }
+            entries.add(new Entry(Integer.parseInt(fields[0]), Long.parseLong(fields[1]), Long.parseLong(fields[2]),
+                    Base64.getDecoder().decode(fields[3]), fields[4].equals("1"), values, histogram));
+        }
+        return entries;
+    }
+
+    /**
+     * Encodes a value with the Java class used by parquet for the primitive type:
+     * Boolean, Integer, Long, Float, Double or Binary. Binary values are encoded
+     * in Base64.
+     *
+     * @param value the value to encode
+     * @param type  the primitive type of the column
+     * @return the text representation of the value
+     */
+    public static String encodeValue(Object value, PrimitiveType type) {
+        return switch (type.getPrimitiveTypeName()) {
+        case BOOLEAN, INT32, INT64, FLOAT, DOUBLE -> value.toString();
+        case BINARY, FIXED_LEN_BYTE_ARRAY, INT96 -> Base64.getEncoder().encodeToString(((Binary) value).getBytes());
+        };
+    }
+
+    public static Object decodeValue(String text, PrimitiveType type) {
+        return switch (type.getPrimitiveTypeName()) {
+        case BOOLEAN -> Boolean.parseBoolean(text);
+        case INT32 -> Integer.parseInt(text);
+        case INT64 -> Long.parseLong(text);
+        case FLOAT -> Float.parseFloat(text);
+        case DOUBLE -> Double.parseDouble(text);
+        case BINARY, FIXED_LEN_BYTE_ARRAY, INT96 -> Binary.fromConstantByteArray(Base64.getDecoder().decode(text));
+        };
+    }
+
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl;
+
+/**
+ * HyperLogLog sketch estimating the number of distinct values from their 64 bit
+ * hashes, using a register per each 2^precision hash buckets. Registers can be
+ * serialized and merged, to estimate the distinct values of several row groups.
+ */
+public class HyperLogLog {
+
+    public static final int DEFAULT_PRECISION = 10;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("precision must be between 4 and 16, got: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    private HyperLogLog(int precision, byte[] registers) {
+        this.precision = precision;
+        this.registers = registers;
+    }
+
+    /**
+     * Restores a sketch from its registers
+     *
+     * @param registers the registers returned by {@link #toBytes()}
+     * @return the sketch
+     */
+    public static HyperLogLog fromBytes(byte[] registers) {
+        int precision = Integer.numberOfTrailingZeros(registers.length);
+        if (registers.length != 1 << precision) {
+            throw new IllegalArgumentException("Invalid number of registers: " + registers.length);
+        }
+        return new HyperLogLog(precision, registers.clone());
+    }
+
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        long remaining = hash << precision;
+        int rank = Math.min(Long.numberOfLeadingZeros(remaining), 64 - precision) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Can not merge sketches with different precision");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            registers[i] = (byte) Math.max(registers[i], other.registers[i]);
+        }
+    }
+
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            // Linear counting is more accurate for small cardinalities
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public byte[] toBytes() {
+        return registers.clone();
+    }
+
+    private static double alpha(int m) {
+        return switch (m) {
+        case 16 -> 0.673;
+        case 32 -> 0.697;
+        case 64 -> 0.709;
+        default -> 0.7213 / (1 + 1.079 / m);
+        };
+    }
+
+    /**
+     * Spreads the bits of a 64 bit value, to use it as the hash of a fixed size
+     * value
+     *
+     * @param value the value to hash
+     * @return the hash of the value
+     */
+    public static long hashLong(long value) {
+        long h = value + 0x9e3779b97f4a7c15L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+}
@@ -139,6 +139,10 @@ public class JavaType {
         return Map.class.isAssignableFrom(type);
     }
 
+    public boolean isPrimitiveArray() {
+        return type == int[].class || type == long[].class || type == float[].class || type == double[].class;
+    }
+
     public <T extends Annotation> boolean isAnnotatedWith(Class<T> annotationClass) {
         return getAnnotation(annotationClass) != null;
     }
@@ -0,0 +1,182 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.LogicalTypeAnnotation.DateLogicalTypeAnnotation;
+import org.apache.parquet.schema.LogicalTypeAnnotation.DecimalLogicalTypeAnnotation;
+import org.apache.parquet.schema.LogicalTypeAnnotation.TimeLogicalTypeAnnotation;
+import org.apache.parquet.schema.LogicalTypeAnnotation.TimestampLogicalTypeAnnotation;
+import org.apache.parquet.schema.PrimitiveType;
+
+import com.jerolba.carpet.TimeUnit;
+import com.jerolba.carpet.impl.write.TimeWrite;
+import com.jerolba.carpet.impl.write.UuidWrite;
+
+/**
+ * Converts Java values to the physical representation of a column, following
+ * the same encoding used by the writer for each logical type.
+ */
+public class PhysicalValues {
+
+    private PhysicalValues() {
+    }
+
+    /**
+     * Converts a Java value to the physical value of a column
+     *
+     * @param value  the value to convert, not null
+     * @param column the type of the column
+     * @param path   the path of the column, used in error messages
+     * @return the value with the Java class used by parquet for the physical type
+     * @throws IllegalArgumentException if the value can not be converted
+     */
+    public static Comparable<?> toPhysical(Object value, PrimitiveType column, String path) {
+        LogicalTypeAnnotation logicalType = column.getLogicalTypeAnnotation();
+        Comparable<?> physical = switch (column.getPrimitiveTypeName()) {
+        case INT32 -> toInt(value, logicalType);
+        case INT64 -> toLong(value, logicalType);
+        case FLOAT -> value instanceof Number number ? number.floatValue() : null;
+        case DOUBLE -> value instanceof Number number ? number.doubleValue() : null;
+        case BOOLEAN -> value instanceof Boolean bool ? bool : null;
+        case BINARY -> toBinary(value, logicalType);
+        case FIXED_LEN_BYTE_ARRAY -> toFixed(value, logicalType, column.getTypeLength());
+        case INT96 -> null;
+        };
+        if (physical == null) {
+            throw new IllegalArgumentException("Value " + value + " of type " + value.getClass().getName()
+                    + " can not be compared with column '" + path + "' of type " + column);
+        }
+        return physical;
+    }
+
+    private static Integer toInt(Object value, LogicalTypeAnnotation logicalType) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).intValue();
+        }
+        if (value instanceof LocalDate date && logicalType instanceof DateLogicalTypeAnnotation) {
+            return Math.toIntExact(date.toEpochDay());
+        }
+        if (value instanceof LocalTime time && logicalType instanceof TimeLogicalTypeAnnotation) {
+            return (int) (time.toNanoOfDay() / 1_000_000L);
+        }
+        if (value instanceof BigDecimal decimal && logicalType instanceof DecimalLogicalTypeAnnotation decimalType) {
+            return unscaled(decimal, decimalType).intValueExact();
+        }
+        return null;
+    }
+
+    private static Long toLong(Object value, LogicalTypeAnnotation logicalType) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (logicalType instanceof TimestampLogicalTypeAnnotation timestamp) {
+            TimeUnit unit = timeUnit(timestamp.getUnit());
+            if (value instanceof Instant instant) {
+                return TimeWrite.instantToEpoch(instant, unit);
+            }
+            if (value instanceof LocalDateTime localDateTime) {
+                return TimeWrite.localDateTimeToEpoch(localDateTime, unit);
+            }
+        }
+        if (value instanceof LocalTime time && logicalType instanceof TimeLogicalTypeAnnotation timeType) {
+            long nanos = time.toNanoOfDay();
+            return timeType.getUnit() == LogicalTypeAnnotation.TimeUnit.MICROS ? nanos / 1_000L : nanos;
+        }
+        if (value instanceof BigDecimal decimal && logicalType instanceof DecimalLogicalTypeAnnotation decimalType) {
+            return unscaled(decimal, decimalType).longValueExact();
+        }
+        return null;
+    }
+
+    private static Binary toBinary(Object value, LogicalTypeAnnotation logicalType) {
+        if (value instanceof String string) {
+            return Binary.fromString(string);
+        }
+        if (value instanceof Enum<?> enumValue) {
+            return Binary.fromConstantByteArray(enumValue.name().getBytes(StandardCharsets.UTF_8));
+        }
+        if (value instanceof BigDecimal decimal && logicalType instanceof DecimalLogicalTypeAnnotation decimalType) {
+            return Binary.fromConstantByteArray(unscaled(decimal, decimalType).toByteArray());
+        }
+        return bytes(value);
+    }
+
+    private static Binary toFixed(Object value, LogicalTypeAnnotation logicalType, int length) {
+        if (value instanceof UUID && length == 16) {
+            return UuidWrite.uuidToBinary(value);
+        }
+        if (value instanceof BigDecimal decimal && logicalType instanceof DecimalLogicalTypeAnnotation decimalType) {
+            byte[] unscaled = unscaled(decimal, decimalType).toByteArray();
+            if (unscaled.length > length) {
+                throw new ArithmeticException("Value " + value + " doesn't fit in " + length + " bytes");
+            }
+            byte[] fixed = new byte[length];
+            byte sign = (byte) (unscaled[0] < 0 ? -1 : 0);
+            int padding = length - unscaled.length;
+            for (int i = 0; i < padding; i++) {
+                fixed[i] = sign;
+            }
+            System.arraycopy(unscaled, 0, fixed, padding, unscaled.length);
+            return Binary.fromConstantByteArray(fixed);
+        }
+        Binary binary = bytes(value);
+        return binary != null && binary.length() == length ? binary : null;
+    }
+
+    private static Binary bytes(Object value) {
+        if (value instanceof byte[] bytes) {
+            return Binary.fromConstantByteArray(bytes);
+        }
+        if (value instanceof Binary binary) {
+            return binary;
+        }
+        return null;
+    }
+
+    /**
+     * Filter values must be exactly representable with the scale of the column:
+     * rounding them would change the meaning of comparisons.
+     */
+    private static BigInteger unscaled(BigDecimal decimal, DecimalLogicalTypeAnnotation decimalType) {
+        try {
+            return decimal.setScale(decimalType.getScale(), RoundingMode.UNNECESSARY).unscaledValue();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Value " + decimal + " can not be represented with scale "
+                    + decimalType.getScale(), e);
+        }
+    }
+
+    private static TimeUnit timeUnit(LogicalTypeAnnotation.TimeUnit unit) {
+        return switch (unit) {
+        case MILLIS -> TimeUnit.MILLIS;
+        case MICROS -> TimeUnit.MICROS;
+        case NANOS -> TimeUnit.NANOS;
+        };
+    }
+
+}
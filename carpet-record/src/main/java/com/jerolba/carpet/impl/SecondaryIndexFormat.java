@@ -0,0 +1,265 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.parquet.io.SeekableInputStream;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Types;
+
+/**
+ * Binary format of the secondary index files written next to a Parquet file.
+ * All numbers are big endian:
+ *
+ * <pre>
+ * magic "CIDX" | block * blockCount | footer | footerLength | version | magic "CIDX"
+ *
+ * block:  entryCount | (key rowGroup row) * entryCount
+ * footer: file id | column path | column type | rowGroupCount | rowCount
+ *         | entryCount | blockCount | (firstKey blockOffset) * blockCount
+ * </pre>
+ *
+ * The file id is a random identifier of the indexed Parquet file, also stored
+ * in its key-value metadata with the key {@link #FILE_ID_KEY}, to validate that
+ * an index belongs to a file.
+ *
+ * Entries are sorted by key with the comparator of the column type, and split
+ * in blocks of about {@link #BLOCK_SIZE} bytes. The footer contains the first
+ * key and the offset of each block, so a reader only needs to keep the footer
+ * in memory, and reads the blocks that can contain a key.
+ *
+ * The column type is the parquet schema definition of the column. Keys are
+ * encoded following their primitive type: int, long, float, double or boolean,
+ * and byte arrays prefixed by their length.
+ */
+public class SecondaryIndexFormat {
+
+    public static final int BLOCK_SIZE = 64 * 1024;
+    public static final String FILE_ID_KEY = "carpet.index.file.id";
+
+    private static final int MAGIC = 0x43494458;
+    private static final int VERSION = 3;
+    private static final int TAIL_SIZE = 12;
+
+    private SecondaryIndexFormat() {
+    }
+
+    /**
+     * Footer of a secondary index file
+     *
+     * @param fileId        identifier of the indexed file
+     * @param columnPath    dot separated path of the indexed column
+     * @param type          primitive type of the indexed column
+     * @param rowGroupCount number of row groups of the indexed file
+     * @param rowCount      number of rows of the indexed file
+     * @param entryCount    number of not null values of the column
+     * @param firstKeys     first key of each block
+     * @param blockOffsets  position of each block in the file
+     * @param footerOffset  position of the footer, where the last block ends
+     */
+    public record Footer(String fileId, String columnPath, PrimitiveType type, int rowGroupCount, long rowCount,
+            long entryCount, Object[] firstKeys, long[] blockOffsets, long footerOffset) {
+
+        public int blockCount() {
+            return blockOffsets.length;
+        }
+
+        long blockLength(int block) {
+            long end = block + 1 < blockOffsets.length ? blockOffsets[block + 1] : footerOffset;
+            return end - blockOffsets[block];
+        }
+    }
+
+    /**
+     * Writes the sorted entries of an index, block by block. Only the first key
+     * and offset of each block are kept in memory.
+     */
+    public static class Writer {
+
+        private final DataOutputStream out;
+        private final PrimitiveType type;
+        private final int blockSize;
+        private final ByteArrayOutputStream block = new ByteArrayOutputStream();
+        private final DataOutputStream blockOut = new DataOutputStream(block);
+        private final List<Object> firstKeys = new ArrayList<>();
+        private long[] blockOffsets = new long[16];
+        private int blockEntries = 0;
+        private long entryCount = 0;
+        private long position;
+
+        public Writer(OutputStream out, PrimitiveType type) throws IOException {
+            this(out, type, BLOCK_SIZE);
+        }
+
+        public Writer(OutputStream out, PrimitiveType type, int blockSize) throws IOException {
+            this.out = new DataOutputStream(out);
+            this.type = type;
+            this.blockSize = blockSize;
+            this.out.writeInt(MAGIC);
+            this.position = Integer.BYTES;
+        }
+
+        /**
+         * Adds an entry, that must not be lower than the previous one
+         */
+        public void add(Object key, int rowGroup, int row) throws IOException {
+            if (blockEntries == 0) {
+                firstKeys.add(key);
+            }
+            writeKey(blockOut, key, type);
+            blockOut.writeInt(rowGroup);
+            blockOut.writeInt(row);
+            blockEntries++;
+            entryCount++;
+            if (block.size() >= blockSize) {
+                flushBlock();
+            }
+        }
+
+        private void flushBlock() throws IOException {
+            int blockIndex = firstKeys.size() - 1;
+            if (blockIndex == blockOffsets.length) {
+                blockOffsets = Arrays.copyOf(blockOffsets, blockIndex * 2);
+            }
+            blockOffsets[blockIndex] = position;
+            out.writeInt(blockEntries);
+            block.writeTo(out);
+            position += Integer.BYTES + block.size();
+            block.reset();
+            blockEntries = 0;
+        }
+
+        /**
+         * Writes the last block and the footer
+         */
+        public void finish(String fileId, String columnPath, int rowGroupCount, long rowCount) throws IOException {
+            if (blockEntries > 0) {
+                flushBlock();
+            }
+            ByteArrayOutputStream footer = new ByteArrayOutputStream();
+            DataOutputStream footerOut = new DataOutputStream(footer);
+            footerOut.writeUTF(fileId);
+            footerOut.writeUTF(columnPath);
+            footerOut.writeUTF(Types.buildMessage().addField(type).named("index").toString());
+            footerOut.writeInt(rowGroupCount);
+            footerOut.writeLong(rowCount);
+            footerOut.writeLong(entryCount);
+            footerOut.writeInt(firstKeys.size());
+            for (int i = 0; i < firstKeys.size(); i++) {
+                writeKey(footerOut, firstKeys.get(i), type);
+                footerOut.writeLong(blockOffsets[i]);
+            }
+            footer.writeTo(out);
+            out.writeInt(footer.size());
+            out.writeInt(VERSION);
+            out.writeInt(MAGIC);
+            out.flush();
+        }
+
+    }
+
+    public static Footer readFooter(SeekableInputStream in, long length) throws IOException {
+        if (length < Integer.BYTES + TAIL_SIZE) {
+            throw new IOException("Not a secondary index file");
+        }
+        DataInputStream tail = readBytes(in, length - TAIL_SIZE, TAIL_SIZE);
+        int footerLength = tail.readInt();
+        int version = tail.readInt();
+        if (tail.readInt() != MAGIC) {
+            throw new IOException("Not a secondary index file");
+        }
+        if (version != VERSION) {
+            throw new IOException("Unsupported secondary index version " + version);
+        }
+        long footerOffset = length - TAIL_SIZE - footerLength;
+        DataInputStream footer = readBytes(in, footerOffset, footerLength);
+        String fileId = footer.readUTF();
+        String columnPath = footer.readUTF();
+        MessageType schema = MessageTypeParser.parseMessageType(footer.readUTF());
+        PrimitiveType type = schema.getType(0).asPrimitiveType();
+        int rowGroupCount = footer.readInt();
+        long rowCount = footer.readLong();
+        long entryCount = footer.readLong();
+        int blockCount = footer.readInt();
+        Object[] firstKeys = new Object[blockCount];
+        long[] blockOffsets = new long[blockCount];
+        for (int i = 0; i < blockCount; i++) {
+            firstKeys[i] = readKey(footer, type);
+            blockOffsets[i] = footer.readLong();
+        }
+        return new Footer(fileId, columnPath, type, rowGroupCount, rowCount, entryCount, firstKeys, blockOffsets,
+                footerOffset);
+    }
+
+    /**
+     * Reads a block of the index
+     *
+     * @return the content of the block, starting with its number of entries
+     */
+    public static DataInputStream readBlock(SeekableInputStream in, Footer footer, int block) throws IOException {
+        return readBytes(in, footer.blockOffsets()[block], Math.toIntExact(footer.blockLength(block)));
+    }
+
+    private static DataInputStream readBytes(SeekableInputStream in, long offset, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        in.seek(offset);
+        in.readFully(bytes);
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+
+    public static void writeKey(DataOutputStream out, Object key, PrimitiveType type) throws IOException {
+        switch (type.getPrimitiveTypeName()) {
+        case INT32 -> out.writeInt((Integer) key);
+        case INT64 -> out.writeLong((Long) key);
+        case FLOAT -> out.writeFloat((Float) key);
+        case DOUBLE -> out.writeDouble((Double) key);
+        case BOOLEAN -> out.writeBoolean((Boolean) key);
+        case BINARY, FIXED_LEN_BYTE_ARRAY, INT96 -> {
+            Binary binary = (Binary) key;
+            out.writeInt(binary.length());
+            binary.writeTo((OutputStream) out);
+        }
+        }
+    }
+
+    public static Object readKey(DataInputStream in, PrimitiveType type) throws IOException {
+        return switch (type.getPrimitiveTypeName()) {
+        case INT32 -> in.readInt();
+        case INT64 -> in.readLong();
+        case FLOAT -> in.readFloat();
+        case DOUBLE -> in.readDouble();
+        case BOOLEAN -> in.readBoolean();
+        case BINARY, FIXED_LEN_BYTE_ARRAY, INT96 -> {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            yield Binary.fromConstantByteArray(bytes);
+        }
+        };
+    }
+
+}
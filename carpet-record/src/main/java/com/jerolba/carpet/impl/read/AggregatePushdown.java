@@ -0,0 +1,529 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.read;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.filter2.compat.FilterCompat.Filter;
+import org.apache.parquet.filter2.compat.FilterCompat.FilterPredicateCompat;
+import org.apache.parquet.filter2.compat.FilterCompat.NoOpFilter;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.LogicalInverseRewriter;
+import org.apache.parquet.filter2.predicate.LogicalInverter;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.filter2.predicate.Operators.Column;
+import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
+import org.apache.parquet.filter2.statisticslevel.StatisticsFilter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.MessageColumnIO;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.Converter;
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.io.api.RecordMaterializer;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+import org.apache.parquet.schema.Type.Repetition;
+
+/**
+ * Computes the number of rows matching a filter, and the number of nulls and
+ * the minimum and maximum values of a column in those rows, using the metadata
+ * of the row groups instead of reading their data whenever possible.
+ *
+ * A row group is answered from its metadata if the filter can not match any of
+ * its rows, or if its statistics prove that all its rows match the filter (the
+ * inverse of the filter can not match any row, and the columns of the filter
+ * have no nulls). Otherwise, only the columns
+ * used by the filter and the aggregated column are read to evaluate the filter
+ * row by row.
+ */
+public class AggregatePushdown {
+
+    /**
+     * Aggregated values of the rows matching a filter
+     *
+     * @param rowCount         number of rows matching the filter
+     * @param nullCount        number of matching rows with a null column value, 0
+     *                         if no column is aggregated
+     * @param min              minimum not null value of the column, or null if
+     *                         there is no value
+     * @param max              maximum not null value of the column, or null if
+     *                         there is no value
+     * @param scannedRowGroups number of row groups whose data was read
+     */
+    public record Result(long rowCount, long nullCount, Object min, Object max, int scannedRowGroups) {
+    }
+
+    private static final Object NULL_VALUE = new Object();
+
+    private final ParquetFileReader fileReader;
+    private final Filter filter;
+    private final List<Integer> candidateRowGroups;
+    private final FilterPredicate inverse;
+    private final Set<List<String>> filterColumns = new LinkedHashSet<>();
+
+    public AggregatePushdown(ParquetFileReader fileReader, ParquetReadOptions options, Filter filter) {
+        this.fileReader = fileReader;
+        this.filter = filter;
+        this.candidateRowGroups = SelectedRowsIterator.candidateRowGroups(fileReader, options, filter);
+        if (filter instanceof FilterPredicateCompat predicateCompat) {
+            FilterPredicate predicate = LogicalInverseRewriter.rewrite(predicateCompat.getFilterPredicate());
+            this.inverse = LogicalInverter.invert(predicate);
+            predicate.accept(new ColumnCollector(filterColumns));
+        } else {
+            this.inverse = null;
+        }
+    }
+
+    /**
+     * Aggregates the rows matching the filter
+     *
+     * @param columnPath path of the column to aggregate, or null to only count
+     *                   rows
+     * @return the aggregated values
+     * @throws IOException if the data of a row group can not be read
+     */
+    public Result aggregate(String columnPath) throws IOException {
+        MessageType fileSchema = fileReader.getFooter().getFileMetaData().getSchema();
+        String[] path = columnPath == null ? null : columnPath.split("\\.");
+        PrimitiveType column = path == null ? null : aggregatedColumn(fileSchema, path, columnPath);
+        Comparator<Object> comparator = column == null ? null : comparator(column);
+
+        Accumulator accumulator = new Accumulator(comparator);
+        List<Integer> scan = new ArrayList<>();
+        for (int rowGroup : candidateRowGroups) {
+            BlockMetaData block = fileReader.getRowGroups().get(rowGroup);
+            if (!allRowsMatch(block)) {
+                scan.add(rowGroup);
+            } else if (path == null) {
+                accumulator.rowCount += block.getRowCount();
+            } else if (!accumulator.addStatistics(block, columnStatistics(block, path))) {
+                scan.add(rowGroup);
+            }
+        }
+        if (!scan.isEmpty()) {
+            scanRowGroups(scan, fileSchema, path, accumulator);
+        }
+        return new Result(accumulator.rowCount, accumulator.nullCount,
+                toJava(column, accumulator.min), toJava(column, accumulator.max), scan.size());
+    }
+
+    /*
+     * A null value matches neither a comparison nor its inverse, so the inverse
+     * only proves that all rows match if the filter columns have no nulls.
+     */
+    private boolean allRowsMatch(BlockMetaData block) {
+        if (filter instanceof NoOpFilter) {
+            return true;
+        }
+        return inverse != null && filterColumnsHaveNoNulls(block)
+                && StatisticsFilter.canDrop(inverse, block.getColumns());
+    }
+
+    private boolean filterColumnsHaveNoNulls(BlockMetaData block) {
+        for (List<String> column : filterColumns) {
+            Statistics<?> statistics = columnStatistics(block, column.toArray(String[]::new));
+            if (statistics == null || statistics.isEmpty() || !statistics.isNumNullsSet()
+                    || statistics.getNumNulls() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Statistics<?> columnStatistics(BlockMetaData block, String[] path) {
+        for (ColumnChunkMetaData chunk : block.getColumns()) {
+            if (Arrays.equals(chunk.getPath().toArray(), path)) {
+                return chunk.getStatistics();
+            }
+        }
+        return null;
+    }
+
+    private void scanRowGroups(List<Integer> rowGroups, MessageType fileSchema, String[] path,
+            Accumulator accumulator) throws IOException {
+        Set<List<String>> columns = new LinkedHashSet<>();
+        if (path != null) {
+            columns.add(List.of(path));
+        }
+        MessageType requested = fileSchema;
+        if (filter instanceof FilterPredicateCompat predicateCompat) {
+            predicateCompat.getFilterPredicate().accept(new ColumnCollector(columns));
+            requested = projection(fileSchema, columns);
+        } else if (filter instanceof NoOpFilter) {
+            requested = projection(fileSchema, columns);
+        }
+        ColumnIOFactory columnIOFactory = new ColumnIOFactory(fileReader.getFooter().getFileMetaData().getCreatedBy());
+        MessageColumnIO columnIO = columnIOFactory.getColumnIO(requested, fileSchema, true);
+        ColumnValueMaterializer materializer = new ColumnValueMaterializer(requested, path);
+        fileReader.setRequestedSchema(requested);
+        for (int rowGroup : rowGroups) {
+            PageReadStore pages = fileReader.readRowGroup(rowGroup);
+            RecordReader<Object> reader = columnIO.getRecordReader(pages, materializer, filter);
+            long rowCount = pages.getRowCount();
+            for (long row = 0; row < rowCount; row++) {
+                Object value = reader.read();
+                if (value != null && !reader.shouldSkipCurrentRecord()) {
+                    accumulator.addValue(value == NULL_VALUE ? null : value);
+                }
+            }
+        }
+    }
+
+    private static PrimitiveType aggregatedColumn(MessageType schema, String[] path, String columnPath) {
+        if (!schema.containsPath(path)) {
+            throw new IllegalArgumentException("Column '" + columnPath + "' not found in file schema");
+        }
+        Type type = schema;
+        for (String name : path) {
+            type = type.asGroupType().getType(name);
+            if (type.isRepetition(Repetition.REPEATED)) {
+                throw new IllegalArgumentException("Column '" + columnPath
+                        + "' can not be aggregated, only non repeated primitive columns are supported");
+            }
+        }
+        if (!type.isPrimitive() || type.asPrimitiveType().getPrimitiveTypeName()
+                == PrimitiveType.PrimitiveTypeName.INT96) {
+            throw new IllegalArgumentException("Column '" + columnPath
+                    + "' can not be aggregated, only non repeated primitive columns are supported");
+        }
+        return type.asPrimitiveType();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparator<Object> comparator(PrimitiveType column) {
+        return (Comparator<Object>) column.comparator();
+    }
+
+    private static MessageType projection(MessageType schema, Set<List<String>> columns) {
+        return new MessageType(schema.getName(), projectFields(schema, List.of(), columns));
+    }
+
+    private static List<Type> projectFields(GroupType group, List<String> parent, Set<List<String>> columns) {
+        List<Type> fields = new ArrayList<>();
+        for (Type field : group.getFields()) {
+            List<String> fieldPath = new ArrayList<>(parent);
+            fieldPath.add(field.getName());
+            if (field.isPrimitive()) {
+                if (columns.contains(fieldPath)) {
+                    fields.add(field);
+                }
+            } else {
+                List<Type> nested = projectFields(field.asGroupType(), fieldPath, columns);
+                if (!nested.isEmpty()) {
+                    fields.add(field.asGroupType().withNewFields(nested));
+                }
+            }
+        }
+        return fields;
+    }
+
+    private static Object toJava(PrimitiveType column, Object physical) {
+        if (physical == null) {
+            return null;
+        }
+        Object[] result = new Object[1];
+        PrimitiveConverter converter = CarpetGroupAsMapConverter.buildConverters(column, value -> result[0] = value)
+                .asPrimitiveConverter();
+        switch (column.getPrimitiveTypeName()) {
+        case INT32 -> converter.addInt((Integer) physical);
+        case INT64 -> converter.addLong((Long) physical);
+        case FLOAT -> converter.addFloat((Float) physical);
+        case DOUBLE -> converter.addDouble((Double) physical);
+        case BOOLEAN -> converter.addBoolean((Boolean) physical);
+        case BINARY, FIXED_LEN_BYTE_ARRAY, INT96 -> converter.addBinary((Binary) physical);
+        }
+        return result[0];
+    }
+
+    private static class Accumulator {
+
+        private final Comparator<Object> comparator;
+        private long rowCount;
+        private long nullCount;
+        private Object min;
+        private Object max;
+
+        Accumulator(Comparator<Object> comparator) {
+            this.comparator = comparator;
+        }
+
+        boolean addStatistics(BlockMetaData block, Statistics<?> statistics) {
+            if (statistics == null || statistics.isEmpty() || !statistics.isNumNullsSet()) {
+                return false;
+            }
+            if (statistics.hasNonNullValue()) {
+                merge(statistics.genericGetMin());
+                merge(statistics.genericGetMax());
+            } else if (statistics.getNumNulls() != block.getRowCount()) {
+                return false;
+            }
+            rowCount += block.getRowCount();
+            nullCount += statistics.getNumNulls();
+            return true;
+        }
+
+        void addValue(Object value) {
+            rowCount++;
+            if (comparator == null) {
+                return;
+            }
+            if (value == null) {
+                nullCount++;
+            } else {
+                merge(value);
+            }
+        }
+
+        private void merge(Object value) {
+            if (min == null || comparator.compare(value, min) < 0) {
+                min = value;
+            }
+            if (max == null || comparator.compare(value, max) > 0) {
+                max = value;
+            }
+        }
+
+    }
+
+    /**
+     * Materializes the physical value of one column of each record, or
+     * {@link #NULL_VALUE} if it's null or no column is aggregated.
+     */
+    private static class ColumnValueMaterializer extends RecordMaterializer<Object> {
+
+        private final GroupConverter root;
+        private Object value;
+
+        ColumnValueMaterializer(MessageType schema, String[] path) {
+            this.root = new ValueGroupConverter(schema, path == null ? null : List.of(path), 0, true);
+        }
+
+        @Override
+        public Object getCurrentRecord() {
+            return value == null ? NULL_VALUE : value;
+        }
+
+        @Override
+        public GroupConverter getRootConverter() {
+            return root;
+        }
+
+        private class ValueGroupConverter extends GroupConverter {
+
+            private final Converter[] converters;
+            private final boolean isRoot;
+
+            ValueGroupConverter(GroupType group, List<String> path, int depth, boolean isRoot) {
+                this.isRoot = isRoot;
+                List<Type> fields = group.getFields();
+                converters = new Converter[fields.size()];
+                for (int i = 0; i < fields.size(); i++) {
+                    Type field = fields.get(i);
+                    boolean inPath = path != null && depth < path.size() && path.get(depth).equals(field.getName());
+                    if (field.isPrimitive()) {
+                        converters[i] = inPath && depth == path.size() - 1 ? new ValueConverter() : NO_OP;
+                    } else {
+                        converters[i] = new ValueGroupConverter(field.asGroupType(), inPath ? path : null,
+                                depth + 1, false);
+                    }
+                }
+            }
+
+            @Override
+            public Converter getConverter(int fieldIndex) {
+                return converters[fieldIndex];
+            }
+
+            @Override
+            public void start() {
+                if (isRoot) {
+                    value = null;
+                }
+            }
+
+            @Override
+            public void end() {
+            }
+
+        }
+
+        private class ValueConverter extends PrimitiveConverter {
+
+            @Override
+            public void addBinary(Binary binary) {
+                value = binary.copy();
+            }
+
+            @Override
+            public void addBoolean(boolean booleanValue) {
+                value = booleanValue;
+            }
+
+            @Override
+            public void addDouble(double doubleValue) {
+                value = doubleValue;
+            }
+
+            @Override
+            public void addFloat(float floatValue) {
+                value = floatValue;
+            }
+
+            @Override
+            public void addInt(int intValue) {
+                value = intValue;
+            }
+
+            @Override
+            public void addLong(long longValue) {
+                value = longValue;
+            }
+
+        }
+
+        private static final PrimitiveConverter NO_OP = new PrimitiveConverter() {
+
+            @Override
+            public void addBinary(Binary binary) {
+            }
+
+            @Override
+            public void addBoolean(boolean booleanValue) {
+            }
+
+            @Override
+            public void addDouble(double doubleValue) {
+            }
+
+            @Override
+            public void addFloat(float floatValue) {
+            }
+
+            @Override
+            public void addInt(int intValue) {
+            }
+
+            @Override
+            public void addLong(long longValue) {
+            }
+
+        };
+
+    }
+
+    /**
+     * Collects the path of the columns used by a filter predicate
+     */
+    private record ColumnCollector(Set<List<String>> columns) implements FilterPredicate.Visitor<Void> {
+
+        private Void add(Column<?> column) {
+            columns.add(List.of(column.getColumnPath().toArray()));
+            return null;
+        }
+
+        @Override
+        public <T extends Comparable<T>> Void visit(Operators.Eq<T> eq) {
+            return add(eq.getColumn());
+        }
+
+        @Override
+        public <T extends Comparable<T>> Void visit(Operators.NotEq<T> notEq) {
+            return add(notEq.getColumn());
+        }
+
+        @Override
+        public <T extends Comparable<T>> Void visit(Operators.Lt<T> lt) {
+            return add(lt.getColumn());
+        }
+
+        @Override
+        public <T extends Comparable<T>> Void visit(Operators.LtEq<T> ltEq) {
+            return add(ltEq.getColumn());
+        }
+
+        @Override
+        public <T extends Comparable<T>> Void visit(Operators.Gt<T> gt) {
+            return add(gt.getColumn());
+        }
+
+        @Override
+        public <T extends Comparable<T>> Void visit(Operators.GtEq<T> gtEq) {
+            return add(gtEq.getColumn());
+        }
+
+        @Override
+        public <T extends Comparable<T>> Void visit(Operators.In<T> in) {
+            return add(in.getColumn());
+        }
+
+        @Override
+        public <T extends Comparable<T>> Void visit(Operators.NotIn<T> notIn) {
+            return add(notIn.getColumn());
+        }
+
+        @Override
+        public <T extends Comparable<T>> Void visit(Operators.Contains<T> contains) {
+            return add(contains.getColumn());
+        }
+
+        @Override
+        public Void visit(Operators.And and) {
+            and.getLeft().accept(this);
+            return and.getRight().accept(this);
+        }
+
+        @Override
+        public Void visit(Operators.Or or) {
+            or.getLeft().accept(this);
+            return or.getRight().accept(this);
+        }
+
+        @Override
+        public Void visit(Operators.Not not) {
+            return not.getPredicate().accept(this);
+        }
+
+        @Override
+        public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Void visit(
+                Operators.UserDefined<T, U> udp) {
+            return add(udp.getColumn());
+        }
+
+        @Override
+        public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Void visit(
+                Operators.LogicalNotUserDefined<T, U> udp) {
+            return udp.getUserDefined().accept(this);
+        }
+
+    }
+
+}
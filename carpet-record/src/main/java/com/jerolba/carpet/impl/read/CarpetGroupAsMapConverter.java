@@ -61,11 +61,30 @@ public class CarpetGroupAsMapConverter extends GroupConverter {
     private final Consumer<Object> groupConsumer;
     private final Class<?> mapClass;
     private final GroupMapHolder mapHolder;
+    private final boolean lazy;
 
     public CarpetGroupAsMapConverter(Class<?> mapClass, GroupType schema, Consumer<Object> groupConsumer) {
+        this(mapClass, schema, groupConsumer, false);
+    }
+
+    /**
+     * Creates a converter of a group to a map.
+     *
+     * In lazy mode, if the map class is the generic Map interface, values of
+     * non repeated fields are kept raw and decoded when accessed, and nested
+     * groups are also read in lazy mode. Collections are always decoded.
+     *
+     * @param mapClass      the class of map to create
+     * @param schema        the schema of the group
+     * @param groupConsumer the consumer of the created maps
+     * @param lazy          if values are decoded on access
+     */
+    public CarpetGroupAsMapConverter(Class<?> mapClass, GroupType schema, Consumer<Object> groupConsumer,
+            boolean lazy) {
         this.mapClass = mapClass;
         this.groupConsumer = groupConsumer;
         this.mapHolder = crateGroupMapHolder(mapClass, schema);
+        this.lazy = lazy && mapHolder instanceof CarpetGroupMapHolder;
 
         converters = new Converter[schema.getFields().size()];
         int cont = 0;
@@ -81,9 +100,37 @@ public class CarpetGroupAsMapConverter extends GroupConverter {
         if (schemaField.isRepetition(Repetition.REPEATED)) {
             return createSingleLevelConverter(idx, name, schemaField, mapHolder);
         }
+        if (lazy) {
+            Converter lazyConverter = createLazyConverter(schemaField, consumer);
+            if (lazyConverter != null) {
+                return lazyConverter;
+            }
+        }
         return createValueConverter(mapClass, schemaField, consumer);
     }
 
+    private Converter createLazyConverter(Type schemaField, Consumer<Object> consumer) {
+        LogicalTypeAnnotation logicalType = schemaField.getLogicalTypeAnnotation();
+        if (schemaField.isPrimitive()) {
+            PrimitiveTypeName type = schemaField.asPrimitiveType().getPrimitiveTypeName();
+            if (logicalType == null && type != PrimitiveTypeName.BINARY) {
+                // Boxing a number is cheaper than deferring it
+                return null;
+            }
+            return new LazyPrimitiveConverter(consumer, c -> buildConverters(schemaField, c).asPrimitiveConverter());
+        }
+        GroupType groupType = schemaField.asGroupType();
+        if (logicalType instanceof VariantLogicalTypeAnnotation) {
+            VariantRead variantRead = new VariantRead();
+            return new VariantConverter(groupType,
+                    variant -> consumer.accept(new LazyValue(() -> variantRead.deserialize((Variant) variant))));
+        }
+        if (logicalType == null) {
+            return new CarpetGroupAsMapConverter(mapClass, groupType, consumer, true);
+        }
+        return null;
+    }
+
     @Override
     public Converter getConverter(int fieldIndex) {
         return converters[fieldIndex];
@@ -99,7 +146,7 @@ public class CarpetGroupAsMapConverter extends GroupConverter {
         groupConsumer.accept(mapHolder.getMap());
     }
 
-    private static Converter buildConverters(Type parquetField, Consumer<Object> consumer) {
+    static Converter buildConverters(Type parquetField, Consumer<Object> consumer) {
         Converter fromLogicalType = buildFromLogicalTypeConverter(null, parquetField, consumer);
         if (fromLogicalType != null) {
             return fromLogicalType;
@@ -460,7 +507,7 @@ public class CarpetGroupAsMapConverter extends GroupConverter {
         public boolean containsValue(Object value) {
             Objects.requireNonNull(value);
             for (int i = 0; i < values.length; i++) {
-                if (value.equals(values[i])) {
+                if (value.equals(getValue(i))) {
                     return true;
                 }
             }
@@ -477,7 +524,12 @@ public class CarpetGroupAsMapConverter extends GroupConverter {
         }
 
         public V getValue(int idx) {
-            return (V) values[idx];
+            Object value = values[idx];
+            if (value instanceof LazyValue lazyValue) {
+                value = lazyValue.decode();
+                values[idx] = value;
+            }
+            return (V) value;
         }
 
         @Override
@@ -507,13 +559,16 @@ public class CarpetGroupAsMapConverter extends GroupConverter {
 
         @Override
         public Collection<V> values() {
+            for (int i = 0; i < values.length; i++) {
+                getValue(i);
+            }
             return Arrays.asList((V[]) values);
         }
 
         @Override
         public Set<Entry<K, V>> entrySet() {
             return index.entrySet().stream()
-                    .map(e -> new SimpleImmutableEntry<>(e.getKey(), (V) values[e.getValue()]))
+                    .map(e -> new SimpleImmutableEntry<>(e.getKey(), getValue(e.getValue())))
                     .collect(toCollection(LinkedHashSet::new));
         }
 
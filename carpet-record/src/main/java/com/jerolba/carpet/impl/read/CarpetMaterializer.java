@@ -27,12 +27,15 @@ class CarpetMaterializer<T> extends RecordMaterializer<T> {
     private T value;
 
     public CarpetMaterializer(Class<T> readClass, MessageType requestedSchema,
-            ColumnToFieldMapper columnToFieldMapper) {
+            ColumnToFieldMapper columnToFieldMapper, boolean lazyMapMaterialization,
+            Map<String, Object> componentValues) {
         if (Map.class.isAssignableFrom(readClass)) {
-            this.root = new CarpetGroupAsMapConverter(readClass, requestedSchema, value -> this.value = (T) value);
+            this.root = new CarpetGroupAsMapConverter(readClass, requestedSchema, value -> this.value = (T) value,
+                    lazyMapMaterialization);
         } else {
             this.root = new MainGroupConverter(columnToFieldMapper)
-                    .newCarpetGroupConverter(requestedSchema, readClass, record -> this.value = (T) record);
+                    .newCarpetGroupConverter(requestedSchema, readClass, componentValues,
+                            record -> this.value = (T) record);
         }
     }
 
@@ -15,6 +15,9 @@
  */
 package com.jerolba.carpet.impl.read;
 
+import java.util.Map;
+import java.util.Set;
+
 import com.jerolba.carpet.FieldMatchingStrategy;
 
 public class CarpetReadConfiguration {
@@ -23,15 +26,42 @@ public class CarpetReadConfiguration {
     private final boolean failNarrowingPrimitiveConversion;
     private final boolean failOnNullForPrimitives;
     private final FieldMatchingStrategy fieldMatchingStrategy;
+    private final Set<String> columnProjection;
+    private final boolean lazyMapMaterialization;
+    private final Map<String, Object> componentValues;
 
     public CarpetReadConfiguration(boolean failOnMissingColumn,
             boolean failNarrowingPrimitiveConversion,
             boolean failOnNullForPrimitives,
             FieldMatchingStrategy fieldMatchingStrategy) {
+        this(failOnMissingColumn, failNarrowingPrimitiveConversion, failOnNullForPrimitives, fieldMatchingStrategy,
+                Set.of(), false);
+    }
+
+    public CarpetReadConfiguration(boolean failOnMissingColumn,
+            boolean failNarrowingPrimitiveConversion,
+            boolean failOnNullForPrimitives,
+            FieldMatchingStrategy fieldMatchingStrategy,
+            Set<String> columnProjection,
+            boolean lazyMapMaterialization) {
+        this(failOnMissingColumn, failNarrowingPrimitiveConversion, failOnNullForPrimitives, fieldMatchingStrategy,
+                columnProjection, lazyMapMaterialization, Map.of());
+    }
+
+    public CarpetReadConfiguration(boolean failOnMissingColumn,
+            boolean failNarrowingPrimitiveConversion,
+            boolean failOnNullForPrimitives,
+            FieldMatchingStrategy fieldMatchingStrategy,
+            Set<String> columnProjection,
+            boolean lazyMapMaterialization,
+            Map<String, Object> componentValues) {
         this.failOnMissingColumn = failOnMissingColumn;
         this.failNarrowingPrimitiveConversion = failNarrowingPrimitiveConversion;
         this.failOnNullForPrimitives = failOnNullForPrimitives;
         this.fieldMatchingStrategy = fieldMatchingStrategy;
+        this.columnProjection = columnProjection;
+        this.lazyMapMaterialization = lazyMapMaterialization;
+        this.componentValues = componentValues;
     }
 
     public boolean isFailOnMissingColumn() {
@@ -50,4 +80,22 @@ public class CarpetReadConfiguration {
         return fieldMatchingStrategy;
     }
 
+    public Set<String> columnProjection() {
+        return columnProjection;
+    }
+
+    public boolean isLazyMapMaterialization() {
+        return lazyMapMaterialization;
+    }
+
+    /**
+     * Values of the components of the read record that are not read from the
+     * file, by component name.
+     *
+     * @return the component values
+     */
+    public Map<String, Object> componentValues() {
+        return componentValues;
+    }
+
 }
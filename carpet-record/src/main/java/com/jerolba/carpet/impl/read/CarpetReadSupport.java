@@ -40,13 +40,15 @@ public class CarpetReadSupport<T> extends ReadSupport<T> {
     @Override
     public RecordMaterializer<T> prepareForRead(Configuration configuration,
             Map<String, String> keyValueMetaData, MessageType fileSchema, ReadContext readContext) {
-        return new CarpetMaterializer<>(readClass, readContext.getRequestedSchema(), columnToFieldMapper);
+        return new CarpetMaterializer<>(readClass, readContext.getRequestedSchema(), columnToFieldMapper,
+                carpetConfiguration.isLazyMapMaterialization(), carpetConfiguration.componentValues());
     }
 
     @Override
     public RecordMaterializer<T> prepareForRead(ParquetConfiguration configuration,
             Map<String, String> keyValueMetaData, MessageType fileSchema, ReadContext readContext) {
-        return new CarpetMaterializer<>(readClass, readContext.getRequestedSchema(), columnToFieldMapper);
+        return new CarpetMaterializer<>(readClass, readContext.getRequestedSchema(), columnToFieldMapper,
+                carpetConfiguration.isLazyMapMaterialization(), carpetConfiguration.componentValues());
     }
 
     @Override
@@ -56,7 +58,8 @@ public class CarpetReadSupport<T> extends ReadSupport<T> {
                 carpetConfiguration.isFailOnNullForPrimitives());
 
         SchemaFilter schemaFilter = new SchemaFilter(validation, columnToFieldMapper);
-        MessageType projection = schemaFilter.project(readClass, initContext.getFileSchema());
+        MessageType projection = schemaFilter.project(readClass, initContext.getFileSchema(),
+                carpetConfiguration.columnProjection(), carpetConfiguration.componentValues().keySet());
         Map<String, String> metadata = new LinkedHashMap<>();
         return new ReadContext(projection, metadata);
     }
@@ -0,0 +1,224 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.read;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.SeekableInputStream;
+
+/**
+ * InputFile that keeps the footer of a Parquet file in memory, serving from it
+ * the reads of the footer and reading the rest of the file from the original
+ * InputFile.
+ *
+ * Resolving a filter needs the schema of the file before building the
+ * ParquetReader, that reads the footer again. With this InputFile, the footer is
+ * read only once from the storage.
+ */
+public class FooterCachedInputFile implements InputFile {
+
+    // Footer length and magic number at the end of the file
+    private static final int FOOTER_TAIL_SIZE = 8;
+
+    private final InputFile inputFile;
+    private final long length;
+    private final long footerStart;
+    private final byte[] footer;
+
+    private FooterCachedInputFile(InputFile inputFile, long length, long footerStart, byte[] footer) {
+        this.inputFile = inputFile;
+        this.length = length;
+        this.footerStart = footerStart;
+        this.footer = footer;
+    }
+
+    /**
+     * Reads the footer of a Parquet file. If the file is not a valid Parquet file,
+     * only its last bytes are kept, and reading its footer fails later.
+     *
+     * @param inputFile the Parquet file
+     * @return the file with its footer in memory
+     * @throws IOException if the file can not be read
+     */
+    public static FooterCachedInputFile read(InputFile inputFile) throws IOException {
+        if (inputFile instanceof FooterCachedInputFile cached) {
+            return cached;
+        }
+        long length = inputFile.getLength();
+        try (SeekableInputStream is = inputFile.newStream()) {
+            int tailSize = (int) Math.min(length, FOOTER_TAIL_SIZE);
+            byte[] tail = new byte[tailSize];
+            is.seek(length - tailSize);
+            is.readFully(tail);
+            if (tailSize < FOOTER_TAIL_SIZE) {
+                return new FooterCachedInputFile(inputFile, length, length - tailSize, tail);
+            }
+            int footerLength = ByteBuffer.wrap(tail).order(ByteOrder.LITTLE_ENDIAN).getInt();
+            long footerStart = length - FOOTER_TAIL_SIZE - footerLength;
+            if (footerLength < 0 || footerStart < 0) {
+                return new FooterCachedInputFile(inputFile, length, length - tailSize, tail);
+            }
+            byte[] footer = new byte[footerLength + FOOTER_TAIL_SIZE];
+            is.seek(footerStart);
+            is.readFully(footer, 0, footerLength);
+            System.arraycopy(tail, 0, footer, footerLength, FOOTER_TAIL_SIZE);
+            return new FooterCachedInputFile(inputFile, length, footerStart, footer);
+        }
+    }
+
+    /**
+     * @return the original InputFile
+     */
+    public InputFile getInputFile() {
+        return inputFile;
+    }
+
+    @Override
+    public long getLength() throws IOException {
+        return length;
+    }
+
+    @Override
+    public SeekableInputStream newStream() throws IOException {
+        return new FooterCachedInputStream();
+    }
+
+    @Override
+    public String toString() {
+        return inputFile.toString();
+    }
+
+    /**
+     * Reads starting in the footer are served from memory. Other reads are
+     * delegated to a stream of the original file, opened on the first of them.
+     */
+    private class FooterCachedInputStream extends SeekableInputStream {
+
+        private SeekableInputStream delegate;
+        private long pos = 0;
+
+        private boolean inFooter() {
+            return pos >= footerStart;
+        }
+
+        private SeekableInputStream delegate() throws IOException {
+            if (delegate == null) {
+                delegate = inputFile.newStream();
+            }
+            delegate.seek(pos);
+            return delegate;
+        }
+
+        @Override
+        public long getPos() throws IOException {
+            return pos;
+        }
+
+        @Override
+        public void seek(long newPos) throws IOException {
+            this.pos = newPos;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (inFooter()) {
+                if (pos >= length) {
+                    return -1;
+                }
+                return footer[(int) (pos++ - footerStart)] & 0xFF;
+            }
+            int value = delegate().read();
+            pos = delegate.getPos();
+            return value;
+        }
+
+        @Override
+        public int read(byte[] bytes, int start, int len) throws IOException {
+            if (inFooter()) {
+                if (pos >= length) {
+                    return -1;
+                }
+                int count = (int) Math.min(len, length - pos);
+                System.arraycopy(footer, (int) (pos - footerStart), bytes, start, count);
+                pos += count;
+                return count;
+            }
+            int count = delegate().read(bytes, start, len);
+            pos = delegate.getPos();
+            return count;
+        }
+
+        @Override
+        public int read(ByteBuffer buf) throws IOException {
+            if (inFooter()) {
+                if (pos >= length) {
+                    return -1;
+                }
+                int count = (int) Math.min(buf.remaining(), length - pos);
+                buf.put(footer, (int) (pos - footerStart), count);
+                pos += count;
+                return count;
+            }
+            int count = delegate().read(buf);
+            pos = delegate.getPos();
+            return count;
+        }
+
+        @Override
+        public void readFully(byte[] bytes) throws IOException {
+            readFully(bytes, 0, bytes.length);
+        }
+
+        @Override
+        public void readFully(byte[] bytes, int start, int len) throws IOException {
+            if (inFooter()) {
+                if (len > length - pos) {
+                    throw new EOFException("Reached the end of file reading " + len + " bytes");
+                }
+                read(bytes, start, len);
+                return;
+            }
+            delegate().readFully(bytes, start, len);
+            pos = delegate.getPos();
+        }
+
+        @Override
+        public void readFully(ByteBuffer buf) throws IOException {
+            if (inFooter()) {
+                if (buf.remaining() > length - pos) {
+                    throw new EOFException("Reached the end of file reading " + buf.remaining() + " bytes");
+                }
+                read(buf);
+                return;
+            }
+            delegate().readFully(buf);
+            pos = delegate.getPos();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (delegate != null) {
+                delegate.close();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.read;
+
+import java.util.function.Consumer;
+
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.PrimitiveConverter;
+
+/**
+ * Converter that keeps the raw value read from the column, and decodes it with
+ * the eager converter of the column only when the value is accessed.
+ *
+ * Dictionary encoded values are decoded once per dictionary by the eager
+ * converter, so they are resolved when read, which is only an array lookup.
+ * Lazy values are decoded with their own converter instance, because a map can
+ * be accessed from a different thread than the one reading the file.
+ */
+class LazyPrimitiveConverter extends PrimitiveConverter {
+
+    private final Consumer<Object> consumer;
+    private final PrimitiveConverter decoder;
+    private final PrimitiveConverter lazyDecoder;
+    private Object decoded;
+    private Object lazyDecoded;
+
+    LazyPrimitiveConverter(Consumer<Object> consumer, DecoderFactory decoderFactory) {
+        this.consumer = consumer;
+        this.decoder = decoderFactory.create(value -> decoded = value);
+        this.lazyDecoder = decoderFactory.create(value -> lazyDecoded = value);
+    }
+
+    @FunctionalInterface
+    interface DecoderFactory {
+
+        PrimitiveConverter create(Consumer<Object> consumer);
+
+    }
+
+    @Override
+    public boolean hasDictionarySupport() {
+        return decoder.hasDictionarySupport();
+    }
+
+    @Override
+    public void setDictionary(Dictionary dictionary) {
+        decoder.setDictionary(dictionary);
+    }
+
+    @Override
+    public void addValueFromDictionary(int dictionaryId) {
+        decoder.addValueFromDictionary(dictionaryId);
+        consumer.accept(decoded);
+    }
+
+    @Override
+    public void addBinary(Binary value) {
+        Binary raw = value.isBackingBytesReused() ? value.copy() : value;
+        consumer.accept(new LazyValue(() -> decode(raw)));
+    }
+
+    @Override
+    public void addInt(int value) {
+        consumer.accept(new LazyValue(() -> decode(value)));
+    }
+
+    @Override
+    public void addLong(long value) {
+        consumer.accept(new LazyValue(() -> decode(value)));
+    }
+
+    @Override
+    public void addBoolean(boolean value) {
+        decoder.addBoolean(value);
+        consumer.accept(decoded);
+    }
+
+    @Override
+    public void addFloat(float value) {
+        decoder.addFloat(value);
+        consumer.accept(decoded);
+    }
+
+    @Override
+    public void addDouble(double value) {
+        decoder.addDouble(value);
+        consumer.accept(decoded);
+    }
+
+    private synchronized Object decode(Binary value) {
+        lazyDecoder.addBinary(value);
+        return lazyDecoded;
+    }
+
+    private synchronized Object decode(int value) {
+        lazyDecoder.addInt(value);
+        return lazyDecoded;
+    }
+
+    private synchronized Object decode(long value) {
+        lazyDecoder.addLong(value);
+        return lazyDecoded;
+    }
+
+}
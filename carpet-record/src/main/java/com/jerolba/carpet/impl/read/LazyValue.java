@@ -0,0 +1,36 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.read;
+
+import java.util.function.Supplier;
+
+/**
+ * Value of a map read in lazy mode that has not been decoded yet. It's decoded
+ * the first time it's accessed, and replaced by the decoded value in its map.
+ */
+final class LazyValue {
+
+    private final Supplier<Object> decoder;
+
+    LazyValue(Supplier<Object> decoder) {
+        this.decoder = decoder;
+    }
+
+    Object decode() {
+        return decoder.get();
+    }
+
+}
@@ -24,6 +24,7 @@ import static org.apache.parquet.schema.LogicalTypeAnnotation.listType;
 import static org.apache.parquet.schema.LogicalTypeAnnotation.mapType;
 
 import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +39,7 @@ import org.apache.parquet.schema.Type;
 import org.apache.parquet.schema.Type.Repetition;
 
 import com.jerolba.carpet.RecordTypeConversionException;
+import com.jerolba.carpet.impl.JavaType;
 import com.jerolba.carpet.impl.ParameterizedCollection;
 import com.jerolba.carpet.impl.ParameterizedMap;
 import com.jerolba.carpet.impl.read.ReadReflection.ConstructorParams;
@@ -51,8 +53,8 @@ class MainGroupConverter {
     }
 
     GroupConverter newCarpetGroupConverter(GroupType schema, Class<?> groupClass,
-            Consumer<Object> groupConsumer) {
-        return new CarpetGroupConverter(schema, groupClass, groupConsumer);
+            Map<String, Object> componentValues, Consumer<Object> groupConsumer) {
+        return new CarpetGroupConverter(schema, groupClass, componentValues, groupConsumer);
     }
 
     class CarpetGroupConverter extends GroupConverter {
@@ -60,10 +62,28 @@ class MainGroupConverter {
         private final Converter[] converters;
         private final ConstructorParams constructor;
         private final Consumer<Object> groupConsumer;
+        private final List<RepeatedArrayField> repeatedArrays = new ArrayList<>();
+        private final List<ComponentValue> componentValues = new ArrayList<>();
 
         CarpetGroupConverter(GroupType schema, Class<?> groupClass, Consumer<Object> groupConsumer) {
+            this(schema, groupClass, Map.of(), groupConsumer);
+        }
+
+        /**
+         * @param componentValues values of components not present in the schema, set
+         *                        in each record
+         */
+        CarpetGroupConverter(GroupType schema, Class<?> groupClass, Map<String, Object> componentValues,
+                Consumer<Object> groupConsumer) {
             this.groupConsumer = groupConsumer;
             this.constructor = new ConstructorParams(groupClass);
+            RecordComponent[] components = groupClass.getRecordComponents();
+            for (int i = 0; i < components.length; i++) {
+                Object value = componentValues.get(components[i].getName());
+                if (value != null) {
+                    this.componentValues.add(new ComponentValue(i, value));
+                }
+            }
 
             GroupFieldsMapper mapper = new GroupFieldsMapper(schema, groupClass, columnToFieldMapper);
             converters = new Converter[schema.getFields().size()];
@@ -81,7 +101,13 @@ class MainGroupConverter {
         Converter converterFor(Type schemaField, ConstructorParams constructor, int index, Consumer<Object> consumer,
                 RecordComponent recordComponent) {
 
+            boolean primitiveArray = new JavaType(recordComponent.getType()).isPrimitiveArray();
             if (schemaField.isRepetition(Repetition.REPEATED)) {
+                if (primitiveArray) {
+                    var holder = PrimitiveArrayHolder.forArrayType(recordComponent.getType());
+                    repeatedArrays.add(new RepeatedArrayField(index, holder));
+                    return holder;
+                }
                 return createSingleLevelConverter(schemaField, constructor, index, recordComponent);
             }
             if (schemaField.isPrimitive()) {
@@ -89,6 +115,9 @@ class MainGroupConverter {
             }
             GroupType asGroupType = schemaField.asGroupType();
             LogicalTypeAnnotation logicalType = asGroupType.getLogicalTypeAnnotation();
+            if (listType().equals(logicalType) && primitiveArray) {
+                return new PrimitiveArrayConverter(asGroupType, recordComponent.getType(), consumer);
+            }
             if (listType().equals(logicalType)) {
                 return new CarpetListConverter(asGroupType, getParameterizedCollection(recordComponent), consumer);
             }
@@ -116,16 +145,101 @@ class MainGroupConverter {
         @Override
         public void start() {
             constructor.resetParams();
+            for (var componentValue : componentValues) {
+                constructor.set(componentValue.index(), componentValue.value());
+            }
+            for (var repeatedArray : repeatedArrays) {
+                repeatedArray.holder().create();
+            }
         }
 
         @Override
         public void end() {
+            for (var repeatedArray : repeatedArrays) {
+                // As 1-level collections, empty arrays are not persisted and are read as null
+                if (repeatedArray.holder().size() > 0) {
+                    constructor.set(repeatedArray.index(), repeatedArray.holder().toArray());
+                }
+            }
             Object currentRecord = getCurrentRecord();
             groupConsumer.accept(currentRecord);
         }
 
     }
 
+    private record RepeatedArrayField(int index, PrimitiveArrayHolder holder) {
+    }
+
+    private record ComponentValue(int index, Object value) {
+    }
+
+    /**
+     * Reads a 2 or 3-level list of primitive values into a primitive array
+     */
+    static class PrimitiveArrayConverter extends GroupConverter {
+
+        private final Consumer<Object> groupConsumer;
+        private final PrimitiveArrayHolder holder;
+        private final Converter converter;
+
+        PrimitiveArrayConverter(GroupType schema, Class<?> arrayType, Consumer<Object> groupConsumer) {
+            this.groupConsumer = groupConsumer;
+            this.holder = PrimitiveArrayHolder.forArrayType(arrayType);
+            Type listChild = schema.getFields().get(0);
+            if (SchemaValidation.isThreeLevel(listChild)) {
+                converter = new PrimitiveArrayElementConverter(holder, listChild.getName());
+            } else {
+                converter = holder;
+            }
+        }
+
+        @Override
+        public Converter getConverter(int fieldIndex) {
+            return converter;
+        }
+
+        @Override
+        public void start() {
+            holder.create();
+        }
+
+        @Override
+        public void end() {
+            groupConsumer.accept(holder.toArray());
+        }
+
+    }
+
+    private static class PrimitiveArrayElementConverter extends GroupConverter {
+
+        private final PrimitiveArrayHolder holder;
+        private final String name;
+        private int sizeAtStart;
+
+        PrimitiveArrayElementConverter(PrimitiveArrayHolder holder, String name) {
+            this.holder = holder;
+            this.name = name;
+        }
+
+        @Override
+        public Converter getConverter(int fieldIndex) {
+            return holder;
+        }
+
+        @Override
+        public void start() {
+            sizeAtStart = holder.size();
+        }
+
+        @Override
+        public void end() {
+            if (holder.size() == sizeAtStart) {
+                throw new RecordTypeConversionException("Null element in " + name + " can not be read into a primitive array");
+            }
+        }
+
+    }
+
     class CarpetListConverter extends GroupConverter {
 
         private final Consumer<Object> groupConsumer;
@@ -0,0 +1,92 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.read;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.NoSuchElementException;
+
+import com.jerolba.carpet.CloseableIterator;
+
+/**
+ * Iterator that skips the first records of another iterator, and returns at
+ * most a number of records. The other iterator is closed as soon as the limit
+ * is reached, without reading the rest of the file, also when the limit is 0.
+ *
+ * @param <T> the type of the records
+ */
+public class OffsetLimitIterator<T> implements CloseableIterator<T> {
+
+    private final CloseableIterator<T> iterator;
+    private long pendingOffset;
+    private long remaining;
+    private boolean closed = false;
+
+    public OffsetLimitIterator(CloseableIterator<T> iterator, long offset, long limit) {
+        this.iterator = iterator;
+        this.pendingOffset = offset;
+        this.remaining = limit;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (remaining <= 0) {
+            uncheckedClose();
+            return false;
+        }
+        while (pendingOffset > 0 && iterator.hasNext()) {
+            iterator.next();
+            pendingOffset--;
+        }
+        if (pendingOffset == 0 && iterator.hasNext()) {
+            return true;
+        }
+        remaining = 0;
+        uncheckedClose();
+        return false;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T next = iterator.next();
+        remaining--;
+        if (remaining == 0) {
+            uncheckedClose();
+        }
+        return next;
+    }
+
+    @Override
+    public void close() throws IOException {
+        remaining = 0;
+        if (!closed) {
+            closed = true;
+            iterator.close();
+        }
+    }
+
+    private void uncheckedClose() {
+        try {
+            close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.read;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.function.Predicate;
+
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.conf.ParquetConfiguration;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.io.RecordReader;
+
+/**
+ * Selects the rows of a row group evaluating a predicate over a projection
+ * record, decoding only the columns of the projection.
+ *
+ * @param <P> the type of the projection record
+ */
+public class PredicateRowSelector<P> implements RowSelector {
+
+    private final CarpetReadSupport<P> readSupport;
+    private final Predicate<? super P> predicate;
+    private final ParquetConfiguration conf;
+    private ReadPhase<P> phase;
+
+    public PredicateRowSelector(CarpetReadSupport<P> readSupport, Predicate<? super P> predicate,
+            ParquetConfiguration conf) {
+        this.readSupport = readSupport;
+        this.predicate = predicate;
+        this.conf = conf;
+    }
+
+    @Override
+    public BitSet select(ParquetFileReader fileReader, int rowGroup, long rowCount) throws IOException {
+        if (phase == null) {
+            phase = ReadPhase.create(readSupport, fileReader.getFooter().getFileMetaData(), conf);
+        }
+        fileReader.setRequestedSchema(phase.schema());
+        PageReadStore pages = fileReader.readRowGroup(rowGroup);
+        RecordReader<P> reader = phase.columnIO().getRecordReader(pages, phase.materializer(), FilterCompat.NOOP);
+        BitSet selected = new BitSet((int) rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            if (predicate.test(reader.read())) {
+                selected.set(row);
+            }
+        }
+        return selected;
+    }
+
+}
@@ -0,0 +1,173 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.read;
+
+import java.util.Arrays;
+
+import org.apache.parquet.io.api.PrimitiveConverter;
+
+/**
+ * Converter of the elements of a primitive array field (int[], long[], float[]
+ * or double[]) that accumulates them in a growable array of the same primitive
+ * type, without boxing them. The buffer is reused between records, and each
+ * record gets a copy with its values.
+ */
+abstract class PrimitiveArrayHolder extends PrimitiveConverter {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    protected int size;
+
+    static PrimitiveArrayHolder forArrayType(Class<?> arrayType) {
+        if (arrayType == int[].class) {
+            return new IntArrayHolder();
+        } else if (arrayType == long[].class) {
+            return new LongArrayHolder();
+        } else if (arrayType == float[].class) {
+            return new FloatArrayHolder();
+        } else if (arrayType == double[].class) {
+            return new DoubleArrayHolder();
+        }
+        throw new IllegalArgumentException(arrayType.getName() + " is not a supported primitive array");
+    }
+
+    public void create() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public abstract Object toArray();
+
+    private static class IntArrayHolder extends PrimitiveArrayHolder {
+
+        private int[] values = new int[INITIAL_CAPACITY];
+
+        @Override
+        public void addInt(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        @Override
+        public void addLong(long value) {
+            addInt((int) value);
+        }
+
+        @Override
+        public Object toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+    }
+
+    private static class LongArrayHolder extends PrimitiveArrayHolder {
+
+        private long[] values = new long[INITIAL_CAPACITY];
+
+        @Override
+        public void addInt(int value) {
+            addLong(value);
+        }
+
+        @Override
+        public void addLong(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        @Override
+        public Object toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+    }
+
+    private static class FloatArrayHolder extends PrimitiveArrayHolder {
+
+        private float[] values = new float[INITIAL_CAPACITY];
+
+        @Override
+        public void addInt(int value) {
+            addFloat(value);
+        }
+
+        @Override
+        public void addLong(long value) {
+            addFloat(value);
+        }
+
+        @Override
+        public void addFloat(float value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        @Override
+        public void addDouble(double value) {
+            addFloat((float) value);
+        }
+
+        @Override
+        public Object toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+    }
+
+    private static class DoubleArrayHolder extends PrimitiveArrayHolder {
+
+        private double[] values = new double[INITIAL_CAPACITY];
+
+        @Override
+        public void addInt(int value) {
+            addDouble(value);
+        }
+
+        @Override
+        public void addLong(long value) {
+            addDouble(value);
+        }
+
+        @Override
+        public void addFloat(float value) {
+            addDouble(value);
+        }
+
+        @Override
+        public void addDouble(double value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        @Override
+        public Object toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+    }
+
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.read;
+
+import static java.util.Collections.singleton;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.parquet.conf.ParquetConfiguration;
+import org.apache.parquet.hadoop.api.InitContext;
+import org.apache.parquet.hadoop.api.ReadSupport.ReadContext;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.MessageColumnIO;
+import org.apache.parquet.io.api.RecordMaterializer;
+import org.apache.parquet.schema.MessageType;
+
+/**
+ * Columns requested by a read support to a file, with the objects needed to
+ * create record readers over the pages of a row group.
+ *
+ * @param <R> the type of the records read
+ */
+record ReadPhase<R>(MessageType schema, MessageColumnIO columnIO, RecordMaterializer<R> materializer) {
+
+    static <R> ReadPhase<R> create(CarpetReadSupport<R> readSupport, FileMetaData fileMetaData,
+            ParquetConfiguration conf) {
+        MessageType fileSchema = fileMetaData.getSchema();
+        ReadContext readContext = readSupport.init(new InitContext(conf,
+                toSetMultiMap(fileMetaData.getKeyValueMetaData()), fileSchema));
+        MessageType requestedSchema = readContext.getRequestedSchema();
+        ColumnIOFactory columnIOFactory = new ColumnIOFactory(fileMetaData.getCreatedBy());
+        return new ReadPhase<>(requestedSchema,
+                columnIOFactory.getColumnIO(requestedSchema, fileSchema, true),
+                readSupport.prepareForRead(conf, fileMetaData.getKeyValueMetaData(), fileSchema, readContext));
+    }
+
+    private static Map<String, Set<String>> toSetMultiMap(Map<String, String> map) {
+        Map<String, Set<String>> setMultiMap = new HashMap<>();
+        for (var entry : map.entrySet()) {
+            setMultiMap.put(entry.getKey(), singleton(entry.getValue()));
+        }
+        return setMultiMap;
+    }
+
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.read;
+
+import java.util.BitSet;
+import java.util.List;
+
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+
+/**
+ * Selects the rows of a file in a range of positions, locating the row groups
+ * that contain them with the row counts of the footer. Row groups outside of
+ * the range are skipped without reading any page.
+ */
+public class RowRangeSelector implements RowSelector {
+
+    private final long from;
+    private final long to;
+    private long[] firstRows;
+
+    /**
+     * @param offset number of rows to skip from the beginning of the file
+     * @param limit  maximum number of rows to select
+     */
+    public RowRangeSelector(long offset, long limit) {
+        this.from = offset;
+        this.to = limit > Long.MAX_VALUE - offset ? Long.MAX_VALUE : offset + limit;
+    }
+
+    @Override
+    public BitSet select(ParquetFileReader fileReader, int rowGroup, long rowCount) {
+        if (firstRows == null) {
+            firstRows = firstRows(fileReader.getRowGroups());
+        }
+        long firstRow = firstRows[rowGroup];
+        BitSet selected = new BitSet((int) rowCount);
+        long start = Math.max(from, firstRow);
+        long end = Math.min(to, firstRow + rowCount);
+        if (start < end) {
+            selected.set((int) (start - firstRow), (int) (end - firstRow));
+        }
+        return selected;
+    }
+
+    private static long[] firstRows(List<BlockMetaData> blocks) {
+        long[] firstRows = new long[blocks.size()];
+        long rows = 0;
+        for (int i = 0; i < blocks.size(); i++) {
+            firstRows[i] = rows;
+            rows += blocks.get(i).getRowCount();
+        }
+        return firstRows;
+    }
+
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.read;
+
+import java.io.IOException;
+import java.util.BitSet;
+
+import org.apache.parquet.hadoop.ParquetFileReader;
+
+/**
+ * Selects the rows of a row group to be read by a {@link SelectedRowsIterator}.
+ */
+@FunctionalInterface
+public interface RowSelector {
+
+    /**
+     * Returns the rows of a row group to read. The returned BitSet can be modified
+     * by the caller.
+     *
+     * @param fileReader the reader of the file, to read other columns if needed
+     * @param rowGroup   index of the row group in the file
+     * @param rowCount   number of rows of the row group
+     * @return the indexes of the rows to read, relative to the row group
+     * @throws IOException if an I/O error occurs
+     */
+    BitSet select(ParquetFileReader fileReader, int rowGroup, long rowCount) throws IOException;
+
+    /**
+     * Returns a selector of all the rows of each row group
+     *
+     * @return the selector
+     */
+    static RowSelector all() {
+        return (fileReader, rowGroup, rowCount) -> {
+            BitSet selected = new BitSet();
+            selected.set(0, (int) rowCount);
+            return selected;
+        };
+    }
+
+    /**
+     * Returns a selector of the rows selected by both selectors. The other
+     * selector is not evaluated if this one doesn't select any row.
+     *
+     * @param other the other selector
+     * @return the combined selector
+     */
+    default RowSelector and(RowSelector other) {
+        return (fileReader, rowGroup, rowCount) -> {
+            BitSet selected = select(fileReader, rowGroup, rowCount);
+            if (!selected.isEmpty()) {
+                selected.and(other.select(fileReader, rowGroup, rowCount));
+            }
+            return selected;
+        };
+    }
+
+}
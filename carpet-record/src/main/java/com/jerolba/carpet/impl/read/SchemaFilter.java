@@ -24,10 +24,12 @@ import static org.apache.parquet.schema.LogicalTypeAnnotation.listType;
 import static org.apache.parquet.schema.LogicalTypeAnnotation.mapType;
 
 import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.parquet.schema.GroupType;
 import org.apache.parquet.schema.LogicalTypeAnnotation;
@@ -43,7 +45,7 @@ import com.jerolba.carpet.impl.ParameterizedCollection;
 import com.jerolba.carpet.impl.ParameterizedMap;
 import com.jerolba.carpet.impl.read.ColumnToFieldMapper.NameMap;
 
-class SchemaFilter {
+public class SchemaFilter {
 
     private final SchemaValidation validation;
     private final ColumnToFieldMapper columnToFieldMapper;
@@ -54,15 +56,90 @@ class SchemaFilter {
     }
 
     public MessageType project(Class<?> readClass, GroupType schema) {
+        return project(readClass, schema, Set.of());
+    }
+
+    /**
+     * Projects the file schema to the columns needed to read a class. Records
+     * define their own projection, while maps read all columns, or only the
+     * columns in the column paths if present.
+     *
+     * @param readClass   the class to read
+     * @param schema      the file schema
+     * @param columnPaths dot separated paths of the columns to read into a map,
+     *                    where a group includes all its columns
+     * @return the projected schema
+     */
+    public MessageType project(Class<?> readClass, GroupType schema, Set<String> columnPaths) {
+        return project(readClass, schema, columnPaths, Set.of());
+    }
+
+    /**
+     * Projects the file schema to the columns needed to read a class, excluding
+     * some components of the record that are not read from the file.
+     *
+     * @param readClass          the class to read
+     * @param schema             the file schema
+     * @param columnPaths        dot separated paths of the columns to read into a
+     *                           map
+     * @param excludedComponents names of the components of the read record not
+     *                           read from the file, which don't need a column
+     * @return the projected schema
+     */
+    public MessageType project(Class<?> readClass, GroupType schema, Set<String> columnPaths,
+            Set<String> excludedComponents) {
         if (Map.class.isAssignableFrom(readClass)) {
-            return new MessageType(schema.getName(), schema.getFields());
+            if (columnPaths.isEmpty()) {
+                return new MessageType(schema.getName(), schema.getFields());
+            }
+            List<List<String>> paths = columnPaths.stream().map(path -> List.of(path.split("\\."))).toList();
+            return new MessageType(schema.getName(), projectPaths(schema, paths, "").getFields());
         }
         ColumnPath path = new ColumnPath();
-        GroupType projected = filter(readClass, path, schema);
+        GroupType projected = filter(readClass, path, schema, excludedComponents);
         return new MessageType(projected.getName(), projected.getFields());
     }
 
+    private GroupType projectPaths(GroupType schema, List<List<String>> paths, String parentPath) {
+        Map<String, List<List<String>>> byField = new HashMap<>();
+        for (List<String> path : paths) {
+            String field = path.get(0);
+            if (schema.containsField(field)) {
+                byField.computeIfAbsent(field, f -> new ArrayList<>()).add(path.subList(1, path.size()));
+            } else {
+                validation.validateMissingColumn(parentPath + String.join(".", path));
+            }
+        }
+        List<Type> projection = new ArrayList<>();
+        for (Type field : schema.getFields()) {
+            List<List<String>> childPaths = byField.get(field.getName());
+            if (childPaths == null) {
+                continue;
+            }
+            if (childPaths.stream().anyMatch(List::isEmpty)) {
+                projection.add(field);
+                continue;
+            }
+            String fieldPath = parentPath + field.getName();
+            if (field.isPrimitive() || field.isRepetition(Repetition.REPEATED)
+                    || field.getLogicalTypeAnnotation() != null) {
+                throw new RecordTypeConversionException("Column '" + fieldPath
+                        + "' is not a group and can not be partially projected");
+            }
+            GroupType projected = projectPaths(field.asGroupType(), childPaths, fieldPath + ".");
+            if (projected.getFieldCount() > 0) {
+                projection.add(projected);
+            }
+        }
+        return schema.withNewFields(projection);
+    }
+
     private GroupType filter(Class<?> readClass, ColumnPath path, GroupType schema) {
+        return filter(readClass, path, schema, Set.of());
+    }
+
+    private GroupType filter(Class<?> readClass, ColumnPath path, GroupType schema,
+            Set<String> excludedComponents) {
         if (!readClass.isRecord()) {
             throw new RecordTypeConversionException(readClass.getName() + " is not a Java Record");
         }
@@ -71,6 +148,9 @@ class SchemaFilter {
 
         Map<String, Type> inProjection = new HashMap<>();
         for (RecordComponent recordComponent : readClass.getRecordComponents()) {
+            if (excludedComponents.contains(recordComponent.getName())) {
+                continue;
+            }
             NameMap nameMap = mapFields.get(recordComponent.getName());
             if (nameMap == null) {
                 validation.validateMissingColumn(readClass, recordComponent.getName());
@@ -79,6 +159,11 @@ class SchemaFilter {
             Type parquetType = nameMap.parquetType();
             String parquetFieldName = parquetType.getName();
             ColumnPath column = path.add(readClass, recordComponent.getName(), parquetFieldName);
+            JavaType componentJavaType = new JavaType(recordComponent.getType());
+            if (componentJavaType.isPrimitiveArray()) {
+                inProjection.put(parquetFieldName, analyzePrimitiveArray(column, recordComponent, parquetType));
+                continue;
+            }
             if (parquetType.isRepetition(Repetition.REPEATED)) {
                 Type type = analyzeOneLevelStructure(column, recordComponent, parquetType, parquetFieldName);
                 inProjection.put(parquetFieldName, type);
@@ -155,6 +240,27 @@ class SchemaFilter {
         return new GroupType(schema.getRepetition(), schema.getName(), projection);
     }
 
+    private Type analyzePrimitiveArray(ColumnPath column, RecordComponent recordComponent, Type parquetType) {
+        JavaType elementType = new JavaType(recordComponent.getType().getComponentType());
+        Type element = null;
+        if (parquetType.isRepetition(Repetition.REPEATED)) {
+            element = parquetType;
+        } else if (listType().equals(parquetType.getLogicalTypeAnnotation())) {
+            GroupType listType = parquetType.asGroupType();
+            if (listType.getFieldCount() == 1 && listType.getType(0).isRepetition(Repetition.REPEATED)) {
+                Type listChild = listType.getType(0);
+                element = isThreeLevel(listChild) ? listChild.asGroupType().getType(0) : listChild;
+            }
+        }
+        if (element == null || !element.isPrimitive()) {
+            throw new RecordTypeConversionException("Field '" + parquetType.getName() + "' is not a list of "
+                    + elementType.getTypeName() + " in '" + column.getClassName() + "' mapping column '"
+                    + column.path() + "'");
+        }
+        validation.validatePrimitiveCompatibility(element.asPrimitiveType(), elementType);
+        return parquetType;
+    }
+
     private Type analyzeOneLevelStructure(ColumnPath column, RecordComponent recordComponent,
             Type parquetType, String fieldName) {
 
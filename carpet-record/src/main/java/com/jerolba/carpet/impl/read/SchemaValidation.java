@@ -68,6 +68,13 @@ public class SchemaValidation {
         return true;
     }
 
+    public boolean validateMissingColumn(String columnPath) {
+        if (failOnMissingColumn) {
+            throw new CarpetMissingColumnException("Column '" + columnPath + "' not present in parquet schema");
+        }
+        return true;
+    }
+
     public boolean validatePrimitiveCompatibility(PrimitiveType primitiveType, JavaType type) {
         LogicalTypeAnnotation logicalTypeAnnotation = primitiveType.getLogicalTypeAnnotation();
         if (logicalTypeAnnotation != null && validLogicalTypeAnnotation(primitiveType, type)) {
@@ -0,0 +1,240 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.read;
+
+import static java.util.Collections.singleton;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.filter2.columnindex.RowRanges;
+import org.apache.parquet.filter2.compat.FilterCompat.Filter;
+import org.apache.parquet.filter2.compat.FilterCompat.FilterPredicateCompat;
+import org.apache.parquet.filter2.compat.RowGroupFilter;
+import org.apache.parquet.filter2.compat.RowGroupFilter.FilterLevel;
+import org.apache.parquet.filter2.predicate.SchemaCompatibilityValidator;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.schema.MessageType;
+
+import com.jerolba.carpet.CloseableIterator;
+import com.jerolba.carpet.ColumnStatisticsPruner;
+
+/**
+ * Iterator that reads only some rows of each row group of a file.
+ *
+ * For each row group, a {@link RowSelector} decides which rows are read, for
+ * example evaluating a predicate over a few columns, or looking them up in an
+ * index. Then, the columns of the read class are decoded only for the selected
+ * rows, using the row ranges support of parquet-mr to read only the pages
+ * containing them and to skip the values of the other rows.
+ *
+ * If the file has no offset indexes, all the pages of the row group are read
+ * and the records of the rows not selected are discarded.
+ *
+ * @param <T> the type of the records read
+ */
+public class SelectedRowsIterator<T> implements CloseableIterator<T> {
+
+    private final ParquetFileReader fileReader;
+    private final RowSelector rowSelector;
+    private final Filter filter;
+    private final List<Integer> rowGroups;
+    private final ReadPhase<T> readPhase;
+
+    private int currentRowGroup = 0;
+    private RecordReader<T> recordReader;
+    private long remainingRows;
+    private long rowIndex;
+    private BitSet selectedRows;
+    private T nextRecord;
+    private boolean closed = false;
+
+    public SelectedRowsIterator(ParquetFileReader fileReader, ParquetReadOptions options, Filter filter,
+            CarpetReadSupport<T> readSupport, RowSelector rowSelector) {
+        this.fileReader = fileReader;
+        this.rowSelector = rowSelector;
+        this.filter = filter;
+        this.readPhase = ReadPhase.create(readSupport, fileReader.getFooter().getFileMetaData(),
+                options.getConfiguration());
+        if (filter instanceof FilterPredicateCompat predicateCompat) {
+            SchemaCompatibilityValidator.validate(predicateCompat.getFilterPredicate(), readPhase.schema());
+        }
+        this.rowGroups = candidateRowGroups(fileReader, options, filter);
+        this.nextRecord = advance();
+    }
+
+    static List<Integer> candidateRowGroups(ParquetFileReader fileReader, ParquetReadOptions options,
+            Filter filter) {
+        List<BlockMetaData> blocks = fileReader.getRowGroups();
+        List<FilterLevel> levels = new ArrayList<>();
+        if (options.useStatsFilter()) {
+            levels.add(FilterLevel.STATISTICS);
+        }
+        if (options.useDictionaryFilter()) {
+            levels.add(FilterLevel.DICTIONARY);
+        }
+        if (options.useBloomFilter()) {
+            levels.add(FilterLevel.BLOOMFILTER);
+        }
+        List<BlockMetaData> candidates = RowGroupFilter.filterRowGroups(levels, filter, blocks, fileReader);
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < blocks.size(); i++) {
+            if (candidates.contains(blocks.get(i))) {
+                indexes.add(i);
+            }
+        }
+        // Column statistics stored by the writer can skip row groups not skipped by parquet
+        if (filter instanceof FilterPredicateCompat predicateCompat) {
+            ColumnStatisticsPruner pruner = ColumnStatisticsPruner.of(fileReader.getFooter());
+            if (!pruner.columns().isEmpty()) {
+                indexes.removeIf(i -> pruner.canSkip(i, predicateCompat.getFilterPredicate()));
+            }
+        }
+        return indexes;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextRecord != null;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T res = nextRecord;
+        nextRecord = advance();
+        return res;
+    }
+
+    private T advance() {
+        try {
+            while (true) {
+                while (remainingRows > 0) {
+                    remainingRows--;
+                    T record = recordReader.read();
+                    boolean selected = selectedRows == null || selectedRows.get((int) rowIndex);
+                    rowIndex++;
+                    if (record != null && selected && !recordReader.shouldSkipCurrentRecord()) {
+                        return record;
+                    }
+                }
+                if (!loadNextRowGroup()) {
+                    close();
+                    return null;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean loadNextRowGroup() throws IOException {
+        while (currentRowGroup < rowGroups.size()) {
+            int blockIndex = rowGroups.get(currentRowGroup++);
+            BlockMetaData block = fileReader.getRowGroups().get(blockIndex);
+            long rowCount = block.getRowCount();
+            BitSet selected = rowSelector.select(fileReader, blockIndex, rowCount);
+            int selectedCount = selected.cardinality();
+            if (selectedCount == 0) {
+                continue;
+            }
+
+            fileReader.setRequestedSchema(readPhase.schema());
+            PageReadStore pages;
+            if (selectedCount == rowCount) {
+                pages = fileReader.readRowGroup(blockIndex);
+                selectedRows = null;
+                remainingRows = rowCount;
+            } else if (hasOffsetIndexes(block, readPhase.schema()) && canUseRowRanges(selected, rowCount)) {
+                pages = fileReader.readFilteredRowGroup(blockIndex, toRowRanges(selected));
+                selectedRows = null;
+                remainingRows = selectedCount;
+            } else {
+                pages = fileReader.readRowGroup(blockIndex);
+                selectedRows = selected;
+                remainingRows = rowCount;
+            }
+            recordReader = readPhase.columnIO().getRecordReader(pages, readPhase.materializer(), filter);
+            rowIndex = 0;
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean hasOffsetIndexes(BlockMetaData block, MessageType schema) {
+        for (ColumnChunkMetaData column : block.getColumns()) {
+            if (schema.containsPath(column.getPath().toArray()) && column.getOffsetIndexReference() == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * The column readers of parquet-mr stop skipping values when there are no
+     * more row indexes to visit and the current page is consumed. If the last
+     * selected range is a single row, located in a page after the previous range,
+     * its values would never be reached. To avoid it, the row following it is
+     * also selected, and never read. If there is no following row, the row group
+     * is read without row ranges.
+     */
+    private static boolean canUseRowRanges(BitSet selected, long rowCount) {
+        return !needsTrailingRow(selected) || selected.length() < rowCount;
+    }
+
+    private static boolean needsTrailingRow(BitSet selected) {
+        int last = selected.length() - 1;
+        return last > 0 && !selected.get(last - 1) && selected.previousSetBit(last - 1) >= 0;
+    }
+
+    private static RowRanges toRowRanges(BitSet selected) {
+        RowRanges.Builder builder = RowRanges.builder();
+        int from = selected.nextSetBit(0);
+        while (from >= 0) {
+            int to = selected.nextClearBit(from);
+            builder.addSelectedRange(from, to - 1);
+            from = selected.nextSetBit(to);
+        }
+        if (needsTrailingRow(selected)) {
+            builder.addSelectedRow(selected.length());
+        }
+        return builder.build();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        nextRecord = null;
+        remainingRows = 0;
+        currentRowGroup = rowGroups.size();
+        fileReader.close();
+    }
+
+}
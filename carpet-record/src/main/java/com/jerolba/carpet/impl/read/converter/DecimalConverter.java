@@ -82,13 +82,22 @@ public class DecimalConverter extends PrimitiveConverter {
         }
     }
 
-    // From org.apache.avro.Conversion$DecimalConversion
     private BigDecimal convert(Binary binary) {
-        ByteBuffer value = ByteBuffer.wrap(binary.getBytes());
-        // always copy the bytes out because BigInteger has no offset/length constructor
-        byte[] bytes = new byte[value.remaining()];
-        value.duplicate().get(bytes);
-        return new BigDecimal(new BigInteger(bytes), scale);
+        ByteBuffer value = binary.toByteBuffer();
+        int length = value.remaining();
+        int position = value.position();
+        if (length > 0 && length <= Long.BYTES) {
+            // Big-endian two's complement, sign extended from the first byte
+            long unscaled = value.get(position);
+            for (int i = 1; i < length; i++) {
+                unscaled = (unscaled << 8) | (value.get(position + i) & 0xFF);
+            }
+            return BigDecimal.valueOf(unscaled, scale);
+        }
+        if (value.hasArray()) {
+            return new BigDecimal(new BigInteger(value.array(), value.arrayOffset() + position, length), scale);
+        }
+        return new BigDecimal(new BigInteger(binary.getBytesUnsafe()), scale);
     }
 
     private BigDecimal convert(long value) {
@@ -30,6 +30,8 @@ import com.jerolba.carpet.annotation.Rounding;
 
 class BigDecimalWrite {
 
+    private static final int MAX_LONG_PRECISION = 18;
+
     enum DecimalMapper {
         INT, LONG, BINARY
     }
@@ -38,6 +40,7 @@ class BigDecimalWrite {
     private final Integer scale;
     private final RoundingMode roundingMode;
     private final DecimalMapper mapper;
+    private final byte[] scratch = new byte[Long.BYTES];
 
     public BigDecimalWrite(DecimalConfig decimalConfig) {
         this.precision = decimalConfig.precision();
@@ -48,25 +51,43 @@ class BigDecimalWrite {
 
     public void write(RecordConsumer recordConsumer, Object value) {
         BigDecimal dec = rescaleIfNeeded((BigDecimal) value);
+        if (dec.precision() > MAX_LONG_PRECISION) {
+            byte[] a = dec.unscaledValue().toByteArray();
+            recordConsumer.addBinary(Binary.fromConstantByteArray(a));
+            return;
+        }
+        // Values with up to 18 digits fit in a long. Without scale, BigDecimal returns
+        // its compact value directly; otherwise the unscaled value is read without
+        // creating a new BigDecimal
+        long unscaled = dec.scale() == 0 ? dec.longValueExact() : dec.unscaledValue().longValueExact();
         switch (mapper) {
         case INT:
-            recordConsumer.addInteger(dec.unscaledValue().intValue());
+            recordConsumer.addInteger((int) unscaled);
             break;
         case LONG:
-            recordConsumer.addLong(dec.unscaledValue().longValue());
+            recordConsumer.addLong(unscaled);
             break;
         case BINARY:
-            byte[] a = dec.unscaledValue().toByteArray();
-            recordConsumer.addBinary(Binary.fromConstantByteArray(a));
+            recordConsumer.addBinary(toBinary(unscaled));
             break;
         }
     }
 
+    // Minimal two's complement big-endian representation, as BigInteger::toByteArray
+    private Binary toBinary(long unscaled) {
+        int length = (64 - Long.numberOfLeadingZeros(unscaled < 0 ? ~unscaled : unscaled)) / 8 + 1;
+        for (int i = length - 1; i >= 0; i--) {
+            scratch[i] = (byte) unscaled;
+            unscaled >>= 8;
+        }
+        return Binary.fromReusedByteArray(scratch, 0, length);
+    }
+
     private static DecimalMapper calcMapper(int precision) {
         if (precision <= 9) {
             return DecimalMapper.INT;
         }
-        if (precision <= 18) {
+        if (precision <= MAX_LONG_PRECISION) {
             return DecimalMapper.LONG;
         }
         return DecimalMapper.BINARY;
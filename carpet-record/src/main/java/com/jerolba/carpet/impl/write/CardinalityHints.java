@@ -0,0 +1,147 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.write;
+
+import java.lang.reflect.RecordComponent;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+
+import com.jerolba.carpet.ColumnNamingStrategy;
+import com.jerolba.carpet.annotation.Cardinality;
+
+/**
+ * Resolves the expected cardinality of columns into the dictionary encoding
+ * configuration of each column.
+ */
+public class CardinalityHints {
+
+    // Length prefix of a plain encoded binary value
+    private static final int BINARY_LENGTH_SIZE = 4;
+
+    // Lower bound of the size of a binary value if its average size is unknown
+    private static final int MIN_BINARY_SIZE = BINARY_LENGTH_SIZE + 1;
+
+    /**
+     * Expected cardinality of a column.
+     *
+     * @param distinctValues   expected number of distinct values in a row group
+     * @param averageValueSize average size in bytes of the values of a binary
+     *                         column, or 0 if it is unknown. Ignored in fixed
+     *                         size columns.
+     */
+    public record ColumnCardinality(long distinctValues, int averageValueSize) {
+
+        public ColumnCardinality {
+            if (distinctValues < 0) {
+                throw new IllegalArgumentException("Cardinality can not be negative");
+            }
+            if (averageValueSize < 0) {
+                throw new IllegalArgumentException("Average value size can not be negative");
+            }
+        }
+
+    }
+
+    private CardinalityHints() {
+    }
+
+    /**
+     * Collects the {@link Cardinality} annotations of a record and its nested
+     * records, keyed by the dot-string path of the column.
+     *
+     * @param recordClass          class of the written records
+     * @param columnNamingStrategy strategy used to name the columns
+     * @return expected cardinality by column path
+     */
+    public static Map<String, ColumnCardinality> fromAnnotations(Class<?> recordClass,
+            ColumnNamingStrategy columnNamingStrategy) {
+        Map<String, ColumnCardinality> cardinalities = new LinkedHashMap<>();
+        collectAnnotations(recordClass, "", new FieldToColumnMapper(columnNamingStrategy), cardinalities,
+                new HashSet<>());
+        return cardinalities;
+    }
+
+    private static void collectAnnotations(Class<?> recordClass, String prefix, FieldToColumnMapper mapper,
+            Map<String, ColumnCardinality> cardinalities, Set<Class<?>> visited) {
+        // Recursive records are not supported and fail creating the schema
+        if (!visited.add(recordClass)) {
+            return;
+        }
+        for (RecordComponent recordComponent : recordClass.getRecordComponents()) {
+            String path = prefix + mapper.getColumnName(recordComponent);
+            Cardinality cardinality = recordComponent.getAnnotation(Cardinality.class);
+            if (cardinality != null) {
+                cardinalities.put(path, new ColumnCardinality(cardinality.value(), cardinality.averageSize()));
+            }
+            if (recordComponent.getType().isRecord()) {
+                collectAnnotations(recordComponent.getType(), path + ".", mapper, cardinalities, visited);
+            }
+        }
+        visited.remove(recordClass);
+    }
+
+    /**
+     * Decides for each column with a cardinality hint whether it must be
+     * dictionary encoded, comparing the minimum size of its dictionary with the
+     * dictionary page size. Without an average value size, the size of binary
+     * values is estimated with its lower bound of one byte.
+     *
+     * @param schema             schema of the written file
+     * @param cardinalities      expected cardinality by column path
+     * @param dictionaryPageSize maximum size of a dictionary page
+     * @return whether dictionary encoding is enabled by column path
+     */
+    public static Map<String, Boolean> dictionaryEncoding(MessageType schema,
+            Map<String, ColumnCardinality> cardinalities, int dictionaryPageSize) {
+        Map<String, Boolean> dictionaryEncoding = new HashMap<>();
+        for (Entry<String, ColumnCardinality> entry : cardinalities.entrySet()) {
+            String path = entry.getKey();
+            ColumnCardinality cardinality = entry.getValue();
+            String[] columnPath = path.split("\\.");
+            if (!schema.containsPath(columnPath) || !schema.getType(columnPath).isPrimitive()) {
+                throw new IllegalArgumentException("Column '" + path + "' with cardinality hint is not a "
+                        + "primitive column of the schema");
+            }
+            PrimitiveType type = schema.getType(columnPath).asPrimitiveType();
+            long valueSize = plainValueSize(type, cardinality.averageValueSize());
+            if (valueSize > 0) {
+                boolean fits = cardinality.distinctValues() * valueSize <= dictionaryPageSize;
+                dictionaryEncoding.put(path, fits);
+            }
+        }
+        return dictionaryEncoding;
+    }
+
+    private static long plainValueSize(PrimitiveType primitiveType, int averageValueSize) {
+        return switch (primitiveType.getPrimitiveTypeName()) {
+        case INT32, FLOAT -> Integer.BYTES;
+        case INT64, DOUBLE -> Long.BYTES;
+        case INT96 -> 12;
+        case FIXED_LEN_BYTE_ARRAY -> primitiveType.getTypeLength();
+        case BINARY -> averageValueSize > 0 ? BINARY_LENGTH_SIZE + (long) averageValueSize : MIN_BINARY_SIZE;
+        // Boolean columns are never dictionary encoded
+        case BOOLEAN -> 0;
+        };
+    }
+
+}
@@ -24,6 +24,8 @@ import static com.jerolba.carpet.impl.write.CollectionsWriters.twoLevelCollectio
 import static com.jerolba.carpet.impl.write.FieldsWriter.buildPrimitiveAccessor;
 import static com.jerolba.carpet.impl.write.FieldsWriter.buildPrimitiveJavaConsumer;
 import static com.jerolba.carpet.impl.write.FieldsWriter.buildSimpleElementConsumer;
+import static com.jerolba.carpet.impl.write.PrimitiveCollectionsWriters.numberCollectionFieldWriter;
+import static com.jerolba.carpet.impl.write.PrimitiveCollectionsWriters.primitiveArrayFieldWriter;
 
 import java.lang.reflect.RecordComponent;
 import java.util.ArrayList;
@@ -31,7 +33,6 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
-import java.util.function.Consumer;
 
 import org.apache.parquet.io.api.RecordConsumer;
 
@@ -43,34 +44,34 @@ import com.jerolba.carpet.impl.write.CollectionsWriters.OneLevelCollectionFieldW
 
 class CarpetRecordWriter {
 
-    private final RecordConsumer recordConsumer;
     private final CarpetWriteConfiguration carpetConfiguration;
 
-    private final List<Consumer<Object>> fieldWriters = new ArrayList<>();
+    private final BiConsumer<RecordConsumer, Object> fieldsWriter;
 
-    public CarpetRecordWriter(RecordConsumer recordConsumer, Class<?> recordClass,
-            CarpetWriteConfiguration carpetConfiguration) {
-        this.recordConsumer = recordConsumer;
+    public CarpetRecordWriter(Class<?> recordClass, CarpetWriteConfiguration carpetConfiguration) {
         this.carpetConfiguration = carpetConfiguration;
 
+        List<BiConsumer<RecordConsumer, Object>> fieldWriters = new ArrayList<>();
         int idx = 0;
         for (RecordComponent attr : recordClass.getRecordComponents()) {
             JavaType javaType = new JavaType(attr);
             String parquetFieldName = getFieldName(attr);
-            Consumer<Object> writer = null;
+            BiConsumer<RecordConsumer, Object> writer = null;
             if (javaType.isJavaPrimitive()) {
                 var accessor = buildPrimitiveAccessor(recordClass, attr, javaType);
                 if (accessor != null) {
-                    writer = buildPrimitiveJavaConsumer(parquetFieldName, javaType, accessor, idx, recordConsumer);
+                    writer = buildPrimitiveJavaConsumer(parquetFieldName, javaType, accessor, idx);
                 }
             }
             if (writer == null) {
                 Class<?> type = attr.getType();
                 RecordField f = new ReflectionRecordField(recordClass, attr, parquetFieldName, idx);
                 BiConsumer<RecordConsumer, Object> basicTypeWriter = buildSimpleElementConsumer(javaType,
-                        recordConsumer, carpetConfiguration);
+                        carpetConfiguration);
                 if (basicTypeWriter != null) {
-                    writer = new FieldWriterConsumer(recordConsumer, f, basicTypeWriter);
+                    writer = new FieldWriterConsumer(f, basicTypeWriter);
+                } else if (javaType.isPrimitiveArray()) {
+                    writer = primitiveArrayFieldWriter(f, javaType, carpetConfiguration.annotatedLevels());
                 } else if (Collection.class.isAssignableFrom(type)) {
                     writer = createCollectionWriter(getParameterizedCollection(attr), f);
                 } else if (Map.class.isAssignableFrom(type)) {
@@ -82,15 +83,22 @@ class CarpetRecordWriter {
             fieldWriters.add(writer);
             idx++;
         }
+        this.fieldsWriter = FieldWriterChain.compile(fieldWriters);
     }
 
-    public void write(Object record) {
-        for (var fieldWriter : fieldWriters) {
-            fieldWriter.accept(record);
-        }
+    public void write(RecordConsumer recordConsumer, Object record) {
+        fieldsWriter.accept(recordConsumer, record);
     }
 
-    private Consumer<Object> createCollectionWriter(ParameterizedCollection collectionClass, RecordField f) {
+    private BiConsumer<RecordConsumer, Object> createCollectionWriter(ParameterizedCollection collectionClass,
+            RecordField f) {
+        if (f != null && !collectionClass.isCollection() && !collectionClass.isMap()) {
+            BiConsumer<RecordConsumer, Object> numberWriter = numberCollectionFieldWriter(f,
+                    collectionClass.getActualJavaType(), carpetConfiguration.annotatedLevels());
+            if (numberWriter != null) {
+                return numberWriter;
+            }
+        }
         return switch (carpetConfiguration.annotatedLevels()) {
         case ONE -> createOneLevelStructureWriter(collectionClass, f);
         case TWO -> createTwoLevelStructureWriter(collectionClass, f);
@@ -98,7 +106,8 @@ class CarpetRecordWriter {
         };
     }
 
-    private Consumer<Object> createOneLevelStructureWriter(ParameterizedCollection parametized, RecordField field) {
+    private BiConsumer<RecordConsumer, Object> createOneLevelStructureWriter(ParameterizedCollection parametized,
+            RecordField field) {
         if (parametized.isCollection()) {
             throw new RecordTypeConversionException(
                     "Nested collection in a collection is not supported in single level structure codification");
@@ -106,54 +115,51 @@ class CarpetRecordWriter {
         BiConsumer<RecordConsumer, Object> elemConsumer = null;
         if (parametized.isMap()) {
             ParameterizedMap parametizedChild = parametized.getAsMap();
-            Consumer<Object> childWriter = createMapStructureWriter(parametizedChild, null);
-            elemConsumer = (consumer, v) -> childWriter.accept(v);
+            elemConsumer = createMapStructureWriter(parametizedChild, null);
         } else {
             JavaType type = parametized.getActualJavaType();
-            elemConsumer = buildSimpleElementConsumer(type, recordConsumer, carpetConfiguration);
+            elemConsumer = buildSimpleElementConsumer(type, carpetConfiguration);
         }
         if (elemConsumer == null) {
             throw new RecordTypeConversionException("Unsuported type in collection");
         }
-        return new OneLevelCollectionFieldWriter(recordConsumer, field, elemConsumer);
+        return new OneLevelCollectionFieldWriter(field, elemConsumer);
     }
 
-    private Consumer<Object> createTwoLevelStructureWriter(ParameterizedCollection parametized,
+    private BiConsumer<RecordConsumer, Object> createTwoLevelStructureWriter(ParameterizedCollection parametized,
             RecordField recordField) {
         BiConsumer<RecordConsumer, Object> elemConsumer = buildCollectionWriter(parametized);
         if (elemConsumer == null) {
             throw new RecordTypeConversionException("Unsuported type in collection");
         }
-        return twoLevelCollectionRecordFieldWriterFactory(recordConsumer, recordField, elemConsumer);
+        return twoLevelCollectionRecordFieldWriterFactory(recordField, elemConsumer);
     }
 
-    private Consumer<Object> createThreeLevelStructureWriter(ParameterizedCollection generic,
+    private BiConsumer<RecordConsumer, Object> createThreeLevelStructureWriter(ParameterizedCollection generic,
             RecordField recordField) {
         BiConsumer<RecordConsumer, Object> elemConsumer = buildCollectionWriter(generic);
         if (elemConsumer == null) {
             throw new RecordTypeConversionException("Unsuported type in collection");
         }
-        return threeLevelCollectionRecordFieldWriterFactory(recordConsumer, recordField, elemConsumer);
+        return threeLevelCollectionRecordFieldWriterFactory(recordField, elemConsumer);
     }
 
     private BiConsumer<RecordConsumer, Object> buildCollectionWriter(ParameterizedCollection generic) {
         if (generic.isCollection()) {
-            Consumer<Object> childWriter = createCollectionWriter(generic.getAsCollection(), null);
-            return (consumer, v) -> childWriter.accept(v);
+            return createCollectionWriter(generic.getAsCollection(), null);
         }
         if (generic.isMap()) {
-            Consumer<Object> childWriter = createMapStructureWriter(generic.getAsMap(), null);
-            return (consumer, v) -> childWriter.accept(v);
+            return createMapStructureWriter(generic.getAsMap(), null);
         }
-        return buildSimpleElementConsumer(generic.getActualJavaType(), recordConsumer, carpetConfiguration);
+        return buildSimpleElementConsumer(generic.getActualJavaType(), carpetConfiguration);
     }
 
-    private Consumer<Object> createMapStructureWriter(ParameterizedMap generic, RecordField recordField) {
+    private BiConsumer<RecordConsumer, Object> createMapStructureWriter(ParameterizedMap generic,
+            RecordField recordField) {
         JavaType keyType = generic.getGenericKey().getActualJavaType();
-        BiConsumer<RecordConsumer, Object> keyConsumer = buildSimpleElementConsumer(keyType, recordConsumer,
-                carpetConfiguration);
+        BiConsumer<RecordConsumer, Object> keyConsumer = buildSimpleElementConsumer(keyType, carpetConfiguration);
 
         BiConsumer<RecordConsumer, Object> valueConsumer = buildCollectionWriter(generic.getGenericValue());
-        return mapRecordFieldWriterFactory(recordConsumer, recordField, keyConsumer, valueConsumer);
+        return mapRecordFieldWriterFactory(recordField, keyConsumer, valueConsumer);
     }
 }
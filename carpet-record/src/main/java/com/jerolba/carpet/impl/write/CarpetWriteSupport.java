@@ -15,6 +15,8 @@
  */
 package com.jerolba.carpet.impl.write;
 
+import static com.jerolba.carpet.impl.write.ColumnBatchWriter.enumColumns;
+
 import java.util.Map;
 
 import org.apache.hadoop.conf.Configuration;
@@ -28,13 +30,18 @@ class CarpetWriteSupport<T> extends WriteSupport<T> {
     private final Class<T> recordClass;
     private final Map<String, String> extraMetaData;
     private final CarpetWriteConfiguration carpetConfiguration;
-    private CarpetMessageWriter<T> carpetWriter;
+    private final ColumnBatchRow columnBatchRow;
+    private CarpetRecordWriter carpetWriter;
+    private MessageType schema;
+    private ColumnBatchWriter columnBatchWriter;
+    private RecordConsumer recordConsumer;
 
     public CarpetWriteSupport(Class<T> recordClass, Map<String, String> extraMetaData,
-            CarpetWriteConfiguration carpetConfiguration) {
+            CarpetWriteConfiguration carpetConfiguration, ColumnBatchRow columnBatchRow) {
         this.recordClass = recordClass;
         this.extraMetaData = extraMetaData;
         this.carpetConfiguration = carpetConfiguration;
+        this.columnBatchRow = columnBatchRow;
     }
 
     @Override
@@ -45,21 +52,27 @@ class CarpetWriteSupport<T> extends WriteSupport<T> {
     @Override
     public WriteContext init(ParquetConfiguration configuration) {
         JavaRecord2Schema javaRecord2Schema = new JavaRecord2Schema(carpetConfiguration);
-        MessageType schema = javaRecord2Schema.createSchema(recordClass);
+        schema = javaRecord2Schema.createSchema(recordClass);
         return new WriteContext(schema, this.extraMetaData);
     }
 
     @Override
     public WriteContext init(Configuration configuration) {
         JavaRecord2Schema javaRecord2Schema = new JavaRecord2Schema(carpetConfiguration);
-        MessageType schema = javaRecord2Schema.createSchema(recordClass);
+        schema = javaRecord2Schema.createSchema(recordClass);
         return new WriteContext(schema, this.extraMetaData);
     }
 
     @Override
     public void prepareForWrite(RecordConsumer recordConsumer) {
         try {
-            carpetWriter = new CarpetMessageWriter<>(recordConsumer, recordClass, carpetConfiguration);
+            this.recordConsumer = FlatColumnRecordConsumer.wrapIfFlat(recordConsumer, schema);
+            // Writers are built once, and receive the RecordConsumer of the current row group
+            if (carpetWriter == null) {
+                columnBatchWriter = new ColumnBatchWriter(schema, enumColumns(recordClass, carpetConfiguration));
+                carpetWriter = new CarpetRecordWriter(recordClass, carpetConfiguration);
+            }
+            columnBatchWriter.prepareForWrite(this.recordConsumer);
         } catch (Throwable e) {
             throw new RuntimeException(e);
         }
@@ -67,26 +80,13 @@ class CarpetWriteSupport<T> extends WriteSupport<T> {
 
     @Override
     public void write(T record) {
-        carpetWriter.write(record);
-    }
-
-    private static class CarpetMessageWriter<T> {
-
-        private final RecordConsumer recordConsumer;
-        private final CarpetRecordWriter writer;
-
-        CarpetMessageWriter(RecordConsumer recordConsumer, Class<T> recordClass,
-                CarpetWriteConfiguration carpetConfiguration) {
-            this.recordConsumer = recordConsumer;
-            this.writer = new CarpetRecordWriter(recordConsumer, recordClass, carpetConfiguration);
-        }
-
-        void write(T record) {
+        if (record == null && columnBatchRow != null && columnBatchRow.isActive()) {
+            columnBatchWriter.write(columnBatchRow);
+        } else {
             recordConsumer.startMessage();
-            writer.write(record);
+            carpetWriter.write(recordConsumer, record);
             recordConsumer.endMessage();
         }
-
     }
 
-}
\ No newline at end of file
+}
@@ -18,7 +18,6 @@ package com.jerolba.carpet.impl.write;
 import java.util.Collection;
 import java.util.Map;
 import java.util.function.BiConsumer;
-import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.apache.parquet.io.api.RecordConsumer;
@@ -36,17 +35,14 @@ class CollectionsWriters {
     private CollectionsWriters() {
     }
 
-    abstract static class CollectionFieldWriter implements Consumer<Object> {
+    abstract static class CollectionFieldWriter implements BiConsumer<RecordConsumer, Object> {
 
-        protected final RecordConsumer recordConsumer;
         protected final String parquetFieldName;
         protected final int idx;
         protected final Function<Object, Object> accesor;
         protected final BiConsumer<RecordConsumer, Object> innerStructureWriter;
 
-        CollectionFieldWriter(RecordConsumer recordConsumer, RecordField recordField,
-                BiConsumer<RecordConsumer, Object> innerStructureWriter) {
-            this.recordConsumer = recordConsumer;
+        CollectionFieldWriter(RecordField recordField, BiConsumer<RecordConsumer, Object> innerStructureWriter) {
             this.parquetFieldName = recordField.parquetFieldName();
             this.idx = recordField.idx();
             this.accesor = recordField.getAccessor();
@@ -57,13 +53,13 @@ class CollectionsWriters {
 
     static class OneLevelCollectionFieldWriter extends CollectionFieldWriter {
 
-        OneLevelCollectionFieldWriter(RecordConsumer recordConsumer, RecordField recordField,
+        OneLevelCollectionFieldWriter(RecordField recordField,
                 BiConsumer<RecordConsumer, Object> innerStructureWriter) {
-            super(recordConsumer, recordField, innerStructureWriter);
+            super(recordField, innerStructureWriter);
         }
 
         @Override
-        public void accept(Object object) {
+        public void accept(RecordConsumer recordConsumer, Object object) {
             Collection<?> coll = (Collection<?>) accesor.apply(object);
             if (coll != null && !coll.isEmpty()) {
                 recordConsumer.startField(parquetFieldName, idx);
@@ -75,15 +71,14 @@ class CollectionsWriters {
         }
     }
 
-    static Consumer<Object> twoLevelCollectionRecordFieldWriterFactory(
-            RecordConsumer recordConsumer,
+    static BiConsumer<RecordConsumer, Object> twoLevelCollectionRecordFieldWriterFactory(
             RecordField recordField,
             BiConsumer<RecordConsumer, Object> elemConsumer) {
         if (recordField != null) {
-            return new TwoLevelCollectionRecordFieldWriter(recordConsumer, recordField, elemConsumer);
+            return new TwoLevelCollectionRecordFieldWriter(recordField, elemConsumer);
         }
         // We are referenced by other collection
-        return value -> {
+        return (recordConsumer, value) -> {
             Collection<?> coll = (Collection<?>) value;
             if (coll != null) {
                 writeGroupElementTwo(recordConsumer, elemConsumer, coll);
@@ -110,13 +105,13 @@ class CollectionsWriters {
 
     private static class TwoLevelCollectionRecordFieldWriter extends CollectionFieldWriter {
 
-        TwoLevelCollectionRecordFieldWriter(RecordConsumer recordConsumer, RecordField recordField,
+        TwoLevelCollectionRecordFieldWriter(RecordField recordField,
                 BiConsumer<RecordConsumer, Object> innerStructureWriter) {
-            super(recordConsumer, recordField, innerStructureWriter);
+            super(recordField, innerStructureWriter);
         }
 
         @Override
-        public void accept(Object object) {
+        public void accept(RecordConsumer recordConsumer, Object object) {
             Collection<?> coll = (Collection<?>) accesor.apply(object);
             if (coll != null) {
                 recordConsumer.startField(parquetFieldName, idx);
@@ -127,15 +122,14 @@ class CollectionsWriters {
 
     }
 
-    static Consumer<Object> threeLevelCollectionRecordFieldWriterFactory(
-            RecordConsumer recordConsumer,
+    static BiConsumer<RecordConsumer, Object> threeLevelCollectionRecordFieldWriterFactory(
             RecordField recordField,
             BiConsumer<RecordConsumer, Object> elemConsumer) {
         if (recordField != null) {
-            return new ThreeLevelCollectionRecordFieldWriter(recordConsumer, recordField, elemConsumer);
+            return new ThreeLevelCollectionRecordFieldWriter(recordField, elemConsumer);
         }
         // We are referenced by other collection
-        return value -> {
+        return (recordConsumer, value) -> {
             Collection<?> coll = (Collection<?>) value;
             if (coll != null) {
                 recordConsumer.startGroup();
@@ -165,13 +159,13 @@ class CollectionsWriters {
 
     private static class ThreeLevelCollectionRecordFieldWriter extends CollectionFieldWriter {
 
-        ThreeLevelCollectionRecordFieldWriter(RecordConsumer recordConsumer, RecordField recordField,
+        ThreeLevelCollectionRecordFieldWriter(RecordField recordField,
                 BiConsumer<RecordConsumer, Object> innerStructureWriter) {
-            super(recordConsumer, recordField, innerStructureWriter);
+            super(recordField, innerStructureWriter);
         }
 
         @Override
-        public void accept(Object object) {
+        public void accept(RecordConsumer recordConsumer, Object object) {
             Collection<?> value = (Collection<?>) accesor.apply(object);
             if (value != null) {
                 recordConsumer.startField(parquetFieldName, idx);
@@ -186,8 +180,7 @@ class CollectionsWriters {
 
     }
 
-    static Consumer<Object> mapRecordFieldWriterFactory(
-            RecordConsumer recordConsumer,
+    static BiConsumer<RecordConsumer, Object> mapRecordFieldWriterFactory(
             RecordField recordField,
             BiConsumer<RecordConsumer, Object> elemKeyConsumer,
             BiConsumer<RecordConsumer, Object> elemValueConsumer) {
@@ -196,10 +189,10 @@ class CollectionsWriters {
             throw new RecordTypeConversionException("Unsuported type in Map");
         }
         if (recordField != null) {
-            return new MapRecordFieldWriter(recordConsumer, recordField, elemKeyConsumer, elemValueConsumer);
+            return new MapRecordFieldWriter(recordField, elemKeyConsumer, elemValueConsumer);
         }
         // We are referenced by other collection
-        return value -> {
+        return (recordConsumer, value) -> {
             if (value != null) {
                 Map<?, ?> map = (Map<?, ?>) value;
                 recordConsumer.startGroup();
@@ -234,19 +227,17 @@ class CollectionsWriters {
         recordConsumer.endField(KEY_VALUE, 0);
     }
 
-    static class MapRecordFieldWriter implements Consumer<Object> {
+    static class MapRecordFieldWriter implements BiConsumer<RecordConsumer, Object> {
 
-        private final RecordConsumer recordConsumer;
         private final String parquetFieldName;
         private final int idx;
         private final Function<Object, Object> accesor;
         private final BiConsumer<RecordConsumer, Object> innerKeyStructureWriter;
         private final BiConsumer<RecordConsumer, Object> innerValueStructureWriter;
 
-        MapRecordFieldWriter(RecordConsumer recordConsumer, RecordField recordField,
+        MapRecordFieldWriter(RecordField recordField,
                 BiConsumer<RecordConsumer, Object> innerStructureWriter,
                 BiConsumer<RecordConsumer, Object> innerValueStructureWriter) {
-            this.recordConsumer = recordConsumer;
             this.parquetFieldName = recordField.parquetFieldName();
             this.idx = recordField.idx();
             this.accesor = recordField.getAccessor();
@@ -255,7 +246,7 @@ class CollectionsWriters {
         }
 
         @Override
-        public void accept(Object object) {
+        public void accept(RecordConsumer recordConsumer, Object object) {
             var value = (Map<?, ?>) accesor.apply(object);
             if (value != null) {
                 recordConsumer.startField(parquetFieldName, idx);
@@ -0,0 +1,56 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.write;
+
+import com.jerolba.carpet.ColumnBatch;
+
+/**
+ * Cursor over the rows of the {@link ColumnBatch} being written. It's shared
+ * by the CarpetWriter and its write support: while a batch is active, the
+ * CarpetWriter writes a {@code null} record for each row, and the write support
+ * writes the values of the current row directly from the column arrays.
+ */
+public final class ColumnBatchRow {
+
+    private ColumnBatch batch;
+    private int row;
+
+    public void start(ColumnBatch batch) {
+        this.batch = batch;
+        this.row = 0;
+    }
+
+    public void moveTo(int row) {
+        this.row = row;
+    }
+
+    public void end() {
+        this.batch = null;
+    }
+
+    boolean isActive() {
+        return batch != null;
+    }
+
+    ColumnBatch batch() {
+        return batch;
+    }
+
+    int row() {
+        return row;
+    }
+
+}
@@ -0,0 +1,405 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.write;
+
+import static org.apache.parquet.schema.LogicalTypeAnnotation.enumType;
+import static org.apache.parquet.schema.LogicalTypeAnnotation.jsonType;
+import static org.apache.parquet.schema.LogicalTypeAnnotation.stringType;
+
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.parquet.column.ColumnWriteStore;
+import org.apache.parquet.column.ColumnWriter;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.LogicalTypeAnnotation.DecimalLogicalTypeAnnotation;
+import org.apache.parquet.schema.LogicalTypeAnnotation.IntLogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Type;
+import org.apache.parquet.schema.Type.Repetition;
+
+import com.jerolba.carpet.ColumnBatch;
+import com.jerolba.carpet.ColumnBatch.Column;
+import com.jerolba.carpet.RecordTypeConversionException;
+import com.jerolba.carpet.model.EnumType;
+import com.jerolba.carpet.model.WriteField;
+import com.jerolba.carpet.model.WriteRecordModelType;
+
+/**
+ * Writes the current row of a {@link ColumnBatchRow}, reading each value from
+ * its column array.
+ *
+ * Values and nulls are validated column by column when a batch is written for
+ * the first time. If the row group is written with a FlatColumnRecordConsumer,
+ * values are written directly to the ColumnWriters of the row group, skipping
+ * the RecordConsumer. Otherwise, for example if statistics or secondary indexes
+ * are collected from the RecordConsumer, each row is written as a record.
+ */
+class ColumnBatchWriter {
+
+    private final MessageType schema;
+    private final Map<String, Class<? extends Enum<?>>> enumColumns;
+    private RecordConsumer recordConsumer;
+    private ColumnWriteStore columnStore;
+    private ColumnWriter[] columnWriters;
+    private int[] definitionLevels;
+    private ColumnBatch batch;
+    private BatchColumn[] columns;
+    private int[] missingColumns;
+
+    /**
+     * @param schema      the schema of the file
+     * @param enumColumns the enum class of each column written from an enum
+     */
+    ColumnBatchWriter(MessageType schema, Map<String, Class<? extends Enum<?>>> enumColumns) {
+        this.schema = schema;
+        this.enumColumns = enumColumns;
+    }
+
+    /**
+     * Finds the columns of a record written from an enum field
+     *
+     * @param recordClass         the class of the records
+     * @param carpetConfiguration the configuration of the writer
+     * @return the enum class of each column written from an enum
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Class<? extends Enum<?>>> enumColumns(Class<?> recordClass,
+            CarpetWriteConfiguration carpetConfiguration) {
+        FieldToColumnMapper fieldToColumnMapper = new FieldToColumnMapper(carpetConfiguration.columnNamingStrategy());
+        Map<String, Class<? extends Enum<?>>> enumColumns = new HashMap<>();
+        for (RecordComponent recordComponent : recordClass.getRecordComponents()) {
+            if (recordComponent.getType().isEnum()) {
+                enumColumns.put(fieldToColumnMapper.getColumnName(recordComponent),
+                        (Class<? extends Enum<?>>) recordComponent.getType());
+            }
+        }
+        return enumColumns;
+    }
+
+    /**
+     * Finds the columns of a record model written from an enum field
+     *
+     * @param writeRecordModel the model of the records
+     * @return the enum class of each column written from an enum
+     */
+    static Map<String, Class<? extends Enum<?>>> enumColumns(WriteRecordModelType<?> writeRecordModel) {
+        Map<String, Class<? extends Enum<?>>> enumColumns = new HashMap<>();
+        for (WriteField<?> field : writeRecordModel.getFields()) {
+            if (field.fieldType() instanceof EnumType enumType) {
+                enumColumns.put(field.parquetFieldName(), enumType.enumClass());
+            }
+        }
+        return enumColumns;
+    }
+
+    /**
+     * Binds the RecordConsumer of the row group being written
+     *
+     * @param recordConsumer the RecordConsumer of the current row group
+     */
+    void prepareForWrite(RecordConsumer recordConsumer) {
+        this.recordConsumer = recordConsumer;
+        if (recordConsumer instanceof FlatColumnRecordConsumer flatConsumer) {
+            columnStore = flatConsumer.columnStore();
+            columnWriters = new ColumnWriter[schema.getFieldCount()];
+            definitionLevels = new int[schema.getFieldCount()];
+            for (int i = 0; i < columnWriters.length; i++) {
+                columnWriters[i] = flatConsumer.columnWriter(i);
+                definitionLevels[i] = flatConsumer.definitionLevel(i);
+            }
+        } else {
+            columnStore = null;
+            columnWriters = null;
+            definitionLevels = null;
+        }
+    }
+
+    void write(ColumnBatchRow batchRow) {
+        if (batchRow.batch() != batch) {
+            columns = createColumns(batchRow.batch());
+            batch = batchRow.batch();
+        }
+        if (columnStore != null) {
+            writeToColumns(batchRow.row());
+        } else {
+            writeRecord(batchRow.row());
+        }
+    }
+
+    private void writeToColumns(int row) {
+        for (BatchColumn column : columns) {
+            ColumnWriter columnWriter = columnWriters[column.idx];
+            if (column.isNull(row)) {
+                columnWriter.writeNull(0, 0);
+            } else {
+                column.write(columnWriter, row, definitionLevels[column.idx]);
+            }
+        }
+        for (int idx : missingColumns) {
+            columnWriters[idx].writeNull(0, 0);
+        }
+        columnStore.endRecord();
+    }
+
+    private void writeRecord(int row) {
+        recordConsumer.startMessage();
+        for (BatchColumn column : columns) {
+            if (!column.isNull(row)) {
+                recordConsumer.startField(column.name, column.idx);
+                column.write(recordConsumer, row);
+                recordConsumer.endField(column.name, column.idx);
+            }
+        }
+        recordConsumer.endMessage();
+    }
+
+    private BatchColumn[] createColumns(ColumnBatch batch) {
+        Set<String> batchColumns = new HashSet<>();
+        BatchColumn[] batchWriters = new BatchColumn[batch.columns().size()];
+        int i = 0;
+        for (Column column : batch.columns()) {
+            batchColumns.add(column.name());
+            batchWriters[i++] = createColumn(column, batch.size());
+        }
+        List<Integer> missing = new ArrayList<>();
+        for (Type field : schema.getFields()) {
+            if (!batchColumns.contains(field.getName())) {
+                if (field.isRepetition(Repetition.REQUIRED)) {
+                    throw new RecordTypeConversionException("Required column '" + field.getName()
+                            + "' is missing in the column batch");
+                }
+                missing.add(schema.getFieldIndex(field.getName()));
+            }
+        }
+        missingColumns = missing.stream().mapToInt(Integer::intValue).toArray();
+        return batchWriters;
+    }
+
+    private BatchColumn createColumn(Column column, int size) {
+        String name = column.name();
+        if (!schema.containsField(name)) {
+            throw new RecordTypeConversionException("Column '" + name + "' does not exist in the schema");
+        }
+        Type field = schema.getType(name);
+        if (!field.isPrimitive() || field.isRepetition(Repetition.REPEATED)) {
+            throw new RecordTypeConversionException("Column '" + name + "' is not a primitive column. "
+                    + "Only flat schemas can be written by columns");
+        }
+        PrimitiveType type = field.asPrimitiveType();
+        int idx = schema.getFieldIndex(name);
+        Object values = column.values();
+        BitSet nulls = column.nulls();
+        if (nulls != null && !nulls.isEmpty() && type.isRepetition(Repetition.REQUIRED)) {
+            throw new RecordTypeConversionException("Required column '" + name + "' can not have null values");
+        }
+        PrimitiveTypeName typeName = type.getPrimitiveTypeName();
+        if (values instanceof int[] ints && typeName == PrimitiveTypeName.INT32) {
+            for (int row = 0; row < size; row++) {
+                if (nulls == null || !nulls.get(row)) {
+                    validateRange(name, type, ints[row]);
+                }
+            }
+            return new BatchColumn(name, idx, nulls) {
+
+                @Override
+                void write(RecordConsumer consumer, int row) {
+                    consumer.addInteger(ints[row]);
+                }
+
+                @Override
+                void write(ColumnWriter columnWriter, int row, int definitionLevel) {
+                    columnWriter.write(ints[row], 0, definitionLevel);
+                }
+            };
+        }
+        if (values instanceof long[] longs && typeName == PrimitiveTypeName.INT64) {
+            for (int row = 0; row < size; row++) {
+                if (nulls == null || !nulls.get(row)) {
+                    validateRange(name, type, longs[row]);
+                }
+            }
+            return new BatchColumn(name, idx, nulls) {
+
+                @Override
+                void write(RecordConsumer consumer, int row) {
+                    consumer.addLong(longs[row]);
+                }
+
+                @Override
+                void write(ColumnWriter columnWriter, int row, int definitionLevel) {
+                    columnWriter.write(longs[row], 0, definitionLevel);
+                }
+            };
+        }
+        if (values instanceof float[] floats && typeName == PrimitiveTypeName.FLOAT) {
+            return new BatchColumn(name, idx, nulls) {
+
+                @Override
+                void write(RecordConsumer consumer, int row) {
+                    consumer.addFloat(floats[row]);
+                }
+
+                @Override
+                void write(ColumnWriter columnWriter, int row, int definitionLevel) {
+                    columnWriter.write(floats[row], 0, definitionLevel);
+                }
+            };
+        }
+        if (values instanceof double[] doubles && typeName == PrimitiveTypeName.DOUBLE) {
+            return new BatchColumn(name, idx, nulls) {
+
+                @Override
+                void write(RecordConsumer consumer, int row) {
+                    consumer.addDouble(doubles[row]);
+                }
+
+                @Override
+                void write(ColumnWriter columnWriter, int row, int definitionLevel) {
+                    columnWriter.write(doubles[row], 0, definitionLevel);
+                }
+            };
+        }
+        if (values instanceof boolean[] booleans && typeName == PrimitiveTypeName.BOOLEAN) {
+            return new BatchColumn(name, idx, nulls) {
+
+                @Override
+                void write(RecordConsumer consumer, int row) {
+                    consumer.addBoolean(booleans[row]);
+                }
+
+                @Override
+                void write(ColumnWriter columnWriter, int row, int definitionLevel) {
+                    columnWriter.write(booleans[row], 0, definitionLevel);
+                }
+            };
+        }
+        if (values instanceof String[] strings && typeName == PrimitiveTypeName.BINARY
+                && isStringType(type.getLogicalTypeAnnotation())) {
+            return binaryColumn(name, idx, toBinaries(name, strings, size), type);
+        }
+        throw new RecordTypeConversionException("Column '" + name + "' of type " + type
+                + " can not be written from " + values.getClass().getSimpleName());
+    }
+
+    private Binary[] toBinaries(String name, String[] strings, int size) {
+        Binary[] binaries = new Binary[size];
+        Class<? extends Enum<?>> enumClass = enumColumns.get(name);
+        if (enumClass == null) {
+            for (int row = 0; row < size; row++) {
+                binaries[row] = strings[row] == null ? null : Binary.fromString(strings[row]);
+            }
+            return binaries;
+        }
+        Map<String, Binary> enumValues = new HashMap<>();
+        for (Enum<?> value : enumClass.getEnumConstants()) {
+            enumValues.put(value.name(), Binary.fromString(value.name()));
+        }
+        for (int row = 0; row < size; row++) {
+            if (strings[row] != null) {
+                binaries[row] = enumValues.get(strings[row]);
+                if (binaries[row] == null) {
+                    throw new RecordTypeConversionException("Value '" + strings[row] + "' of column '" + name
+                            + "' is not a constant of " + enumClass.getName());
+                }
+            }
+        }
+        return binaries;
+    }
+
+    private BatchColumn binaryColumn(String name, int idx, Binary[] binaries, PrimitiveType type) {
+        BitSet nulls = new BitSet();
+        for (int row = 0; row < binaries.length; row++) {
+            if (binaries[row] == null) {
+                nulls.set(row);
+            }
+        }
+        if (!nulls.isEmpty() && type.isRepetition(Repetition.REQUIRED)) {
+            throw new RecordTypeConversionException("Required column '" + name + "' can not have null values");
+        }
+        return new BatchColumn(name, idx, nulls.isEmpty() ? null : nulls) {
+
+            @Override
+            void write(RecordConsumer consumer, int row) {
+                consumer.addBinary(binaries[row]);
+            }
+
+            @Override
+            void write(ColumnWriter columnWriter, int row, int definitionLevel) {
+                columnWriter.write(binaries[row], 0, definitionLevel);
+            }
+        };
+    }
+
+    private static void validateRange(String name, PrimitiveType type, long value) {
+        LogicalTypeAnnotation annotation = type.getLogicalTypeAnnotation();
+        if (annotation instanceof IntLogicalTypeAnnotation intType && intType.getBitWidth() < Integer.SIZE) {
+            long min = intType.isSigned() ? -(1L << (intType.getBitWidth() - 1)) : 0;
+            long max = intType.isSigned() ? (1L << (intType.getBitWidth() - 1)) - 1 : (1L << intType.getBitWidth()) - 1;
+            if (value < min || value > max) {
+                throw new RecordTypeConversionException("Value " + value + " of column '" + name
+                        + "' is out of the range of " + annotation);
+            }
+        } else if (annotation instanceof DecimalLogicalTypeAnnotation decimalType
+                && decimalType.getPrecision() < 19) {
+            long limit = 1;
+            for (int i = 0; i < decimalType.getPrecision(); i++) {
+                limit *= 10;
+            }
+            if (value <= -limit || value >= limit) {
+                throw new RecordTypeConversionException("Unscaled value " + value + " of column '" + name
+                        + "' exceeds the precision of " + annotation);
+            }
+        }
+    }
+
+    private static boolean isStringType(LogicalTypeAnnotation annotation) {
+        return stringType().equals(annotation) || enumType().equals(annotation) || jsonType().equals(annotation);
+    }
+
+    private abstract static class BatchColumn {
+
+        private final String name;
+        private final int idx;
+        private final BitSet nulls;
+
+        BatchColumn(String name, int idx, BitSet nulls) {
+            this.name = name;
+            this.idx = idx;
+            this.nulls = nulls;
+        }
+
+        boolean isNull(int row) {
+            return nulls != null && nulls.get(row);
+        }
+
+        abstract void write(RecordConsumer consumer, int row);
+
+        abstract void write(ColumnWriter columnWriter, int row, int definitionLevel);
+
+    }
+
+}
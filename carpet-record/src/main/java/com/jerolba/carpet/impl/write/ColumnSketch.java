@@ -0,0 +1,191 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.write;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.parquet.column.values.bloomfilter.XxHash;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.PrimitiveType;
+
+import com.jerolba.carpet.impl.ColumnStatisticsFormat.Entry;
+import com.jerolba.carpet.impl.HyperLogLog;
+
+/**
+ * Collects the statistics of the values of a column in a row group:
+ * <ul>
+ * <li>a HyperLogLog sketch of the distinct values</li>
+ * <li>the count of each value while there are at most
+ * {@code MAX_TRACKED_VALUES} distinct values. Beyond that, the most frequent
+ * values are tracked with the Misra-Gries algorithm, and their counts become
+ * lower bounds</li>
+ * <li>an equi-depth histogram, built from a reservoir sample of the values and
+ * the exact minimum and maximum values</li>
+ * </ul>
+ * Values are kept with the Java class used by parquet for the primitive type.
+ */
+class ColumnSketch {
+
+    static final int MAX_TRACKED_VALUES = 128;
+    static final int TOP_VALUES = 16;
+    static final int HISTOGRAM_BUCKETS = 16;
+    static final int SAMPLE_SIZE = 1024;
+
+    // Fixed seed to write the same statistics for the same data
+    private static final long SAMPLE_SEED = 42;
+
+    private final PrimitiveType type;
+    private final Comparator<Object> comparator;
+    private final XxHash xxHash = new XxHash();
+    private final Random random = new Random(SAMPLE_SEED);
+    private final Object[] sample = new Object[SAMPLE_SIZE];
+    private final Map<Object, long[]> counts = new HashMap<>();
+    private HyperLogLog distinct = new HyperLogLog();
+    private boolean complete = true;
+    private long valueCount = 0;
+    private Object min;
+    private Object max;
+
+    @SuppressWarnings("unchecked")
+    ColumnSketch(PrimitiveType type) {
+        this.type = type;
+        this.comparator = (Comparator<Object>) type.comparator();
+    }
+
+    void addBoolean(boolean value) {
+        add(value, HyperLogLog.hashLong(value ? 1 : 0));
+    }
+
+    void addInt(int value) {
+        add(value, HyperLogLog.hashLong(value));
+    }
+
+    void addLong(long value) {
+        add(value, HyperLogLog.hashLong(value));
+    }
+
+    void addFloat(float value) {
+        add(value, HyperLogLog.hashLong(Float.floatToIntBits(value)));
+    }
+
+    void addDouble(double value) {
+        add(value, HyperLogLog.hashLong(Double.doubleToLongBits(value)));
+    }
+
+    void addBinary(Binary value) {
+        add(value, xxHash.hashByteBuffer(value.toByteBuffer()));
+    }
+
+    private void add(Object value, long hash) {
+        distinct.addHash(hash);
+        countValue(value);
+        if (valueCount < SAMPLE_SIZE) {
+            sample[(int) valueCount] = copy(value);
+        } else {
+            long idx = (long) (random.nextDouble() * (valueCount + 1));
+            if (idx < SAMPLE_SIZE) {
+                sample[(int) idx] = copy(value);
+            }
+        }
+        if (min == null || comparator.compare(value, min) < 0) {
+            min = copy(value);
+        }
+        if (max == null || comparator.compare(value, max) > 0) {
+            max = copy(value);
+        }
+        valueCount++;
+    }
+
+    private void countValue(Object value) {
+        long[] count = counts.get(value);
+        if (count != null) {
+            count[0]++;
+        } else if (counts.size() < MAX_TRACKED_VALUES) {
+            counts.put(copy(value), new long[] { 1 });
+        } else {
+            // Misra-Gries: a new value decrements all counters instead of being added
+            complete = false;
+            counts.values().removeIf(c -> --c[0] == 0);
+        }
+    }
+
+    private static Object copy(Object value) {
+        return value instanceof Binary binary ? binary.copy() : value;
+    }
+
+    /**
+     * Returns the statistics collected since the previous call, and resets the
+     * sketch for the next row group.
+     *
+     * @param rowGroup index of the row group
+     * @param rowCount number of rows written in the row group
+     * @return the statistics of the row group
+     */
+    Entry endRowGroup(int rowGroup, long rowCount) {
+        Entry entry = new Entry(rowGroup, rowCount, rowCount - valueCount, distinct.toBytes(), complete,
+                frequentValues(), histogram());
+        distinct = new HyperLogLog();
+        counts.clear();
+        Arrays.fill(sample, null);
+        complete = true;
+        valueCount = 0;
+        min = null;
+        max = null;
+        return entry;
+    }
+
+    private Map<Object, Long> frequentValues() {
+        List<Map.Entry<Object, long[]>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort((a, b) -> {
+            int cmp = Long.compare(b.getValue()[0], a.getValue()[0]);
+            return cmp != 0 ? cmp : comparator.compare(a.getKey(), b.getKey());
+        });
+        int size = complete ? entries.size() : Math.min(TOP_VALUES, entries.size());
+        Map<Object, Long> values = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            values.put(entries.get(i).getKey(), entries.get(i).getValue()[0]);
+        }
+        return values;
+    }
+
+    private List<Object> histogram() {
+        if (valueCount == 0) {
+            return List.of();
+        }
+        int sampled = (int) Math.min(valueCount, SAMPLE_SIZE);
+        Object[] sorted = Arrays.copyOf(sample, sampled);
+        Arrays.sort(sorted, comparator);
+        List<Object> boundaries = new ArrayList<>(HISTOGRAM_BUCKETS + 1);
+        boundaries.add(min);
+        for (int i = 1; i < HISTOGRAM_BUCKETS; i++) {
+            boundaries.add(sorted[(int) ((long) i * (sampled - 1) / HISTOGRAM_BUCKETS)]);
+        }
+        boundaries.add(max);
+        return boundaries;
+    }
+
+    PrimitiveType type() {
+        return type;
+    }
+
+}
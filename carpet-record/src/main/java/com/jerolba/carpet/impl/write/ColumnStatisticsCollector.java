@@ -0,0 +1,143 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.write;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
+
+import com.jerolba.carpet.impl.ColumnStatisticsFormat;
+import com.jerolba.carpet.impl.ColumnStatisticsFormat.Entry;
+
+/**
+ * Collects the statistics of the configured columns by row group, and formats
+ * them as key-value metadata of the file.
+ *
+ * Columns are organized in a tree following the schema, so the record consumer
+ * can find the sketch of each written value following field indexes.
+ */
+class ColumnStatisticsCollector {
+
+    private final Node root = new Node();
+    private final Map<String, ColumnSketch> sketches = new LinkedHashMap<>();
+    private final Map<String, List<Entry>> entries = new LinkedHashMap<>();
+    private final int maxDepth;
+    private int rowGroup = 0;
+    private long rowCount = 0;
+
+    ColumnStatisticsCollector(MessageType schema, Collection<String> columnPaths) {
+        for (String path : columnPaths) {
+            String[] columnPath = path.split("\\.");
+            if (!schema.containsPath(columnPath) || !schema.getType(columnPath).isPrimitive()) {
+                throw new IllegalArgumentException("Column '" + path + "' with statistics is not a "
+                        + "primitive column of the schema");
+            }
+            ColumnDescriptor column = schema.getColumnDescription(columnPath);
+            if (column.getMaxRepetitionLevel() > 0) {
+                throw new IllegalArgumentException("Column '" + path + "' with statistics can not be repeated");
+            }
+            ColumnSketch sketch = new ColumnSketch(column.getPrimitiveType());
+            sketches.put(path, sketch);
+            entries.put(path, new ArrayList<>());
+            addToTree(schema, columnPath, sketch);
+        }
+        this.maxDepth = schema.getColumns().stream().mapToInt(c -> c.getPath().length).max().orElse(0);
+    }
+
+    private void addToTree(MessageType schema, String[] columnPath, ColumnSketch sketch) {
+        Node node = root;
+        GroupType group = schema;
+        for (String name : columnPath) {
+            int index = group.getFieldIndex(name);
+            node = node.child(index, group.getFieldCount());
+            Type type = group.getType(index);
+            if (!type.isPrimitive()) {
+                group = type.asGroupType();
+            }
+        }
+        node.sketch = sketch;
+    }
+
+    Node root() {
+        return root;
+    }
+
+    int maxDepth() {
+        return maxDepth;
+    }
+
+    void endRecord() {
+        rowCount++;
+    }
+
+    /**
+     * Closes the statistics of the current row group, if some record was written,
+     * and starts a new one.
+     */
+    void endRowGroup() {
+        if (rowCount == 0) {
+            return;
+        }
+        for (var sketch : sketches.entrySet()) {
+            entries.get(sketch.getKey()).add(sketch.getValue().endRowGroup(rowGroup, rowCount));
+        }
+        rowGroup++;
+        rowCount = 0;
+    }
+
+    Map<String, String> metadata() {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        for (var sketch : sketches.entrySet()) {
+            String path = sketch.getKey();
+            String value = ColumnStatisticsFormat.format(entries.get(path), sketch.getValue().type());
+            metadata.put(ColumnStatisticsFormat.KEY_PREFIX + path, value);
+        }
+        return metadata;
+    }
+
+    static class Node {
+
+        private Node[] children;
+        private ColumnSketch sketch;
+
+        private Node child(int index, int fieldCount) {
+            if (children == null) {
+                children = new Node[fieldCount];
+            }
+            if (children[index] == null) {
+                children[index] = new Node();
+            }
+            return children[index];
+        }
+
+        Node child(int index) {
+            return children == null ? null : children[index];
+        }
+
+        ColumnSketch sketch() {
+            return sketch;
+        }
+
+    }
+
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.write;
+
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+
+import com.jerolba.carpet.impl.write.ColumnStatisticsCollector.Node;
+
+/**
+ * RecordConsumer that forwards all events to another RecordConsumer, adding the
+ * values of the columns with statistics to their sketches.
+ */
+class ColumnStatisticsRecordConsumer extends RecordConsumer {
+
+    private final RecordConsumer delegate;
+    private final ColumnStatisticsCollector collector;
+    private final Node[] path;
+    private int level = 0;
+    private ColumnSketch current;
+
+    ColumnStatisticsRecordConsumer(RecordConsumer delegate, ColumnStatisticsCollector collector) {
+        this.delegate = delegate;
+        this.collector = collector;
+        this.path = new Node[collector.maxDepth() + 1];
+    }
+
+    @Override
+    public void startMessage() {
+        level = 0;
+        path[0] = collector.root();
+        current = null;
+        delegate.startMessage();
+    }
+
+    @Override
+    public void endMessage() {
+        delegate.endMessage();
+        collector.endRecord();
+    }
+
+    @Override
+    public void startField(String field, int index) {
+        Node parent = path[level];
+        Node node = parent == null ? null : parent.child(index);
+        path[++level] = node;
+        current = node == null ? null : node.sketch();
+        delegate.startField(field, index);
+    }
+
+    @Override
+    public void endField(String field, int index) {
+        level--;
+        current = null;
+        delegate.endField(field, index);
+    }
+
+    @Override
+    public void startGroup() {
+        delegate.startGroup();
+    }
+
+    @Override
+    public void endGroup() {
+        delegate.endGroup();
+    }
+
+    @Override
+    public void addInteger(int value) {
+        delegate.addInteger(value);
+        if (current != null) {
+            current.addInt(value);
+        }
+    }
+
+    @Override
+    public void addLong(long value) {
+        delegate.addLong(value);
+        if (current != null) {
+            current.addLong(value);
+        }
+    }
+
+    @Override
+    public void addBoolean(boolean value) {
+        delegate.addBoolean(value);
+        if (current != null) {
+            current.addBoolean(value);
+        }
+    }
+
+    @Override
+    public void addBinary(Binary value) {
+        delegate.addBinary(value);
+        if (current != null) {
+            current.addBinary(value);
+        }
+    }
+
+    @Override
+    public void addFloat(float value) {
+        delegate.addFloat(value);
+        if (current != null) {
+            current.addFloat(value);
+        }
+    }
+
+    @Override
+    public void addDouble(double value) {
+        delegate.addDouble(value);
+        if (current != null) {
+            current.addDouble(value);
+        }
+    }
+
+    @Override
+    public void flush() {
+        delegate.flush();
+    }
+
+}
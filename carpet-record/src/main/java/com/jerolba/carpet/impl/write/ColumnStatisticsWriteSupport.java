@@ -0,0 +1,80 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.write;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.conf.ParquetConfiguration;
+import org.apache.parquet.hadoop.api.DelegatingWriteSupport;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.MessageType;
+
+/**
+ * WriteSupport collecting statistics of some columns by row group, and storing
+ * them in the key-value metadata of the file when it is closed.
+ *
+ * Parquet calls to {@link #prepareForWrite(RecordConsumer)} with a new
+ * RecordConsumer each time a row group is flushed, which is used to close the
+ * statistics of the previous row group.
+ */
+class ColumnStatisticsWriteSupport<T> extends DelegatingWriteSupport<T> {
+
+    private final Set<String> columnPaths;
+    private MessageType schema;
+    private ColumnStatisticsCollector collector;
+
+    ColumnStatisticsWriteSupport(WriteSupport<T> delegate, Set<String> columnPaths) {
+        super(delegate);
+        this.columnPaths = columnPaths;
+    }
+
+    @Override
+    public WriteContext init(Configuration configuration) {
+        return initCollector(super.init(configuration));
+    }
+
+    @Override
+    public WriteContext init(ParquetConfiguration configuration) {
+        return initCollector(super.init(configuration));
+    }
+
+    private WriteContext initCollector(WriteContext context) {
+        schema = context.getSchema();
+        collector = new ColumnStatisticsCollector(schema, columnPaths);
+        return context;
+    }
+
+    @Override
+    public void prepareForWrite(RecordConsumer recordConsumer) {
+        collector.endRowGroup();
+        // Keeps the flat schema optimization below the statistics consumer
+        RecordConsumer consumer = FlatColumnRecordConsumer.wrapIfFlat(recordConsumer, schema);
+        super.prepareForWrite(new ColumnStatisticsRecordConsumer(consumer, collector));
+    }
+
+    @Override
+    public FinalizedWriteContext finalizeWrite() {
+        collector.endRowGroup();
+        Map<String, String> extraMetaData = new HashMap<>(super.finalizeWrite().getExtraMetaData());
+        extraMetaData.putAll(collector.metadata());
+        return new FinalizedWriteContext(extraMetaData);
+    }
+
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.write;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import org.apache.parquet.io.api.RecordConsumer;
+
+/**
+ * Compiles the list of field writers of a record into a single writer with a
+ * straight-line call to each field writer.
+ *
+ * Iterating over a list of writers makes the writer call site megamorphic,
+ * preventing the JIT from inlining any of them. The compiled writer is a chain
+ * of hidden classes defined from the {@link FieldWriterChainLink} template,
+ * each one invoking up to {@link FieldWriterChainLink#SIZE} writers from
+ * constant fields before calling the next link.
+ *
+ * Field writers receive the RecordConsumer with each record instead of holding
+ * it, so a chain is compiled once and reused in all row groups of the file.
+ *
+ * If hidden classes can not be defined in the running environment, the list of
+ * writers is iterated as before.
+ */
+final class FieldWriterChain {
+
+    private static final BiConsumer<RecordConsumer, Object> NOOP = (recordConsumer, record) -> {
+    };
+
+    private static final byte[] LINK_TEMPLATE = loadTemplate();
+
+    private FieldWriterChain() {
+    }
+
+    static BiConsumer<RecordConsumer, Object> compile(List<BiConsumer<RecordConsumer, Object>> fieldWriters) {
+        if (fieldWriters.isEmpty()) {
+            return NOOP;
+        }
+        if (LINK_TEMPLATE != null) {
+            try {
+                return compileLinks(fieldWriters);
+            } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+                // Falls back to the iteration of writers
+            }
+        }
+        return iterate(List.copyOf(fieldWriters));
+    }
+
+    private static BiConsumer<RecordConsumer, Object> compileLinks(
+            List<BiConsumer<RecordConsumer, Object>> fieldWriters) throws ReflectiveOperationException {
+        BiConsumer<RecordConsumer, Object> next = NOOP;
+        int size = FieldWriterChainLink.SIZE;
+        int lastLinkStart = (fieldWriters.size() - 1) / size * size;
+        for (int start = lastLinkStart; start >= 0; start -= size) {
+            List<BiConsumer<RecordConsumer, Object>> classData = new ArrayList<>(size + 1);
+            for (int i = start; i < start + size; i++) {
+                classData.add(i < fieldWriters.size() ? fieldWriters.get(i) : NOOP);
+            }
+            classData.add(next);
+            next = defineLink(classData);
+        }
+        return next;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<RecordConsumer, Object> defineLink(
+            List<BiConsumer<RecordConsumer, Object>> classData) throws ReflectiveOperationException {
+        Lookup link = MethodHandles.lookup().defineHiddenClassWithClassData(LINK_TEMPLATE, List.copyOf(classData),
+                true);
+        try {
+            return (BiConsumer<RecordConsumer, Object>) link.findConstructor(link.lookupClass(), methodType(void.class))
+                    .invoke();
+        } catch (ReflectiveOperationException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BiConsumer<RecordConsumer, Object> iterate(
+            List<BiConsumer<RecordConsumer, Object>> fieldWriters) {
+        return (recordConsumer, record) -> {
+            for (var fieldWriter : fieldWriters) {
+                fieldWriter.accept(recordConsumer, record);
+            }
+        };
+    }
+
+    private static byte[] loadTemplate() {
+        String resource = FieldWriterChainLink.class.getSimpleName() + ".class";
+        try (InputStream is = FieldWriterChainLink.class.getResourceAsStream(resource)) {
+            return is == null ? null : is.readAllBytes();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+}
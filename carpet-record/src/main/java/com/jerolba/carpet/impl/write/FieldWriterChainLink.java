@@ -0,0 +1,68 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.write;
+
+import java.lang.invoke.MethodHandles;
+import java.util.function.BiConsumer;
+
+import org.apache.parquet.io.api.RecordConsumer;
+
+/**
+ * Template of a link of a {@link FieldWriterChain}. It is never used directly:
+ * its bytecode is defined as a new hidden class for each link, with the field
+ * writers as class data.
+ *
+ * Each field writer is held in a static final field and invoked from its own
+ * call site, so every call site of every link only sees one writer class and
+ * can be inlined by the JIT.
+ */
+final class FieldWriterChainLink implements BiConsumer<RecordConsumer, Object> {
+
+    static final int SIZE = 8;
+
+    private static final BiConsumer<RecordConsumer, Object> W0 = writer(0);
+    private static final BiConsumer<RecordConsumer, Object> W1 = writer(1);
+    private static final BiConsumer<RecordConsumer, Object> W2 = writer(2);
+    private static final BiConsumer<RecordConsumer, Object> W3 = writer(3);
+    private static final BiConsumer<RecordConsumer, Object> W4 = writer(4);
+    private static final BiConsumer<RecordConsumer, Object> W5 = writer(5);
+    private static final BiConsumer<RecordConsumer, Object> W6 = writer(6);
+    private static final BiConsumer<RecordConsumer, Object> W7 = writer(7);
+    private static final BiConsumer<RecordConsumer, Object> NEXT = writer(SIZE);
+
+    @Override
+    public void accept(RecordConsumer recordConsumer, Object record) {
+        W0.accept(recordConsumer, record);
+        W1.accept(recordConsumer, record);
+        W2.accept(recordConsumer, record);
+        W3.accept(recordConsumer, record);
+        W4.accept(recordConsumer, record);
+        W5.accept(recordConsumer, record);
+        W6.accept(recordConsumer, record);
+        W7.accept(recordConsumer, record);
+        NEXT.accept(recordConsumer, record);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<RecordConsumer, Object> writer(int idx) {
+        try {
+            return MethodHandles.classDataAt(MethodHandles.lookup(), "_", BiConsumer.class, idx);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+}
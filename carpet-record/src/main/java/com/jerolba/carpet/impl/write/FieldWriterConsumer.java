@@ -16,22 +16,18 @@
 package com.jerolba.carpet.impl.write;
 
 import java.util.function.BiConsumer;
-import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.apache.parquet.io.api.RecordConsumer;
 
-class FieldWriterConsumer implements Consumer<Object> {
+class FieldWriterConsumer implements BiConsumer<RecordConsumer, Object> {
 
-    private final RecordConsumer recordConsumer;
     private final String parquetFieldName;
     private final int idx;
     private final Function<Object, Object> accessor;
     private final BiConsumer<RecordConsumer, Object> writer;
 
-    public FieldWriterConsumer(RecordConsumer recordConsumer, RecordField recordField,
-            BiConsumer<RecordConsumer, Object> writer) {
-        this.recordConsumer = recordConsumer;
+    public FieldWriterConsumer(RecordField recordField, BiConsumer<RecordConsumer, Object> writer) {
         this.parquetFieldName = recordField.parquetFieldName();
         this.idx = recordField.idx();
         this.accessor = recordField.getAccessor();
@@ -39,7 +35,7 @@ class FieldWriterConsumer implements Consumer<Object> {
     }
 
     @Override
-    public void accept(Object object) {
+    public void accept(RecordConsumer recordConsumer, Object object) {
         var value = accessor.apply(object);
         if (value != null) {
             recordConsumer.startField(parquetFieldName, idx);
@@ -25,7 +25,6 @@ import static com.jerolba.carpet.impl.write.UuidWrite.uuidToBinary;
 import java.lang.reflect.RecordComponent;
 import java.time.LocalDate;
 import java.util.function.BiConsumer;
-import java.util.function.Consumer;
 import java.util.function.ToDoubleFunction;
 import java.util.function.ToIntFunction;
 import java.util.function.ToLongFunction;
@@ -47,7 +46,7 @@ class FieldsWriter {
     }
 
     static BiConsumer<RecordConsumer, Object> buildSimpleElementConsumer(JavaType type,
-            RecordConsumer recordConsumer, CarpetWriteConfiguration carpetConfiguration) {
+            CarpetWriteConfiguration carpetConfiguration) {
 
         if (type.isInteger()) {
             return (consumer, v) -> consumer.addInteger((Integer) v);
@@ -106,10 +105,10 @@ class FieldsWriter {
             return VariantWriter.simpleVariantConsumer();
         }
         if (type.isRecord()) {
-            var recordWriter = new CarpetRecordWriter(recordConsumer, type.getJavaType(), carpetConfiguration);
+            var recordWriter = new CarpetRecordWriter(type.getJavaType(), carpetConfiguration);
             return (consumer, v) -> {
                 consumer.startGroup();
-                recordWriter.write(v);
+                recordWriter.write(consumer, v);
                 consumer.endGroup();
             };
         }
@@ -136,36 +135,35 @@ class FieldsWriter {
     }
 
     @SuppressWarnings({ "rawtypes", "unchecked" })
-    static Consumer<Object> buildPrimitiveJavaConsumer(
-            String parquetFieldName, JavaType javaType, Object fieldAccessor,
-            int idx, RecordConsumer recordConsumer) {
+    static BiConsumer<RecordConsumer, Object> buildPrimitiveJavaConsumer(
+            String parquetFieldName, JavaType javaType, Object fieldAccessor, int idx) {
         if (javaType.isBoolean()) {
             var accessor = (ToBooleanFunction) fieldAccessor;
-            return new PrimitiveFieldWriter(recordConsumer, parquetFieldName, idx,
+            return new PrimitiveFieldWriter(parquetFieldName, idx,
                     (rc, obj) -> rc.addBoolean(accessor.applyAsBoolean(obj)));
         } else if (javaType.isByte()) {
             var accessor = (ToByteFunction<Object>) fieldAccessor;
-            return new PrimitiveFieldWriter(recordConsumer, parquetFieldName, idx,
+            return new PrimitiveFieldWriter(parquetFieldName, idx,
                     (rc, obj) -> rc.addInteger(accessor.applyAsByte(obj)));
         } else if (javaType.isShort()) {
             var accessor = (ToShortFunction<Object>) fieldAccessor;
-            return new PrimitiveFieldWriter(recordConsumer, parquetFieldName, idx,
+            return new PrimitiveFieldWriter(parquetFieldName, idx,
                     (rc, obj) -> rc.addInteger(accessor.applyAsShort(obj)));
         } else if (javaType.isInteger()) {
             var accessor = (ToIntFunction<Object>) fieldAccessor;
-            return new PrimitiveFieldWriter(recordConsumer, parquetFieldName, idx,
+            return new PrimitiveFieldWriter(parquetFieldName, idx,
                     (rc, obj) -> rc.addInteger(accessor.applyAsInt(obj)));
         } else if (javaType.isLong()) {
             var accessor = (ToLongFunction<Object>) fieldAccessor;
-            return new PrimitiveFieldWriter(recordConsumer, parquetFieldName, idx,
+            return new PrimitiveFieldWriter(parquetFieldName, idx,
                     (rc, obj) -> rc.addLong(accessor.applyAsLong(obj)));
         } else if (javaType.isFloat()) {
             var accessor = (ToFloatFunction<Object>) fieldAccessor;
-            return new PrimitiveFieldWriter(recordConsumer, parquetFieldName, idx,
+            return new PrimitiveFieldWriter(parquetFieldName, idx,
                     (rc, obj) -> rc.addFloat(accessor.applyAsFloat(obj)));
         } else if (javaType.isDouble()) {
             var accessor = (ToDoubleFunction<Object>) fieldAccessor;
-            return new PrimitiveFieldWriter(recordConsumer, parquetFieldName, idx,
+            return new PrimitiveFieldWriter(parquetFieldName, idx,
                     (rc, obj) -> rc.addDouble(accessor.applyAsDouble(obj)));
         }
         return null;
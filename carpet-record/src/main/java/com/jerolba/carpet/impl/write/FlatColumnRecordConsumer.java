@@ -0,0 +1,212 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.write;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnWriteStore;
+import org.apache.parquet.column.ColumnWriter;
+import org.apache.parquet.io.ParquetEncodingException;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
+import org.apache.parquet.schema.Type.Repetition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * RecordConsumer for flat schemas, where all fields are primitive and not
+ * repeated, that writes each value directly to the ColumnWriter of its field.
+ *
+ * In a flat schema the repetition level is always 0 and the definition level of
+ * a value is the maximum definition level of its column, so they can be
+ * precomputed, skipping the record shredding done by parquet-mr
+ * MessageColumnIO. Optional fields not written in a record are written as null
+ * when the record ends, and a required field not written fails the record.
+ *
+ * The ColumnWriteStore of the row group is not exposed by parquet-mr public
+ * API, and is taken by reflection from the RecordConsumer created by
+ * MessageColumnIO. If it's not available in the parquet-mr version used, a
+ * warning is logged once and records are written with MessageColumnIO.
+ */
+class FlatColumnRecordConsumer extends RecordConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlatColumnRecordConsumer.class);
+
+    private static final String MESSAGE_COLUMN_IO_CONSUMER = "org.apache.parquet.io.MessageColumnIO$MessageColumnIORecordConsumer";
+    private static final Field COLUMNS_FIELD = columnsField();
+
+    private final ColumnWriteStore columnStore;
+    private final List<ColumnDescriptor> columns;
+    private final ColumnWriter[] columnWriters;
+    private final int[] definitionLevels;
+    private final boolean[] written;
+
+    private ColumnWriter current;
+    private int currentDefinitionLevel;
+
+    FlatColumnRecordConsumer(ColumnWriteStore columnStore, MessageType schema) {
+        this.columnStore = columnStore;
+        this.columns = schema.getColumns();
+        this.columnWriters = new ColumnWriter[columns.size()];
+        this.definitionLevels = new int[columns.size()];
+        this.written = new boolean[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnDescriptor column = columns.get(i);
+            columnWriters[i] = columnStore.getColumnWriter(column);
+            definitionLevels[i] = column.getMaxDefinitionLevel();
+        }
+    }
+
+    /**
+     * Returns a FlatColumnRecordConsumer writing to the same column store as the
+     * given RecordConsumer if the schema is flat and the consumer is the one
+     * created by parquet-mr for the row group. Otherwise, for example if record
+     * validation is enabled, the given RecordConsumer is returned.
+     *
+     * @param recordConsumer the RecordConsumer provided by parquet-mr
+     * @param schema         the schema of the file
+     * @return a RecordConsumer to write records
+     */
+    static RecordConsumer wrapIfFlat(RecordConsumer recordConsumer, MessageType schema) {
+        if (COLUMNS_FIELD == null || schema == null || !isFlat(schema)
+                || !recordConsumer.getClass().getName().equals(MESSAGE_COLUMN_IO_CONSUMER)) {
+            return recordConsumer;
+        }
+        try {
+            ColumnWriteStore columnStore = (ColumnWriteStore) COLUMNS_FIELD.get(recordConsumer);
+            return new FlatColumnRecordConsumer(columnStore, schema);
+        } catch (IllegalAccessException e) {
+            return recordConsumer;
+        }
+    }
+
+    /**
+     * @return true if the ColumnWriteStore can be taken from the RecordConsumer of
+     *         parquet-mr, and flat records are written directly to their columns
+     */
+    static boolean isSupported() {
+        return COLUMNS_FIELD != null;
+    }
+
+    ColumnWriteStore columnStore() {
+        return columnStore;
+    }
+
+    ColumnWriter columnWriter(int index) {
+        return columnWriters[index];
+    }
+
+    int definitionLevel(int index) {
+        return definitionLevels[index];
+    }
+
+    static boolean isFlat(MessageType schema) {
+        for (Type field : schema.getFields()) {
+            if (!field.isPrimitive() || field.isRepetition(Repetition.REPEATED)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Field columnsField() {
+        try {
+            Field field = Class.forName(MESSAGE_COLUMN_IO_CONSUMER).getDeclaredField("columns");
+            field.setAccessible(true);
+            return field;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.warn("Column store of {} not accessible, flat records are written with MessageColumnIO: {}",
+                    MESSAGE_COLUMN_IO_CONSUMER, e.toString());
+            return null;
+        }
+    }
+
+    @Override
+    public void startMessage() {
+        Arrays.fill(written, false);
+    }
+
+    @Override
+    public void endMessage() {
+        for (int i = 0; i < written.length; i++) {
+            if (!written[i]) {
+                if (definitionLevels[i] == 0) {
+                    throw new ParquetEncodingException("Required column '"
+                            + String.join(".", columns.get(i).getPath()) + "' was not written in the record");
+                }
+                columnWriters[i].writeNull(0, 0);
+            }
+        }
+        columnStore.endRecord();
+    }
+
+    @Override
+    public void startField(String field, int index) {
+        current = columnWriters[index];
+        currentDefinitionLevel = definitionLevels[index];
+        written[index] = true;
+    }
+
+    @Override
+    public void endField(String field, int index) {
+    }
+
+    @Override
+    public void startGroup() {
+        throw new UnsupportedOperationException("Groups can not be written in a flat schema");
+    }
+
+    @Override
+    public void endGroup() {
+        throw new UnsupportedOperationException("Groups can not be written in a flat schema");
+    }
+
+    @Override
+    public void addInteger(int value) {
+        current.write(value, 0, currentDefinitionLevel);
+    }
+
+    @Override
+    public void addLong(long value) {
+        current.write(value, 0, currentDefinitionLevel);
+    }
+
+    @Override
+    public void addBoolean(boolean value) {
+        current.write(value, 0, currentDefinitionLevel);
+    }
+
+    @Override
+    public void addBinary(Binary value) {
+        current.write(value, 0, currentDefinitionLevel);
+    }
+
+    @Override
+    public void addFloat(float value) {
+        current.write(value, 0, currentDefinitionLevel);
+    }
+
+    @Override
+    public void addDouble(double value) {
+        current.write(value, 0, currentDefinitionLevel);
+    }
+
+}
@@ -32,6 +32,7 @@ import static org.apache.parquet.schema.LogicalTypeAnnotation.geographyType;
 import static org.apache.parquet.schema.LogicalTypeAnnotation.geometryType;
 import static org.apache.parquet.schema.LogicalTypeAnnotation.intType;
 import static org.apache.parquet.schema.LogicalTypeAnnotation.jsonType;
+import static org.apache.parquet.schema.LogicalTypeAnnotation.listType;
 import static org.apache.parquet.schema.LogicalTypeAnnotation.stringType;
 import static org.apache.parquet.schema.LogicalTypeAnnotation.variantType;
 import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY;
@@ -115,6 +116,8 @@ class JavaRecord2Schema {
         Type parquetType = buildType(fieldName, javaType, repetition, visited);
         if (parquetType != null) {
             return applyFieldId(parquetType, fieldId);
+        } else if (javaType.isPrimitiveArray()) {
+            return applyFieldId(createPrimitiveArrayType(fieldName, javaType, repetition, visited), fieldId);
         } else if (javaType.isCollection()) {
             return applyFieldId(createCollectionType(fieldName, getParameterizedCollection(attr), repetition, visited),
                     fieldId);
@@ -158,7 +161,7 @@ class JavaRecord2Schema {
             Set<Class<?>> visited) {
         // Two level collections elements are not nullables
         Type nested = createNestedGeneric(parametized, ELEMENT, REPEATED, visited);
-        return ConversionPatterns.listType(repetition, fieldName, nested);
+        return twoLevelListType(repetition, fieldName, nested);
     }
 
     private Type createCollectionThreeLevel(String fieldName, ParameterizedCollection parametized,
@@ -168,6 +171,23 @@ class JavaRecord2Schema {
         return ConversionPatterns.listOfElements(repetition, fieldName, nested);
     }
 
+    private Type createPrimitiveArrayType(String fieldName, JavaType arrayType, Repetition repetition,
+            Set<Class<?>> visited) {
+        // Primitive array elements are not nullables
+        JavaType elementType = new JavaType(arrayType.getJavaType().getComponentType());
+        return switch (carpetConfiguration.annotatedLevels()) {
+        case ONE -> buildTypeElement(fieldName, elementType, REPEATED, visited);
+        case TWO -> twoLevelListType(repetition, fieldName,
+                buildTypeElement(ELEMENT, elementType, REPEATED, visited));
+        case THREE -> ConversionPatterns.listOfElements(repetition, fieldName,
+                buildTypeElement(ELEMENT, elementType, REQUIRED, visited));
+        };
+    }
+
+    private static Type twoLevelListType(Repetition repetition, String fieldName, Type repeatedElement) {
+        return buildGroup(repetition).as(listType()).addField(repeatedElement).named(fieldName);
+    }
+
     private Type createNestedGeneric(ParameterizedCollection parametized, String fieldName, Repetition repetition,
             Set<Class<?>> visited) {
         if (parametized.isCollection()) {
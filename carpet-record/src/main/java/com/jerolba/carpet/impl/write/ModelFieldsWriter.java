@@ -25,7 +25,7 @@ import static com.jerolba.carpet.impl.write.VariantWriter.simpleVariantConsumer;
 
 import java.time.LocalDate;
 import java.util.function.BiConsumer;
-import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.function.ToDoubleFunction;
 import java.util.function.ToIntFunction;
 import java.util.function.ToLongFunction;
@@ -33,6 +33,8 @@ import java.util.function.ToLongFunction;
 import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.io.api.RecordConsumer;
 
+import com.jerolba.carpet.RecordTypeConversionException;
+import com.jerolba.carpet.TimeUnit;
 import com.jerolba.carpet.model.BigDecimalType;
 import com.jerolba.carpet.model.EnumType;
 import com.jerolba.carpet.model.FieldType;
@@ -46,7 +48,7 @@ import com.jerolba.carpet.model.WriteRecordModelType.PrimitiveJavaFieldInfo;
 class ModelFieldsWriter {
 
     public static BiConsumer<RecordConsumer, Object> buildSimpleElementConsumer(FieldType fieldType,
-            RecordConsumer recordConsumer, CarpetWriteConfiguration carpetConfiguration) {
+            CarpetWriteConfiguration carpetConfiguration) {
 
         var type = new FieldTypeInspect(fieldType);
         if (type.isInteger()) {
@@ -105,50 +107,73 @@ class ModelFieldsWriter {
             return simpleVariantConsumer();
         }
         if (fieldType instanceof WriteRecordModelType<?> recordType) {
-            var recordWriter = new WriteRecordModelWriter(recordConsumer, recordType, carpetConfiguration);
+            var recordWriter = new WriteRecordModelWriter(recordType, carpetConfiguration);
             return (consumer, v) -> {
                 consumer.startGroup();
-                recordWriter.write(v);
+                recordWriter.write(consumer, v);
                 consumer.endGroup();
             };
         }
         return null;
     }
 
+    @SuppressWarnings("unchecked")
+    public static BiConsumer<RecordConsumer, Object> buildPrimitiveJavaConsumer(
+            PrimitiveJavaFieldInfo<?> primitiveField, int idx, CarpetWriteConfiguration carpetConfiguration) {
+        BiConsumer<RecordConsumer, Object> valueWriter = buildPrimitiveValueWriter(primitiveField.fieldType(),
+                primitiveField.accessor(), carpetConfiguration);
+        if (valueWriter == null) {
+            return null;
+        }
+        var isNull = (Predicate<Object>) primitiveField.isNull();
+        return new PrimitiveFieldWriter(primitiveField.parquetFieldName(), idx, valueWriter, isNull);
+    }
+
     @SuppressWarnings({ "rawtypes", "unchecked" })
-    public static Consumer<Object> buildPrimitiveJavaConsumer(PrimitiveJavaFieldInfo<?> primitiveField,
-            int idx, RecordConsumer recordConsumer) {
-        Object fieldAccessor = primitiveField.accessor();
-        String parquetFieldName = primitiveField.parquetFieldName();
-        var javaType = new FieldTypeInspect(primitiveField.fieldType());
+    private static BiConsumer<RecordConsumer, Object> buildPrimitiveValueWriter(FieldType fieldType,
+            Object fieldAccessor, CarpetWriteConfiguration carpetConfiguration) {
+        var javaType = new FieldTypeInspect(fieldType);
         if (javaType.isBoolean()) {
             var accessor = (ToBooleanFunction) fieldAccessor;
-            return new PrimitiveFieldWriter(recordConsumer, parquetFieldName, idx,
-                    (rc, obj) -> rc.addBoolean(accessor.applyAsBoolean(obj)));
+            return (rc, obj) -> rc.addBoolean(accessor.applyAsBoolean(obj));
         } else if (javaType.isByte()) {
             var accessor = (ToByteFunction<Object>) fieldAccessor;
-            return new PrimitiveFieldWriter(recordConsumer, parquetFieldName, idx,
-                    (rc, obj) -> rc.addInteger(accessor.applyAsByte(obj)));
+            return (rc, obj) -> rc.addInteger(accessor.applyAsByte(obj));
         } else if (javaType.isShort()) {
             var accessor = (ToShortFunction<Object>) fieldAccessor;
-            return new PrimitiveFieldWriter(recordConsumer, parquetFieldName, idx,
-                    (rc, obj) -> rc.addInteger(accessor.applyAsShort(obj)));
-        } else if (javaType.isInteger()) {
+            return (rc, obj) -> rc.addInteger(accessor.applyAsShort(obj));
+        } else if (javaType.isInteger() || javaType.isLocalDate()) {
             var accessor = (ToIntFunction<Object>) fieldAccessor;
-            return new PrimitiveFieldWriter(recordConsumer, parquetFieldName, idx,
-                    (rc, obj) -> rc.addInteger(accessor.applyAsInt(obj)));
-        } else if (javaType.isLong()) {
+            return (rc, obj) -> rc.addInteger(accessor.applyAsInt(obj));
+        } else if (javaType.isLong() || javaType.isLocalDateTime() || javaType.isInstant()) {
             var accessor = (ToLongFunction<Object>) fieldAccessor;
-            return new PrimitiveFieldWriter(recordConsumer, parquetFieldName, idx,
-                    (rc, obj) -> rc.addLong(accessor.applyAsLong(obj)));
+            return (rc, obj) -> rc.addLong(accessor.applyAsLong(obj));
         } else if (javaType.isFloat()) {
             var accessor = (ToFloatFunction<Object>) fieldAccessor;
-            return new PrimitiveFieldWriter(recordConsumer, parquetFieldName, idx,
-                    (rc, obj) -> rc.addFloat(accessor.applyAsFloat(obj)));
+            return (rc, obj) -> rc.addFloat(accessor.applyAsFloat(obj));
         } else if (javaType.isDouble()) {
             var accessor = (ToDoubleFunction<Object>) fieldAccessor;
-            return new PrimitiveFieldWriter(recordConsumer, parquetFieldName, idx,
-                    (rc, obj) -> rc.addDouble(accessor.applyAsDouble(obj)));
+            return (rc, obj) -> rc.addDouble(accessor.applyAsDouble(obj));
+        } else if (javaType.isLocalTime()) {
+            // Times in millis are stored as INT32
+            var accessor = (ToLongFunction<Object>) fieldAccessor;
+            if (carpetConfiguration.defaultTimeUnit() == TimeUnit.MILLIS) {
+                return (rc, obj) -> rc.addInteger((int) accessor.applyAsLong(obj));
+            }
+            return (rc, obj) -> rc.addLong(accessor.applyAsLong(obj));
+        } else if (javaType.isBigDecimal()) {
+            var bigDecimalType = (BigDecimalType) fieldType;
+            var config = buildDecimalConfig(bigDecimalType.precision(), bigDecimalType.scale(),
+                    bigDecimalType.roundingMode(), carpetConfiguration.decimalConfig());
+            var accessor = (ToLongFunction<Object>) fieldAccessor;
+            if (config.precision() <= 9) {
+                return (rc, obj) -> rc.addInteger((int) accessor.applyAsLong(obj));
+            }
+            if (config.precision() <= 18) {
+                return (rc, obj) -> rc.addLong(accessor.applyAsLong(obj));
+            }
+            throw new RecordTypeConversionException("BigDecimal with precision " + config.precision()
+                    + " can not be written from its unscaled long value");
         }
         return null;
     }
@@ -0,0 +1,398 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.write;
+
+import java.util.Collection;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.apache.parquet.io.api.RecordConsumer;
+
+import com.jerolba.carpet.AnnotatedLevels;
+import com.jerolba.carpet.impl.JavaType;
+
+/**
+ * Writers of record fields with collections of numbers: primitive arrays
+ * (int[], long[], float[] and double[]) and collections of Integer, Long,
+ * Float and Double.
+ *
+ * Instead of calling a generic element consumer for each element, values are
+ * written in a loop specialized for each type, without boxing primitive arrays
+ * values. The generated structure is the same generated by
+ * {@link CollectionsWriters} for each level of annotation.
+ */
+class PrimitiveCollectionsWriters {
+
+    private static final String LIST = "list";
+    private static final String ELEMENT = "element";
+
+    private PrimitiveCollectionsWriters() {
+    }
+
+    static BiConsumer<RecordConsumer, Object> primitiveArrayFieldWriter(RecordField recordField,
+            JavaType arrayType, AnnotatedLevels levels) {
+        Class<?> type = arrayType.getJavaType();
+        if (type == int[].class) {
+            return new IntArrayFieldWriter(recordField, levels);
+        } else if (type == long[].class) {
+            return new LongArrayFieldWriter(recordField, levels);
+        } else if (type == float[].class) {
+            return new FloatArrayFieldWriter(recordField, levels);
+        } else if (type == double[].class) {
+            return new DoubleArrayFieldWriter(recordField, levels);
+        }
+        return null;
+    }
+
+    /**
+     * Returns a writer for a collection field of Integer, Long, Float or Double,
+     * or null if the element type is not one of them.
+     */
+    static BiConsumer<RecordConsumer, Object> numberCollectionFieldWriter(RecordField recordField,
+            JavaType elementType, AnnotatedLevels levels) {
+        NumberType numberType = NumberType.of(elementType);
+        if (numberType == null) {
+            return null;
+        }
+        return new NumberCollectionFieldWriter(recordField, levels, numberType);
+    }
+
+    /**
+     * Writes the field with the list structure of each annotation level, and
+     * delegates to the subclass the loop writing the values.
+     */
+    private abstract static class ValuesFieldWriter implements BiConsumer<RecordConsumer, Object> {
+
+        private final String parquetFieldName;
+        private final int idx;
+        private final Function<Object, Object> accessor;
+        private final AnnotatedLevels levels;
+
+        ValuesFieldWriter(RecordField recordField, AnnotatedLevels levels) {
+            this.parquetFieldName = recordField.parquetFieldName();
+            this.idx = recordField.idx();
+            this.accessor = recordField.getAccessor();
+            this.levels = levels;
+        }
+
+        @Override
+        public void accept(RecordConsumer recordConsumer, Object object) {
+            Object values = accessor.apply(object);
+            if (values == null) {
+                return;
+            }
+            int size = size(values);
+            switch (levels) {
+            case ONE -> {
+                if (size > 0) {
+                    recordConsumer.startField(parquetFieldName, idx);
+                    writeValues(recordConsumer, values);
+                    recordConsumer.endField(parquetFieldName, idx);
+                }
+            }
+            case TWO -> {
+                recordConsumer.startField(parquetFieldName, idx);
+                recordConsumer.startGroup();
+                if (size > 0) {
+                    recordConsumer.startField(ELEMENT, 0);
+                    writeValues(recordConsumer, values);
+                    recordConsumer.endField(ELEMENT, 0);
+                }
+                recordConsumer.endGroup();
+                recordConsumer.endField(parquetFieldName, idx);
+            }
+            case THREE -> {
+                recordConsumer.startField(parquetFieldName, idx);
+                recordConsumer.startGroup();
+                if (size > 0) {
+                    recordConsumer.startField(LIST, 0);
+                    writeElements(recordConsumer, values);
+                    recordConsumer.endField(LIST, 0);
+                }
+                recordConsumer.endGroup();
+                recordConsumer.endField(parquetFieldName, idx);
+            }
+            }
+        }
+
+        protected static void startElement(RecordConsumer recordConsumer) {
+            recordConsumer.startGroup();
+            recordConsumer.startField(ELEMENT, 0);
+        }
+
+        protected static void endElement(RecordConsumer recordConsumer) {
+            recordConsumer.endField(ELEMENT, 0);
+            recordConsumer.endGroup();
+        }
+
+        abstract int size(Object values);
+
+        /**
+         * Writes all values in the current field, used in 1 and 2-level structures
+         */
+        abstract void writeValues(RecordConsumer recordConsumer, Object values);
+
+        /**
+         * Writes each value in its own element group, used in 3-level structures
+         */
+        abstract void writeElements(RecordConsumer recordConsumer, Object values);
+
+    }
+
+    private static class IntArrayFieldWriter extends ValuesFieldWriter {
+
+        IntArrayFieldWriter(RecordField recordField, AnnotatedLevels levels) {
+            super(recordField, levels);
+        }
+
+        @Override
+        int size(Object values) {
+            return ((int[]) values).length;
+        }
+
+        @Override
+        void writeValues(RecordConsumer recordConsumer, Object values) {
+            for (int v : (int[]) values) {
+                recordConsumer.addInteger(v);
+            }
+        }
+
+        @Override
+        void writeElements(RecordConsumer recordConsumer, Object values) {
+            for (int v : (int[]) values) {
+                startElement(recordConsumer);
+                recordConsumer.addInteger(v);
+                endElement(recordConsumer);
+            }
+        }
+
+    }
+
+    private static class LongArrayFieldWriter extends ValuesFieldWriter {
+
+        LongArrayFieldWriter(RecordField recordField, AnnotatedLevels levels) {
+            super(recordField, levels);
+        }
+
+        @Override
+        int size(Object values) {
+            return ((long[]) values).length;
+        }
+
+        @Override
+        void writeValues(RecordConsumer recordConsumer, Object values) {
+            for (long v : (long[]) values) {
+                recordConsumer.addLong(v);
+            }
+        }
+
+        @Override
+        void writeElements(RecordConsumer recordConsumer, Object values) {
+            for (long v : (long[]) values) {
+                startElement(recordConsumer);
+                recordConsumer.addLong(v);
+                endElement(recordConsumer);
+            }
+        }
+
+    }
+
+    private static class FloatArrayFieldWriter extends ValuesFieldWriter {
+
+        FloatArrayFieldWriter(RecordField recordField, AnnotatedLevels levels) {
+            super(recordField, levels);
+        }
+
+        @Override
+        int size(Object values) {
+            return ((float[]) values).length;
+        }
+
+        @Override
+        void writeValues(RecordConsumer recordConsumer, Object values) {
+            for (float v : (float[]) values) {
+                recordConsumer.addFloat(v);
+            }
+        }
+
+        @Override
+        void writeElements(RecordConsumer recordConsumer, Object values) {
+            for (float v : (float[]) values) {
+                startElement(recordConsumer);
+                recordConsumer.addFloat(v);
+                endElement(recordConsumer);
+            }
+        }
+
+    }
+
+    private static class DoubleArrayFieldWriter extends ValuesFieldWriter {
+
+        DoubleArrayFieldWriter(RecordField recordField, AnnotatedLevels levels) {
+            super(recordField, levels);
+        }
+
+        @Override
+        int size(Object values) {
+            return ((double[]) values).length;
+        }
+
+        @Override
+        void writeValues(RecordConsumer recordConsumer, Object values) {
+            for (double v : (double[]) values) {
+                recordConsumer.addDouble(v);
+            }
+        }
+
+        @Override
+        void writeElements(RecordConsumer recordConsumer, Object values) {
+            for (double v : (double[]) values) {
+                startElement(recordConsumer);
+                recordConsumer.addDouble(v);
+                endElement(recordConsumer);
+            }
+        }
+
+    }
+
+    private enum NumberType {
+        INTEGER, LONG, FLOAT, DOUBLE;
+
+        static NumberType of(JavaType type) {
+            if (type.isInteger()) {
+                return INTEGER;
+            } else if (type.isLong()) {
+                return LONG;
+            } else if (type.isFloat()) {
+                return FLOAT;
+            } else if (type.isDouble()) {
+                return DOUBLE;
+            }
+            return null;
+        }
+    }
+
+    private static class NumberCollectionFieldWriter extends ValuesFieldWriter {
+
+        private final NumberType numberType;
+        private final String nullValueMessage;
+
+        NumberCollectionFieldWriter(RecordField recordField, AnnotatedLevels levels, NumberType numberType) {
+            super(recordField, levels);
+            this.numberType = numberType;
+            this.nullValueMessage = (levels == AnnotatedLevels.ONE ? "1" : "2")
+                    + "-level list structures doesn't support null values";
+        }
+
+        @Override
+        int size(Object values) {
+            return ((Collection<?>) values).size();
+        }
+
+        // 1 and 2-level structures don't support null values
+        @Override
+        void writeValues(RecordConsumer recordConsumer, Object values) {
+            Collection<?> collection = (Collection<?>) values;
+            switch (numberType) {
+            case INTEGER -> {
+                for (Object v : collection) {
+                    recordConsumer.addInteger((Integer) nonNull(v));
+                }
+            }
+            case LONG -> {
+                for (Object v : collection) {
+                    recordConsumer.addLong((Long) nonNull(v));
+                }
+            }
+            case FLOAT -> {
+                for (Object v : collection) {
+                    recordConsumer.addFloat((Float) nonNull(v));
+                }
+            }
+            case DOUBLE -> {
+                for (Object v : collection) {
+                    recordConsumer.addDouble((Double) nonNull(v));
+                }
+            }
+            }
+        }
+
+        @Override
+        void writeElements(RecordConsumer recordConsumer, Object values) {
+            Collection<?> collection = (Collection<?>) values;
+            switch (numberType) {
+            case INTEGER -> {
+                for (Object v : collection) {
+                    if (v == null) {
+                        writeNullElement(recordConsumer);
+                    } else {
+                        startElement(recordConsumer);
+                        recordConsumer.addInteger((Integer) v);
+                        endElement(recordConsumer);
+                    }
+                }
+            }
+            case LONG -> {
+                for (Object v : collection) {
+                    if (v == null) {
+                        writeNullElement(recordConsumer);
+                    } else {
+                        startElement(recordConsumer);
+                        recordConsumer.addLong((Long) v);
+                        endElement(recordConsumer);
+                    }
+                }
+            }
+            case FLOAT -> {
+                for (Object v : collection) {
+                    if (v == null) {
+                        writeNullElement(recordConsumer);
+                    } else {
+                        startElement(recordConsumer);
+                        recordConsumer.addFloat((Float) v);
+                        endElement(recordConsumer);
+                    }
+                }
+            }
+            case DOUBLE -> {
+                for (Object v : collection) {
+                    if (v == null) {
+                        writeNullElement(recordConsumer);
+                    } else {
+                        startElement(recordConsumer);
+                        recordConsumer.addDouble((Double) v);
+                        endElement(recordConsumer);
+                    }
+                }
+            }
+            }
+        }
+
+        private Object nonNull(Object value) {
+            if (value == null) {
+                throw new NullPointerException(nullValueMessage);
+            }
+            return value;
+        }
+
+        private static void writeNullElement(RecordConsumer recordConsumer) {
+            recordConsumer.startGroup();
+            recordConsumer.endGroup();
+        }
+
+    }
+
+}
@@ -16,27 +16,41 @@
 package com.jerolba.carpet.impl.write;
 
 import java.util.function.BiConsumer;
-import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import org.apache.parquet.io.api.RecordConsumer;
 
-class PrimitiveFieldWriter implements Consumer<Object> {
+class PrimitiveFieldWriter implements BiConsumer<RecordConsumer, Object> {
 
-    private final RecordConsumer recordConsumer;
     private final String parquetFieldName;
     private final int idx;
     private final BiConsumer<RecordConsumer, Object> writer;
+    private final Predicate<Object> isNull;
 
-    public PrimitiveFieldWriter(RecordConsumer recordConsumer, String parquetFieldName, int idx,
-            BiConsumer<RecordConsumer, Object> writer) {
-        this.recordConsumer = recordConsumer;
+    public PrimitiveFieldWriter(String parquetFieldName, int idx, BiConsumer<RecordConsumer, Object> writer) {
+        this(parquetFieldName, idx, writer, null);
+    }
+
+    /**
+     * @param parquetFieldName the name of the field
+     * @param idx              the index of the field in its group
+     * @param writer           writes the primitive value of the record
+     * @param isNull           tells if the value of a record is null, and is not
+     *                         written. Null if the field is not nullable
+     */
+    public PrimitiveFieldWriter(String parquetFieldName, int idx, BiConsumer<RecordConsumer, Object> writer,
+            Predicate<Object> isNull) {
         this.parquetFieldName = parquetFieldName;
         this.idx = idx;
         this.writer = writer;
+        this.isNull = isNull;
     }
 
     @Override
-    public void accept(Object object) {
+    public void accept(RecordConsumer recordConsumer, Object object) {
+        if (isNull != null && isNull.test(object)) {
+            return;
+        }
         recordConsumer.startField(parquetFieldName, idx);
         writer.accept(recordConsumer, object);
         recordConsumer.endField(parquetFieldName, idx);
@@ -0,0 +1,172 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.write;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.PrimitiveComparator;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+
+/**
+ * Values of an indexed column in the current row group, with the row of each
+ * value, stored in primitive arrays without an object per value.
+ *
+ * Fixed size values are stored as the bits of a long, and byte arrays are
+ * appended to a shared buffer. When the row group ends, values are written to
+ * the index sorted by the comparator of the column.
+ */
+class RowGroupIndexValues {
+
+    private final PrimitiveTypeName typeName;
+    private final PrimitiveComparator<Object> comparator;
+    private int size = 0;
+    private int[] rows = new int[1024];
+    private long[] values;
+    private byte[] bytes;
+    private int[] offsets;
+
+    RowGroupIndexValues(PrimitiveType type) {
+        this.typeName = type.getPrimitiveTypeName();
+        this.comparator = type.comparator();
+        if (isBinary()) {
+            bytes = new byte[16 * 1024];
+            offsets = new int[rows.length + 1];
+        } else {
+            values = new long[rows.length];
+        }
+    }
+
+    private boolean isBinary() {
+        return switch (typeName) {
+        case BINARY, FIXED_LEN_BYTE_ARRAY, INT96 -> true;
+        default -> false;
+        };
+    }
+
+    int size() {
+        return size;
+    }
+
+    void add(long value, int row) {
+        ensureCapacity();
+        values[size] = value;
+        rows[size++] = row;
+    }
+
+    void add(Binary value, int row) {
+        ensureCapacity();
+        ByteBuffer buffer = value.toByteBuffer();
+        int length = buffer.remaining();
+        int start = offsets[size];
+        if (length > bytes.length - start) {
+            bytes = Arrays.copyOf(bytes, Math.max(Math.addExact(start, length), bytes.length * 2));
+        }
+        buffer.get(bytes, start, length);
+        offsets[size + 1] = start + length;
+        rows[size++] = row;
+    }
+
+    private void ensureCapacity() {
+        if (size < rows.length) {
+            return;
+        }
+        rows = Arrays.copyOf(rows, rows.length * 2);
+        if (isBinary()) {
+            offsets = Arrays.copyOf(offsets, rows.length + 1);
+        } else {
+            values = Arrays.copyOf(values, rows.length);
+        }
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Writes the values sorted by key, with their row. Rows of the same key keep
+     * the file order.
+     */
+    void writeSorted(DataOutputStream out) throws IOException {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        sort(order, new int[size], 0, size);
+        for (int i : order) {
+            writeKey(out, i);
+            out.writeInt(rows[i]);
+        }
+    }
+
+    private void writeKey(DataOutputStream out, int i) throws IOException {
+        switch (typeName) {
+        case INT32 -> out.writeInt((int) values[i]);
+        case INT64 -> out.writeLong(values[i]);
+        case FLOAT -> out.writeInt((int) values[i]);
+        case DOUBLE -> out.writeLong(values[i]);
+        case BOOLEAN -> out.writeBoolean(values[i] != 0);
+        case BINARY, FIXED_LEN_BYTE_ARRAY, INT96 -> {
+            out.writeInt(offsets[i + 1] - offsets[i]);
+            out.write(bytes, offsets[i], offsets[i + 1] - offsets[i]);
+        }
+        }
+    }
+
+    // Merge sort is stable, keeping the rows of the same key in file order
+    private void sort(int[] order, int[] buffer, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sort(order, buffer, from, mid);
+        sort(order, buffer, mid, to);
+        if (compare(order[mid - 1], order[mid]) <= 0) {
+            return;
+        }
+        System.arraycopy(order, from, buffer, from, to - from);
+        int left = from;
+        int right = mid;
+        int i = from;
+        while (left < mid && right < to) {
+            order[i++] = compare(buffer[right], buffer[left]) < 0 ? buffer[right++] : buffer[left++];
+        }
+        System.arraycopy(buffer, left, order, i, mid - left);
+        i += mid - left;
+        System.arraycopy(buffer, right, order, i, to - right);
+    }
+
+    private int compare(int a, int b) {
+        return switch (typeName) {
+        case INT32 -> comparator.compare((int) values[a], (int) values[b]);
+        case INT64 -> comparator.compare(values[a], values[b]);
+        case FLOAT -> comparator.compare(Float.intBitsToFloat((int) values[a]),
+                Float.intBitsToFloat((int) values[b]));
+        case DOUBLE -> comparator.compare(Double.longBitsToDouble(values[a]), Double.longBitsToDouble(values[b]));
+        case BOOLEAN -> comparator.compare(values[a] != 0, values[b] != 0);
+        case BINARY, FIXED_LEN_BYTE_ARRAY, INT96 -> comparator.compare(binary(a), binary(b));
+        };
+    }
+
+    private Binary binary(int i) {
+        return Binary.fromConstantByteArray(bytes, offsets[i], offsets[i + 1] - offsets[i]);
+    }
+
+}
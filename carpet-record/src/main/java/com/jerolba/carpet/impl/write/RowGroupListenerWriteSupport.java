@@ -0,0 +1,44 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.write;
+
+import org.apache.parquet.hadoop.api.DelegatingWriteSupport;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.io.api.RecordConsumer;
+
+/**
+ * WriteSupport notifying a listener each time Parquet starts a new row group.
+ *
+ * Parquet calls to {@link #prepareForWrite(RecordConsumer)} when the writer is
+ * created and after flushing each row group, from the write call of the record
+ * that completed it.
+ */
+class RowGroupListenerWriteSupport<T> extends DelegatingWriteSupport<T> {
+
+    private final Runnable listener;
+
+    RowGroupListenerWriteSupport(WriteSupport<T> delegate, Runnable listener) {
+        super(delegate);
+        this.listener = listener;
+    }
+
+    @Override
+    public void prepareForWrite(RecordConsumer recordConsumer) {
+        super.prepareForWrite(recordConsumer);
+        listener.run();
+    }
+
+}
@@ -0,0 +1,342 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.write;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+
+import com.jerolba.carpet.impl.SecondaryIndexFormat;
+
+/**
+ * Collects the values of the indexed columns with the position of their rows,
+ * and writes a secondary index file for each column when the Parquet file is
+ * closed.
+ *
+ * Only the values of the current row group are kept in memory. When a row group
+ * ends, its values are sorted and spilled to a temporary file, and all row
+ * groups are merged when the file is closed, so memory does not grow with the
+ * size of the file.
+ */
+class SecondaryIndexCollector {
+
+    private static final int RUN_BUFFER_SIZE = 4 * 1024;
+
+    private final String fileId;
+    private final List<IndexedColumn> columns = new ArrayList<>();
+    private int rowGroup = 0;
+    private int row = 0;
+    private long rowCount = 0;
+
+    SecondaryIndexCollector(MessageType schema, Map<String, OutputFile> indexFiles, String fileId) {
+        this.fileId = fileId;
+        for (var indexFile : indexFiles.entrySet()) {
+            String path = indexFile.getKey();
+            String[] columnPath = path.split("\\.");
+            if (!schema.containsPath(columnPath) || !schema.getType(columnPath).isPrimitive()) {
+                throw new IllegalArgumentException("Indexed column '" + path + "' is not a "
+                        + "primitive column of the schema");
+            }
+            ColumnDescriptor column = schema.getColumnDescription(columnPath);
+            if (column.getMaxRepetitionLevel() > 0) {
+                throw new IllegalArgumentException("Indexed column '" + path + "' can not be repeated");
+            }
+            columns.add(new IndexedColumn(path, fieldIndexes(schema, columnPath), column.getPrimitiveType(),
+                    indexFile.getValue()));
+        }
+    }
+
+    private static int[] fieldIndexes(MessageType schema, String[] columnPath) {
+        int[] indexes = new int[columnPath.length];
+        GroupType group = schema;
+        for (int i = 0; i < columnPath.length; i++) {
+            indexes[i] = group.getFieldIndex(columnPath[i]);
+            if (i < columnPath.length - 1) {
+                group = group.getType(indexes[i]).asGroupType();
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * Finds the indexed column of a field, given the indexes of the fields from
+     * the root of the schema.
+     *
+     * @param fieldIndexes indexes of the fields in their groups
+     * @param depth        number of used elements of fieldIndexes
+     * @return the indexed column, or null if the field is not indexed
+     */
+    IndexedColumn find(int[] fieldIndexes, int depth) {
+        for (IndexedColumn column : columns) {
+            if (column.fieldIndexes.length == depth
+                    && Arrays.equals(column.fieldIndexes, 0, depth, fieldIndexes, 0, depth)) {
+                return column;
+            }
+        }
+        return null;
+    }
+
+    void add(IndexedColumn column, int value) {
+        column.values.add(value, row);
+    }
+
+    void add(IndexedColumn column, long value) {
+        column.values.add(value, row);
+    }
+
+    void add(IndexedColumn column, float value) {
+        column.values.add(Float.floatToRawIntBits(value), row);
+    }
+
+    void add(IndexedColumn column, double value) {
+        column.values.add(Double.doubleToRawLongBits(value), row);
+    }
+
+    void add(IndexedColumn column, boolean value) {
+        column.values.add(value ? 1 : 0, row);
+    }
+
+    void add(IndexedColumn column, Binary value) {
+        column.values.add(value, row);
+    }
+
+    void endRecord() {
+        if (row == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Indexed row groups can not have more than "
+                    + Integer.MAX_VALUE + " rows");
+        }
+        row++;
+        rowCount++;
+    }
+
+    /**
+     * Starts a new row group, if some record was written in the current one. The
+     * values of the finished row group are sorted and spilled to a temporary file.
+     */
+    void endRowGroup() throws IOException {
+        if (row > 0) {
+            for (IndexedColumn column : columns) {
+                column.spillRowGroup(rowGroup);
+            }
+            rowGroup++;
+            row = 0;
+        }
+    }
+
+    void writeIndexes() throws IOException {
+        endRowGroup();
+        for (IndexedColumn column : columns) {
+            column.write(fileId, rowGroup, rowCount);
+        }
+    }
+
+    /**
+     * Indexed column, with the values of the current row group in memory, and the
+     * values of previous row groups spilled to a temporary file as sorted runs.
+     * When the file is closed, the runs are merged into the index file.
+     */
+    static class IndexedColumn {
+
+        private final String path;
+        private final int[] fieldIndexes;
+        private final PrimitiveType type;
+        private final OutputFile indexFile;
+        private final RowGroupIndexValues values;
+        private final List<Run> runs = new ArrayList<>();
+        private Path spillFile;
+        private CountingOutputStream spillCounter;
+        private DataOutputStream spill;
+
+        /**
+         * Sorted values of a row group in the spill file
+         */
+        private record Run(int rowGroup, long offset, int size) {
+        }
+
+        private IndexedColumn(String path, int[] fieldIndexes, PrimitiveType type, OutputFile indexFile) {
+            this.path = path;
+            this.fieldIndexes = fieldIndexes;
+            this.type = type;
+            this.indexFile = indexFile;
+            this.values = new RowGroupIndexValues(type);
+        }
+
+        private void spillRowGroup(int rowGroup) throws IOException {
+            if (values.size() == 0) {
+                return;
+            }
+            if (spill == null) {
+                spillFile = Files.createTempFile("carpet-index", ".tmp");
+                spillCounter = new CountingOutputStream(Files.newOutputStream(spillFile));
+                spill = new DataOutputStream(new BufferedOutputStream(spillCounter));
+            }
+            spill.flush();
+            runs.add(new Run(rowGroup, spillCounter.count, values.size()));
+            values.writeSorted(spill);
+            values.clear();
+        }
+
+        private void write(String fileId, int rowGroupCount, long rowCount) throws IOException {
+            try (OutputStream out = new BufferedOutputStream(indexFile.createOrOverwrite(0))) {
+                SecondaryIndexFormat.Writer writer = new SecondaryIndexFormat.Writer(out, type);
+                if (spill != null) {
+                    spill.close();
+                    try (FileChannel channel = FileChannel.open(spillFile, StandardOpenOption.READ)) {
+                        merge(channel, writer);
+                    }
+                }
+                writer.finish(fileId, path, rowGroupCount, rowCount);
+            } finally {
+                if (spillFile != null) {
+                    Files.deleteIfExists(spillFile);
+                }
+            }
+        }
+
+        /**
+         * Merges the sorted runs of all row groups. Runs are in row group order,
+         * and equal keys are taken from the lower row group first, keeping the
+         * rows of the same key in file order.
+         */
+        @SuppressWarnings("unchecked")
+        private void merge(FileChannel channel, SecondaryIndexFormat.Writer writer) throws IOException {
+            Comparator<Object> keyComparator = (Comparator<Object>) type.comparator();
+            Comparator<RunReader> comparator = (a, b) -> {
+                int cmp = keyComparator.compare(a.key, b.key);
+                return cmp != 0 ? cmp : Integer.compare(a.rowGroup, b.rowGroup);
+            };
+            PriorityQueue<RunReader> queue = new PriorityQueue<>(Math.max(1, runs.size()), comparator);
+            for (Run run : runs) {
+                RunReader reader = new RunReader(channel, run);
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+            }
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                writer.add(reader.key, reader.rowGroup, reader.row);
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+            }
+        }
+
+        private class RunReader {
+
+            private final DataInputStream in;
+            private final int rowGroup;
+            private int remaining;
+            private Object key;
+            private int row;
+
+            RunReader(FileChannel channel, Run run) {
+                this.in = new DataInputStream(new BufferedInputStream(new ChannelInputStream(channel, run.offset()),
+                        RUN_BUFFER_SIZE));
+                this.rowGroup = run.rowGroup();
+                this.remaining = run.size();
+            }
+
+            boolean next() throws IOException {
+                if (remaining == 0) {
+                    return false;
+                }
+                remaining--;
+                key = SecondaryIndexFormat.readKey(in, type);
+                row = in.readInt();
+                return true;
+            }
+
+        }
+
+    }
+
+    /**
+     * Reads a file channel from a position, without changing the position of the
+     * channel, so many streams can read the same channel.
+     */
+    private static class ChannelInputStream extends InputStream {
+
+        private final FileChannel channel;
+        private long position;
+
+        ChannelInputStream(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = channel.read(ByteBuffer.wrap(b, off, len), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count = 0;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+    }
+
+}
@@ -0,0 +1,136 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.write;
+
+import java.util.Arrays;
+
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+
+import com.jerolba.carpet.impl.write.SecondaryIndexCollector.IndexedColumn;
+
+/**
+ * RecordConsumer that forwards all events to another RecordConsumer, adding the
+ * values of the indexed columns to the index.
+ */
+class SecondaryIndexRecordConsumer extends RecordConsumer {
+
+    private final RecordConsumer delegate;
+    private final SecondaryIndexCollector collector;
+    private int[] fieldIndexes = new int[8];
+    private int level = 0;
+    private IndexedColumn current;
+
+    SecondaryIndexRecordConsumer(RecordConsumer delegate, SecondaryIndexCollector collector) {
+        this.delegate = delegate;
+        this.collector = collector;
+    }
+
+    @Override
+    public void startMessage() {
+        level = 0;
+        current = null;
+        delegate.startMessage();
+    }
+
+    @Override
+    public void endMessage() {
+        delegate.endMessage();
+        collector.endRecord();
+    }
+
+    @Override
+    public void startField(String field, int index) {
+        if (level == fieldIndexes.length) {
+            fieldIndexes = Arrays.copyOf(fieldIndexes, level * 2);
+        }
+        fieldIndexes[level++] = index;
+        current = collector.find(fieldIndexes, level);
+        delegate.startField(field, index);
+    }
+
+    @Override
+    public void endField(String field, int index) {
+        level--;
+        current = null;
+        delegate.endField(field, index);
+    }
+
+    @Override
+    public void startGroup() {
+        delegate.startGroup();
+    }
+
+    @Override
+    public void endGroup() {
+        delegate.endGroup();
+    }
+
+    @Override
+    public void addInteger(int value) {
+        delegate.addInteger(value);
+        if (current != null) {
+            collector.add(current, value);
+        }
+    }
+
+    @Override
+    public void addLong(long value) {
+        delegate.addLong(value);
+        if (current != null) {
+            collector.add(current, value);
+        }
+    }
+
+    @Override
+    public void addBoolean(boolean value) {
+        delegate.addBoolean(value);
+        if (current != null) {
+            collector.add(current, value);
+        }
+    }
+
+    @Override
+    public void addBinary(Binary value) {
+        delegate.addBinary(value);
+        if (current != null) {
+            // Bytes are copied, because writers can reuse the bytes of the Binary
+            collector.add(current, value);
+        }
+    }
+
+    @Override
+    public void addFloat(float value) {
+        delegate.addFloat(value);
+        if (current != null) {
+            collector.add(current, value);
+        }
+    }
+
+    @Override
+    public void addDouble(double value) {
+        delegate.addDouble(value);
+        if (current != null) {
+            collector.add(current, value);
+        }
+    }
+
+    @Override
+    public void flush() {
+        delegate.flush();
+    }
+
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.write;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.conf.ParquetConfiguration;
+import org.apache.parquet.hadoop.api.DelegatingWriteSupport;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.MessageType;
+
+import com.jerolba.carpet.impl.SecondaryIndexFormat;
+
+/**
+ * WriteSupport building a secondary index of some columns, written to their
+ * index files when the Parquet file is closed.
+ *
+ * A random identifier is stored in the key-value metadata of the Parquet file
+ * and in the footer of its index files, to validate that an index belongs to
+ * the file.
+ *
+ * Parquet calls to {@link #prepareForWrite(RecordConsumer)} with a new
+ * RecordConsumer each time a row group is flushed, which is used to start
+ * counting the rows of the next row group.
+ */
+class SecondaryIndexWriteSupport<T> extends DelegatingWriteSupport<T> {
+
+    private final Map<String, OutputFile> indexFiles;
+    private MessageType schema;
+    private SecondaryIndexCollector collector;
+
+    SecondaryIndexWriteSupport(WriteSupport<T> delegate, Map<String, OutputFile> indexFiles) {
+        super(delegate);
+        this.indexFiles = indexFiles;
+    }
+
+    @Override
+    public WriteContext init(Configuration configuration) {
+        return initCollector(super.init(configuration));
+    }
+
+    @Override
+    public WriteContext init(ParquetConfiguration configuration) {
+        return initCollector(super.init(configuration));
+    }
+
+    private WriteContext initCollector(WriteContext context) {
+        schema = context.getSchema();
+        String fileId = UUID.randomUUID().toString();
+        collector = new SecondaryIndexCollector(schema, indexFiles, fileId);
+        Map<String, String> metadata = new HashMap<>(context.getExtraMetaData());
+        metadata.put(SecondaryIndexFormat.FILE_ID_KEY, fileId);
+        return new WriteContext(schema, metadata);
+    }
+
+    @Override
+    public void prepareForWrite(RecordConsumer recordConsumer) {
+        try {
+            collector.endRowGroup();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // Keeps the flat schema optimization below the index consumer
+        RecordConsumer consumer = FlatColumnRecordConsumer.wrapIfFlat(recordConsumer, schema);
+        super.prepareForWrite(new SecondaryIndexRecordConsumer(consumer, collector));
+    }
+
+    @Override
+    public FinalizedWriteContext finalizeWrite() {
+        try {
+            collector.writeIndexes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return super.finalizeWrite();
+    }
+
+}
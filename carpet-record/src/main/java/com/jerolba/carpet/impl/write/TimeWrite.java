@@ -25,7 +25,7 @@ import org.apache.parquet.io.api.RecordConsumer;
 
 import com.jerolba.carpet.TimeUnit;
 
-class TimeWrite {
+public class TimeWrite {
 
     public static BiConsumer<RecordConsumer, Object> localDateTimeConsumer(TimeUnit timeUnit) {
         return switch (timeUnit) {
@@ -51,6 +51,18 @@ class TimeWrite {
         };
     }
 
+    public static long instantToEpoch(Instant instant, TimeUnit timeUnit) {
+        return switch (timeUnit) {
+        case MILLIS -> millisFromEpochFromInstant(instant);
+        case MICROS -> microsFromEpochFromInstant(instant);
+        case NANOS -> nanosFromEpochFromInstant(instant);
+        };
+    }
+
+    public static long localDateTimeToEpoch(LocalDateTime localDateTime, TimeUnit timeUnit) {
+        return instantToEpoch(timestampInUTCOffset(localDateTime), timeUnit);
+    }
+
     private static long nanoTime(Object v) {
         return ((LocalTime) v).toNanoOfDay();
     }
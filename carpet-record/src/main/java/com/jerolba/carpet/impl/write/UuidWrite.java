@@ -20,7 +20,7 @@ import java.util.UUID;
 
 import org.apache.parquet.io.api.Binary;
 
-class UuidWrite {
+public class UuidWrite {
 
     public static Binary uuidToBinary(Object value) {
         UUID uuid = (UUID) value;
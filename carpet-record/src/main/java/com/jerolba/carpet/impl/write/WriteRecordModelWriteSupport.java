@@ -15,6 +15,8 @@
  */
 package com.jerolba.carpet.impl.write;
 
+import static com.jerolba.carpet.impl.write.ColumnBatchWriter.enumColumns;
+
 import java.util.Map;
 
 import org.apache.hadoop.conf.Configuration;
@@ -30,13 +32,18 @@ class WriteRecordModelWriteSupport<T> extends WriteSupport<T> {
     private final WriteRecordModelType<T> rootWriteRecordModel;
     private final Map<String, String> extraMetaData;
     private final CarpetWriteConfiguration carpetConfiguration;
-    private MessageWriter<T> messageWriter;
+    private final ColumnBatchRow columnBatchRow;
+    private WriteRecordModelWriter messageWriter;
+    private MessageType schema;
+    private ColumnBatchWriter columnBatchWriter;
+    private RecordConsumer recordConsumer;
 
     WriteRecordModelWriteSupport(WriteRecordModelType<T> rootWriteRecordModel, Map<String, String> extraMetaData,
-            CarpetWriteConfiguration carpetConfiguration) {
+            CarpetWriteConfiguration carpetConfiguration, ColumnBatchRow columnBatchRow) {
         this.rootWriteRecordModel = rootWriteRecordModel;
         this.extraMetaData = extraMetaData;
         this.carpetConfiguration = carpetConfiguration;
+        this.columnBatchRow = columnBatchRow;
     }
 
     @Override
@@ -56,14 +63,20 @@ class WriteRecordModelWriteSupport<T> extends WriteSupport<T> {
 
     private WriteContext initContext() {
         WriteRecordModel2Schema modelRecord2Schema = new WriteRecordModel2Schema(carpetConfiguration);
-        MessageType schema = modelRecord2Schema.createSchema(rootWriteRecordModel);
+        schema = modelRecord2Schema.createSchema(rootWriteRecordModel);
         return new WriteContext(schema, this.extraMetaData);
     }
 
     @Override
     public void prepareForWrite(RecordConsumer recordConsumer) {
         try {
-            messageWriter = new MessageWriter<>(recordConsumer, rootWriteRecordModel, carpetConfiguration);
+            this.recordConsumer = FlatColumnRecordConsumer.wrapIfFlat(recordConsumer, schema);
+            // Writers are built once, and receive the RecordConsumer of the current row group
+            if (messageWriter == null) {
+                columnBatchWriter = new ColumnBatchWriter(schema, enumColumns(rootWriteRecordModel));
+                messageWriter = new WriteRecordModelWriter(rootWriteRecordModel, carpetConfiguration);
+            }
+            columnBatchWriter.prepareForWrite(this.recordConsumer);
         } catch (Throwable e) {
             throw new RuntimeException(e);
         }
@@ -71,26 +84,13 @@ class WriteRecordModelWriteSupport<T> extends WriteSupport<T> {
 
     @Override
     public void write(T record) {
-        messageWriter.write(record);
-    }
-
-    private static class MessageWriter<T> {
-
-        private final RecordConsumer recordConsumer;
-        private final WriteRecordModelWriter writer;
-
-        MessageWriter(RecordConsumer recordConsumer, WriteRecordModelType<T> rootWriteRecordModel,
-                CarpetWriteConfiguration carpetConfiguration) {
-            this.recordConsumer = recordConsumer;
-            this.writer = new WriteRecordModelWriter(recordConsumer, rootWriteRecordModel, carpetConfiguration);
-        }
-
-        void write(T record) {
+        if (record == null && columnBatchRow != null && columnBatchRow.isActive()) {
+            columnBatchWriter.write(columnBatchRow);
+        } else {
             recordConsumer.startMessage();
-            writer.write(record);
+            messageWriter.write(recordConsumer, record);
             recordConsumer.endMessage();
         }
-
     }
 
 }
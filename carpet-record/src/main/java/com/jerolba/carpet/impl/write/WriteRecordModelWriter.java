@@ -24,7 +24,6 @@ import static com.jerolba.carpet.impl.write.ModelFieldsWriter.buildSimpleElement
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiConsumer;
-import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.apache.parquet.io.api.RecordConsumer;
@@ -41,36 +40,34 @@ import com.jerolba.carpet.model.WriteRecordModelType.PrimitiveJavaFieldInfo;
 
 class WriteRecordModelWriter {
 
-    private final RecordConsumer recordConsumer;
     private final CarpetWriteConfiguration carpetConfiguration;
 
-    private final List<Consumer<Object>> fieldWriters = new ArrayList<>();
+    private final BiConsumer<RecordConsumer, Object> fieldsWriter;
 
-    public WriteRecordModelWriter(RecordConsumer recordConsumer, WriteRecordModelType<?> writeRecordModelType,
+    public WriteRecordModelWriter(WriteRecordModelType<?> writeRecordModelType,
             CarpetWriteConfiguration carpetConfiguration) {
-        this.recordConsumer = recordConsumer;
         this.carpetConfiguration = carpetConfiguration;
 
+        List<BiConsumer<RecordConsumer, Object>> fieldWriters = new ArrayList<>();
         int idx = 0;
         for (WriteField<?> field : writeRecordModelType.getFields()) {
-            Consumer<Object> writer = buildFieldWriter(recordConsumer, idx, field);
+            BiConsumer<RecordConsumer, Object> writer = buildFieldWriter(idx, field);
             if (writer == null) {
                 throw new RuntimeException(field.fieldType().getClass().getName() + " can not be serialized");
             }
             fieldWriters.add(writer);
             idx++;
         }
+        this.fieldsWriter = FieldWriterChain.compile(fieldWriters);
     }
 
-    public void write(Object record) {
-        for (var fieldWriter : fieldWriters) {
-            fieldWriter.accept(record);
-        }
+    public void write(RecordConsumer recordConsumer, Object record) {
+        fieldsWriter.accept(recordConsumer, record);
     }
 
-    private Consumer<Object> buildFieldWriter(RecordConsumer recordConsumer, int idx, WriteField<?> field) {
+    private BiConsumer<RecordConsumer, Object> buildFieldWriter(int idx, WriteField<?> field) {
         if (field instanceof PrimitiveJavaFieldInfo<?> primitiveJavaField) {
-            return buildPrimitiveJavaConsumer(primitiveJavaField, idx, recordConsumer);
+            return buildPrimitiveJavaConsumer(primitiveJavaField, idx, carpetConfiguration);
         }
         if (field instanceof FunctionFieldInfo<?> functionField) {
             Function<Object, Object> accessor = (Function<Object, Object>) functionField.accessor();
@@ -81,16 +78,16 @@ class WriteRecordModelWriter {
             } else if (type instanceof MapType mapType) {
                 return createMapStructureWriter(mapType, modelField);
             }
-            BiConsumer<RecordConsumer, Object> basicTypeWriter = buildSimpleElementConsumer(type, recordConsumer,
-                    carpetConfiguration);
+            BiConsumer<RecordConsumer, Object> basicTypeWriter = buildSimpleElementConsumer(type, carpetConfiguration);
             if (basicTypeWriter != null) {
-                return new FieldWriterConsumer(recordConsumer, modelField, basicTypeWriter);
+                return new FieldWriterConsumer(modelField, basicTypeWriter);
             }
         }
         return null;
     }
 
-    private Consumer<Object> createCollectionWriter(CollectionType collectionType, RecordField recordField) {
+    private BiConsumer<RecordConsumer, Object> createCollectionWriter(CollectionType collectionType,
+            RecordField recordField) {
         return switch (carpetConfiguration.annotatedLevels()) {
         case ONE -> createOneLevelStructureWriter(collectionType.type(), recordField);
         case TWO -> createTwoLevelStructureWriter(collectionType.type(), recordField);
@@ -98,57 +95,57 @@ class WriteRecordModelWriter {
         };
     }
 
-    private Consumer<Object> createOneLevelStructureWriter(FieldType parametized, RecordField recordField) {
+    private BiConsumer<RecordConsumer, Object> createOneLevelStructureWriter(FieldType parametized,
+            RecordField recordField) {
         if (parametized instanceof CollectionType) {
             throw new RecordTypeConversionException(
                     "Nested collection in a collection is not supported in single level structure codification");
         }
         BiConsumer<RecordConsumer, Object> elemConsumer = null;
         if (parametized instanceof MapType mapType) {
-            Consumer<Object> childWriter = createMapStructureWriter(mapType, null);
-            elemConsumer = (consumer, v) -> childWriter.accept(v);
+            elemConsumer = createMapStructureWriter(mapType, null);
         } else {
-            elemConsumer = buildSimpleElementConsumer(parametized, recordConsumer, carpetConfiguration);
+            elemConsumer = buildSimpleElementConsumer(parametized, carpetConfiguration);
         }
         if (elemConsumer == null) {
             throw new RecordTypeConversionException("Unsuported type in collection");
         }
-        return new OneLevelCollectionFieldWriter(recordConsumer, recordField, elemConsumer);
+        return new OneLevelCollectionFieldWriter(recordField, elemConsumer);
     }
 
-    private Consumer<Object> createTwoLevelStructureWriter(FieldType parametized, RecordField recordField) {
+    private BiConsumer<RecordConsumer, Object> createTwoLevelStructureWriter(FieldType parametized,
+            RecordField recordField) {
         BiConsumer<RecordConsumer, Object> elemConsumer = buildCollectionWriter(parametized);
         if (elemConsumer == null) {
             throw new RecordTypeConversionException("Unsuported type in collection");
         }
-        return twoLevelCollectionRecordFieldWriterFactory(recordConsumer, recordField, elemConsumer);
+        return twoLevelCollectionRecordFieldWriterFactory(recordField, elemConsumer);
     }
 
-    private Consumer<Object> createThreeLevelStructureWriter(FieldType parametized, RecordField recordField) {
+    private BiConsumer<RecordConsumer, Object> createThreeLevelStructureWriter(FieldType parametized,
+            RecordField recordField) {
         BiConsumer<RecordConsumer, Object> elemConsumer = buildCollectionWriter(parametized);
         if (elemConsumer == null) {
             throw new RecordTypeConversionException("Unsuported type in collection");
         }
-        return threeLevelCollectionRecordFieldWriterFactory(recordConsumer, recordField, elemConsumer);
+        return threeLevelCollectionRecordFieldWriterFactory(recordField, elemConsumer);
     }
 
     private BiConsumer<RecordConsumer, Object> buildCollectionWriter(FieldType parametized) {
         if (parametized instanceof CollectionType collectionType) {
-            Consumer<Object> childWriter = createCollectionWriter(collectionType, null);
-            return (consumer, v) -> childWriter.accept(v);
+            return createCollectionWriter(collectionType, null);
         }
         if (parametized instanceof MapType mapType) {
-            Consumer<Object> childWriter = createMapStructureWriter(mapType, null);
-            return (consumer, v) -> childWriter.accept(v);
+            return createMapStructureWriter(mapType, null);
         }
-        return buildSimpleElementConsumer(parametized, recordConsumer, carpetConfiguration);
+        return buildSimpleElementConsumer(parametized, carpetConfiguration);
     }
 
-    private Consumer<Object> createMapStructureWriter(MapType mapType, RecordField recordField) {
-        BiConsumer<RecordConsumer, Object> keyConsumer = buildSimpleElementConsumer(mapType.keyType(), recordConsumer,
-                carpetConfiguration);
+    private BiConsumer<RecordConsumer, Object> createMapStructureWriter(MapType mapType, RecordField recordField) {
+        BiConsumer<RecordConsumer, Object> keyConsumer =
+                buildSimpleElementConsumer(mapType.keyType(), carpetConfiguration);
 
         BiConsumer<RecordConsumer, Object> valueConsumer = buildCollectionWriter(mapType.valueType());
-        return mapRecordFieldWriterFactory(recordConsumer, recordField, keyConsumer, valueConsumer);
+        return mapRecordFieldWriterFactory(recordField, keyConsumer, valueConsumer);
     }
 }
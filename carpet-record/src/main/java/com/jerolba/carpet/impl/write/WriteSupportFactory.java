@@ -15,10 +15,13 @@
  */
 package com.jerolba.carpet.impl.write;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.parquet.conf.ParquetConfiguration;
 import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.io.OutputFile;
 
 import com.jerolba.carpet.WriteModelFactory;
 import com.jerolba.carpet.WriteModelFactory.WriteConfigurationContext;
@@ -31,19 +34,69 @@ public class WriteSupportFactory {
 
     public static <T> WriteSupport<T> createWriteSupport(Class<T> recordClass, Map<String, String> extraMetaData,
             ParquetConfiguration parquetConfiguration, CarpetWriteConfiguration carpetConfiguration,
-            WriteModelFactory<T> writeModelFactory) {
+            WriteModelFactory<T> writeModelFactory, ColumnBatchRow columnBatchRow) {
 
         if (writeModelFactory == null) {
             if (useWriteModel(parquetConfiguration)) {
                 JavaRecord2WriteModel javaRecord2WriteModel = new JavaRecord2WriteModel(carpetConfiguration);
                 WriteRecordModelType<T> rootWriteRecordModel = javaRecord2WriteModel.createModel(recordClass);
-                return new WriteRecordModelWriteSupport<>(rootWriteRecordModel, extraMetaData, carpetConfiguration);
+                return new WriteRecordModelWriteSupport<>(rootWriteRecordModel, extraMetaData, carpetConfiguration,
+                        columnBatchRow);
             }
-            return new CarpetWriteSupport<>(recordClass, extraMetaData, carpetConfiguration);
+            return new CarpetWriteSupport<>(recordClass, extraMetaData, carpetConfiguration, columnBatchRow);
         }
         var writeConfigurationContext = new WriteConfigurationContext(carpetConfiguration, parquetConfiguration);
         WriteRecordModelType<T> rootWriteRecordModel = writeModelFactory.create(recordClass, writeConfigurationContext);
-        return new WriteRecordModelWriteSupport<>(rootWriteRecordModel, extraMetaData, carpetConfiguration);
+        return new WriteRecordModelWriteSupport<>(rootWriteRecordModel, extraMetaData, carpetConfiguration,
+                columnBatchRow);
+    }
+
+    /**
+     * Wraps a WriteSupport to collect statistics of some columns, stored in the
+     * key-value metadata of the file.
+     *
+     * @param <T>          the type of the records
+     * @param writeSupport the WriteSupport writing the records
+     * @param columnPaths  the columns with statistics, can be empty
+     * @return the WriteSupport to use
+     */
+    public static <T> WriteSupport<T> withColumnStatistics(WriteSupport<T> writeSupport, Set<String> columnPaths) {
+        if (columnPaths.isEmpty()) {
+            return writeSupport;
+        }
+        return new ColumnStatisticsWriteSupport<>(writeSupport, Set.copyOf(columnPaths));
+    }
+
+    /**
+     * Wraps a WriteSupport to build a secondary index of some columns, written to
+     * their index files when the Parquet file is closed.
+     *
+     * @param <T>          the type of the records
+     * @param writeSupport the WriteSupport writing the records
+     * @param indexFiles   the index file of each indexed column, can be empty
+     * @return the WriteSupport to use
+     */
+    public static <T> WriteSupport<T> withSecondaryIndexes(WriteSupport<T> writeSupport,
+            Map<String, OutputFile> indexFiles) {
+        if (indexFiles.isEmpty()) {
+            return writeSupport;
+        }
+        return new SecondaryIndexWriteSupport<>(writeSupport, new LinkedHashMap<>(indexFiles));
+    }
+
+    /**
+     * Wraps a WriteSupport to notify a listener each time a row group is started.
+     *
+     * @param <T>          the type of the records
+     * @param writeSupport the WriteSupport writing the records
+     * @param listener     called when a row group is started, can be null
+     * @return the WriteSupport to use
+     */
+    public static <T> WriteSupport<T> withRowGroupListener(WriteSupport<T> writeSupport, Runnable listener) {
+        if (listener == null) {
+            return writeSupport;
+        }
+        return new RowGroupListenerWriteSupport<>(writeSupport, listener);
     }
 
     private static boolean useWriteModel(ParquetConfiguration parquetConfiguration) {
@@ -31,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.ToDoubleFunction;
 import java.util.function.ToIntFunction;
 import java.util.function.ToLongFunction;
@@ -130,6 +131,12 @@ public final class WriteRecordModelType<T> implements FieldType {
      * internal and utilities use. For manual programmatic use call to withField
      * methods.
      *
+     * Besides primitive types, logical types stored in a primitive column can be
+     * written from their physical value: LocalDate from a ToIntFunction with the
+     * epoch day, LocalTime, LocalDateTime and Instant from a ToLongFunction in the
+     * default time unit of the writer, and BigDecimal with a precision up to 18
+     * from a ToLongFunction with the unscaled value.
+     *
      * @param parquetFieldName the name of the field in the Parquet schema
      * @param type             the field type of the primitive defined
      * @param accessor         the accessor function to get the primitive value from
@@ -140,6 +147,36 @@ public final class WriteRecordModelType<T> implements FieldType {
      *                                  accessor is not a primitive function.
      */
     public WriteRecordModelType<T> withPrimitiveField(String parquetFieldName, FieldType type, Object accessor) {
+        if (!type.isNotNull()) {
+            throw new IllegalArgumentException(parquetFieldName + " is not defined as not null");
+        }
+        return addPrimitiveField(parquetFieldName, type, accessor, null);
+    }
+
+    /**
+     * Adds a nullable primitive field to the record model, avoiding the boxing of
+     * its values. The accessor is only called if the value of the record is not
+     * null. The method is defined to for internal and utilities use.
+     *
+     * @param parquetFieldName the name of the field in the Parquet schema
+     * @param type             the field type of the primitive defined
+     * @param accessor         the accessor function to get the primitive value from
+     *                         the record
+     * @param isNull           the function that tells if the value of the record is
+     *                         null
+     * @return the updated WriteRecordModelType instance
+     * @throws IllegalArgumentException if the field name is already defined, if the
+     *                                  type is not a primitive type, or if the
+     *                                  accessor is not a primitive function.
+     */
+    public WriteRecordModelType<T> withPrimitiveField(String parquetFieldName, FieldType type, Object accessor,
+            Predicate<T> isNull) {
+        requireNonNull(isNull);
+        return addPrimitiveField(parquetFieldName, type, accessor, isNull);
+    }
+
+    private WriteRecordModelType<T> addPrimitiveField(String parquetFieldName, FieldType type, Object accessor,
+            Predicate<T> isNull) {
         requireNonNull(parquetFieldName);
         requireNonNull(type);
         requireNonNull(accessor);
@@ -148,18 +185,20 @@ public final class WriteRecordModelType<T> implements FieldType {
         if (indexedFields.containsKey(parquetFieldName)) {
             throw new IllegalArgumentException(parquetFieldName + " already defined");
         }
-        if (!type.isNotNull()) {
-            throw new IllegalArgumentException(parquetFieldName + " is not defined as not null");
-        }
         addUsedFieldId(type);
-        WriteField<T> field = new PrimitiveJavaFieldInfo<>(parquetFieldName, type, accessor);
+        WriteField<T> field = new PrimitiveJavaFieldInfo<>(parquetFieldName, type, accessor, isNull);
         fields.add(field);
         indexedFields.put(parquetFieldName, field);
         return this;
     }
 
-    public record PrimitiveJavaFieldInfo<T>(String parquetFieldName, FieldType fieldType, Object accessor)
-            implements WriteField<T> {
+    public record PrimitiveJavaFieldInfo<T>(String parquetFieldName, FieldType fieldType, Object accessor,
+            Predicate<T> isNull) implements WriteField<T> {
+
+        public PrimitiveJavaFieldInfo(String parquetFieldName, FieldType fieldType, Object accessor) {
+            this(parquetFieldName, fieldType, accessor, null);
+        }
+
     }
 
     public record FunctionFieldInfo<T>(String parquetFieldName, FieldType fieldType, Function<T, Object> accessor)
@@ -186,7 +225,12 @@ public final class WriteRecordModelType<T> implements FieldType {
                 type instanceof IntegerType ||
                 type instanceof LongType ||
                 type instanceof FloatType ||
-                type instanceof DoubleType)) {
+                type instanceof DoubleType ||
+                type instanceof LocalDateType ||
+                type instanceof LocalTimeType ||
+                type instanceof LocalDateTimeType ||
+                type instanceof InstantType ||
+                type instanceof BigDecimalType)) {
             throw new IllegalArgumentException("Type must be a primitive type");
         }
     }
@@ -0,0 +1,308 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet;
+
+import static com.jerolba.carpet.filter.CarpetFilter.where;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.SeekableInputStream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.jerolba.carpet.annotation.Alias;
+import com.jerolba.carpet.io.FileSystemInputFile;
+import com.jerolba.carpet.io.FileSystemOutputFile;
+
+class CarpetDatasetReaderTest {
+
+    record Sale(long id, double amount) {
+    }
+
+    record RegionalSale(long id, int year, String region, double amount) {
+    }
+
+    enum Region {
+        EU, US
+    }
+
+    record TypedSale(long id, Integer year, Region region, double amount) {
+    }
+
+    record AliasSale(long id, @Alias("year") int saleYear, double amount) {
+    }
+
+    @TempDir
+    static File root;
+
+    private static final List<String> FILES = List.of(
+            "year=2023/region=EU/part-0.parquet",
+            "year=2023/region=US/part-0.parquet",
+            "year=2024/region=EU/part-0.parquet",
+            "year=2024/region=EU/part-1.parquet",
+            "year=2024/region=US/part-0.parquet",
+            "year=2024/region=__HIVE_DEFAULT_PARTITION__/part-0.parquet");
+
+    @BeforeAll
+    static void writeDataset() throws IOException {
+        long id = 0;
+        for (String path : FILES) {
+            File file = new File(root, path);
+            file.getParentFile().mkdirs();
+            try (var writer = new CarpetWriter<>(new FileSystemOutputFile(file), Sale.class)) {
+                for (int i = 0; i < 10; i++) {
+                    writer.write(new Sale(id, id * 10.0));
+                    id++;
+                }
+            }
+        }
+        new File(root, "_SUCCESS").createNewFile();
+        new File(root, "year=2024/.part-0.parquet.crc").createNewFile();
+    }
+
+    private static Map<String, InputFile> pruningCheckedFiles(String... allowedToOpen) {
+        Map<String, InputFile> files = new LinkedHashMap<>();
+        for (String path : FILES) {
+            InputFile file = new FileSystemInputFile(new File(root, path));
+            files.put(path, List.of(allowedToOpen).contains(path) ? file : new NotOpenable(file));
+        }
+        return files;
+    }
+
+    @Nested
+    class Partitions {
+
+        @Test
+        void listsParquetFiles() {
+            var reader = new CarpetDatasetReader<>(root, RegionalSale.class);
+            assertEquals(FILES.stream().sorted().toList(), reader.candidateFiles());
+        }
+
+        @Test
+        void partitionValuesAreRecordComponents() throws IOException {
+            List<RegionalSale> sales = new CarpetDatasetReader<>(root, RegionalSale.class).toList();
+            assertEquals(60, sales.size());
+            assertTrue(sales.contains(new RegionalSale(0, 2023, "EU", 0.0)));
+            assertTrue(sales.contains(new RegionalSale(25, 2024, "EU", 250.0)));
+            assertTrue(sales.contains(new RegionalSale(55, 2024, null, 550.0)));
+        }
+
+        @Test
+        void partitionValuesAreConvertedToComponentType() throws IOException {
+            List<TypedSale> sales = new CarpetDatasetReader<>(root, TypedSale.class).toList();
+            assertTrue(sales.contains(new TypedSale(15, 2023, Region.US, 150.0)));
+            assertTrue(sales.contains(new TypedSale(59, 2024, null, 590.0)));
+        }
+
+        @Test
+        void partitionMatchedByAlias() throws IOException {
+            List<AliasSale> sales = new CarpetDatasetReader<>(root, AliasSale.class).toList();
+            assertTrue(sales.contains(new AliasSale(5, 2023, 50.0)));
+        }
+
+        @Test
+        void recordWithoutPartitionComponents() throws IOException {
+            List<Sale> sales = new CarpetDatasetReader<>(root, Sale.class).toList();
+            assertEquals(60, sales.size());
+        }
+
+        @Test
+        void onlyPartitionColumnsCanBeMissing() {
+            record MissingColumnSale(long id, int year, String region, String customer) {
+            }
+            var reader = new CarpetDatasetReader<>(root, MissingColumnSale.class);
+            assertThrows(CarpetMissingColumnException.class, reader::toList);
+        }
+
+        @Test
+        void parsePartitions() {
+            assertEquals(Map.of("year", "2024", "city", "New York"),
+                    CarpetDatasetReader.parsePartitions("year=2024/city=New%20York/part-0.parquet"));
+            assertEquals(Map.of(), CarpetDatasetReader.parsePartitions("part-0.parquet"));
+        }
+
+        @Test
+        void unsupportedPartitionType() {
+            record DatePartition(long id, java.time.LocalDateTime year) {
+            }
+            assertThrows(IllegalArgumentException.class,
+                    () -> new CarpetDatasetReader<>(root, DatePartition.class));
+        }
+
+    }
+
+    @Nested
+    class Pruning {
+
+        @Test
+        void prunedFilesAreNotOpened() throws IOException {
+            var reader = new CarpetDatasetReader<>(pruningCheckedFiles("year=2023/region=US/part-0.parquet"),
+                    RegionalSale.class)
+                    .withFilter(where(RegionalSale::year).eq(2023).and(RegionalSale::region).eq("US"));
+            assertEquals(List.of("year=2023/region=US/part-0.parquet"), reader.candidateFiles());
+            List<RegionalSale> sales = reader.toList();
+            assertEquals(10, sales.size());
+            assertTrue(sales.stream().allMatch(s -> s.year() == 2023 && s.region().equals("US")));
+        }
+
+        @Test
+        void rangeAndInConditions() {
+            var reader = new CarpetDatasetReader<>(root, RegionalSale.class)
+                    .withFilter(where(RegionalSale::year).gt(2023).and(RegionalSale::region).in("EU", null));
+            assertEquals(List.of("year=2024/region=EU/part-0.parquet", "year=2024/region=EU/part-1.parquet",
+                    "year=2024/region=__HIVE_DEFAULT_PARTITION__/part-0.parquet"), reader.candidateFiles());
+        }
+
+        @Test
+        void notEqualMatchesNullPartitions() {
+            var reader = new CarpetDatasetReader<>(root, RegionalSale.class)
+                    .withFilter(where(RegionalSale::year).eq(2024).and(RegionalSale::region).notEq("EU"));
+            assertEquals(List.of("year=2024/region=US/part-0.parquet",
+                    "year=2024/region=__HIVE_DEFAULT_PARTITION__/part-0.parquet"), reader.candidateFiles());
+        }
+
+        @Test
+        void remainingConditionsArePushedToFiles() throws IOException {
+            var reader = new CarpetDatasetReader<>(pruningCheckedFiles("year=2024/region=US/part-0.parquet"),
+                    RegionalSale.class)
+                    .withFilter(where(RegionalSale::region).eq("US").and(RegionalSale::year).eq(2024)
+                            .and(RegionalSale::amount).gtEq(450.0));
+            List<RegionalSale> sales = reader.toList();
+            assertEquals(List.of(45L, 46L, 47L, 48L, 49L), sales.stream().map(RegionalSale::id).toList());
+        }
+
+        @Test
+        void orWithContentConditionKeepsFiles() {
+            var reader = new CarpetDatasetReader<>(root, RegionalSale.class)
+                    .withFilter(where(RegionalSale::year).eq(2023).or(RegionalSale::id).eq(55L));
+            assertEquals(FILES.size(), reader.candidateFiles().size());
+        }
+
+        @Test
+        void notCondition() {
+            var reader = new CarpetDatasetReader<>(root, RegionalSale.class)
+                    .withFilter(com.jerolba.carpet.filter.CarpetFilter.not(where(RegionalSale::year).eq(2024)));
+            assertEquals(List.of("year=2023/region=EU/part-0.parquet", "year=2023/region=US/part-0.parquet"),
+                    reader.candidateFiles());
+        }
+
+        @Test
+        void negatedRangeConditionsDontMatchNullPartitions() {
+            var notGreater = new CarpetDatasetReader<>(root, RegionalSale.class)
+                    .withFilter(com.jerolba.carpet.filter.CarpetFilter.not(where(RegionalSale::region).gt("EU")));
+            assertEquals(List.of("year=2023/region=EU/part-0.parquet", "year=2024/region=EU/part-0.parquet",
+                    "year=2024/region=EU/part-1.parquet"), notGreater.candidateFiles());
+
+            var notBetween = new CarpetDatasetReader<>(root, RegionalSale.class)
+                    .withFilter(com.jerolba.carpet.filter.CarpetFilter.not(
+                            where(RegionalSale::region).between("A", "F")));
+            assertEquals(List.of("year=2023/region=US/part-0.parquet", "year=2024/region=US/part-0.parquet"),
+                    notBetween.candidateFiles());
+        }
+
+        @Test
+        void negatedEqualityMatchesNullPartitions() {
+            var reader = new CarpetDatasetReader<>(root, RegionalSale.class)
+                    .withFilter(com.jerolba.carpet.filter.CarpetFilter.not(where(RegionalSale::region).in("EU"))
+                            .and(RegionalSale::year).eq(2024));
+            assertEquals(List.of("year=2024/region=US/part-0.parquet",
+                    "year=2024/region=__HIVE_DEFAULT_PARTITION__/part-0.parquet"), reader.candidateFiles());
+        }
+
+        @Test
+        void stream() {
+            try (var sales = new CarpetDatasetReader<>(root, RegionalSale.class)
+                    .withFilter(where(RegionalSale::year).eq(2023))
+                    .stream()) {
+                assertEquals(20, sales.count());
+            }
+        }
+
+    }
+
+    @Nested
+    class Lookup {
+
+        record AliasAmountSale(long id, @Alias("amount") double total) {
+        }
+
+        @Test
+        void lookupOnPartitionColumnPrunesFiles() throws IOException {
+            var reader = new CarpetDatasetReader<>(pruningCheckedFiles("year=2023/region=US/part-0.parquet"),
+                    RegionalSale.class)
+                    .withFilter(where(RegionalSale::year).eq(2023));
+            List<RegionalSale> sales = reader.lookup("region", "US");
+            assertEquals(10, sales.size());
+            assertTrue(sales.stream().allMatch(s -> s.year() == 2023 && s.region().equals("US")));
+        }
+
+        @Test
+        void lookupOnContentColumn() throws IOException {
+            var reader = new CarpetDatasetReader<>(root, RegionalSale.class);
+            List<RegionalSale> sales = reader.lookup("id", 3L, 25L, 59L);
+            assertEquals(List.of(new RegionalSale(3, 2023, "EU", 30.0), new RegionalSale(25, 2024, "EU", 250.0),
+                    new RegionalSale(59, 2024, null, 590.0)), sales);
+        }
+
+        @Test
+        void lookupIsCombinedWithFilter() throws IOException {
+            var reader = new CarpetDatasetReader<>(pruningCheckedFiles("year=2024/region=US/part-0.parquet"),
+                    RegionalSale.class)
+                    .withFilter(where(RegionalSale::region).eq("US").and(RegionalSale::year).eq(2024));
+            List<RegionalSale> sales = reader.lookup("id", List.of(15L, 42L, 47L));
+            assertEquals(List.of(42L, 47L), sales.stream().map(RegionalSale::id).toList());
+        }
+
+        @Test
+        void lookupByColumnOrFieldName() throws IOException {
+            var reader = new CarpetDatasetReader<>(root, AliasAmountSale.class);
+            assertEquals(List.of(new AliasAmountSale(45, 450.0)), reader.lookup("amount", 450.0));
+            assertEquals(List.of(new AliasAmountSale(45, 450.0)), reader.lookup("total", 450.0));
+        }
+
+    }
+
+    private static class NotOpenable implements InputFile {
+
+        private final InputFile file;
+
+        NotOpenable(InputFile file) {
+            this.file = file;
+        }
+
+        @Override
+        public long getLength() throws IOException {
+            throw new AssertionError("File should be pruned");
+        }
+
+        @Override
+        public SeekableInputStream newStream() throws IOException {
+            throw new AssertionError("File should be pruned: " + file);
+        }
+
+    }
+
+}
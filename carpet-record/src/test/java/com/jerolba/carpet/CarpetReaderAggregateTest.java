@@ -0,0 +1,236 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet;
+
+import static com.jerolba.carpet.filter.CarpetFilter.where;
+import static java.nio.file.Files.createTempFile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.jerolba.carpet.filter.CarpetFilter;
+import com.jerolba.carpet.impl.read.AggregatePushdown.Result;
+import com.jerolba.carpet.io.FileSystemOutputFile;
+
+class CarpetReaderAggregateTest {
+
+    record Address(String zip) {
+    }
+
+    record Event(long id, String category, LocalDate day, Integer score, Address address, List<String> tags) {
+    }
+
+    private static final int ROW_GROUP_SIZE = 100;
+    private static final int ROW_GROUPS = 10;
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    private static File file;
+    private static List<Event> events;
+
+    private static Event event(int i) {
+        Integer score = i % 7 == 0 ? null : (i * 37) % 1000;
+        return new Event(i, "C" + (i % 5), START.plusDays(i), score, new Address("Z" + (i % 13)), List.of());
+    }
+
+    @BeforeAll
+    static void writeEvents() throws IOException {
+        file = createTempFile("aggregate", ".parquet").toFile();
+        events = IntStream.range(0, ROW_GROUP_SIZE * ROW_GROUPS).mapToObj(CarpetReaderAggregateTest::event).toList();
+        try (var writer = new CarpetWriter.Builder<>(new FileSystemOutputFile(file), Event.class)
+                .withRowGroupRowCountLimit(ROW_GROUP_SIZE)
+                .build()) {
+            writer.write(events);
+        }
+    }
+
+    private static CarpetReader<Event> reader(CarpetFilter<? super Event> filter) {
+        return new CarpetReader<>(file, Event.class).withFilter(filter);
+    }
+
+    private static Result aggregate(CarpetFilter<? super Event> filter, String column) throws IOException {
+        return new CarpetReader.Builder<>(file, Event.class).withFilter(filter).buildAggregate(column);
+    }
+
+    private static List<Event> matching(Predicate<Event> predicate) {
+        return events.stream().filter(predicate).toList();
+    }
+
+    @Nested
+    class Count {
+
+        @Test
+        void withoutFilterFromMetadata() throws IOException {
+            var result = new CarpetReader.Builder<>(file, Event.class).buildAggregate(null);
+            assertEquals(1000, result.rowCount());
+            assertEquals(0, result.scannedRowGroups());
+            assertEquals(1000, new CarpetReader<>(file, Event.class).count());
+        }
+
+        @Test
+        void rowGroupAlignedFilterFromMetadata() throws IOException {
+            var result = aggregate(where(Event::id).lt(300L), null);
+            assertEquals(300, result.rowCount());
+            assertEquals(0, result.scannedRowGroups());
+        }
+
+        @Test
+        void partialRowGroupsAreScanned() throws IOException {
+            var result = aggregate(where(Event::id).between(250L, 549L), null);
+            assertEquals(300, result.rowCount());
+            assertEquals(2, result.scannedRowGroups());
+        }
+
+        @Test
+        void filterNotAlignedWithRowGroups() throws IOException {
+            var filter = where(Event::category).eq("C3").and(Event::id).gtEq(500L);
+            assertEquals(matching(e -> e.category().equals("C3") && e.id() >= 500).size(),
+                    reader(filter).count());
+            assertEquals(reader(filter).toList().size(), reader(filter).count());
+        }
+
+        @Test
+        void nullsMatchingNotEqual() throws IOException {
+            var filter = where(Event::score).notEq(37);
+            assertEquals(matching(e -> !Objects.equals(e.score(), 37)).size(), reader(filter).count());
+        }
+
+        @Test
+        void nullsDoNotMatchComparisonsInAllMatchingRowGroups() throws IOException {
+            var result = aggregate(where(Event::score).lt(2000), null);
+            assertEquals(matching(e -> e.score() != null).size(), result.rowCount());
+            assertEquals(ROW_GROUPS, result.scannedRowGroups());
+        }
+
+        @Test
+        void parquetFilter() throws IOException {
+            var result = new CarpetReader.Builder<>(file, Event.class)
+                    .withFilter(FilterCompat.get(FilterApi.gtEq(FilterApi.longColumn("id"), 900L)))
+                    .buildAggregate(null);
+            assertEquals(100, result.rowCount());
+            assertEquals(0, result.scannedRowGroups());
+        }
+
+    }
+
+    @Nested
+    class MinMax {
+
+        @Test
+        void withoutFilterFromMetadata() throws IOException {
+            var result = new CarpetReader.Builder<>(file, Event.class).buildAggregate("day");
+            assertEquals(START, result.min());
+            assertEquals(START.plusDays(999), result.max());
+            assertEquals(0, result.scannedRowGroups());
+        }
+
+        @Test
+        void partialRowGroupsAreScanned() throws IOException {
+            var filter = where(Event::id).between(150L, 420L);
+            var result = aggregate(filter, "score");
+            List<Integer> scores = matching(e -> e.id() >= 150 && e.id() <= 420).stream()
+                    .map(Event::score).filter(Objects::nonNull).toList();
+            assertEquals(scores.stream().min(Comparator.naturalOrder()).get(), result.min());
+            assertEquals(scores.stream().max(Comparator.naturalOrder()).get(), result.max());
+            assertEquals(2, result.scannedRowGroups());
+        }
+
+        @Test
+        void stringColumn() throws IOException {
+            var filter = where(Event::category).in("C1", "C2");
+            assertEquals("C1", reader(filter).min("category"));
+            assertEquals("C2", reader(filter).max("category"));
+        }
+
+        @Test
+        void nestedColumn() throws IOException {
+            assertEquals("Z0", new CarpetReader<>(file, Event.class).min("address.zip"));
+            assertEquals("Z9", new CarpetReader<>(file, Event.class).max("address.zip"));
+        }
+
+        @Test
+        void noMatchingRows() throws IOException {
+            var filter = where(Event::id).gt(5000L);
+            assertNull(reader(filter).min("score"));
+            assertEquals(0, reader(filter).count());
+        }
+
+    }
+
+    @Nested
+    class NullCount {
+
+        @Test
+        void withoutFilterFromMetadata() throws IOException {
+            var result = new CarpetReader.Builder<>(file, Event.class).buildAggregate("score");
+            assertEquals(matching(e -> e.score() == null).size(), result.nullCount());
+            assertEquals(0, result.scannedRowGroups());
+        }
+
+        @Test
+        void withFilter() throws IOException {
+            var filter = where(Event::id).lt(333L);
+            assertEquals(matching(e -> e.id() < 333 && e.score() == null).size(), reader(filter).nullCount("score"));
+        }
+
+    }
+
+    @Nested
+    class Validation {
+
+        @Test
+        void unknownColumn() {
+            var reader = new CarpetReader<>(file, Event.class);
+            assertThrows(IllegalArgumentException.class, () -> reader.min("unknown"));
+        }
+
+        @Test
+        void repeatedColumn() {
+            var reader = new CarpetReader<>(file, Event.class);
+            assertThrows(IllegalArgumentException.class, () -> reader.min("tags.list.element"));
+        }
+
+        @Test
+        void groupColumn() {
+            var reader = new CarpetReader<>(file, Event.class);
+            assertThrows(IllegalArgumentException.class, () -> reader.max("address"));
+        }
+
+        @Test
+        void lateMaterialization() {
+            record Id(long id) {
+            }
+            var reader = new CarpetReader<>(file, Event.class).withLateMaterialization(Id.class, id -> id.id() > 5);
+            assertThrows(IllegalStateException.class, () -> reader.count());
+        }
+
+    }
+
+}
@@ -0,0 +1,253 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet;
+
+import static com.jerolba.carpet.filter.CarpetFilter.where;
+import static java.nio.file.Files.createTempFile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.apache.parquet.io.DelegatingSeekableInputStream;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.SeekableInputStream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.jerolba.carpet.io.FileSystemInputFile;
+import com.jerolba.carpet.io.FileSystemOutputFile;
+
+class CarpetReaderOffsetLimitTest {
+
+    record Row(long id, String category, String text) {
+    }
+
+    private static final int ROW_GROUP_SIZE = 100;
+    private static final int ROW_GROUPS = 10;
+
+    private static File file;
+    private static List<Row> rows;
+
+    @BeforeAll
+    static void writeRows() throws IOException {
+        file = createTempFile("offset", ".parquet").toFile();
+        rows = IntStream.range(0, ROW_GROUP_SIZE * ROW_GROUPS)
+                .mapToObj(i -> new Row(i, "C" + (i % 3), text(i)))
+                .toList();
+        try (var writer = new CarpetWriter.Builder<>(new FileSystemOutputFile(file), Row.class)
+                .withRowGroupRowCountLimit(ROW_GROUP_SIZE)
+                .withPageRowCountLimit(10)
+                .build()) {
+            writer.write(rows);
+        }
+    }
+
+    private static String text(int i) {
+        Random random = new Random(i);
+        StringBuilder sb = new StringBuilder();
+        for (int j = 0; j < 100; j++) {
+            sb.append((char) ('a' + random.nextInt(26)));
+        }
+        return sb.toString();
+    }
+
+    private static List<Row> expected(long offset, long limit) {
+        return rows.stream().skip(offset).limit(limit).toList();
+    }
+
+    @Nested
+    class WithoutFilter {
+
+        @ParameterizedTest
+        @CsvSource({ "0, 10", "5, 10", "95, 10", "100, 100", "250, 1", "250, 301", "990, 50", "999, 1",
+                "1000, 10", "2000, 10" })
+        void offsetAndLimit(long offset, long limit) throws IOException {
+            List<Row> read = new CarpetReader<>(file, Row.class).withOffset(offset).withLimit(limit).toList();
+            assertEquals(expected(offset, limit), read);
+        }
+
+        @Test
+        void onlyOffset() throws IOException {
+            assertEquals(expected(850, 1000), new CarpetReader<>(file, Row.class).withOffset(850).toList());
+        }
+
+        @Test
+        void onlyLimit() throws IOException {
+            assertEquals(expected(0, 120), new CarpetReader<>(file, Row.class).withLimit(120).toList());
+        }
+
+        @Test
+        void zeroLimit() throws IOException {
+            assertEquals(List.of(), new CarpetReader<>(file, Row.class).withLimit(0).toList());
+        }
+
+        @Test
+        void stream() {
+            try (var stream = new CarpetReader<>(file, Row.class).withOffset(420).withLimit(5).stream()) {
+                assertEquals(expected(420, 5), stream.toList());
+            }
+        }
+
+        @Test
+        void skippedRowGroupsAreNotRead() throws IOException {
+            var full = new CountingInputFile(new FileSystemInputFile(file));
+            new CarpetReader<>(full, Row.class).toList();
+            var page = new CountingInputFile(new FileSystemInputFile(file));
+            List<Row> read = new CarpetReader<>(page, Row.class).withOffset(905).withLimit(10).toList();
+            assertEquals(expected(905, 10), read);
+            assertTrue(page.bytesRead * 5 < full.bytesRead, page.bytesRead + " of " + full.bytesRead);
+        }
+
+    }
+
+    @Nested
+    class WithFilter {
+
+        @Test
+        void offsetOverMatchingRecords() throws IOException {
+            List<Row> read = new CarpetReader<>(file, Row.class)
+                    .withFilter(where(Row::category).eq("C1"))
+                    .withOffset(100)
+                    .withLimit(20)
+                    .toList();
+            assertEquals(rows.stream().filter(r -> r.category().equals("C1")).skip(100).limit(20).toList(), read);
+        }
+
+        @Test
+        void lookup() throws IOException {
+            List<Row> read = new CarpetReader<>(file, Row.class).withOffset(1).withLimit(2)
+                    .lookup("id", 10L, 20L, 30L, 40L);
+            assertEquals(List.of(rows.get(20), rows.get(30)), read);
+        }
+
+        @Test
+        void lateMaterialization() throws IOException {
+            record Id(long id) {
+            }
+            List<Row> read = new CarpetReader<>(file, Row.class)
+                    .withLateMaterialization(Id.class, id -> id.id() % 2 == 0)
+                    .withOffset(300)
+                    .withLimit(3)
+                    .toList();
+            assertEquals(List.of(rows.get(600), rows.get(602), rows.get(604)), read);
+        }
+
+        @Test
+        void zeroLimitClosesTheFile() {
+            var counting = new CountingInputFile(new FileSystemInputFile(file));
+            Iterator<Row> iterator = new CarpetReader<>(counting, Row.class)
+                    .withFilter(where(Row::category).eq("C1"))
+                    .withLimit(0)
+                    .iterator();
+            assertFalse(iterator.hasNext());
+            assertEquals(0, counting.openStreams);
+        }
+
+    }
+
+    @Nested
+    class Validation {
+
+        @Test
+        void negativeValues() {
+            var reader = new CarpetReader<>(file, Row.class);
+            assertThrows(IllegalArgumentException.class, () -> reader.withOffset(-1));
+            assertThrows(IllegalArgumentException.class, () -> reader.withLimit(-1));
+        }
+
+        @Test
+        void parquetReaderNotSupported() {
+            var builder = new CarpetReader.Builder<>(file, Row.class).withLimit(10);
+            assertThrows(IllegalStateException.class, builder::buildParquetReader);
+        }
+
+    }
+
+    private static class CountingInputFile implements InputFile {
+
+        private final InputFile file;
+        private long bytesRead = 0;
+        private int openStreams = 0;
+
+        CountingInputFile(InputFile file) {
+            this.file = file;
+        }
+
+        @Override
+        public long getLength() throws IOException {
+            return file.getLength();
+        }
+
+        @Override
+        public SeekableInputStream newStream() throws IOException {
+            SeekableInputStream stream = file.newStream();
+            openStreams++;
+            InputStream counting = new FilterInputStream(stream) {
+
+                @Override
+                public int read() throws IOException {
+                    int read = super.read();
+                    if (read >= 0) {
+                        bytesRead++;
+                    }
+                    return read;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int read = super.read(b, off, len);
+                    if (read > 0) {
+                        bytesRead += read;
+                    }
+                    return read;
+                }
+            };
+            return new DelegatingSeekableInputStream(counting) {
+
+                @Override
+                public long getPos() throws IOException {
+                    return stream.getPos();
+                }
+
+                @Override
+                public void seek(long newPos) throws IOException {
+                    stream.seek(newPos);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    openStreams--;
+                }
+            };
+        }
+
+    }
+
+}
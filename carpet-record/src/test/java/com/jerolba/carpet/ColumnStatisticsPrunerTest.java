@@ -0,0 +1,275 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet;
+
+import static com.jerolba.carpet.filter.CarpetFilter.where;
+import static java.nio.file.Files.createTempFile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.apache.parquet.io.api.Binary;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.jerolba.carpet.ReadPlan.RowGroup;
+import com.jerolba.carpet.ReadPlan.SkipReason;
+import com.jerolba.carpet.io.FileSystemOutputFile;
+
+class ColumnStatisticsPrunerTest {
+
+    enum Status {
+        ACTIVE, INACTIVE, DELETED
+    }
+
+    record Address(String zip, String street) {
+    }
+
+    record Order(long id, String country, Status status, Integer amount, Address address, List<String> tags) {
+    }
+
+    private static final int ROW_GROUP_SIZE = 1000;
+
+    // Each row group has a disjoint set of countries, but all row groups share
+    // the same min/max values: "AA" and "ZZ"
+    private static Order order(int i) {
+        int rowGroup = i / ROW_GROUP_SIZE;
+        String country = switch (i % 4) {
+        case 0 -> "AA";
+        case 1 -> "ZZ";
+        default -> "C" + rowGroup;
+        };
+        Status status = i % 10 == 0 ? Status.DELETED : Status.ACTIVE;
+        Integer amount = i % 5 == 0 ? null : i % 100;
+        return new Order(i, country, status, amount, new Address("zip-" + i % 7, "street-" + i), List.of("tag"));
+    }
+
+    private static File writeOrders(int count, String... statisticsColumns) throws IOException {
+        File file = createTempFile("statistics", ".parquet").toFile();
+        try (var writer = new CarpetWriter.Builder<>(new FileSystemOutputFile(file), Order.class)
+                .withRowGroupRowCountLimit(ROW_GROUP_SIZE)
+                .withColumnStatistics(statisticsColumns)
+                .build()) {
+            writer.write(IntStream.range(0, count).mapToObj(ColumnStatisticsPrunerTest::order).toList());
+        }
+        return file;
+    }
+
+    @Nested
+    class Write {
+
+        @Test
+        void statisticsAreCollectedByRowGroup() throws IOException {
+            File file = writeOrders(2500, "country", "amount", "address.zip");
+            var pruner = ColumnStatisticsPruner.read(file);
+
+            assertEquals(List.of("address.zip", "amount", "country"), pruner.columns().stream().sorted().toList());
+            List<RowGroupColumnStatistics> countries = pruner.statistics("country");
+            assertEquals(3, countries.size());
+            assertEquals(List.of(1000L, 1000L, 500L), countries.stream().map(RowGroupColumnStatistics::rowCount)
+                    .toList());
+
+            RowGroupColumnStatistics first = countries.get(0);
+            assertTrue(first.isComplete());
+            assertEquals(3, first.distinctCount());
+            assertEquals(0, first.nullCount());
+            assertEquals(Map.of(Binary.fromString("C0"), 500L, Binary.fromString("AA"), 250L,
+                    Binary.fromString("ZZ"), 250L), first.frequentValues());
+            assertEquals(Binary.fromString("C0"), first.frequentValues().keySet().iterator().next());
+            assertEquals(Binary.fromString("AA"), first.histogram().get(0));
+            assertEquals(Binary.fromString("ZZ"), first.histogram().get(first.histogram().size() - 1));
+
+            RowGroupColumnStatistics amounts = pruner.statistics("amount").get(0);
+            assertEquals(200, amounts.nullCount());
+            assertEquals(80, amounts.distinctCount());
+            assertEquals(1, amounts.histogram().get(0));
+            assertEquals(99, amounts.histogram().get(amounts.histogram().size() - 1));
+
+            assertEquals(7, pruner.statistics("address.zip").get(2).distinctCount());
+        }
+
+        @Test
+        void highCardinalityColumnsKeepMostFrequentValues() throws IOException {
+            File file = writeOrders(ROW_GROUP_SIZE, "id");
+            RowGroupColumnStatistics ids = ColumnStatisticsPruner.read(file).statistics("id").get(0);
+
+            assertFalse(ids.isComplete());
+            assertTrue(ids.frequentValues().size() <= 16);
+            long distinct = ids.distinctCount();
+            assertTrue(distinct > 900 && distinct < 1100, "Estimated distinct values " + distinct);
+            assertEquals(17, ids.histogram().size());
+            assertEquals(0L, ids.histogram().get(0));
+            assertEquals(999L, ids.histogram().get(16));
+            assertTrue(ids.mightContain(500L));
+            assertFalse(ids.mightContain(5000L));
+            long inRange = ids.estimatedCountBetween(0L, 499L);
+            assertTrue(inRange >= 400 && inRange <= 600, "Estimated rows " + inRange);
+        }
+
+        @Test
+        void recordsAreReadAsUsual() throws IOException {
+            File file = writeOrders(10, "country", "status");
+            List<Order> expected = IntStream.range(0, 10).mapToObj(ColumnStatisticsPrunerTest::order).toList();
+            assertEquals(expected, new CarpetReader<>(file, Order.class).toList());
+        }
+
+        @Test
+        void unknownColumnIsRejected() {
+            assertThrows(IllegalArgumentException.class, () -> writeOrders(10, "unknown"));
+            assertThrows(IllegalArgumentException.class, () -> writeOrders(10, "address"));
+        }
+
+        @Test
+        void repeatedColumnIsRejected() {
+            assertThrows(IllegalArgumentException.class, () -> writeOrders(10, "tags.list.element"));
+        }
+
+    }
+
+    @Nested
+    class Prune {
+
+        @Test
+        void valueBetweenMinAndMaxNotPresentIsSkipped() throws IOException {
+            var pruner = ColumnStatisticsPruner.read(writeOrders(3000, "country"));
+
+            assertEquals(List.of(1), pruner.rowGroupsMatching("country", "C1"));
+            assertEquals(List.of(0, 1, 2), pruner.rowGroupsMatching("country", "AA"));
+            assertEquals(List.of(), pruner.rowGroupsMatching("country", "BB"));
+            assertTrue(pruner.canSkip(0, "country", "C2"));
+            assertFalse(pruner.canSkip(2, "country", "C2"));
+            assertTrue(pruner.canSkip(0, "country", null));
+        }
+
+        @Test
+        void rangeOfValues() throws IOException {
+            var pruner = ColumnStatisticsPruner.read(writeOrders(3000, "country", "amount"));
+
+            assertTrue(pruner.canSkipBetween(0, "country", "B", "BZ"));
+            assertTrue(pruner.canSkipBetween(0, "country", "C1", "C9"));
+            assertFalse(pruner.canSkipBetween(0, "country", "C0", "C1"));
+            assertFalse(pruner.canSkipBetween(0, "amount", 10, 20));
+            assertTrue(pruner.canSkipBetween(0, "amount", 100, null));
+            assertTrue(pruner.canSkipBetween(0, "amount", null, 0));
+            assertFalse(pruner.canSkipBetween(0, "amount", null, 1));
+        }
+
+        @Test
+        void enumAndNullValues() throws IOException {
+            var pruner = ColumnStatisticsPruner.read(writeOrders(1000, "status", "amount"));
+
+            assertFalse(pruner.canSkip(0, "status", Status.DELETED));
+            assertTrue(pruner.canSkip(0, "status", Status.INACTIVE));
+            assertFalse(pruner.canSkip(0, "amount", null));
+            RowGroupColumnStatistics status = pruner.statistics("status").get(0);
+            assertEquals(100, status.estimatedCount(Binary.fromString("DELETED")));
+            assertEquals(200, pruner.statistics("amount").get(0).estimatedCount(null));
+        }
+
+        @Test
+        void estimatedDistinctCountOfFile() throws IOException {
+            var pruner = ColumnStatisticsPruner.read(writeOrders(3000, "country", "id"));
+
+            assertEquals(5, pruner.estimatedDistinctCount("country"));
+            long ids = pruner.estimatedDistinctCount("id");
+            assertTrue(ids > 2700 && ids < 3300, "Estimated distinct values " + ids);
+        }
+
+        @Test
+        void columnWithoutStatisticsFails() throws IOException {
+            var pruner = ColumnStatisticsPruner.read(writeOrders(10, "country"));
+
+            assertThrows(IllegalArgumentException.class, () -> pruner.canSkip(0, "status", "ACTIVE"));
+            assertThrows(IllegalArgumentException.class, () -> pruner.canSkip(0, "country", 1));
+        }
+
+    }
+
+    @Nested
+    class Read {
+
+        // Without dictionary, parquet can only prune with min/max values: "AA" and "ZZ"
+        private File writeOrdersWithoutDictionary(int count) throws IOException {
+            File file = createTempFile("statistics", ".parquet").toFile();
+            try (var writer = new CarpetWriter.Builder<>(new FileSystemOutputFile(file), Order.class)
+                    .withRowGroupRowCountLimit(ROW_GROUP_SIZE)
+                    .withDictionaryEncoding("country", false)
+                    .withColumnStatistics("country", "amount")
+                    .build()) {
+                writer.write(IntStream.range(0, count).mapToObj(ColumnStatisticsPrunerTest::order).toList());
+            }
+            return file;
+        }
+
+        private List<Integer> readIndexes(ReadPlan plan) {
+            return plan.candidateRowGroups().stream().map(RowGroup::index).toList();
+        }
+
+        @Test
+        void filterSkipsRowGroupsWithColumnStatistics() throws IOException {
+            File file = writeOrdersWithoutDictionary(3000);
+            var reader = new CarpetReader<>(file, Order.class).withFilter(where(Order::country).eq("C1"));
+
+            ReadPlan plan = reader.plan();
+            assertEquals(List.of(1), readIndexes(plan));
+            assertEquals(Map.of(SkipReason.COLUMN_STATISTICS, 2), plan.skippedRowGroups());
+
+            List<Order> expected = IntStream.range(0, 3000).mapToObj(ColumnStatisticsPrunerTest::order)
+                    .filter(order -> order.country().equals("C1"))
+                    .toList();
+            assertEquals(expected, reader.toList());
+        }
+
+        @Test
+        void combinedConditions() throws IOException {
+            File file = writeOrdersWithoutDictionary(3000);
+
+            ReadPlan in = new CarpetReader<>(file, Order.class)
+                    .withFilter(where(Order::country).in("C0", "C2"))
+                    .plan();
+            assertEquals(List.of(0, 2), readIndexes(in));
+
+            ReadPlan and = new CarpetReader<>(file, Order.class)
+                    .withFilter(where(Order::country).eq("C2").and(Order::amount).gtEq(1))
+                    .plan();
+            assertEquals(List.of(2), readIndexes(and));
+
+            ReadPlan or = new CarpetReader<>(file, Order.class)
+                    .withFilter(where(Order::country).eq("C2").or(Order::country).eq("C0"))
+                    .plan();
+            assertEquals(List.of(0, 2), readIndexes(or));
+        }
+
+        @Test
+        void negatedConditionsDontSkipRowGroups() throws IOException {
+            File file = writeOrdersWithoutDictionary(3000);
+
+            ReadPlan plan = new CarpetReader<>(file, Order.class)
+                    .withFilter(where(Order::country).notIn("C0", "C1"))
+                    .plan();
+            assertEquals(List.of(0, 1, 2), readIndexes(plan));
+        }
+
+    }
+
+}
@@ -0,0 +1,221 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet;
+
+import static com.jerolba.carpet.filter.CarpetFilter.where;
+import static java.nio.file.Files.createTempFile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.bytes.DirectByteBufferAllocator;
+import org.apache.parquet.conf.PlainParquetConfiguration;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.jerolba.carpet.ReadPlan.RowGroup;
+import com.jerolba.carpet.ReadPlan.SkipReason;
+import com.jerolba.carpet.io.FileSystemOutputFile;
+
+class ReadPlanTest {
+
+    record Event(long id, String category, String code) {
+    }
+
+    private static final int ROW_GROUP_SIZE = 100;
+    private static final int ROW_GROUPS = 10;
+
+    private static File file;
+
+    // Each row group has its own category, but all row groups share the same
+    // min/max categories: "A" and "Z". Codes are unordered.
+    private static Event event(int i) {
+        int rowGroup = i / ROW_GROUP_SIZE;
+        String category = switch (i % 3) {
+        case 0 -> "A";
+        case 1 -> "Z";
+        default -> "C" + rowGroup;
+        };
+        return new Event(i, category, code(i));
+    }
+
+    private static String code(int i) {
+        return Integer.toHexString(i * 0x9E3779B1);
+    }
+
+    @BeforeAll
+    static void writeEvents() throws IOException {
+        file = createTempFile("plan", ".parquet").toFile();
+        try (var writer = new CarpetWriter.Builder<>(new FileSystemOutputFile(file), Event.class)
+                .withRowGroupRowCountLimit(ROW_GROUP_SIZE)
+                .withDictionaryEncoding("code", false)
+                .withBloomFilterEnabled("code", true)
+                .build()) {
+            writer.write(IntStream.range(0, ROW_GROUP_SIZE * ROW_GROUPS).mapToObj(ReadPlanTest::event).toList());
+        }
+    }
+
+    private static List<Integer> readIndexes(ReadPlan plan) {
+        return plan.candidateRowGroups().stream().map(RowGroup::index).toList();
+    }
+
+    @Nested
+    class Levels {
+
+        @Test
+        void withoutFilterAllRowGroupsAreRead() throws IOException {
+            ReadPlan plan = new CarpetReader<>(file, Event.class).plan();
+            assertEquals(ROW_GROUPS, plan.candidateRowGroupCount());
+            assertEquals(ROW_GROUP_SIZE * ROW_GROUPS, plan.candidateRowCount());
+            assertTrue(plan.skippedRowGroups().isEmpty());
+        }
+
+        @Test
+        void skippedByStatistics() throws IOException {
+            ReadPlan plan = new CarpetReader<>(file, Event.class)
+                    .withFilter(where(Event::id).between(250L, 420L))
+                    .plan();
+            assertEquals(List.of(2, 3, 4), readIndexes(plan));
+            assertEquals(Map.of(SkipReason.STATISTICS, 7), plan.skippedRowGroups());
+            assertEquals(300, plan.candidateRowCount());
+            assertEquals(ROW_GROUP_SIZE * ROW_GROUPS, plan.totalRowCount());
+        }
+
+        @Test
+        void skippedByDictionary() throws IOException {
+            ReadPlan plan = new CarpetReader<>(file, Event.class)
+                    .withFilter(where(Event::category).eq("C3"))
+                    .plan();
+            assertEquals(List.of(3), readIndexes(plan));
+            assertEquals(Map.of(SkipReason.DICTIONARY, 9), plan.skippedRowGroups());
+        }
+
+        @Test
+        void skippedByBloomFilter() throws IOException {
+            ReadPlan plan = new CarpetReader<>(file, Event.class)
+                    .withFilter(where(Event::code).eq(code(555)))
+                    .plan();
+            assertTrue(readIndexes(plan).contains(5));
+            assertTrue(plan.skippedRowGroups().getOrDefault(SkipReason.BLOOM_FILTER, 0) > 0);
+        }
+
+        @Test
+        void disabledLevelsDoNotSkip() throws IOException {
+            ReadPlan plan = new CarpetReader.Builder<>(file, Event.class)
+                    .withFilter(where(Event::category).eq("C3"))
+                    .useDictionaryFilter(false)
+                    .build()
+                    .plan();
+            assertEquals(ROW_GROUPS, plan.candidateRowGroupCount());
+        }
+
+        @Test
+        void parquetFilter() throws IOException {
+            ReadPlan plan = new CarpetReader.Builder<>(file, Event.class)
+                    .withFilter(FilterCompat.get(FilterApi.lt(FilterApi.longColumn("id"), 150L)))
+                    .build()
+                    .plan();
+            assertEquals(List.of(0, 1), readIndexes(plan));
+        }
+
+    }
+
+    @Nested
+    class Consistency {
+
+        @Test
+        void readRecordsBelongToCandidateRowGroups() throws IOException {
+            var reader = new CarpetReader<>(file, Event.class)
+                    .withFilter(where(Event::category).eq("C7").or(Event::category).eq("C2"));
+            ReadPlan plan = reader.plan();
+            List<Event> events = reader.toList();
+            assertEquals(List.of(2, 7), readIndexes(plan));
+            assertTrue(events.size() <= plan.candidateRowCount());
+            assertTrue(events.stream().allMatch(e -> readIndexes(plan).contains((int) e.id() / ROW_GROUP_SIZE)));
+        }
+
+        @Test
+        void explain() throws IOException {
+            ReadPlan plan = new CarpetReader<>(file, Event.class)
+                    .withFilter(where(Event::category).eq("C3").and(Event::id).gtEq(200L))
+                    .plan();
+            String explain = plan.explain();
+            assertTrue(explain.contains("Row groups: 1 of 10 to read (100 of 1000 rows)"), explain);
+            assertTrue(explain.contains("Skipped by STATISTICS: 2"), explain);
+            assertTrue(explain.contains("Skipped by DICTIONARY: 7"), explain);
+            assertTrue(explain.contains("#3 rows=100"), explain);
+            assertNull(plan.rowGroups().get(3).skipReason());
+        }
+
+    }
+
+    @Nested
+    class ReadOptions {
+
+        @Test
+        void configuredOptionsAreForwarded() {
+            var allocator = new DirectByteBufferAllocator();
+            ParquetReadOptions options = CarpetParquetReader.builder(Event.class)
+                    .useColumnIndexFilter(false)
+                    .useSignedStringMinMax(true)
+                    .usePageChecksumVerification(true)
+                    .withAllocator(allocator)
+                    .withFileRange(10, 20)
+                    .set("foo", "bar")
+                    .getReadOptions();
+
+            assertFalse(options.useColumnIndexFilter());
+            assertTrue(options.useSignedStringMinMax());
+            assertTrue(options.usePageChecksumVerification());
+            assertSame(allocator, options.getAllocator());
+            assertEquals("bar", options.getProperty("foo"));
+        }
+
+        @Test
+        void newConfigurationResetsOptions() {
+            ParquetReadOptions options = CarpetParquetReader.builder(Event.class)
+                    .useColumnIndexFilter(false)
+                    .withConf(new PlainParquetConfiguration())
+                    .getReadOptions();
+
+            assertTrue(options.useColumnIndexFilter());
+        }
+
+        @Test
+        void fileRangeRestrictsThePlan() throws IOException {
+            ReadPlan plan = new CarpetReader.Builder<>(file, Event.class)
+                    .withFilter(where(Event::id).gtEq(0L))
+                    .withFileRange(0, 1)
+                    .build()
+                    .plan();
+            assertEquals(0, plan.totalRowCount());
+        }
+
+    }
+
+}
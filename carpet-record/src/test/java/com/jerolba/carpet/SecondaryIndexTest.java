@@ -0,0 +1,341 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet;
+
+import static com.jerolba.carpet.filter.CarpetFilter.where;
+import static java.nio.file.Files.createTempFile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.apache.parquet.io.DelegatingSeekableInputStream;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.SeekableInputStream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.jerolba.carpet.SecondaryIndex.RowLocation;
+import com.jerolba.carpet.impl.SecondaryIndexFormat;
+import com.jerolba.carpet.io.FileSystemInputFile;
+import com.jerolba.carpet.io.FileSystemOutputFile;
+
+class SecondaryIndexTest {
+
+    record Address(String street, Integer zip) {
+    }
+
+    record Entity(long id, String key, String category, Address address, List<String> tags) {
+    }
+
+    record EntityCategory(String category) {
+    }
+
+    private static final int ROW_GROUP_SIZE = 500;
+    private static final int ROW_GROUPS = 8;
+
+    private static File file;
+    private static File idIndex;
+    private static File keyIndex;
+    private static File categoryIndex;
+    private static File zipIndex;
+    private static List<Entity> entities;
+
+    private static String key(int i) {
+        return Integer.toHexString(i * 0x9E3779B1);
+    }
+
+    private static Entity entity(int i) {
+        Address address = i % 4 == 0 ? null : new Address("street " + i, i % 5 == 0 ? null : 1000 + i % 300);
+        return new Entity(i, key(i), "C" + i % 37, address, List.of("t" + i % 3));
+    }
+
+    @BeforeAll
+    static void writeEntities() throws IOException {
+        entities = IntStream.range(0, ROW_GROUP_SIZE * ROW_GROUPS).mapToObj(SecondaryIndexTest::entity).toList();
+        file = createTempFile("indexed", ".parquet").toFile();
+        idIndex = createTempFile("id", ".idx").toFile();
+        keyIndex = createTempFile("key", ".idx").toFile();
+        categoryIndex = createTempFile("category", ".idx").toFile();
+        zipIndex = createTempFile("zip", ".idx").toFile();
+        try (var writer = new CarpetWriter.Builder<>(new FileSystemOutputFile(file), Entity.class)
+                .withRowGroupRowCountLimit(ROW_GROUP_SIZE)
+                .withPageRowCountLimit(50)
+                .withSecondaryIndex("id", new FileSystemOutputFile(idIndex))
+                .withSecondaryIndex("key", new FileSystemOutputFile(keyIndex))
+                .withSecondaryIndex("category", new FileSystemOutputFile(categoryIndex))
+                .withSecondaryIndex("address.zip", new FileSystemOutputFile(zipIndex))
+                .build()) {
+            writer.write(entities);
+        }
+    }
+
+    @Nested
+    class Index {
+
+        @Test
+        void metadata() throws IOException {
+            SecondaryIndex index = SecondaryIndex.read(keyIndex);
+            assertEquals("key", index.columnPath());
+            assertEquals(entities.size(), index.size());
+            assertEquals(entities.size(), index.rowCount());
+            assertEquals(ROW_GROUPS, index.rowGroupCount());
+        }
+
+        @Test
+        void locateUniqueValue() throws IOException {
+            SecondaryIndex index = SecondaryIndex.read(keyIndex);
+            assertEquals(List.of(new RowLocation(2, 234)), index.locate(key(1234)));
+            assertEquals(List.of(new RowLocation(7, 499)), SecondaryIndex.read(idIndex).locate(3999L));
+        }
+
+        @Test
+        void locateRepeatedValueInFileOrder() throws IOException {
+            SecondaryIndex index = SecondaryIndex.read(categoryIndex);
+            List<RowLocation> expected = IntStream.range(0, entities.size())
+                    .filter(i -> i % 37 == 5)
+                    .mapToObj(i -> new RowLocation(i / ROW_GROUP_SIZE, i % ROW_GROUP_SIZE))
+                    .toList();
+            assertEquals(expected, index.locate("C5"));
+        }
+
+        @Test
+        void locateMissingValue() throws IOException {
+            SecondaryIndex index = SecondaryIndex.read(keyIndex);
+            assertEquals(List.of(), index.locate("not a key"));
+            assertEquals(List.of(), index.locate(null));
+        }
+
+        @Test
+        void nullValuesAreNotIndexed() throws IOException {
+            SecondaryIndex index = SecondaryIndex.read(zipIndex);
+            long notNull = entities.stream().filter(e -> e.address() != null && e.address().zip() != null).count();
+            assertEquals(notNull, index.size());
+        }
+
+        @Test
+        void valuesAreConvertedToColumnType() throws IOException {
+            SecondaryIndex index = SecondaryIndex.read(idIndex);
+            assertEquals(List.of(new RowLocation(0, 12)), index.locate(12));
+        }
+
+        @Test
+        void repeatedColumnsCanNotBeIndexed() throws IOException {
+            File other = createTempFile("other", ".parquet").toFile();
+            File tagsIndex = createTempFile("tags", ".idx").toFile();
+            var builder = new CarpetWriter.Builder<>(new FileSystemOutputFile(other), Entity.class)
+                    .withSecondaryIndex("tags.list.element", new FileSystemOutputFile(tagsIndex));
+            assertThrows(IllegalArgumentException.class, builder::build);
+        }
+
+    }
+
+    @Nested
+    class Blocks {
+
+        record Item(long id, String category) {
+        }
+
+        private static final int ITEMS_ROW_GROUP_SIZE = 5_000;
+        private static final int ITEMS = 40_000;
+
+        private static File itemIdIndex;
+        private static File itemCategoryIndex;
+
+        // Ids are unordered across row groups, to merge the sorted row groups
+        private static long itemId(int i) {
+            return i * 7919L % ITEMS;
+        }
+
+        @BeforeAll
+        static void writeItems() throws IOException {
+            itemIdIndex = createTempFile("itemId", ".idx").toFile();
+            itemCategoryIndex = createTempFile("itemCategory", ".idx").toFile();
+            File itemsFile = createTempFile("items", ".parquet").toFile();
+            try (var writer = new CarpetWriter.Builder<>(new FileSystemOutputFile(itemsFile), Item.class)
+                    .withRowGroupRowCountLimit(ITEMS_ROW_GROUP_SIZE)
+                    .withSecondaryIndex("id", new FileSystemOutputFile(itemIdIndex))
+                    .withSecondaryIndex("category", new FileSystemOutputFile(itemCategoryIndex))
+                    .build()) {
+                writer.write(IntStream.range(0, ITEMS).mapToObj(i -> new Item(itemId(i), "C" + i % 3)).toList());
+            }
+        }
+
+        @Test
+        void indexIsSplitInBlocks() throws IOException {
+            assertTrue(itemIdIndex.length() > 4 * SecondaryIndexFormat.BLOCK_SIZE);
+            SecondaryIndex index = SecondaryIndex.read(itemIdIndex);
+            assertEquals(ITEMS, index.size());
+            assertEquals(ITEMS / ITEMS_ROW_GROUP_SIZE, index.rowGroupCount());
+        }
+
+        @Test
+        void locateValuesOfAllBlocks() throws IOException {
+            SecondaryIndex index = SecondaryIndex.read(itemIdIndex);
+            for (int i = 0; i < ITEMS; i += 397) {
+                assertEquals(List.of(new RowLocation(i / ITEMS_ROW_GROUP_SIZE, i % ITEMS_ROW_GROUP_SIZE)),
+                        index.locate(itemId(i)));
+            }
+            assertEquals(List.of(), index.locate(-1L));
+            assertEquals(List.of(), index.locate((long) ITEMS));
+        }
+
+        @Test
+        void locateValueRepeatedInManyBlocks() throws IOException {
+            SecondaryIndex index = SecondaryIndex.read(itemCategoryIndex);
+            List<RowLocation> expected = IntStream.range(0, ITEMS)
+                    .filter(i -> i % 3 == 1)
+                    .mapToObj(i -> new RowLocation(i / ITEMS_ROW_GROUP_SIZE, i % ITEMS_ROW_GROUP_SIZE))
+                    .toList();
+            assertEquals(expected, index.locate("C1"));
+        }
+
+        @Test
+        void locateReadsOnlyBlocksOfTheValue() throws IOException {
+            var counter = new SeeksCounter(new FileSystemInputFile(itemIdIndex));
+            SecondaryIndex index = SecondaryIndex.read(counter);
+            counter.seeks = 0;
+            for (int i = 0; i < ITEMS; i += 1013) {
+                int seeksBefore = counter.seeks;
+                assertEquals(1, index.locate(itemId(i)).size());
+                assertTrue(counter.seeks - seeksBefore <= 2);
+            }
+        }
+
+    }
+
+    private static class SeeksCounter implements InputFile {
+
+        private final InputFile file;
+        private int seeks = 0;
+
+        SeeksCounter(InputFile file) {
+            this.file = file;
+        }
+
+        @Override
+        public long getLength() throws IOException {
+            return file.getLength();
+        }
+
+        @Override
+        public SeekableInputStream newStream() throws IOException {
+            SeekableInputStream stream = file.newStream();
+            return new DelegatingSeekableInputStream(stream) {
+
+                @Override
+                public long getPos() throws IOException {
+                    return stream.getPos();
+                }
+
+                @Override
+                public void seek(long newPos) throws IOException {
+                    seeks++;
+                    stream.seek(newPos);
+                }
+            };
+        }
+
+    }
+
+    @Nested
+    class Lookup {
+
+        @Test
+        void uniqueValues() throws IOException {
+            var reader = new CarpetReader<>(file, Entity.class);
+            SecondaryIndex index = SecondaryIndex.read(keyIndex);
+            assertEquals(List.of(entities.get(17), entities.get(2100), entities.get(3999)),
+                    reader.lookup(index, key(3999), key(17), key(2100), "not a key"));
+        }
+
+        @Test
+        void repeatedValues() throws IOException {
+            var reader = new CarpetReader<>(file, Entity.class);
+            SecondaryIndex index = SecondaryIndex.read(categoryIndex);
+            assertEquals(entities.stream().filter(e -> e.category().equals("C9")).toList(),
+                    reader.lookup(index, List.of("C9")));
+        }
+
+        @Test
+        void nestedColumn() throws IOException {
+            var reader = new CarpetReader<>(file, Entity.class);
+            SecondaryIndex index = SecondaryIndex.read(zipIndex);
+            assertEquals(entities.stream()
+                    .filter(e -> e.address() != null && Integer.valueOf(1042).equals(e.address().zip()))
+                    .toList(),
+                    reader.lookup(index, 1042));
+        }
+
+        @Test
+        void missingValues() throws IOException {
+            var reader = new CarpetReader<>(file, Entity.class);
+            assertEquals(List.of(), reader.lookup(SecondaryIndex.read(idIndex), -1L, 10_000L));
+        }
+
+        @Test
+        void combinedWithFilter() throws IOException {
+            var reader = new CarpetReader<>(file, Entity.class)
+                    .withFilter(where(Entity::id).gtEq(2000L));
+            SecondaryIndex index = SecondaryIndex.read(categoryIndex);
+            assertEquals(entities.stream().filter(e -> e.category().equals("C9") && e.id() >= 2000).toList(),
+                    reader.lookup(index, "C9"));
+        }
+
+        @Test
+        void combinedWithLateMaterialization() throws IOException {
+            var reader = new CarpetReader<>(file, Entity.class)
+                    .withLateMaterialization(EntityCategory.class, e -> e.category().equals("C1"));
+            SecondaryIndex index = SecondaryIndex.read(idIndex);
+            assertEquals(List.of(entities.get(1), entities.get(38)), reader.lookup(index, 1L, 2L, 38L, 39L));
+        }
+
+        @Test
+        void indexOfOtherFileIsRejected() throws IOException {
+            File other = createTempFile("other", ".parquet").toFile();
+            try (var writer = new CarpetWriter<>(new FileSystemOutputFile(other), Entity.class)) {
+                writer.write(entities.subList(0, 10));
+            }
+            var reader = new CarpetReader<>(other, Entity.class);
+            SecondaryIndex index = SecondaryIndex.read(keyIndex);
+            assertThrows(IllegalArgumentException.class, () -> reader.lookup(index, key(1)));
+        }
+
+        @Test
+        void indexOfFileWithSameRowsIsRejected() throws IOException {
+            File other = createTempFile("other", ".parquet").toFile();
+            File otherIndex = createTempFile("other", ".idx").toFile();
+            try (var writer = new CarpetWriter.Builder<>(new FileSystemOutputFile(other), Entity.class)
+                    .withRowGroupRowCountLimit(ROW_GROUP_SIZE)
+                    .withSecondaryIndex("key", new FileSystemOutputFile(otherIndex))
+                    .build()) {
+                writer.write(entities);
+            }
+            var reader = new CarpetReader<>(other, Entity.class);
+            SecondaryIndex index = SecondaryIndex.read(keyIndex);
+            assertEquals(index.rowGroupCount(), SecondaryIndex.read(otherIndex).rowGroupCount());
+            assertThrows(IllegalArgumentException.class, () -> reader.lookup(index, key(1)));
+            assertEquals(List.of(entities.get(1)), reader.lookup(SecondaryIndex.read(otherIndex), key(1)));
+        }
+
+    }
+
+}
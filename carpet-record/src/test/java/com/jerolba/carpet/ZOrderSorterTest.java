@@ -0,0 +1,106 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ZOrderSorterTest {
+
+    record Point(int x, long y) {
+    }
+
+    private static long morton(int x, int y) {
+        long key = 0;
+        for (int bit = 1; bit >= 0; bit--) {
+            key = (key << 1) | ((x >> bit) & 1);
+            key = (key << 1) | ((y >> bit) & 1);
+        }
+        return key;
+    }
+
+    private static List<Point> shuffledGrid(long yFactor) {
+        List<Point> points = new ArrayList<>();
+        for (int x = 0; x < 4; x++) {
+            for (int y = 0; y < 4; y++) {
+                points.add(new Point(x, y * yFactor));
+            }
+        }
+        Collections.shuffle(points, new Random(42));
+        return points;
+    }
+
+    @Test
+    void sortsByMortonOrder() {
+        List<Point> points = shuffledGrid(1);
+        new ZOrderSorter<>(Point.class, "x", "y").accept(points);
+
+        List<Point> expected = shuffledGrid(1);
+        expected.sort(Comparator.comparingLong(p -> morton(p.x(), (int) p.y())));
+        assertEquals(expected, points);
+    }
+
+    @Test
+    void fieldsWithDifferentRangesHaveSameWeight() {
+        List<Point> points = shuffledGrid(1_000_000_000L);
+        new ZOrderSorter<>(Point.class, "x", "y").accept(points);
+
+        List<Point> expected = shuffledGrid(1_000_000_000L);
+        expected.sort(Comparator.comparingLong(p -> morton(p.x(), (int) (p.y() / 1_000_000_000L))));
+        assertEquals(expected, points);
+    }
+
+    @Test
+    void singleFieldSortsByValue() {
+        record Value(Double value, String name, LocalDate date) {
+        }
+
+        List<Value> values = new ArrayList<>(Arrays.asList(new Value(1.5, "b", LocalDate.of(2024, 1, 1)),
+                new Value(null, "ab", null), new Value(-2.5, "abc", LocalDate.of(1960, 5, 1)),
+                new Value(-0.5, "a", LocalDate.of(2000, 1, 1)), new Value(0.0, "ba", LocalDate.of(2030, 1, 1))));
+
+        new ZOrderSorter<>(Value.class, "value").accept(values);
+        assertEquals(Arrays.asList(-2.5, -0.5, 0.0, 1.5, null), values.stream().map(Value::value).toList());
+
+        new ZOrderSorter<>(Value.class, "name").accept(values);
+        assertEquals(List.of("a", "ab", "abc", "b", "ba"), values.stream().map(Value::name).toList());
+
+        new ZOrderSorter<>(Value.class, "date").accept(values);
+        assertEquals(Arrays.asList(LocalDate.of(1960, 5, 1), LocalDate.of(2000, 1, 1), LocalDate.of(2024, 1, 1),
+                LocalDate.of(2030, 1, 1), null), values.stream().map(Value::date).toList());
+    }
+
+    @Test
+    void invalidFieldsFail() {
+        record WithList(int id, List<String> values) {
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new ZOrderSorter<>(WithList.class, "values"));
+        assertThrows(IllegalArgumentException.class, () -> new ZOrderSorter<>(WithList.class, "foo"));
+        assertThrows(IllegalArgumentException.class, () -> new ZOrderSorter<>(WithList.class));
+    }
+
+}
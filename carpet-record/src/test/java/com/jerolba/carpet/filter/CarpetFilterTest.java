@@ -0,0 +1,280 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.filter;
+
+import static com.jerolba.carpet.filter.CarpetFilter.not;
+import static com.jerolba.carpet.filter.CarpetFilter.where;
+import static java.nio.file.Files.createTempFile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.jerolba.carpet.CarpetReader;
+import com.jerolba.carpet.CarpetWriter;
+import com.jerolba.carpet.ColumnNamingStrategy;
+import com.jerolba.carpet.FieldMatchingStrategy;
+import com.jerolba.carpet.TimeUnit;
+import com.jerolba.carpet.annotation.Alias;
+import com.jerolba.carpet.io.FileSystemOutputFile;
+
+class CarpetFilterTest {
+
+    enum Status {
+        PAID, PENDING, CANCELLED
+    }
+
+    record Customer(String name, String zip) {
+    }
+
+    record Order(long id, Status status, Instant createdAt, LocalDateTime updatedAt, LocalDate day,
+            LocalTime time, BigDecimal amount, UUID reference, @Alias("total_items") Integer items,
+            double score, Customer customer) {
+    }
+
+    private static final int SIZE = 1000;
+    private static final Instant BASE = Instant.parse("2024-01-01T00:00:00.123456Z");
+
+    private static List<Order> orders;
+
+    private static Order order(int i) {
+        Status status = Status.values()[i % 3];
+        Instant createdAt = BASE.plusSeconds(i * 3600L);
+        LocalDate day = LocalDate.of(2024, 1, 1).plusDays(i / 10);
+        LocalTime time = LocalTime.of(i % 24, i % 60, 0, 123_456_000);
+        BigDecimal amount = BigDecimal.valueOf(i * 25, 2);
+        UUID reference = new UUID(i, i * 31L);
+        Integer items = i % 7 == 0 ? null : i % 20;
+        Customer customer = new Customer("name-" + i, "zip-" + i % 13);
+        return new Order(i, status, createdAt, LocalDateTime.ofInstant(createdAt, ZoneOffset.UTC), day, time,
+                amount, reference, items, i / 10.0, customer);
+    }
+
+    @BeforeAll
+    static void createOrders() {
+        orders = IntStream.range(0, SIZE).mapToObj(CarpetFilterTest::order).toList();
+    }
+
+    private static File writeOrders(ColumnNamingStrategy namingStrategy) throws IOException {
+        File file = createTempFile("filter", ".parquet").toFile();
+        try (var writer = new CarpetWriter.Builder<>(new FileSystemOutputFile(file), Order.class)
+                .withRowGroupRowCountLimit(100)
+                .withDefaultTimeUnit(TimeUnit.MICROS)
+                .withDefaultDecimal(12, 2)
+                .withColumnNamingStrategy(namingStrategy)
+                .build()) {
+            writer.write(orders);
+        }
+        return file;
+    }
+
+    private static List<Order> expected(Predicate<Order> predicate) {
+        return orders.stream().filter(predicate).toList();
+    }
+
+    @Nested
+    class Read {
+
+        private final File file;
+
+        Read() throws IOException {
+            file = writeOrders(ColumnNamingStrategy.FIELD_NAME);
+        }
+
+        private List<Order> read(CarpetFilter<? super Order> filter) throws IOException {
+            return new CarpetReader<>(file, Order.class).withFilter(filter).toList();
+        }
+
+        @Test
+        void enumEquality() throws IOException {
+            List<Order> result = read(where(Order::status).eq(Status.PAID));
+            assertEquals(expected(o -> o.status() == Status.PAID), result);
+        }
+
+        @Test
+        void chainedConditions() throws IOException {
+            Instant instant = BASE.plusSeconds(500 * 3600L);
+            List<Order> result = read(where(Order::status).eq(Status.PAID).and(Order::createdAt).after(instant));
+            assertEquals(expected(o -> o.status() == Status.PAID && o.createdAt().isAfter(instant)), result);
+        }
+
+        @Test
+        void instantKeepsSubMillisecondPrecision() throws IOException {
+            Instant instant = BASE.plusSeconds(10 * 3600L);
+            assertEquals(expected(o -> o.createdAt().equals(instant)), read(where(Order::createdAt).eq(instant)));
+            assertEquals(List.of(), read(where(Order::createdAt).eq(instant.plusNanos(1000))));
+        }
+
+        @Test
+        void localDateTime() throws IOException {
+            LocalDateTime dateTime = LocalDateTime.of(2024, 2, 1, 0, 0);
+            List<Order> result = read(where(Order::updatedAt).before(dateTime));
+            assertEquals(expected(o -> o.updatedAt().isBefore(dateTime)), result);
+        }
+
+        @Test
+        void localDateBetween() throws IOException {
+            LocalDate from = LocalDate.of(2024, 1, 10);
+            LocalDate to = LocalDate.of(2024, 1, 20);
+            List<Order> result = read(where(Order::day).between(from, to));
+            assertEquals(expected(o -> !o.day().isBefore(from) && !o.day().isAfter(to)), result);
+        }
+
+        @Test
+        void localTime() throws IOException {
+            LocalTime time = LocalTime.of(20, 0);
+            List<Order> result = read(where(Order::time).gtEq(time));
+            assertEquals(expected(o -> !o.time().isBefore(time)), result);
+        }
+
+        @Test
+        void bigDecimal() throws IOException {
+            BigDecimal amount = new BigDecimal("200.5");
+            List<Order> result = read(where(Order::amount).gt(amount));
+            assertEquals(expected(o -> o.amount().compareTo(amount) > 0), result);
+        }
+
+        @Test
+        void uuid() throws IOException {
+            UUID reference = new UUID(42, 42 * 31L);
+            List<Order> result = read(where(Order::reference).eq(reference));
+            assertEquals(expected(o -> o.reference().equals(reference)), result);
+        }
+
+        @Test
+        void aliasedField() throws IOException {
+            List<Order> result = read(where(Order::items).ltEq(3));
+            assertEquals(expected(o -> o.items() != null && o.items() <= 3), result);
+        }
+
+        @Test
+        void nestedRecordField() throws IOException {
+            List<Order> result = read(where(Order::customer).field(Customer::zip).eq("zip-5"));
+            assertEquals(expected(o -> o.customer().zip().equals("zip-5")), result);
+        }
+
+        @Test
+        void fieldPath() throws IOException {
+            List<Order> result = read(where("customer.zip").in("zip-1", "zip-2"));
+            assertEquals(expected(o -> List.of("zip-1", "zip-2").contains(o.customer().zip())), result);
+        }
+
+        @Test
+        void nullValues() throws IOException {
+            assertEquals(expected(o -> o.items() == null), read(where(Order::items).isNull()));
+            assertEquals(expected(o -> o.items() != null), read(where(Order::items).isNotNull()));
+            assertEquals(expected(o -> o.items() == null || o.items() == 1), read(where(Order::items).in(1, null)));
+            assertEquals(expected(o -> o.items() != null && o.items() != 1 && o.items() != 2),
+                    read(where(Order::items).notIn(1, 2, null)));
+        }
+
+        @Test
+        void orAndNot() throws IOException {
+            CarpetFilter<Order> filter = where(Order::status).eq(Status.CANCELLED).or(Order::score).lt(10.0);
+            assertEquals(expected(o -> o.status() == Status.CANCELLED || o.score() < 10.0), read(filter));
+            assertEquals(expected(o -> !(o.status() == Status.CANCELLED || o.score() < 10.0)), read(not(filter)));
+        }
+
+        @Test
+        void mapRecords() throws IOException {
+            var reader = new CarpetReader<>(file, Map.class).withFilter(where("status").eq("PENDING"));
+            List<Map> result = reader.toList();
+            assertEquals(expected(o -> o.status() == Status.PENDING).size(), result.size());
+            assertFalse(result.stream().anyMatch(m -> !m.get("status").equals("PENDING")));
+        }
+
+    }
+
+    @Nested
+    class FieldMatching {
+
+        @Test
+        void snakeCaseColumns() throws IOException {
+            File file = writeOrders(ColumnNamingStrategy.SNAKE_CASE);
+            Instant instant = BASE.plusSeconds(900 * 3600L);
+            List<Order> result = new CarpetReader<>(file, Order.class)
+                    .withFieldMatchingStrategy(FieldMatchingStrategy.SNAKE_CASE)
+                    .withFilter(where(Order::createdAt).gtEq(instant))
+                    .toList();
+            assertEquals(expected(o -> !o.createdAt().isBefore(instant)), result);
+        }
+
+    }
+
+    @Nested
+    class Errors {
+
+        private final File file;
+
+        Errors() throws IOException {
+            file = writeOrders(ColumnNamingStrategy.FIELD_NAME);
+        }
+
+        @Test
+        void accessorMustBeMethodReference() {
+            assertThrows(IllegalArgumentException.class, () -> where((Order o) -> o.status()));
+        }
+
+        @Test
+        void unknownField() {
+            var reader = new CarpetReader<>(file, Order.class).withFilter(where("unknown").eq(1));
+            assertThrows(IllegalArgumentException.class, reader::toList);
+        }
+
+        @Test
+        void groupFieldCanNotBeFiltered() {
+            var reader = new CarpetReader<>(file, Order.class).withFilter(where("customer").isNull());
+            assertThrows(IllegalArgumentException.class, reader::toList);
+        }
+
+        @Test
+        void valueOfIncompatibleType() {
+            var reader = new CarpetReader<>(file, Order.class).withFilter(where("day").eq("2024-01-01"));
+            assertThrows(IllegalArgumentException.class, reader::toList);
+        }
+
+        @Test
+        void decimalValueMustFitColumnScale() {
+            var reader = new CarpetReader<>(file, Order.class)
+                    .withFilter(where(Order::amount).gt(new BigDecimal("1.005")));
+            assertThrows(IllegalArgumentException.class, reader::toList);
+        }
+
+        @Test
+        void emptyInValues() {
+            assertThrows(IllegalArgumentException.class, () -> where(Order::items).in(List.of()));
+        }
+
+    }
+
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class HyperLogLogTest {
+
+    private static HyperLogLog sketchOf(long from, long to) {
+        HyperLogLog hll = new HyperLogLog();
+        for (long i = from; i < to; i++) {
+            hll.addHash(HyperLogLog.hashLong(i));
+        }
+        return hll;
+    }
+
+    @Test
+    void emptySketch() {
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+
+    @Test
+    void smallCardinalitiesAreAlmostExact() {
+        assertEquals(1, sketchOf(0, 1).estimate());
+        assertEquals(10, sketchOf(0, 10).estimate());
+    }
+
+    @Test
+    void repeatedValuesAreNotCounted() {
+        HyperLogLog hll = sketchOf(0, 50);
+        for (int i = 0; i < 50; i++) {
+            hll.addHash(HyperLogLog.hashLong(i));
+        }
+        assertEquals(50, hll.estimate(), 2);
+    }
+
+    @Test
+    void largeCardinalitiesAreEstimated() {
+        long estimate = sketchOf(0, 1_000_000).estimate();
+        assertTrue(Math.abs(estimate - 1_000_000) < 100_000, "Estimate " + estimate);
+    }
+
+    @Test
+    void mergedSketchCountsUnion() {
+        HyperLogLog hll = sketchOf(0, 60_000);
+        hll.merge(sketchOf(40_000, 100_000));
+        long estimate = hll.estimate();
+        assertTrue(Math.abs(estimate - 100_000) < 10_000, "Estimate " + estimate);
+    }
+
+    @Test
+    void serializedSketchKeepsEstimate() {
+        HyperLogLog hll = sketchOf(0, 5000);
+        assertEquals(hll.estimate(), HyperLogLog.fromBytes(hll.toBytes()).estimate());
+    }
+
+    @Test
+    void invalidPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[100]));
+    }
+
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.read;
+
+import static com.jerolba.carpet.filter.CarpetFilter.where;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.apache.parquet.io.DelegatingSeekableInputStream;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.SeekableInputStream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.jerolba.carpet.CarpetReader;
+import com.jerolba.carpet.CarpetWriter;
+import com.jerolba.carpet.io.FileSystemInputFile;
+import com.jerolba.carpet.io.FileSystemOutputFile;
+
+class FooterCachedInputFileTest {
+
+    record Item(long id, String name) {
+    }
+
+    private static File file;
+
+    @BeforeAll
+    static void writeItems() throws IOException {
+        file = Files.createTempFile("footer", ".parquet").toFile();
+        try (var writer = new CarpetWriter<>(new FileSystemOutputFile(file), Item.class)) {
+            writer.write(IntStream.range(0, 1000).mapToObj(i -> new Item(i, "item-" + i)).toList());
+        }
+    }
+
+    @Test
+    void readsSameBytesAsFile() throws IOException {
+        byte[] content = Files.readAllBytes(file.toPath());
+        var cached = FooterCachedInputFile.read(new FileSystemInputFile(file));
+        try (SeekableInputStream is = cached.newStream()) {
+            byte[] all = new byte[content.length];
+            is.readFully(all);
+            assertArrayEquals(content, all);
+
+            int tailStart = content.length - 100;
+            is.seek(tailStart - 10);
+            ByteBuffer buffer = ByteBuffer.allocate(20);
+            is.readFully(buffer);
+            assertArrayEquals(Arrays.copyOfRange(content, tailStart - 10, tailStart + 10), buffer.array());
+            assertEquals(tailStart + 10, is.getPos());
+
+            is.seek(content.length - 1);
+            assertEquals(content[content.length - 1] & 0xFF, is.read());
+            assertEquals(-1, is.read());
+            assertThrows(EOFException.class, () -> is.readFully(new byte[1]));
+        }
+    }
+
+    @Test
+    void footerIsReadOnceResolvingFilter() throws IOException {
+        var counting = new FooterReadsCounter(new FileSystemInputFile(file));
+        var items = new CarpetReader<>(counting, Item.class).withFilter(where(Item::id).lt(10L)).toList();
+
+        assertEquals(IntStream.range(0, 10).mapToObj(i -> new Item(i, "item-" + i)).toList(), items);
+        assertEquals(1, counting.footerReads);
+    }
+
+    private static class FooterReadsCounter implements InputFile {
+
+        private final InputFile file;
+        private int footerReads = 0;
+
+        FooterReadsCounter(InputFile file) {
+            this.file = file;
+        }
+
+        @Override
+        public long getLength() throws IOException {
+            return file.getLength();
+        }
+
+        @Override
+        public SeekableInputStream newStream() throws IOException {
+            SeekableInputStream stream = file.newStream();
+            long footerLengthPos = file.getLength() - 8;
+            return new DelegatingSeekableInputStream(stream) {
+
+                @Override
+                public long getPos() throws IOException {
+                    return stream.getPos();
+                }
+
+                @Override
+                public void seek(long newPos) throws IOException {
+                    if (newPos == footerLengthPos) {
+                        footerReads++;
+                    }
+                    stream.seek(newPos);
+                }
+            };
+        }
+
+    }
+
+}
@@ -39,6 +39,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import org.apache.parquet.io.api.Binary;
@@ -2504,6 +2505,39 @@ class SchemaFilterTest {
             assertEquals(groupType, filter.project(CompositeMain.class, groupType));
         }
 
+        @Test
+        void rootAsMapWithColumnProjection() {
+            Type field1 = Types.primitive(BINARY, OPTIONAL).as(stringType()).named("name");
+            Type childField1 = Types.primitive(BINARY, OPTIONAL).as(stringType()).named("id");
+            Type childField2 = new PrimitiveType(REQUIRED, PrimitiveTypeName.INT32, "age");
+            Type field3 = new PrimitiveType(REQUIRED, PrimitiveTypeName.INT64, "code");
+            GroupType childGroupType = new GroupType(OPTIONAL, "child", childField1, childField2);
+            GroupType groupType = new MessageType("foo", field1, childGroupType, field3);
+
+            SchemaFilter filter = new SchemaFilter(defaultReadConfig, defaultFieldMapper);
+            var expected = new MessageType("foo", new GroupType(OPTIONAL, "child", childField2), field3);
+            assertEquals(expected, filter.project(Map.class, groupType, Set.of("code", "child.age")));
+            var wholeChild = new MessageType("foo", field1, childGroupType);
+            assertEquals(wholeChild, filter.project(Map.class, groupType, Set.of("child", "child.age", "name")));
+        }
+
+        @Test
+        void columnProjectionOfMissingColumn() {
+            Type field1 = Types.primitive(BINARY, OPTIONAL).as(stringType()).named("name");
+            Type field2 = new PrimitiveType(REQUIRED, PrimitiveTypeName.INT64, "code");
+            GroupType groupType = new MessageType("foo", field1, field2);
+
+            SchemaFilter failing = new SchemaFilter(defaultReadConfig, defaultFieldMapper);
+            assertThrows(CarpetMissingColumnException.class,
+                    () -> failing.project(Map.class, groupType, Set.of("name", "other")));
+            assertThrows(RecordTypeConversionException.class,
+                    () -> failing.project(Map.class, groupType, Set.of("name.other")));
+
+            SchemaFilter notFailing = new SchemaFilter(dontFailOnMissingFields, defaultFieldMapper);
+            assertEquals(new MessageType("foo", field1),
+                    notFailing.project(Map.class, groupType, Set.of("name", "other")));
+        }
+
     }
 
     @Nested
@@ -0,0 +1,72 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.read.converter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class DecimalConverterTest {
+
+    private final List<Object> values = new ArrayList<>();
+    private final DecimalConverter converter = new DecimalConverter(values::add, PrimitiveTypeName.BINARY, 4);
+
+    @ParameterizedTest
+    @ValueSource(strings = { "0.0000", "0.0001", "-0.0001", "0.0127", "0.0128", "-0.0128", "-0.0129",
+            "12345678901234.5678", "-12345678901234.5678", "922337203685477.5807", "-922337203685477.5808",
+            "922337203685477.5808", "123456789012345678901234.5678", "-123456789012345678901234.5678" })
+    void decodesByteArrayBinary(String value) {
+        BigDecimal expected = new BigDecimal(value);
+        converter.addBinary(Binary.fromConstantByteArray(expected.unscaledValue().toByteArray()));
+
+        assertEquals(List.of(expected), values);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "0.0001", "-0.0129", "-12345678901234.5678", "-123456789012345678901234.5678" })
+    void decodesSlicedBinary(String value) {
+        BigDecimal expected = new BigDecimal(value);
+        byte[] unscaled = expected.unscaledValue().toByteArray();
+        byte[] padded = new byte[unscaled.length + 6];
+        System.arraycopy(unscaled, 0, padded, 3, unscaled.length);
+        converter.addBinary(Binary.fromConstantByteArray(padded, 3, unscaled.length));
+
+        assertEquals(List.of(expected), values);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "0.0001", "-0.0129", "-12345678901234.5678", "-123456789012345678901234.5678" })
+    void decodesByteBufferBinary(String value) {
+        BigDecimal expected = new BigDecimal(value);
+        byte[] unscaled = expected.unscaledValue().toByteArray();
+        ByteBuffer direct = ByteBuffer.allocateDirect(unscaled.length + 2);
+        direct.position(2);
+        direct.put(unscaled);
+        direct.position(2);
+        converter.addBinary(Binary.fromConstantByteBuffer(direct));
+
+        assertEquals(List.of(expected), values);
+    }
+
+}
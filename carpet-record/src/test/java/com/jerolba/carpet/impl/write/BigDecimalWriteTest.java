@@ -0,0 +1,168 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.write;
+
+import static com.jerolba.carpet.impl.write.DecimalConfig.decimalConfig;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.jerolba.carpet.RecordTypeConversionException;
+
+class BigDecimalWriteTest {
+
+    private final CapturingConsumer consumer = new CapturingConsumer();
+
+    @ParameterizedTest
+    @ValueSource(strings = { "0", "1.5", "-1.5", "12345678901234.5678", "-12345678901234.5678", "0.0128",
+            "-0.0128", "0.0127", "-0.0129", "92233720368547.7580" })
+    void longDecimal(String value) {
+        var writer = new BigDecimalWrite(decimalConfig().withPrecisionAndScale(18, 4));
+        BigDecimal dec = new BigDecimal(value);
+        writer.write(consumer, dec);
+
+        assertEquals(List.of(dec.setScale(4).unscaledValue().longValueExact()), consumer.values);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "0", "1", "-1", "999999999999999999", "-999999999999999999", "9.2E+17" })
+    void decimalWithoutScale(String value) {
+        var writer = new BigDecimalWrite(decimalConfig().withPrecisionAndScale(18, 0));
+        BigDecimal dec = new BigDecimal(value);
+        writer.write(consumer, dec);
+
+        assertEquals(List.of(dec.setScale(0).unscaledValue().longValueExact()), consumer.values);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "0", "1.25", "-1.25", "9999999.99", "-9999999.99" })
+    void intDecimal(String value) {
+        var writer = new BigDecimalWrite(decimalConfig().withPrecisionAndScale(9, 2));
+        BigDecimal dec = new BigDecimal(value);
+        writer.write(consumer, dec);
+
+        assertEquals(List.of(dec.setScale(2).unscaledValue().intValueExact()), consumer.values);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "0", "0.0001", "-0.0001", "1.27", "1.28", "-1.28", "-1.29", "255", "-256",
+            "12345678901234.5678", "-12345678901234.5678", "99999999999999.9999", "-99999999999999.9999",
+            "123456789012345678901234.5678", "-123456789012345678901234.5678" })
+    void binaryDecimalHasSameEncodingThanBigInteger(String value) {
+        var writer = new BigDecimalWrite(decimalConfig().withPrecisionAndScale(38, 4));
+        BigDecimal dec = new BigDecimal(value);
+        writer.write(consumer, dec);
+
+        byte[] expected = dec.setScale(4).unscaledValue().toByteArray();
+        assertArrayEquals(expected, ((Binary) consumer.values.get(0)).getBytes());
+    }
+
+    @Test
+    void binaryOfCompactValuesIsReused() {
+        var writer = new BigDecimalWrite(decimalConfig().withPrecisionAndScale(20, 2));
+        writer.write(consumer, new BigDecimal("1.00"));
+        Binary first = ((Binary) consumer.values.get(0)).copy();
+        writer.write(consumer, new BigDecimal("-2.00"));
+
+        assertArrayEquals(new byte[] { 100 }, first.getBytes());
+        assertArrayEquals(new byte[] { (byte) 0xFF, 0x38 }, ((Binary) consumer.values.get(1)).getBytes());
+    }
+
+    @Test
+    void rescaleWithRoundingMode() {
+        var writer = new BigDecimalWrite(decimalConfig().withPrecisionAndScale(18, 2)
+                .withRoundingMode(RoundingMode.HALF_UP));
+        writer.write(consumer, new BigDecimal("1.005"));
+
+        assertEquals(List.of(101L), consumer.values);
+    }
+
+    @Test
+    void precisionOverflowFails() {
+        var writer = new BigDecimalWrite(decimalConfig().withPrecisionAndScale(18, 4));
+        assertThrows(RecordTypeConversionException.class,
+                () -> writer.write(consumer, new BigDecimal("123456789012345.1234")));
+    }
+
+    private static class CapturingConsumer extends RecordConsumer {
+
+        private final List<Object> values = new ArrayList<>();
+
+        @Override
+        public void addInteger(int value) {
+            values.add(value);
+        }
+
+        @Override
+        public void addLong(long value) {
+            values.add(value);
+        }
+
+        @Override
+        public void addBinary(Binary value) {
+            values.add(value);
+        }
+
+        @Override
+        public void startMessage() {
+        }
+
+        @Override
+        public void endMessage() {
+        }
+
+        @Override
+        public void startField(String field, int index) {
+        }
+
+        @Override
+        public void endField(String field, int index) {
+        }
+
+        @Override
+        public void startGroup() {
+        }
+
+        @Override
+        public void endGroup() {
+        }
+
+        @Override
+        public void addBoolean(boolean value) {
+        }
+
+        @Override
+        public void addFloat(float value) {
+        }
+
+        @Override
+        public void addDouble(double value) {
+        }
+
+    }
+
+}
@@ -0,0 +1,168 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.write;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+
+import org.apache.parquet.conf.PlainParquetConfiguration;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.jerolba.carpet.AnnotatedLevels;
+import com.jerolba.carpet.ColumnNamingStrategy;
+import com.jerolba.carpet.ParquetWriterTest;
+import com.jerolba.carpet.TimeUnit;
+
+class FieldWriterChainTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 7, 8, 9, 16, 25 })
+    void invokesAllWritersInOrder(int size) {
+        List<String> invocations = new ArrayList<>();
+        List<BiConsumer<RecordConsumer, Object>> writers = IntStream.range(0, size)
+                .<BiConsumer<RecordConsumer, Object>>mapToObj(
+                        i -> (consumer, record) -> invocations.add(record + "-" + i))
+                .toList();
+
+        BiConsumer<RecordConsumer, Object> chain = FieldWriterChain.compile(writers);
+        chain.accept(null, "a");
+        chain.accept(null, "b");
+
+        List<String> expected = new ArrayList<>();
+        IntStream.range(0, size).forEach(i -> expected.add("a-" + i));
+        IntStream.range(0, size).forEach(i -> expected.add("b-" + i));
+        assertEquals(expected, invocations);
+    }
+
+    @Test
+    void eachChainIsAnIndependentHiddenClass() {
+        BiConsumer<RecordConsumer, Object> writer = (consumer, record) -> {
+        };
+        BiConsumer<RecordConsumer, Object> first = FieldWriterChain.compile(List.of(writer));
+        BiConsumer<RecordConsumer, Object> second = FieldWriterChain.compile(List.of(writer));
+
+        assertTrue(first.getClass().isHidden());
+        assertTrue(second.getClass().isHidden());
+        assertNotSame(first.getClass(), second.getClass());
+    }
+
+    @Test
+    void writersAreReboundToTheRecordConsumerOfEachRowGroup() {
+        record Point(int x, int y) {
+        }
+
+        var config = new CarpetWriteConfiguration(AnnotatedLevels.THREE, ColumnNamingStrategy.FIELD_NAME,
+                TimeUnit.MILLIS, null);
+        var writeSupport = new CarpetWriteSupport<>(Point.class, Map.of(), config, null);
+        writeSupport.init(new PlainParquetConfiguration());
+
+        var firstRowGroup = new IntegerRecorder();
+        writeSupport.prepareForWrite(firstRowGroup);
+        writeSupport.write(new Point(1, 2));
+        var secondRowGroup = new IntegerRecorder();
+        writeSupport.prepareForWrite(secondRowGroup);
+        writeSupport.write(new Point(3, 4));
+
+        assertEquals(List.of(1, 2), firstRowGroup.values);
+        assertEquals(List.of(3, 4), secondRowGroup.values);
+    }
+
+    @Test
+    void wideRecordRoundTrip() throws IOException {
+
+        record Wide(int f0, long f1, String f2, double f3, Integer f4, float f5, short f6, byte f7, boolean f8,
+                String f9, int f10, Long f11) {
+        }
+
+        var rec1 = new Wide(1, 2L, "3", 4.0, 5, 6.0f, (short) 7, (byte) 8, true, "9", 10, 11L);
+        var rec2 = new Wide(12, 13L, null, 14.0, null, 15.0f, (short) 16, (byte) 17, false, "18", 19, null);
+        var writerTest = new ParquetWriterTest<>(Wide.class);
+        writerTest.write(rec1, rec2);
+
+        try (var carpetReader = writerTest.getCarpetReader()) {
+            assertEquals(rec1, carpetReader.read());
+            assertEquals(rec2, carpetReader.read());
+        }
+    }
+
+    private static class IntegerRecorder extends RecordConsumer {
+
+        private final List<Integer> values = new ArrayList<>();
+
+        @Override
+        public void addInteger(int value) {
+            values.add(value);
+        }
+
+        @Override
+        public void startMessage() {
+        }
+
+        @Override
+        public void endMessage() {
+        }
+
+        @Override
+        public void startField(String field, int index) {
+        }
+
+        @Override
+        public void endField(String field, int index) {
+        }
+
+        @Override
+        public void startGroup() {
+        }
+
+        @Override
+        public void endGroup() {
+        }
+
+        @Override
+        public void addLong(long value) {
+        }
+
+        @Override
+        public void addBoolean(boolean value) {
+        }
+
+        @Override
+        public void addBinary(Binary value) {
+        }
+
+        @Override
+        public void addFloat(float value) {
+        }
+
+        @Override
+        public void addDouble(double value) {
+        }
+
+    }
+
+}
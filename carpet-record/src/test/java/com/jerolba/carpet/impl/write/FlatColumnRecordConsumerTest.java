@@ -0,0 +1,335 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.impl.write;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnWriteStore;
+import org.apache.parquet.column.ColumnWriter;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.ParquetEncodingException;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.jerolba.carpet.ParquetWriterTest;
+import com.jerolba.carpet.annotation.NotNull;
+
+class FlatColumnRecordConsumerTest {
+
+    private static final MessageType FLAT = MessageTypeParser.parseMessageType("""
+            message Flat {
+              required int32 id;
+              optional binary name (STRING);
+              optional double value;
+              required boolean active;
+              optional int64 count;
+              optional float ratio;
+            }
+            """);
+
+    private static final MessageType NESTED = MessageTypeParser.parseMessageType("""
+            message Nested {
+              required int32 id;
+              optional group child {
+                optional binary name (STRING);
+              }
+            }
+            """);
+
+    private static final MessageType REPEATED = MessageTypeParser.parseMessageType("""
+            message Repeated {
+              required int32 id;
+              repeated int32 values;
+            }
+            """);
+
+    /**
+     * ColumnWriteStore recording all calls to its column writers.
+     */
+    private static class RecordingColumnStore implements ColumnWriteStore {
+
+        private final List<String> calls = new ArrayList<>();
+
+        @Override
+        public ColumnWriter getColumnWriter(ColumnDescriptor path) {
+            String column = path.getPath()[0];
+            return new ColumnWriter() {
+
+                @Override
+                public void write(int value, int r, int d) {
+                    calls.add(column + "=" + value + " " + r + "/" + d);
+                }
+
+                @Override
+                public void write(long value, int r, int d) {
+                    calls.add(column + "=" + value + " " + r + "/" + d);
+                }
+
+                @Override
+                public void write(boolean value, int r, int d) {
+                    calls.add(column + "=" + value + " " + r + "/" + d);
+                }
+
+                @Override
+                public void write(Binary value, int r, int d) {
+                    calls.add(column + "=" + value.toStringUsingUTF8() + " " + r + "/" + d);
+                }
+
+                @Override
+                public void write(float value, int r, int d) {
+                    calls.add(column + "=" + value + " " + r + "/" + d);
+                }
+
+                @Override
+                public void write(double value, int r, int d) {
+                    calls.add(column + "=" + value + " " + r + "/" + d);
+                }
+
+                @Override
+                public void writeNull(int r, int d) {
+                    calls.add(column + "=null " + r + "/" + d);
+                }
+
+                @Override
+                public void close() {
+                }
+
+                @Override
+                public long getBufferedSizeInMemory() {
+                    return 0;
+                }
+
+            };
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void endRecord() {
+            calls.add("endRecord");
+        }
+
+        @Override
+        public long getAllocatedSize() {
+            return 0;
+        }
+
+        @Override
+        public long getBufferedSize() {
+            return 0;
+        }
+
+        @Override
+        public String memUsageString() {
+            return "";
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+    private static RecordConsumer messageColumnIOConsumer(MessageType schema, ColumnWriteStore store,
+            boolean validating) {
+        return new ColumnIOFactory(validating).getColumnIO(schema).getRecordWriter(store);
+    }
+
+    private static void writeRecords(RecordConsumer consumer) {
+        consumer.startMessage();
+        consumer.startField("id", 0);
+        consumer.addInteger(1);
+        consumer.endField("id", 0);
+        consumer.startField("name", 1);
+        consumer.addBinary(Binary.fromString("foo"));
+        consumer.endField("name", 1);
+        consumer.startField("value", 2);
+        consumer.addDouble(1.5);
+        consumer.endField("value", 2);
+        consumer.startField("active", 3);
+        consumer.addBoolean(true);
+        consumer.endField("active", 3);
+        consumer.startField("count", 4);
+        consumer.addLong(10L);
+        consumer.endField("count", 4);
+        consumer.startField("ratio", 5);
+        consumer.addFloat(0.5f);
+        consumer.endField("ratio", 5);
+        consumer.endMessage();
+
+        consumer.startMessage();
+        consumer.startField("id", 0);
+        consumer.addInteger(2);
+        consumer.endField("id", 0);
+        consumer.startField("active", 3);
+        consumer.addBoolean(false);
+        consumer.endField("active", 3);
+        consumer.endMessage();
+    }
+
+    @Nested
+    class Wrapping {
+
+        @Test
+        void columnStoreIsAccessibleInCurrentParquetVersion() {
+            assertTrue(FlatColumnRecordConsumer.isSupported(),
+                    "ColumnWriteStore of MessageColumnIO RecordConsumer is not accessible, flat writer is disabled");
+        }
+
+        @Test
+        void columnsFieldOfMessageColumnIOConsumerIsColumnWriteStore() throws ReflectiveOperationException {
+            RecordConsumer consumer = messageColumnIOConsumer(FLAT, new RecordingColumnStore(), false);
+            Field field = consumer.getClass().getDeclaredField("columns");
+            assertEquals(ColumnWriteStore.class, field.getType(),
+                    "parquet-mr changed the ColumnWriteStore field used by the flat writer");
+        }
+
+        @Test
+        void flatSchemaIsWrapped() {
+            var store = new RecordingColumnStore();
+            RecordConsumer consumer = messageColumnIOConsumer(FLAT, store, false);
+            assertInstanceOf(FlatColumnRecordConsumer.class, FlatColumnRecordConsumer.wrapIfFlat(consumer, FLAT));
+        }
+
+        @Test
+        void nestedSchemaIsNotWrapped() {
+            RecordConsumer consumer = messageColumnIOConsumer(NESTED, new RecordingColumnStore(), false);
+            assertSame(consumer, FlatColumnRecordConsumer.wrapIfFlat(consumer, NESTED));
+        }
+
+        @Test
+        void repeatedFieldsAreNotWrapped() {
+            RecordConsumer consumer = messageColumnIOConsumer(REPEATED, new RecordingColumnStore(), false);
+            assertSame(consumer, FlatColumnRecordConsumer.wrapIfFlat(consumer, REPEATED));
+        }
+
+        @Test
+        void validatingConsumerIsNotWrapped() {
+            RecordConsumer consumer = messageColumnIOConsumer(FLAT, new RecordingColumnStore(), true);
+            assertSame(consumer, FlatColumnRecordConsumer.wrapIfFlat(consumer, FLAT));
+        }
+
+        @Test
+        void isFlat() {
+            assertTrue(FlatColumnRecordConsumer.isFlat(FLAT));
+            assertFalse(FlatColumnRecordConsumer.isFlat(NESTED));
+            assertFalse(FlatColumnRecordConsumer.isFlat(REPEATED));
+        }
+
+    }
+
+    @Nested
+    class ColumnWrites {
+
+        @Test
+        void writesSameValuesAndLevelsAsMessageColumnIO() {
+            var expected = new RecordingColumnStore();
+            writeRecords(messageColumnIOConsumer(FLAT, expected, false));
+
+            var actual = new RecordingColumnStore();
+            writeRecords(new FlatColumnRecordConsumer(actual, FLAT));
+
+            assertEquals(expected.calls, actual.calls);
+        }
+
+        @Test
+        void missingFieldsAreWrittenAsNull() {
+            var store = new RecordingColumnStore();
+            var consumer = new FlatColumnRecordConsumer(store, FLAT);
+            consumer.startMessage();
+            consumer.startField("id", 0);
+            consumer.addInteger(7);
+            consumer.endField("id", 0);
+            consumer.startField("active", 3);
+            consumer.addBoolean(true);
+            consumer.endField("active", 3);
+            consumer.endMessage();
+
+            assertEquals(List.of("id=7 0/0", "active=true 0/0", "name=null 0/0", "value=null 0/0",
+                    "count=null 0/0", "ratio=null 0/0", "endRecord"), store.calls);
+        }
+
+        @Test
+        void missingRequiredFieldFails() {
+            var store = new RecordingColumnStore();
+            var consumer = new FlatColumnRecordConsumer(store, FLAT);
+            consumer.startMessage();
+            consumer.startField("id", 0);
+            consumer.addInteger(7);
+            consumer.endField("id", 0);
+            var exception = assertThrows(ParquetEncodingException.class, consumer::endMessage);
+            assertEquals("Required column 'active' was not written in the record", exception.getMessage());
+            assertFalse(store.calls.contains("endRecord"));
+        }
+
+        @Test
+        void groupsAreNotSupported() {
+            var consumer = new FlatColumnRecordConsumer(new RecordingColumnStore(), FLAT);
+            consumer.startMessage();
+            assertThrows(UnsupportedOperationException.class, consumer::startGroup);
+        }
+
+    }
+
+    @Nested
+    class RoundTrip {
+
+        enum Status {
+            ACTIVE, INACTIVE
+        }
+
+        record FlatRecord(@NotNull String id, int code, Integer amount, long total, Double price, boolean flag,
+                Status status, float ratio) {
+        }
+
+        @Test
+        void flatRecordsAcrossPagesAndRowGroups() throws IOException {
+            List<FlatRecord> records = IntStream.range(0, 50_000)
+                    .mapToObj(i -> new FlatRecord("id" + i, i, i % 3 == 0 ? null : i * 2, i * 10L,
+                            i % 5 == 0 ? null : i * 1.5, i % 2 == 0, i % 7 == 0 ? null : Status.values()[i % 2],
+                            i / 3.0f))
+                    .toList();
+            var writerTest = new ParquetWriterTest<>(FlatRecord.class);
+            writerTest.write(records);
+
+            try (var reader = writerTest.getCarpetReader()) {
+                for (FlatRecord expected : records) {
+                    assertEquals(expected, reader.read());
+                }
+            }
+        }
+
+    }
+
+}
@@ -16,6 +16,7 @@
 package com.jerolba.carpet.model;
 
 import static com.jerolba.carpet.model.FieldTypes.INTEGER;
+import static com.jerolba.carpet.model.FieldTypes.LOCAL_DATE;
 import static com.jerolba.carpet.model.FieldTypes.STRING;
 import static com.jerolba.carpet.model.WriteRecordModelType.writeRecordModel;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -85,4 +86,27 @@ class WriteRecordTypeTest {
         });
     }
 
+    @Test
+    void nullablePrimitiveFieldsNeedANullCheck() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            writeRecordModel(RecordWithPrimitives.class)
+                    .withPrimitiveField("key", INTEGER,
+                            (ToIntFunction<RecordWithPrimitives>) RecordWithPrimitives::key);
+        });
+        assertDoesNotThrow(() -> {
+            writeRecordModel(RecordWithPrimitives.class)
+                    .withPrimitiveField("key", INTEGER,
+                            (ToIntFunction<RecordWithPrimitives>) RecordWithPrimitives::key, r -> r.key() < 0);
+        });
+    }
+
+    @Test
+    void logicalTypesCanBePrimitiveFields() {
+        assertDoesNotThrow(() -> {
+            writeRecordModel(RecordWithPrimitives.class)
+                    .withPrimitiveField("key", LOCAL_DATE.notNull(),
+                            (ToIntFunction<RecordWithPrimitives>) RecordWithPrimitives::key);
+        });
+    }
+
 }
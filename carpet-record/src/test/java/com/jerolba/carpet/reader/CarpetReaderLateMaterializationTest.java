@@ -0,0 +1,184 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.reader;
+
+import static com.jerolba.carpet.filter.CarpetFilter.where;
+import static java.nio.file.Files.createTempFile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.jerolba.carpet.CarpetReader;
+import com.jerolba.carpet.CarpetWriter;
+import com.jerolba.carpet.io.FileSystemOutputFile;
+
+class CarpetReaderLateMaterializationTest {
+
+    record Address(String street, String city, String zip) {
+    }
+
+    record Order(long id, String status, int quantity, String customer, String description, double price,
+            Address address, List<String> tags) {
+    }
+
+    record OrderStatus(String status, int quantity) {
+    }
+
+    private static final int SIZE = 10_000;
+
+    private static File file;
+    private static List<Order> orders;
+
+    private static Order order(int i) {
+        String status = i % 100 == 0 ? "RETURNED" : (i % 2 == 0 ? "PAID" : "PENDING");
+        Address address = i % 3 == 0 ? null : new Address("street " + i, "city " + i % 20, "zip " + i % 50);
+        return new Order(i, status, i % 17, "customer " + i, "description of order " + i, i * 1.5,
+                address, i % 4 == 0 ? List.of() : List.of("tag" + i % 5, "tag" + i % 7));
+    }
+
+    @BeforeAll
+    static void writeOrders() throws IOException {
+        orders = IntStream.range(0, SIZE).mapToObj(CarpetReaderLateMaterializationTest::order).toList();
+        file = createTempFile("late", ".parquet").toFile();
+        try (var writer = new CarpetWriter.Builder<>(new FileSystemOutputFile(file), Order.class)
+                .withRowGroupRowCountLimit(2_000)
+                .withPageRowCountLimit(100)
+                .build()) {
+            writer.write(orders);
+        }
+    }
+
+    private static List<Order> expected(Predicate<Order> predicate) {
+        return orders.stream().filter(predicate).toList();
+    }
+
+    @Nested
+    class Selection {
+
+        @Test
+        void selectiveRead() throws IOException {
+            List<Order> result = new CarpetReader<>(file, Order.class)
+                    .withLateMaterialization(OrderStatus.class, o -> o.status().equals("RETURNED"))
+                    .toList();
+            assertEquals(expected(o -> o.status().equals("RETURNED")), result);
+        }
+
+        @Test
+        void predicateOverSeveralColumns() throws IOException {
+            List<Order> result = new CarpetReader<>(file, Order.class)
+                    .withLateMaterialization(OrderStatus.class,
+                            o -> o.status().equals("PENDING") && o.quantity() < 3)
+                    .toList();
+            assertEquals(expected(o -> o.status().equals("PENDING") && o.quantity() < 3), result);
+        }
+
+        @Test
+        void contiguousRanges() throws IOException {
+            record OrderId(long id) {
+            }
+            Predicate<Long> selected = id -> id % 2000 < 150 || id >= 9_950 || id == 4_321;
+            List<Order> result = new CarpetReader<>(file, Order.class)
+                    .withLateMaterialization(OrderId.class, o -> selected.test(o.id()))
+                    .toList();
+            assertEquals(expected(o -> selected.test(o.id())), result);
+        }
+
+        @Test
+        void isolatedRowsInDifferentPages() throws IOException {
+            record OrderId(long id) {
+            }
+            Predicate<Long> selected = id -> id % 2000 == 10 || id % 2000 == 1_999 || id == 2_500;
+            List<Order> result = new CarpetReader<>(file, Order.class)
+                    .withLateMaterialization(OrderId.class, o -> selected.test(o.id()))
+                    .toList();
+            assertEquals(expected(o -> selected.test(o.id())), result);
+        }
+
+        @Test
+        void allRowsSelected() throws IOException {
+            List<Order> result = new CarpetReader<>(file, Order.class)
+                    .withLateMaterialization(OrderStatus.class, o -> true)
+                    .toList();
+            assertEquals(orders, result);
+        }
+
+        @Test
+        void noRowsSelected() throws IOException {
+            List<Order> result = new CarpetReader<>(file, Order.class)
+                    .withLateMaterialization(OrderStatus.class, o -> false)
+                    .toList();
+            assertEquals(List.of(), result);
+        }
+
+        @Test
+        void projectionOfNestedColumns() throws IOException {
+            record City(String city) {
+            }
+            record OrderCity(City address) {
+            }
+            Predicate<Address> selected = a -> a != null && a.city().equals("city 7");
+            List<Order> result = new CarpetReader<>(file, Order.class)
+                    .withLateMaterialization(OrderCity.class,
+                            o -> o.address() != null && o.address().city().equals("city 7"))
+                    .toList();
+            assertEquals(expected(o -> selected.test(o.address())), result);
+        }
+
+    }
+
+    @Nested
+    class Integration {
+
+        @Test
+        void withFilter() throws IOException {
+            List<Order> result = new CarpetReader<>(file, Order.class)
+                    .withFilter(where(Order::id).gtEq(5_000L).and(Order::quantity).lt(5))
+                    .withLateMaterialization(OrderStatus.class, o -> o.status().equals("RETURNED"))
+                    .toList();
+            assertEquals(expected(o -> o.id() >= 5_000 && o.quantity() < 5 && o.status().equals("RETURNED")),
+                    result);
+        }
+
+        @Test
+        void stream() {
+            try (Stream<Order> stream = new CarpetReader<>(file, Order.class)
+                    .withLateMaterialization(OrderStatus.class, o -> o.status().equals("RETURNED"))
+                    .stream()) {
+                assertEquals(expected(o -> o.status().equals("RETURNED")).subList(0, 10),
+                        stream.limit(10).toList());
+            }
+        }
+
+        @Test
+        void parquetReaderIsNotSupported() {
+            var builder = new CarpetReader.Builder<>(file, Order.class)
+                    .withLateMaterialization(OrderStatus.class, o -> true);
+            assertThrows(IllegalStateException.class, builder::buildParquetReader);
+        }
+
+    }
+
+}
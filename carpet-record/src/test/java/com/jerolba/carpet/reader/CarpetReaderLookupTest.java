@@ -0,0 +1,155 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.reader;
+
+import static com.jerolba.carpet.filter.CarpetFilter.where;
+import static java.nio.file.Files.createTempFile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.jerolba.carpet.CarpetReader;
+import com.jerolba.carpet.CarpetWriter;
+import com.jerolba.carpet.ReadPlan;
+import com.jerolba.carpet.ReadPlan.SkipReason;
+import com.jerolba.carpet.io.FileSystemOutputFile;
+
+class CarpetReaderLookupTest {
+
+    record Entity(long id, String key, String category, int version) {
+    }
+
+    record EntityKey(String key) {
+    }
+
+    private static final int ROW_GROUP_SIZE = 100;
+    private static final int ROW_GROUPS = 20;
+
+    private static File file;
+    private static List<Entity> entities;
+
+    // Keys are unordered, so statistics can not skip row groups
+    private static String key(int i) {
+        return Integer.toHexString(i * 0x9E3779B1);
+    }
+
+    private static Entity entity(int i) {
+        return new Entity(i, key(i), "C" + i % 7, i % 3);
+    }
+
+    @BeforeAll
+    static void writeEntities() throws IOException {
+        entities = IntStream.range(0, ROW_GROUP_SIZE * ROW_GROUPS).mapToObj(CarpetReaderLookupTest::entity).toList();
+        file = createTempFile("lookup", ".parquet").toFile();
+        try (var writer = new CarpetWriter.Builder<>(new FileSystemOutputFile(file), Entity.class)
+                .withRowGroupRowCountLimit(ROW_GROUP_SIZE)
+                .withDictionaryEncoding("key", false)
+                .withBloomFilterEnabled("key", true)
+                .build()) {
+            writer.write(entities);
+        }
+    }
+
+    @Nested
+    class Lookup {
+
+        @Test
+        void singleValue() throws IOException {
+            var reader = new CarpetReader<>(file, Entity.class);
+            assertEquals(List.of(entities.get(1234)), reader.lookup("key", key(1234)));
+        }
+
+        @Test
+        void multipleValues() throws IOException {
+            var reader = new CarpetReader<>(file, Entity.class);
+            assertEquals(List.of(entities.get(15), entities.get(780), entities.get(1999)),
+                    reader.lookup("key", key(1999), key(15), key(780)));
+        }
+
+        @Test
+        void collectionOfValues() throws IOException {
+            var reader = new CarpetReader<>(file, Entity.class);
+            assertEquals(List.of(entities.get(42), entities.get(43)),
+                    reader.lookup("key", List.of(key(42), key(43))));
+        }
+
+        @Test
+        void missingValue() throws IOException {
+            var reader = new CarpetReader<>(file, Entity.class);
+            assertEquals(List.of(), reader.lookup("key", "not a key"));
+        }
+
+        @Test
+        void numericColumn() throws IOException {
+            var reader = new CarpetReader<>(file, Entity.class);
+            assertEquals(List.of(entities.get(7), entities.get(1500)), reader.lookup("id", 1500L, 7L));
+        }
+
+        @Test
+        void combinedWithFilter() throws IOException {
+            var reader = new CarpetReader<>(file, Entity.class)
+                    .withFilter(where(Entity::version).eq(0));
+            assertEquals(List.of(entities.get(300)), reader.lookup("key", key(300), key(301)));
+        }
+
+        @Test
+        void doesNotChangeReaderFilter() throws IOException {
+            var reader = new CarpetReader<>(file, Entity.class);
+            reader.lookup("key", key(300));
+            assertEquals(entities.size(), reader.toList().size());
+        }
+
+        @Test
+        void withLateMaterialization() throws IOException {
+            var reader = new CarpetReader<>(file, Entity.class)
+                    .withLateMaterialization(EntityKey.class, e -> !e.key().equals(key(11)));
+            assertEquals(List.of(entities.get(10)), reader.lookup("key", key(10), key(11)));
+        }
+
+    }
+
+    @Nested
+    class Plan {
+
+        @Test
+        void bloomFiltersSkipRowGroups() throws IOException {
+            ReadPlan plan = new CarpetReader<>(file, Entity.class).lookupPlan("key", key(1234));
+            assertTrue(plan.candidateRowGroupCount() <= 2);
+            assertTrue(plan.candidateRowGroups().stream().anyMatch(rowGroup -> rowGroup.index() == 12));
+            assertTrue(plan.skippedRowGroups().get(SkipReason.BLOOM_FILTER) >= ROW_GROUPS - 2);
+        }
+
+        @Test
+        void dictionariesSkipRowGroups() throws IOException {
+            ReadPlan plan = new CarpetReader<>(file, Entity.class)
+                    .withFilter(where(Entity::id).lt(1000L))
+                    .lookupPlan("category", "C35");
+            assertEquals(0, plan.candidateRowGroupCount());
+            assertEquals(ROW_GROUPS / 2, plan.skippedRowGroups().get(SkipReason.STATISTICS));
+            assertEquals(ROW_GROUPS / 2, plan.skippedRowGroups().get(SkipReason.DICTIONARY));
+        }
+
+    }
+
+}
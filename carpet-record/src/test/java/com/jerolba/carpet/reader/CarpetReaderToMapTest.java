@@ -19,6 +19,7 @@ import static java.util.Collections.emptyList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
@@ -50,6 +51,8 @@ import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
 
 import com.jerolba.carpet.AnnotatedLevels;
+import com.jerolba.carpet.CarpetMissingColumnException;
+import com.jerolba.carpet.CarpetReader;
 import com.jerolba.carpet.ParquetWriterTest;
 import com.jerolba.carpet.annotation.ParquetBson;
 import com.jerolba.carpet.annotation.ParquetEnum;
@@ -1071,6 +1074,172 @@ class CarpetReaderToMapTest {
 
     }
 
+    @Nested
+    class ColumnProjection {
+
+        record Address(String street, String zip, String city) {
+        }
+
+        record Customer(long id, String name, String email, Address address, List<String> tags) {
+        }
+
+        private ParquetWriterTest<Customer> writeCustomer() throws IOException {
+            ParquetWriterTest<Customer> writerTest = new ParquetWriterTest<>(Customer.class);
+            writerTest.write(new Customer(1L, "Alice", "alice@mail.com", new Address("Main", "08001", "Barcelona"),
+                    List.of("vip")));
+            return writerTest;
+        }
+
+        @Test
+        void readsOnlyProjectedColumns() throws IOException {
+            var writerTest = writeCustomer();
+            List<Map> actual = new CarpetReader<>(writerTest.getTestFile(), Map.class)
+                    .withColumnProjection("id", "email")
+                    .toList();
+            assertEquals(List.of(Map.of("id", 1L, "email", "alice@mail.com")), actual);
+        }
+
+        @Test
+        void readsNestedColumns() throws IOException {
+            var writerTest = writeCustomer();
+            List<Map> actual = new CarpetReader<>(writerTest.getTestFile(), Map.class)
+                    .withColumnProjection("name", "address.zip", "address.city")
+                    .toList();
+            var expected = Map.of("name", "Alice", "address", Map.of("zip", "08001", "city", "Barcelona"));
+            assertEquals(List.of(expected), actual);
+        }
+
+        @Test
+        void groupPathIncludesAllNestedColumns() throws IOException {
+            var writerTest = writeCustomer();
+            List<Map> actual = new CarpetReader<>(writerTest.getTestFile(), Map.class)
+                    .withColumnProjection("address", "tags")
+                    .toList();
+            var expected = Map.of("address", Map.of("street", "Main", "zip", "08001", "city", "Barcelona"),
+                    "tags", List.of("vip"));
+            assertEquals(List.of(expected), actual);
+        }
+
+        @Test
+        void missingColumnFailsByDefault() throws IOException {
+            var writerTest = writeCustomer();
+            var reader = new CarpetReader<>(writerTest.getTestFile(), Map.class)
+                    .withColumnProjection("id", "phone");
+            assertThrows(CarpetMissingColumnException.class, reader::toList);
+        }
+
+        @Test
+        void missingColumnIsIgnoredIfConfigured() throws IOException {
+            var writerTest = writeCustomer();
+            List<Map> actual = new CarpetReader<>(writerTest.getTestFile(), Map.class)
+                    .withFailOnMissingColumn(false)
+                    .withColumnProjection("id", "phone", "address.country")
+                    .toList();
+            assertEquals(List.of(Map.of("id", 1L)), actual);
+        }
+
+        @Test
+        void recordsIgnoreColumnProjection() throws IOException {
+            var writerTest = writeCustomer();
+            List<Customer> actual = new CarpetReader<>(writerTest.getTestFile(), Customer.class)
+                    .withColumnProjection("id")
+                    .toList();
+            assertEquals("Alice", actual.get(0).name());
+        }
+
+    }
+
+    @Nested
+    class LazyMaterialization {
+
+        record Child(String id, LocalDate date) {
+        }
+
+        record Row(long id, String name, Category category, LocalDateTime timestamp, BigDecimal amount,
+                UUID uuid, Child child, List<String> tags, Double score, boolean active) {
+        }
+
+        private List<Row> rows() {
+            return java.util.stream.IntStream.range(0, 2000).mapToObj(i -> new Row(i,
+                    i % 3 == 0 ? null : "name-" + i % 50,
+                    Category.values()[i % 3],
+                    LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i),
+                    BigDecimal.valueOf(i, 2),
+                    new UUID(i, i),
+                    i % 5 == 0 ? null : new Child("child-" + i, LocalDate.of(2024, 1, 1).plusDays(i)),
+                    List.of("tag-" + i),
+                    i % 7 == 0 ? null : i * 0.5,
+                    i % 2 == 0)).toList();
+        }
+
+        @Test
+        void lazyMapsAreEqualToEagerMaps() throws IOException {
+            ParquetWriterTest<Row> writerTest = new ParquetWriterTest<>(Row.class).withDecimalConfig(20, 2);
+            writerTest.write(rows());
+
+            List<Map> eager = new CarpetReader<>(writerTest.getTestFile(), Map.class).toList();
+            List<Map> lazy = new CarpetReader<>(writerTest.getTestFile(), Map.class)
+                    .withLazyMapMaterialization(true)
+                    .toList();
+            assertEquals(eager, lazy);
+            assertEquals(eager.toString(), lazy.toString());
+            assertEquals(eager.hashCode(), lazy.hashCode());
+        }
+
+        @Test
+        void valuesAreDecodedOnAccess() throws IOException {
+            ParquetWriterTest<Row> writerTest = new ParquetWriterTest<>(Row.class).withDecimalConfig(20, 2);
+            List<Row> rows = rows();
+            writerTest.write(rows);
+
+            List<Map> lazy = new CarpetReader<>(writerTest.getTestFile(), Map.class)
+                    .withLazyMapMaterialization(true)
+                    .toList();
+            for (int i = 0; i < rows.size(); i++) {
+                Row row = rows.get(i);
+                Map<String, Object> map = lazy.get(i);
+                assertEquals(row.name(), map.get("name"));
+                assertEquals(row.category().name(), map.get("category"));
+                assertEquals(row.amount(), map.get("amount"));
+                assertEquals(row.uuid(), map.get("uuid"));
+                if (row.child() == null) {
+                    assertNull(map.get("child"));
+                } else {
+                    Map<String, Object> child = (Map<String, Object>) map.get("child");
+                    assertEquals(row.child().date(), child.get("date"));
+                }
+            }
+        }
+
+        @Test
+        void viewsDecodeAllValues() throws IOException {
+            ParquetWriterTest<Row> writerTest = new ParquetWriterTest<>(Row.class).withDecimalConfig(20, 2);
+            Row row = rows().get(1);
+            writerTest.write(row);
+
+            Map<String, Object> lazy = new CarpetReader<>(writerTest.getTestFile(), Map.class)
+                    .withLazyMapMaterialization(true)
+                    .toList().get(0);
+            assertTrue(lazy.values().contains("name-1"));
+            assertTrue(lazy.containsValue(row.timestamp()));
+            assertTrue(lazy.entrySet().contains(Map.entry("amount", row.amount())));
+        }
+
+        @Test
+        void concreteMapClassesAreEager() throws IOException {
+            ParquetWriterTest<Row> writerTest = new ParquetWriterTest<>(Row.class).withDecimalConfig(20, 2);
+            Row row = rows().get(1);
+            writerTest.write(row);
+
+            HashMap<String, Object> map = new CarpetReader<>(writerTest.getTestFile(), HashMap.class)
+                    .withLazyMapMaterialization(true)
+                    .toList().get(0);
+            assertEquals("name-1", map.get("name"));
+            assertEquals(row.amount(), map.get("amount"));
+        }
+
+    }
+
     private static Map<String, Object> mapOf(String k1, Object v1, String k2, Object v2) {
         Map<String, Object> map = new HashMap<>();
         map.put(k1, v1);
@@ -0,0 +1,329 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.writer;
+
+import static com.jerolba.carpet.AnnotatedLevels.ONE;
+import static com.jerolba.carpet.AnnotatedLevels.THREE;
+import static com.jerolba.carpet.AnnotatedLevels.TWO;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.parquet.io.ParquetDecodingException;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.jerolba.carpet.ParquetWriterTest;
+import com.jerolba.carpet.RecordTypeConversionException;
+
+class CarpetWriterPrimitiveArrayTest {
+
+    record PrimitiveArrays(String name, int[] ints, long[] longs, float[] floats, double[] doubles) {
+    }
+
+    private final PrimitiveArrays rec = new PrimitiveArrays("foo", new int[] { 1, 2, 3 },
+            new long[] { 4L, 5L }, new float[] { 1.5f }, new double[] { 2.5, 3.5, 4.5, 5.5 });
+
+    private static void assertSameArrays(PrimitiveArrays expected, PrimitiveArrays actual) {
+        assertEquals(expected.name(), actual.name());
+        assertArrayEquals(expected.ints(), actual.ints());
+        assertArrayEquals(expected.longs(), actual.longs());
+        assertArrayEquals(expected.floats(), actual.floats());
+        assertArrayEquals(expected.doubles(), actual.doubles());
+    }
+
+    @Nested
+    class OneLevel {
+
+        @Test
+        void primitiveArrays() throws IOException {
+            var writerTest = new ParquetWriterTest<>(PrimitiveArrays.class).withLevel(ONE);
+            writerTest.write(rec);
+
+            String expected = """
+                    message PrimitiveArrays {
+                      optional binary name (STRING);
+                      repeated int32 ints;
+                      repeated int64 longs;
+                      repeated float floats;
+                      repeated double doubles;
+                    }
+                    """;
+            assertEquals(expected, writerTest.getSchema().toString());
+
+            try (var carpetReader = writerTest.getCarpetReader()) {
+                assertSameArrays(rec, carpetReader.read());
+            }
+        }
+
+        @Test
+        void emptyAndNullArraysAreReadAsNull() throws IOException {
+            var empty = new PrimitiveArrays("foo", new int[0], null, new float[0], null);
+            var writerTest = new ParquetWriterTest<>(PrimitiveArrays.class).withLevel(ONE);
+            writerTest.write(empty, rec);
+
+            try (var carpetReader = writerTest.getCarpetReader()) {
+                var read = carpetReader.read();
+                assertNull(read.ints());
+                assertNull(read.longs());
+                assertNull(read.floats());
+                assertNull(read.doubles());
+                assertSameArrays(rec, carpetReader.read());
+            }
+        }
+
+        @Test
+        void primitiveArrayIsReadAsCollection() throws IOException {
+            var writerTest = new ParquetWriterTest<>(PrimitiveArrays.class).withLevel(ONE);
+            writerTest.write(rec);
+
+            record AsCollections(String name, List<Integer> ints, List<Long> longs, List<Float> floats,
+                    List<Double> doubles) {
+            }
+
+            try (var carpetReader = writerTest.getCarpetReader(AsCollections.class)) {
+                var expected = new AsCollections("foo", List.of(1, 2, 3), List.of(4L, 5L), List.of(1.5f),
+                        List.of(2.5, 3.5, 4.5, 5.5));
+                assertEquals(expected, carpetReader.read());
+            }
+        }
+
+        @Test
+        void collectionIsReadAsPrimitiveArray() throws IOException {
+            record AsCollections(String name, List<Integer> ints, List<Long> longs, List<Float> floats,
+                    List<Double> doubles) {
+            }
+
+            var collections = new AsCollections("foo", List.of(1, 2, 3), List.of(4L, 5L), List.of(1.5f),
+                    List.of(2.5, 3.5, 4.5, 5.5));
+            var writerTest = new ParquetWriterTest<>(AsCollections.class).withLevel(ONE);
+            writerTest.write(collections);
+
+            try (var carpetReader = writerTest.getCarpetReader(PrimitiveArrays.class)) {
+                assertSameArrays(rec, carpetReader.read());
+            }
+        }
+
+        @Test
+        void nullValueInCollectionFails() {
+            record NullableValues(List<Integer> ids) {
+            }
+
+            var writerTest = new ParquetWriterTest<>(NullableValues.class).withLevel(ONE);
+            var exception = assertThrows(NullPointerException.class,
+                    () -> writerTest.write(new NullableValues(Arrays.asList(1, null, 3))));
+            assertEquals("1-level list structures doesn't support null values", exception.getMessage());
+        }
+
+    }
+
+    @Nested
+    class TwoLevel {
+
+        @Test
+        void primitiveArrays() throws IOException {
+            var writerTest = new ParquetWriterTest<>(PrimitiveArrays.class).withLevel(TWO);
+            writerTest.write(rec);
+
+            String expected = """
+                    message PrimitiveArrays {
+                      optional binary name (STRING);
+                      optional group ints (LIST) {
+                        repeated int32 element;
+                      }
+                      optional group longs (LIST) {
+                        repeated int64 element;
+                      }
+                      optional group floats (LIST) {
+                        repeated float element;
+                      }
+                      optional group doubles (LIST) {
+                        repeated double element;
+                      }
+                    }
+                    """;
+            assertEquals(expected, writerTest.getSchema().toString());
+
+            try (var carpetReader = writerTest.getCarpetReader()) {
+                assertSameArrays(rec, carpetReader.read());
+            }
+        }
+
+        @Test
+        void emptyAndNullArrays() throws IOException {
+            var empty = new PrimitiveArrays("foo", new int[0], null, new float[0], null);
+            var writerTest = new ParquetWriterTest<>(PrimitiveArrays.class).withLevel(TWO);
+            writerTest.write(empty);
+
+            try (var carpetReader = writerTest.getCarpetReader()) {
+                assertSameArrays(empty, carpetReader.read());
+            }
+        }
+
+        @Test
+        void numberCollections() throws IOException {
+            record Collections(List<Integer> ints, List<Double> doubles) {
+            }
+
+            var collections = new Collections(List.of(1, 2, 3), List.of(1.0, 2.0));
+            var writerTest = new ParquetWriterTest<>(Collections.class).withLevel(TWO);
+            writerTest.write(collections, new Collections(List.of(), null));
+
+            try (var carpetReader = writerTest.getCarpetReader()) {
+                assertEquals(collections, carpetReader.read());
+                assertEquals(new Collections(List.of(), null), carpetReader.read());
+            }
+        }
+
+        @Test
+        void nullValueInCollectionFails() {
+            record NullableValues(List<Long> ids) {
+            }
+
+            var writerTest = new ParquetWriterTest<>(NullableValues.class).withLevel(TWO);
+            var exception = assertThrows(NullPointerException.class,
+                    () -> writerTest.write(new NullableValues(Arrays.asList(1L, null, 3L))));
+            assertEquals("2-level list structures doesn't support null values", exception.getMessage());
+        }
+
+    }
+
+    @Nested
+    class ThreeLevel {
+
+        @Test
+        void primitiveArrays() throws IOException {
+            var writerTest = new ParquetWriterTest<>(PrimitiveArrays.class).withLevel(THREE);
+            writerTest.write(rec);
+
+            String expected = """
+                    message PrimitiveArrays {
+                      optional binary name (STRING);
+                      optional group ints (LIST) {
+                        repeated group list {
+                          required int32 element;
+                        }
+                      }
+                      optional group longs (LIST) {
+                        repeated group list {
+                          required int64 element;
+                        }
+                      }
+                      optional group floats (LIST) {
+                        repeated group list {
+                          required float element;
+                        }
+                      }
+                      optional group doubles (LIST) {
+                        repeated group list {
+                          required double element;
+                        }
+                      }
+                    }
+                    """;
+            assertEquals(expected, writerTest.getSchema().toString());
+
+            try (var carpetReader = writerTest.getCarpetReader()) {
+                assertSameArrays(rec, carpetReader.read());
+            }
+        }
+
+        @Test
+        void emptyAndNullArrays() throws IOException {
+            var empty = new PrimitiveArrays("foo", new int[0], null, new float[0], null);
+            var writerTest = new ParquetWriterTest<>(PrimitiveArrays.class).withLevel(THREE);
+            writerTest.write(empty);
+
+            try (var carpetReader = writerTest.getCarpetReader()) {
+                assertSameArrays(empty, carpetReader.read());
+            }
+        }
+
+        @Test
+        void primitiveArrayIsReadWithWidening() throws IOException {
+            record Widened(String name, long[] ints, long[] longs, double[] floats, double[] doubles) {
+            }
+
+            var writerTest = new ParquetWriterTest<>(PrimitiveArrays.class).withLevel(THREE);
+            writerTest.write(rec);
+
+            try (var carpetReader = writerTest.getCarpetReader(Widened.class)) {
+                var read = carpetReader.read();
+                assertArrayEquals(new long[] { 1L, 2L, 3L }, read.ints());
+                assertArrayEquals(new long[] { 4L, 5L }, read.longs());
+                assertArrayEquals(new double[] { 1.5 }, read.floats());
+                assertArrayEquals(new double[] { 2.5, 3.5, 4.5, 5.5 }, read.doubles());
+            }
+        }
+
+        @Test
+        void numberCollectionsWithNulls() throws IOException {
+            record Collections(List<Integer> ints, List<Long> longs, List<Float> floats, List<Double> doubles) {
+            }
+
+            var collections = new Collections(Arrays.asList(1, null, 3), Arrays.asList(null, 5L),
+                    Arrays.asList(1.5f), Arrays.asList(2.5, null));
+            var writerTest = new ParquetWriterTest<>(Collections.class).withLevel(THREE);
+            writerTest.write(collections, new Collections(List.of(), null, List.of(), null));
+
+            try (var carpetReader = writerTest.getCarpetReader()) {
+                assertEquals(collections, carpetReader.read());
+                assertEquals(new Collections(List.of(), null, List.of(), null), carpetReader.read());
+            }
+        }
+
+        @Test
+        void nullElementCanNotBeReadAsPrimitiveArray() throws IOException {
+            record Collections(List<Integer> ints) {
+            }
+
+            record AsArray(int[] ints) {
+            }
+
+            var writerTest = new ParquetWriterTest<>(Collections.class).withLevel(THREE);
+            writerTest.write(new Collections(Arrays.asList(1, null, 3)));
+
+            try (var carpetReader = writerTest.getCarpetReader(AsArray.class)) {
+                var exception = assertThrows(ParquetDecodingException.class, carpetReader::read);
+                assertInstanceOf(RecordTypeConversionException.class, exception.getCause());
+            }
+        }
+
+        @Test
+        void incompatibleElementTypeFails() throws IOException {
+            record Strings(List<String> ints) {
+            }
+
+            record AsArray(int[] ints) {
+            }
+
+            var writerTest = new ParquetWriterTest<>(Strings.class).withLevel(THREE);
+            writerTest.write(new Strings(List.of("foo")));
+
+            try (var carpetReader = writerTest.getCarpetReader(AsArray.class)) {
+                assertThrows(RecordTypeConversionException.class, carpetReader::read);
+            }
+        }
+
+    }
+
+}
@@ -21,10 +21,12 @@ import static com.jerolba.carpet.writer.VariantHelper.givenVariantWithNestedFiel
 import static java.nio.file.Files.createTempFile;
 import static java.time.ZoneOffset.ofHours;
 import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toCollection;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.FileOutputStream;
@@ -37,9 +39,17 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 import org.apache.avro.Conversions.DecimalConversion;
 import org.apache.avro.data.TimeConversions;
@@ -61,11 +71,13 @@ import org.locationtech.jts.io.WKBWriter;
 import com.jerolba.carpet.CarpetParquetWriter;
 import com.jerolba.carpet.CarpetReader;
 import com.jerolba.carpet.CarpetWriter;
+import com.jerolba.carpet.ColumnBatch;
 import com.jerolba.carpet.FieldMatchingStrategy;
 import com.jerolba.carpet.ParquetWriterTest;
 import com.jerolba.carpet.RecordTypeConversionException;
 import com.jerolba.carpet.TimeUnit;
 import com.jerolba.carpet.annotation.Alias;
+import com.jerolba.carpet.annotation.Cardinality;
 import com.jerolba.carpet.annotation.ParquetBson;
 import com.jerolba.carpet.annotation.ParquetEnum;
 import com.jerolba.carpet.annotation.ParquetGeography;
@@ -2621,4 +2633,452 @@ class CarpetWriterTest {
         }
     }
 
+    @Nested
+    class CardinalityHints {
+
+        record Address(@Cardinality(value = 20_000, averageSize = 100) String zip,
+                @Cardinality(100_000) String street) {
+        }
+
+        record Order(@Cardinality(200_000) String id, @Cardinality(20) String status, long amount,
+                Address address) {
+        }
+
+        private final List<Order> orders = IntStream.range(0, 1000)
+                .mapToObj(i -> new Order("id-" + i, "status-" + i % 3, i % 5, new Address("zip-" + i % 10,
+                        "street-" + i)))
+                .toList();
+
+        private Map<String, Boolean> writeAndGetDictionaryColumns(CarpetWriter.Builder<Order> builder)
+                throws IOException {
+            try (var writer = builder.build()) {
+                writer.write(orders);
+            }
+            return dictionaryColumns();
+        }
+
+        private File file;
+
+        private CarpetWriter.Builder<Order> builder() throws IOException {
+            file = createTempFile("cardinality", ".parquet").toFile();
+            return new CarpetWriter.Builder<>(new FileSystemOutputFile(file), Order.class);
+        }
+
+        private Map<String, Boolean> dictionaryColumns() throws IOException {
+            try (ParquetFileReader reader = ParquetFileReader.open(new FileSystemInputFile(file))) {
+                Map<String, Boolean> dictionary = new HashMap<>();
+                for (var column : reader.getFooter().getBlocks().get(0).getColumns()) {
+                    dictionary.put(column.getPath().toDotString(), column.hasDictionaryPage());
+                }
+                return dictionary;
+            }
+        }
+
+        @Test
+        void annotatedHighCardinalityColumnsAreNotDictionaryEncoded() throws IOException {
+            var dictionary = writeAndGetDictionaryColumns(builder());
+
+            assertEquals(Map.of("id", false, "status", true, "amount", true, "address.zip", false,
+                    "address.street", false), dictionary);
+        }
+
+        @Test
+        void averageValueSizeEstimatesDictionaryOfBinaryColumns() throws IOException {
+            var dictionary = writeAndGetDictionaryColumns(builder()
+                    .withColumnCardinality("status", 20_000)
+                    .withColumnCardinality("address.zip", 20_000, 10));
+            assertEquals(true, dictionary.get("status"));
+            assertEquals(true, dictionary.get("address.zip"));
+
+            dictionary = writeAndGetDictionaryColumns(builder()
+                    .withColumnCardinality("status", 20_000, 100));
+            assertEquals(false, dictionary.get("status"));
+        }
+
+        @Test
+        void averageValueSizeIsIgnoredInFixedSizeColumns() throws IOException {
+            var dictionary = writeAndGetDictionaryColumns(builder()
+                    .withColumnCardinality("amount", 20_000, 1_000));
+
+            assertEquals(true, dictionary.get("amount"));
+        }
+
+        @Test
+        void negativeAverageValueSizeFails() throws IOException {
+            var builder = builder();
+            assertThrows(IllegalArgumentException.class, () -> builder.withColumnCardinality("status", 10, -1));
+        }
+
+        @Test
+        void builderHintOverridesAnnotation() throws IOException {
+            var dictionary = writeAndGetDictionaryColumns(builder()
+                    .withColumnCardinality("status", 1_000_000)
+                    .withColumnCardinality("amount", 1_000_000));
+
+            assertEquals(false, dictionary.get("status"));
+            assertEquals(false, dictionary.get("amount"));
+        }
+
+        @Test
+        void lowCardinalityEnablesDictionaryOfColumn() throws IOException {
+            var dictionary = writeAndGetDictionaryColumns(builder()
+                    .withDictionaryEncoding(false)
+                    .withColumnCardinality("amount", 5));
+
+            assertEquals(false, dictionary.get("address.zip"));
+            assertEquals(true, dictionary.get("status"));
+            assertEquals(true, dictionary.get("amount"));
+        }
+
+        @Test
+        void cardinalityIsComparedWithDictionaryPageSize() throws IOException {
+            var dictionary = writeAndGetDictionaryColumns(builder()
+                    .withDictionaryPageSize(50)
+                    .withColumnCardinality("amount", 10));
+
+            assertEquals(false, dictionary.get("status"));
+            assertEquals(false, dictionary.get("amount"));
+        }
+
+        @Test
+        void explicitDictionaryConfigurationIsRespected() throws IOException {
+            var dictionary = writeAndGetDictionaryColumns(builder()
+                    .withColumnCardinality("status", 1_000_000)
+                    .withDictionaryEncoding("status", true));
+
+            assertEquals(true, dictionary.get("status"));
+        }
+
+        @Test
+        void unknownColumnFails() throws IOException {
+            var builder = builder().withColumnCardinality("foo", 10);
+            assertThrows(IllegalArgumentException.class, builder::build);
+        }
+
+    }
+
+    @Nested
+    class SortedRowGroups {
+
+        record Event(String tenant, Integer value, long time) {
+        }
+
+        private final List<Event> events = IntStream.range(0, 25)
+                .mapToObj(i -> new Event("tenant-" + (i * 7) % 5, i % 4 == 0 ? null : (i * 13) % 25, i))
+                .toList();
+
+        private File file;
+
+        private CarpetWriter.Builder<Event> builder() throws IOException {
+            file = createTempFile("sorted", ".parquet").toFile();
+            return new CarpetWriter.Builder<>(new FileSystemOutputFile(file), Event.class);
+        }
+
+        private List<Event> readAll() throws IOException {
+            return new CarpetReader<>(file, Event.class).toList();
+        }
+
+        private int rowGroups() throws IOException {
+            try (ParquetFileReader reader = ParquetFileReader.open(new FileSystemInputFile(file))) {
+                return reader.getFooter().getBlocks().size();
+            }
+        }
+
+        @Test
+        void eachRowGroupIsSortedByComparator() throws IOException {
+            Comparator<Event> byTime = Comparator.comparingLong(Event::time);
+            try (var writer = builder().withSortedRowGroups(byTime.reversed(), 10).build()) {
+                writer.write(events);
+            }
+
+            List<Event> expected = new ArrayList<>();
+            for (int i = 0; i < events.size(); i += 10) {
+                List<Event> rowGroup = new ArrayList<>(events.subList(i, Math.min(i + 10, events.size())));
+                rowGroup.sort(byTime.reversed());
+                expected.addAll(rowGroup);
+            }
+            assertEquals(expected, readAll());
+            assertEquals(3, rowGroups());
+        }
+
+        @Test
+        void eachRowGroupIsSortedByFields() throws IOException {
+            try (var writer = builder().withSortedRowGroups(30, "tenant", "value").build()) {
+                events.forEach(writer);
+            }
+
+            Comparator<Event> expectedOrder = Comparator.comparing(Event::tenant)
+                    .thenComparing(Event::value, Comparator.nullsLast(Comparator.naturalOrder()));
+            List<Event> expected = new ArrayList<>(events);
+            expected.sort(expectedOrder);
+            assertEquals(expected, readAll());
+            assertEquals(1, rowGroups());
+        }
+
+        @Test
+        void rowGroupStatisticsDoNotOverlap() throws IOException {
+            List<Event> reversed = new ArrayList<>(events);
+            Collections.reverse(reversed);
+            try (var writer = builder().withSortedRowGroups(5, "time").build()) {
+                writer.write(reversed);
+            }
+
+            try (ParquetFileReader reader = ParquetFileReader.open(new FileSystemInputFile(file))) {
+                var blocks = reader.getFooter().getBlocks();
+                assertEquals(5, blocks.size());
+                for (int i = 0; i < blocks.size(); i++) {
+                    var stats = blocks.get(i).getColumns().get(2).getStatistics();
+                    assertEquals(20L - i * 5, stats.genericGetMin());
+                    assertEquals(24L - i * 5, stats.genericGetMax());
+                }
+            }
+        }
+
+        @Test
+        void clusteredRowGroupsNarrowStatisticsOfAllFields() throws IOException {
+            List<Event> grid = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                grid.add(new Event("tenant-" + (i % 8), i / 8, i));
+            }
+            Collections.shuffle(grid, new Random(1));
+            try (var writer = builder().withClusteredRowGroups(64, "tenant", "value").build()) {
+                writer.write(grid);
+            }
+
+            List<Event> read = readAll();
+            assertEquals(new HashSet<>(grid), new HashSet<>(read));
+            // First quarter of the Z-order curve covers the first half of both fields
+            for (Event event : read.subList(0, 16)) {
+                assertTrue(event.tenant().compareTo("tenant-4") < 0);
+                assertTrue(event.value() < 4);
+            }
+        }
+
+        @Test
+        void rowGroupsSplitBySizeAreSorted() throws IOException {
+            List<Event> shuffled = IntStream.range(0, 3000)
+                    .mapToObj(i -> new Event("tenant-" + i % 5, i, i))
+                    .collect(toCollection(ArrayList::new));
+            Collections.shuffle(shuffled, new Random(1));
+            try (var writer = builder().withSortedRowGroups(1000, "time").withRowGroupSize(4 * 1024).build()) {
+                writer.write(shuffled);
+            }
+
+            List<Event> read = readAll();
+            assertEquals(new HashSet<>(shuffled), new HashSet<>(read));
+            try (ParquetFileReader reader = ParquetFileReader.open(new FileSystemInputFile(file))) {
+                var blocks = reader.getFooter().getBlocks();
+                assertTrue(blocks.size() > 3);
+                int start = 0;
+                for (var block : blocks) {
+                    int end = start + (int) block.getRowCount();
+                    assertTrue(block.getRowCount() <= 1000);
+                    List<Event> rowGroup = read.subList(start, end);
+                    List<Event> sorted = new ArrayList<>(rowGroup);
+                    sorted.sort(Comparator.comparingLong(Event::time));
+                    assertEquals(sorted, rowGroup);
+                    start = end;
+                }
+            }
+        }
+
+        @Test
+        void conflictingRowCountLimitFails() throws IOException {
+            var builder = builder().withSortedRowGroups(10, "time").withRowGroupRowCountLimit(20);
+            assertThrows(IllegalStateException.class, builder::build);
+        }
+
+        @Test
+        void sameRowCountLimitIsAllowed() throws IOException {
+            try (var writer = builder().withRowGroupRowCountLimit(10).withSortedRowGroups(10, "time").build()) {
+                writer.write(events);
+            }
+            assertEquals(3, rowGroups());
+        }
+
+        @Test
+        void invalidConfigurationFails() throws IOException {
+            var builder = builder();
+            assertThrows(IllegalArgumentException.class, () -> builder.withSortedRowGroups(0, "time"));
+            assertThrows(IllegalArgumentException.class, () -> builder.withSortedRowGroups(10, "foo"));
+            assertThrows(IllegalArgumentException.class, () -> builder.withSortedRowGroups(10));
+        }
+
+    }
+
+    @Nested
+    class ColumnBatches {
+
+        record Metric(long time, String name, Double value, int count, boolean flag, Float ratio) {
+        }
+
+        private File file;
+
+        private CarpetWriter<Metric> writer() throws IOException {
+            file = createTempFile("columns", ".parquet").toFile();
+            return new CarpetWriter.Builder<>(new FileSystemOutputFile(file), Metric.class).build();
+        }
+
+        @Test
+        void writesColumnsAsRecords() throws IOException {
+            BitSet nullValues = new BitSet();
+            nullValues.set(1);
+            var batch = new ColumnBatch(3)
+                    .withLongs("time", new long[] { 10L, 20L, 30L })
+                    .withStrings("name", new String[] { "cpu", null, "disk" })
+                    .withDoubles("value", new double[] { 1.5, 0.0, 3.5 }, nullValues)
+                    .withInts("count", new int[] { 1, 2, 3, 4 })
+                    .withBooleans("flag", new boolean[] { true, false, true })
+                    .withFloats("ratio", new float[] { 0.5f, 0.25f, 0.125f });
+            try (var writer = writer()) {
+                writer.write(new Metric(0L, "first", 0.5, 0, false, null));
+                writer.writeColumns(batch);
+                writer.write(new Metric(40L, "last", 4.5, 5, true, 1.0f));
+            }
+
+            List<Metric> expected = List.of(
+                    new Metric(0L, "first", 0.5, 0, false, null),
+                    new Metric(10L, "cpu", 1.5, 1, true, 0.5f),
+                    new Metric(20L, null, null, 2, false, 0.25f),
+                    new Metric(30L, "disk", 3.5, 3, true, 0.125f),
+                    new Metric(40L, "last", 4.5, 5, true, 1.0f));
+            assertEquals(expected, new CarpetReader<>(file, Metric.class).toList());
+        }
+
+        @Test
+        void missingOptionalColumnsAreNull() throws IOException {
+            var batch = new ColumnBatch(2)
+                    .withLongs("time", new long[] { 10L, 20L })
+                    .withInts("count", new int[] { 1, 2 })
+                    .withBooleans("flag", new boolean[] { true, false });
+            try (var writer = writer()) {
+                writer.writeColumns(batch);
+            }
+
+            List<Metric> expected = List.of(
+                    new Metric(10L, null, null, 1, true, null),
+                    new Metric(20L, null, null, 2, false, null));
+            assertEquals(expected, new CarpetReader<>(file, Metric.class).toList());
+        }
+
+        private void assertInvalidBatch(ColumnBatch batch) throws IOException {
+            try (var writer = writer()) {
+                assertThrows(RecordTypeConversionException.class, () -> writer.writeColumns(batch));
+            }
+        }
+
+        @Test
+        void invalidBatchesFail() throws IOException {
+            BitSet nulls = new BitSet();
+            nulls.set(0);
+            assertInvalidBatch(new ColumnBatch(1)
+                    .withLongs("time", new long[] { 1L })
+                    .withInts("count", new int[] { 1 }));
+            assertInvalidBatch(new ColumnBatch(1)
+                    .withLongs("time", new long[] { 1L }, nulls)
+                    .withInts("count", new int[] { 1 })
+                    .withBooleans("flag", new boolean[] { true }));
+            assertInvalidBatch(new ColumnBatch(1)
+                    .withInts("time", new int[] { 1 })
+                    .withInts("count", new int[] { 1 })
+                    .withBooleans("flag", new boolean[] { true }));
+            assertInvalidBatch(new ColumnBatch(1).withInts("foo", new int[] { 1 }));
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> new ColumnBatch(2).withInts("count", new int[] { 1 }));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new ColumnBatch(1).withInts("count", new int[] { 1 }).withInts("count", new int[] { 2 }));
+        }
+
+        @Test
+        void valuesAreWrittenInPhysicalRepresentation() throws IOException {
+            record Event(LocalDate date, @PrecisionScale(precision = 5, scale = 2) BigDecimal amount, short code) {
+            }
+
+            file = createTempFile("columns", ".parquet").toFile();
+            try (var writer = new CarpetWriter.Builder<>(new FileSystemOutputFile(file), Event.class).build()) {
+                writer.writeColumns(new ColumnBatch(1)
+                        .withInts("date", new int[] { 19_000 })
+                        .withInts("amount", new int[] { 12_345 })
+                        .withInts("code", new int[] { -300 }));
+            }
+
+            var expected = new Event(LocalDate.ofEpochDay(19_000), new BigDecimal("123.45"), (short) -300);
+            assertEquals(List.of(expected), new CarpetReader<>(file, Event.class).toList());
+        }
+
+        @Test
+        void valuesOutOfTheRangeOfTheColumnFail() throws IOException {
+            record Event(byte level, @PrecisionScale(precision = 5, scale = 2) BigDecimal amount) {
+            }
+
+            BitSet nulls = new BitSet();
+            nulls.set(1);
+            assertThrows(RecordTypeConversionException.class, () -> writeBatch(Event.class,
+                    new ColumnBatch(1).withInts("level", new int[] { 128 })));
+            assertThrows(RecordTypeConversionException.class, () -> writeBatch(Event.class,
+                    new ColumnBatch(1).withInts("level", new int[] { 1 }).withInts("amount", new int[] { -100_000 })));
+            writeBatch(Event.class, new ColumnBatch(2)
+                    .withInts("level", new int[] { -128, 127 })
+                    .withInts("amount", new int[] { 99_999, 100_000 }, nulls));
+        }
+
+        private <T> void writeBatch(Class<T> recordClass, ColumnBatch batch) throws IOException {
+            file = createTempFile("columns", ".parquet").toFile();
+            try (var writer = new CarpetWriter.Builder<>(new FileSystemOutputFile(file), recordClass).build()) {
+                writer.writeColumns(batch);
+            }
+        }
+
+        @Test
+        void enumColumnsOnlyAcceptEnumConstants() throws IOException {
+            record Sample(long id, Category category, @ParquetString Category label) {
+            }
+
+            writeBatch(Sample.class, new ColumnBatch(2)
+                    .withLongs("id", new long[] { 1L, 2L })
+                    .withStrings("category", new String[] { "one", null })
+                    .withStrings("label", new String[] { null, "three" }));
+            var expected = List.of(new Sample(1L, Category.one, null), new Sample(2L, null, Category.three));
+            assertEquals(expected, new CarpetReader<>(file, Sample.class).toList());
+
+            assertThrows(RecordTypeConversionException.class, () -> writeBatch(Sample.class, new ColumnBatch(1)
+                    .withLongs("id", new long[] { 1L })
+                    .withStrings("category", new String[] { "four" })));
+            assertThrows(RecordTypeConversionException.class, () -> writeBatch(Sample.class, new ColumnBatch(1)
+                    .withLongs("id", new long[] { 1L })
+                    .withStrings("label", new String[] { "ONE" })));
+        }
+
+        @Test
+        void columnsAreWrittenWithStatisticsCollected() throws IOException {
+            file = createTempFile("columns", ".parquet").toFile();
+            try (var writer = new CarpetWriter.Builder<>(new FileSystemOutputFile(file), Metric.class)
+                    .withColumnStatistics("count")
+                    .build()) {
+                writer.writeColumns(new ColumnBatch(2)
+                        .withLongs("time", new long[] { 10L, 20L })
+                        .withInts("count", new int[] { 1, 2 })
+                        .withBooleans("flag", new boolean[] { true, false }));
+            }
+
+            List<Metric> expected = List.of(
+                    new Metric(10L, null, null, 1, true, null),
+                    new Metric(20L, null, null, 2, false, null));
+            assertEquals(expected, new CarpetReader<>(file, Metric.class).toList());
+        }
+
+        @Test
+        void sortedRowGroupsDoNotSupportColumnBatches() throws IOException {
+            file = createTempFile("columns", ".parquet").toFile();
+            try (var writer = new CarpetWriter.Builder<>(new FileSystemOutputFile(file), Metric.class)
+                    .withSortedRowGroups(10, "time")
+                    .build()) {
+                var batch = new ColumnBatch(0);
+                assertThrows(IllegalStateException.class, () -> writer.writeColumns(batch));
+            }
+        }
+
+    }
+
 }
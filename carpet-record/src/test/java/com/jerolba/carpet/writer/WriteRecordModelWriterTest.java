@@ -54,6 +54,8 @@ import java.time.LocalTime;
 import java.time.ZoneOffset;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 import org.apache.avro.Conversions.DecimalConversion;
 import org.apache.avro.data.TimeConversions;
@@ -846,6 +848,36 @@ class WriteRecordModelWriterTest {
             }
         }
 
+        @Test
+        void nullableAndPhysicalPrimitiveFields() throws IOException {
+
+            record Physical(Integer value, LocalDate date, LocalDateTime time, BigDecimal amount) {
+            }
+
+            var mapper = writeRecordModel(Physical.class)
+                    .withPrimitiveField("value", INTEGER, (ToIntFunction<Physical>) Physical::value,
+                            r -> r.value() == null)
+                    .withPrimitiveField("date", LOCAL_DATE.notNull(),
+                            (ToIntFunction<Physical>) r -> (int) r.date().toEpochDay())
+                    .withPrimitiveField("time", LOCAL_DATE_TIME,
+                            (ToLongFunction<Physical>) r -> r.time().toInstant(ZoneOffset.UTC).toEpochMilli(),
+                            r -> r.time() == null)
+                    .withPrimitiveField("amount", BIG_DECIMAL.withPrecisionScale(6, 2),
+                            (ToLongFunction<Physical>) r -> r.amount().unscaledValue().longValue(),
+                            r -> r.amount() == null);
+
+            var rec1 = new Physical(1, LocalDate.of(2024, 3, 1), LocalDateTime.of(2024, 3, 1, 10, 15, 30),
+                    new BigDecimal("1234.56"));
+            var rec2 = new Physical(null, LocalDate.of(1970, 1, 1), null, null);
+            var writerTest = new ParquetWriterTest<>(Physical.class);
+            writerTest.write(mapper, rec1, rec2);
+
+            try (var carpetReader = writerTest.getCarpetReader()) {
+                assertEquals(rec1, carpetReader.read());
+                assertEquals(rec2, carpetReader.read());
+            }
+        }
+
         @Nested
         class BigDecimalFieldGloballyConfigured {
 
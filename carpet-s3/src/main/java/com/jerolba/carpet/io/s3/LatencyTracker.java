@@ -0,0 +1,80 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.io.s3;
+
+import java.util.Arrays;
+
+/**
+ * Keeps a sliding window with the latency of the latest range reads, and
+ * estimates the latency percentile expected for a new range read.
+ * <p>
+ * Range reads have very different sizes, from a few KB of a column index to
+ * several MB of a column chunk. Latencies are normalized by the size of the
+ * range, but any range below {@code MIN_NORMALIZED_LENGTH} is considered to have
+ * that size, because for small requests the latency is dominated by the time to
+ * first byte and not by the transfer.
+ * </p>
+ */
+class LatencyTracker {
+
+    private static final int WINDOW_SIZE = 256;
+    private static final int MIN_SAMPLES = 16;
+    private static final long MIN_NORMALIZED_LENGTH = 1024 * 1024; // 1 MB
+
+    private final long[] samples = new long[WINDOW_SIZE];
+    private int count = 0;
+    private int next = 0;
+
+    /**
+     * Records the latency of a completed range read.
+     *
+     * @param length       the length of the range in bytes
+     * @param elapsedNanos the time it took to read the range
+     */
+    synchronized void record(int length, long elapsedNanos) {
+        samples[next] = elapsedNanos * MIN_NORMALIZED_LENGTH / normalizedLength(length);
+        next = (next + 1) % WINDOW_SIZE;
+        count = Math.min(count + 1, WINDOW_SIZE);
+    }
+
+    /**
+     * Estimates the latency of the given percentile for a range of the given
+     * length.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @param length     the length of the range in bytes
+     * @return the estimated latency in nanoseconds, or -1 if there are not enough
+     *         samples to estimate it
+     */
+    long percentileNanos(double percentile, int length) {
+        long[] sorted;
+        synchronized (this) {
+            if (count < MIN_SAMPLES) {
+                return -1;
+            }
+            sorted = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(sorted);
+        int idx = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        long normalized = sorted[Math.max(0, Math.min(idx, sorted.length - 1))];
+        return normalized * normalizedLength(length) / MIN_NORMALIZED_LENGTH;
+    }
+
+    private static long normalizedLength(int length) {
+        return Math.max(length, MIN_NORMALIZED_LENGTH);
+    }
+
+}
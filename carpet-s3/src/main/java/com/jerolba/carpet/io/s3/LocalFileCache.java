@@ -0,0 +1,216 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.io.s3;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Directory where S3 objects are pre-downloaded, bounded by a maximum size.
+ * <p>
+ * Files are downloaded to a temporary {@code .download} file and atomically
+ * renamed when complete, so a file with the final name is always complete. The
+ * last modified time of a file is updated each time it is reused, and before
+ * downloading a new file the least recently used ones are deleted until the new
+ * file fits in the size budget.
+ * </p>
+ * <p>
+ * Only files in the cache directory are managed, so it should be a directory
+ * dedicated to Carpet. Incomplete downloads left by a crashed process are
+ * deleted after {@code STALE_DOWNLOAD_AGE}.
+ * </p>
+ */
+class LocalFileCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalFileCache.class);
+
+    static final long DEFAULT_MAX_SIZE = 10L * 1024 * 1024 * 1024; // 10 GB
+    static final String DEFAULT_DIRECTORY_NAME = "carpet-s3-cache";
+    static final String DOWNLOAD_SUFFIX = ".download";
+    static final Duration STALE_DOWNLOAD_AGE = Duration.ofHours(24);
+
+    private static final Object EVICTION_LOCK = new Object();
+
+    private final Path directory;
+    private final long maxSize;
+
+    LocalFileCache(Path directory, long maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be > 0, got: " + maxSize);
+        }
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Creates a cache configured with system properties
+     * {@code carpet.s3.predownload.dir} and {@code carpet.s3.predownload.max.size},
+     * defaulting to a {@code carpet-s3-cache} directory in {@code java.io.tmpdir}
+     * and 10 GB.
+     *
+     * @return the cache configured by system properties
+     */
+    static LocalFileCache fromSystemProperties() {
+        String dir = System.getProperty(S3InputFile.CARPET_S3_PREDOWNLOAD_DIR);
+        Path directory = dir != null ? Path.of(dir) : defaultDirectory();
+        Long maxSize = Long.getLong(S3InputFile.CARPET_S3_PREDOWNLOAD_MAX_SIZE);
+        return new LocalFileCache(directory, maxSize != null ? maxSize : DEFAULT_MAX_SIZE);
+    }
+
+    static Path defaultDirectory() {
+        return Path.of(System.getProperty("java.io.tmpdir"), DEFAULT_DIRECTORY_NAME);
+    }
+
+    Path directory() {
+        return directory;
+    }
+
+    long maxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns a previously downloaded file if it exists with the expected length,
+     * marking it as recently used.
+     *
+     * @param fileName the name of the file in the cache
+     * @param length   the expected length of the file
+     * @return the path of the cached file, or null if it is not in the cache
+     * @throws IOException if the file can not be accessed
+     */
+    Path lookup(String fileName, long length) throws IOException {
+        Path path = directory.resolve(fileName);
+        if (Files.isRegularFile(path) && Files.size(path) == length) {
+            touch(path);
+            return path;
+        }
+        return null;
+    }
+
+    /**
+     * Creates an empty temporary file where a file of the given length can be
+     * downloaded, evicting the least recently used files to make room for it.
+     *
+     * @param fileName the final name of the file in the cache
+     * @param length   the length of the file to download
+     * @return the path of the temporary file
+     * @throws IOException if the file can not be created
+     */
+    Path newDownloadFile(String fileName, long length) throws IOException {
+        Files.createDirectories(directory);
+        evict(length);
+        return Files.createTempFile(directory, fileName + ".", DOWNLOAD_SUFFIX);
+    }
+
+    /**
+     * Moves a completed download to its final name in the cache.
+     *
+     * @param download the temporary file returned by
+     *                 {@link #newDownloadFile(String, long)}
+     * @param fileName the final name of the file in the cache
+     * @return the path of the file in the cache
+     * @throws IOException if the file can not be moved
+     */
+    Path commit(Path download, String fileName) throws IOException {
+        Path target = directory.resolve(fileName);
+        try {
+            Files.move(download, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(download, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        touch(target);
+        return target;
+    }
+
+    private void evict(long incoming) throws IOException {
+        synchronized (EVICTION_LOCK) {
+            List<CachedFile> files = new ArrayList<>();
+            long now = System.currentTimeMillis();
+            try (Stream<Path> list = Files.list(directory)) {
+                for (Path path : (Iterable<Path>) list::iterator) {
+                    BasicFileAttributes attrs = readAttributes(path);
+                    if (attrs == null || !attrs.isRegularFile()) {
+                        continue;
+                    }
+                    long lastModified = attrs.lastModifiedTime().toMillis();
+                    if (path.getFileName().toString().endsWith(DOWNLOAD_SUFFIX)) {
+                        if (now - lastModified > STALE_DOWNLOAD_AGE.toMillis()) {
+                            delete(path);
+                        }
+                        continue;
+                    }
+                    files.add(new CachedFile(path, attrs.size(), lastModified));
+                }
+            }
+            long used = files.stream().mapToLong(CachedFile::size).sum();
+            if (used + incoming <= maxSize) {
+                return;
+            }
+            if (incoming > maxSize) {
+                logger.warn("File of {} bytes is larger than the cache size {} in {}", incoming, maxSize, directory);
+            }
+            files.sort(Comparator.comparingLong(CachedFile::lastModified));
+            for (CachedFile file : files) {
+                if (used + incoming <= maxSize) {
+                    break;
+                }
+                if (delete(file.path())) {
+                    used -= file.size();
+                }
+            }
+        }
+    }
+
+    private static BasicFileAttributes readAttributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null; // Deleted concurrently
+        }
+    }
+
+    private static boolean delete(Path path) {
+        try {
+            logger.info("Evicting cached file {}", path);
+            Files.deleteIfExists(path);
+            return true;
+        } catch (IOException e) {
+            logger.warn("Failed to delete cached file {}", path, e);
+            return false;
+        }
+    }
+
+    private static void touch(Path path) throws IOException {
+        Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+    }
+
+    private record CachedFile(Path path, long size, long lastModified) {
+    }
+
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.io.s3;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+
+/**
+ * A bounded pool of direct {@link ByteBuffer} instances used as multipart
+ * upload part buffers.
+ * <p>
+ * Buffers are allocated lazily, up to {@code maxBuffers}, and reused once they
+ * are released. When all buffers are in use, {@link #acquire()} blocks until
+ * one of them is released, providing backpressure to a writer that produces
+ * data faster than parts can be uploaded.
+ * </p>
+ * <p>
+ * {@link #acquire()} and {@link #release(ByteBuffer)} can be called from
+ * different threads: the writer acquires a buffer to fill it and the upload
+ * task releases it when the part has been sent.
+ * </p>
+ * <p>
+ * Pools created with {@link #withLimit(int)} share their free buffers, so
+ * buffers released by a stream are reused by the next streams instead of
+ * allocating new direct memory for each file. Each pool keeps its own limit of
+ * buffers in use.
+ * </p>
+ * <p>
+ * At most {@code maxIdleBuffers} free buffers are kept. Buffers released when
+ * the free list is full are dropped, and their direct memory is reclaimed by
+ * the garbage collector, so idle memory doesn't stay at the peak of concurrent
+ * parts.
+ * </p>
+ */
+class PartBufferPool {
+
+    private final int bufferSize;
+    private final Semaphore available;
+    private final LinkedBlockingDeque<ByteBuffer> free;
+
+    PartBufferPool(int bufferSize, int maxBuffers) {
+        this(bufferSize, maxBuffers, maxBuffers);
+    }
+
+    PartBufferPool(int bufferSize, int maxBuffers, int maxIdleBuffers) {
+        this(bufferSize, maxBuffers, newFreeList(maxIdleBuffers));
+    }
+
+    private static LinkedBlockingDeque<ByteBuffer> newFreeList(int maxIdleBuffers) {
+        if (maxIdleBuffers < 0) {
+            throw new IllegalArgumentException("maxIdleBuffers must be >= 0, got: " + maxIdleBuffers);
+        }
+        // A deque can not have 0 capacity, an empty one is never polled
+        return maxIdleBuffers == 0 ? null : new LinkedBlockingDeque<>(maxIdleBuffers);
+    }
+
+    private PartBufferPool(int bufferSize, int maxBuffers, LinkedBlockingDeque<ByteBuffer> free) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be > 0, got: " + bufferSize);
+        }
+        if (maxBuffers <= 0) {
+            throw new IllegalArgumentException("maxBuffers must be > 0, got: " + maxBuffers);
+        }
+        this.bufferSize = bufferSize;
+        this.available = new Semaphore(maxBuffers);
+        this.free = free;
+    }
+
+    /**
+     * Returns a pool of buffers of the same size that shares the free buffers of
+     * this pool, with its own limit of buffers in use.
+     *
+     * @param maxBuffers the maximum number of buffers in use of the new pool
+     * @return the new pool
+     */
+    PartBufferPool withLimit(int maxBuffers) {
+        return new PartBufferPool(bufferSize, maxBuffers, free);
+    }
+
+    /**
+     * Returns an empty buffer of {@code bufferSize} capacity, blocking while all
+     * buffers of the pool are in use.
+     *
+     * @return a cleared buffer ready to be written
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    ByteBuffer acquire() throws InterruptedException {
+        available.acquire();
+        ByteBuffer buffer = free == null ? null : free.pollFirst();
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(bufferSize);
+        }
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer to the pool, making it available to the next
+     * {@link #acquire()} call. The buffer is dropped if the pool already keeps
+     * {@code maxIdleBuffers} free buffers.
+     *
+     * @param buffer a buffer previously obtained from {@link #acquire()}
+     */
+    void release(ByteBuffer buffer) {
+        buffer.clear();
+        if (free != null) {
+            free.offerFirst(buffer);
+        }
+        available.release();
+    }
+
+    int idleBuffers() {
+        return free == null ? 0 : free.size();
+    }
+
+    int bufferSize() {
+        return bufferSize;
+    }
+
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.io.s3;
+
+import java.time.Duration;
+
+/**
+ * Configuration of how ranged reads are executed: the timeout of each request
+ * attempt, how many times a failed range read is retried, and the latency
+ * percentile above which a duplicate (hedged) request is launched.
+ *
+ * @param attemptTimeout  maximum duration of each range request, or null to
+ *                        use the S3 client configuration
+ * @param maxRetries      number of additional attempts after a failed range
+ *                        read
+ * @param hedgePercentile latency percentile after which a hedged request is
+ *                        launched, or null to disable hedging
+ */
+record RangeReadPolicy(Duration attemptTimeout, int maxRetries, Double hedgePercentile) {
+
+    static RangeReadPolicy defaultPolicy() {
+        return new RangeReadPolicy(null, 0, null);
+    }
+
+    RangeReadPolicy withAttemptTimeout(Duration attemptTimeout) {
+        return new RangeReadPolicy(attemptTimeout, maxRetries, hedgePercentile);
+    }
+
+    RangeReadPolicy withMaxRetries(int maxRetries) {
+        return new RangeReadPolicy(attemptTimeout, maxRetries, hedgePercentile);
+    }
+
+    RangeReadPolicy withHedgePercentile(Double hedgePercentile) {
+        return new RangeReadPolicy(attemptTimeout, maxRetries, hedgePercentile);
+    }
+
+    boolean isHedgingEnabled() {
+        return hedgePercentile != null;
+    }
+
+    /**
+     * Returns true if range reads need to be decorated with retries or hedging.
+     * Attempt timeouts are applied directly to S3 requests.
+     */
+    boolean requiresResilientReader() {
+        return maxRetries > 0 || isHedgingEnabled();
+    }
+
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.io.s3;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * SeekableReader decorator that applies a {@link RangeReadPolicy} to each range
+ * read: failed reads are retried, and if hedging is enabled, a duplicate
+ * request is launched when a read takes longer than the configured latency
+ * percentile of the previous reads. The first request to complete wins, and
+ * the result of the other is discarded.
+ * <p>
+ * Reads that go through hedging are executed in a dedicated executor, so the
+ * thread waiting for the result (a caller thread or a {@link VectorReader}
+ * task) never competes with the requests it is waiting for. Each attempt
+ * reads into its own array, which is copied to the destination when it wins.
+ * </p>
+ */
+class ResilientSeekableReader implements SeekableReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResilientSeekableReader.class);
+
+    private static final long RETRY_BACKOFF_MS = 50;
+
+    private final SeekableReader reader;
+    private final RangeReadPolicy policy;
+    private final CustomExecutor hedgeExecutor;
+    private final LatencyTracker latencies;
+
+    ResilientSeekableReader(SeekableReader reader, RangeReadPolicy policy, CustomExecutor hedgeExecutor,
+            LatencyTracker latencies) {
+        this.reader = reader;
+        this.policy = policy;
+        this.hedgeExecutor = hedgeExecutor;
+        this.latencies = latencies;
+    }
+
+    @Override
+    public long getLength() throws IOException {
+        return reader.getLength();
+    }
+
+    @Override
+    public int readFully(long pos, byte[] b, int off, int len) throws IOException {
+        if (hedgeExecutor == null) {
+            withRetries(pos, len, () -> timedRead(pos, len, () -> reader.readFully(pos, b, off, len)));
+        } else {
+            byte[] data = withRetries(pos, len, () -> hedgedRead(pos, len));
+            System.arraycopy(data, 0, b, off, len);
+        }
+        return len;
+    }
+
+    @Override
+    public int readFully(long pos, ByteBuffer byteBuffer) throws IOException {
+        int len = byteBuffer.remaining();
+        if (hedgeExecutor == null) {
+            // A failed attempt may have partially filled the buffer, each attempt
+            // works on a view from the original position
+            int start = byteBuffer.position();
+            withRetries(pos, len, () -> timedRead(pos, len,
+                    () -> reader.readFully(pos, byteBuffer.duplicate().position(start))));
+            byteBuffer.position(start + len);
+        } else {
+            byteBuffer.put(withRetries(pos, len, () -> hedgedRead(pos, len)));
+        }
+        return len;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (hedgeExecutor != null) {
+            hedgeExecutor.shutdown();
+        }
+        reader.close();
+    }
+
+    private <R> R withRetries(long pos, int len, RangeRead<R> rangeRead) throws IOException {
+        int attempt = 0;
+        while (true) {
+            try {
+                return rangeRead.read();
+            } catch (IOException e) {
+                if (attempt >= policy.maxRetries()) {
+                    throw e;
+                }
+                attempt++;
+                logger.debug("Retrying range read: offset={}, length={}, attempt={}", pos, len, attempt, e);
+                backoff(attempt);
+            }
+        }
+    }
+
+    private byte[] hedgedRead(long pos, int len) throws IOException {
+        long hedgeDelay = latencies.percentileNanos(policy.hedgePercentile(), len);
+        CompletableFuture<byte[]> primary = readAsync(pos, len);
+        if (hedgeDelay < 0) {
+            return await(primary);
+        }
+        try {
+            return primary.get(hedgeDelay, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            logger.debug("Hedging range read after {} ms: offset={}, length={}",
+                    hedgeDelay / 1_000_000, pos, len);
+            return await(firstSuccessful(primary, readAsync(pos, len)));
+        } catch (ExecutionException e) {
+            throw asIOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading range at position " + pos, e);
+        }
+    }
+
+    private CompletableFuture<byte[]> readAsync(long pos, int len) {
+        return CompletableFuture.supplyAsync(() -> {
+            byte[] data = new byte[len];
+            try {
+                timedRead(pos, len, () -> reader.readFully(pos, data, 0, len));
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+            return data;
+        }, hedgeExecutor);
+    }
+
+    private Integer timedRead(long pos, int len, RangeRead<Integer> rangeRead) throws IOException {
+        long start = System.nanoTime();
+        Integer read = rangeRead.read();
+        latencies.record(len, System.nanoTime() - start);
+        return read;
+    }
+
+    private static CompletableFuture<byte[]> firstSuccessful(CompletableFuture<byte[]> primary,
+            CompletableFuture<byte[]> hedge) {
+        CompletableFuture<byte[]> result = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<byte[]> attempt : List.of(primary, hedge)) {
+            attempt.whenComplete((data, error) -> {
+                if (error == null) {
+                    result.complete(data);
+                } else if (failures.incrementAndGet() == 2) {
+                    result.completeExceptionally(error);
+                }
+            });
+        }
+        return result;
+    }
+
+    private static byte[] await(CompletableFuture<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw asIOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for range read", e);
+        }
+    }
+
+    private static IOException asIOException(Throwable cause) {
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof IOException ioException) {
+            return ioException;
+        }
+        return new IOException(cause);
+    }
+
+    private static void backoff(int attempt) throws IOException {
+        try {
+            Thread.sleep(RETRY_BACKOFF_MS << Math.min(attempt - 1, 6));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting to retry range read", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RangeRead<R> {
+        R read() throws IOException;
+    }
+
+}
@@ -21,6 +21,7 @@ import static com.jerolba.carpet.io.s3.S3UrlParsing.detectLocalFilePathForReadin
 import static com.jerolba.carpet.io.s3.S3UrlParsing.parses3Url;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.concurrent.Executor;
 
 import org.apache.parquet.io.InputFile;
@@ -53,10 +54,29 @@ import software.amazon.awssdk.services.s3.S3Client;
  * that uses the builder.
  *
  * If system property {@code carpet.s3.predownload.file} is set to true, the
- * entire S3 file will be pre-downloaded to a local temporary file before
- * reading. This can improve performance for small files or when the S3 object
- * is accessed multiple times in development, but it may not be suitable for
- * large files or production use due to of local disk usage.
+ * entire S3 file will be pre-downloaded to a local cache directory before
+ * reading. The file is downloaded with concurrent ranged requests using the
+ * configured executor, and reused while the S3 object doesn't change. The
+ * cache directory and its maximum size are configured with
+ * {@link Builder#predownloadCacheDirectory(Path)} and
+ * {@link Builder#predownloadCacheMaxSize(long)}, or system properties
+ * {@code carpet.s3.predownload.dir} and {@code carpet.s3.predownload.max.size}
+ * (in bytes). By default, a {@code carpet-s3-cache} directory in the system
+ * temporary directory limited to 10 GB is used. When a new file doesn't fit,
+ * the least recently used files are deleted.
+ *
+ * Range reads can be configured with a timeout per request, a number of
+ * retries, and hedging: when a range read takes longer than a percentile of
+ * the latencies observed for previous reads of the same file, a duplicate
+ * request is launched and the first response is used. This reduces the tail
+ * latency caused by a single slow request stalling a whole row group.
+ *
+ * For full scans of large files, streaming reads can be enabled with
+ * {@link Builder#streamingReads(boolean)} or the system property
+ * {@code carpet.s3.streaming.read}. Instead of a ranged request per column
+ * chunk, the file is read with a few long-lived GET requests that are consumed
+ * in the background while the data already received is decoded, reducing the
+ * number of requests and the time to first byte paid on each of them.
  *
  */
 public interface S3InputFile extends InputFile {
@@ -67,6 +87,9 @@ public interface S3InputFile extends InputFile {
      * files or when the S3 object is accessed multiple times in development.
      */
     public static final String CARPET_S3_PREDOWNLOAD_FILE = "carpet.s3.predownload.file";
+    public static final String CARPET_S3_PREDOWNLOAD_DIR = "carpet.s3.predownload.dir";
+    public static final String CARPET_S3_PREDOWNLOAD_MAX_SIZE = "carpet.s3.predownload.max.size";
+    public static final String CARPET_S3_STREAMING_READ = "carpet.s3.streaming.read";
 
     public static S3InputFile of(String s3Path) {
         return new Builder().s3Path(s3Path).build();
@@ -117,6 +140,10 @@ public interface S3InputFile extends InputFile {
         private String key;
         private Integer concurrency = null;
         private Executor executor = null;
+        private RangeReadPolicy rangeReadPolicy = RangeReadPolicy.defaultPolicy();
+        private boolean streamingReads = Boolean.getBoolean(CARPET_S3_STREAMING_READ);
+        private Path predownloadCacheDirectory = null;
+        private Long predownloadCacheMaxSize = null;
         private Path localFilePath = null;
 
         /**
@@ -215,6 +242,108 @@ public interface S3InputFile extends InputFile {
             return this;
         }
 
+        /**
+         * Configures the maximum duration of each ranged GET request attempt. If an
+         * attempt takes longer, it is aborted and can be retried by the S3 client retry
+         * strategy or by {@link #rangeReadRetries(int)}. If not set, the timeouts
+         * configured in the S3 client are used.
+         *
+         * @param timeout the maximum duration of each range request attempt
+         * @return this builder
+         */
+        public Builder rangeReadTimeout(Duration timeout) {
+            if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+                throw new IllegalArgumentException("timeout must be positive, got: " + timeout);
+            }
+            this.rangeReadPolicy = rangeReadPolicy.withAttemptTimeout(timeout);
+            return this;
+        }
+
+        /**
+         * Configures the number of times a failed range read is retried, in addition
+         * to the retries done by the S3 client. Retries wait an exponential backoff
+         * starting at 50 ms. Defaults to 0.
+         *
+         * @param retries the number of retries, must be >= 0
+         * @return this builder
+         */
+        public Builder rangeReadRetries(int retries) {
+            if (retries < 0) {
+                throw new IllegalArgumentException("retries must be >= 0, got: " + retries);
+            }
+            this.rangeReadPolicy = rangeReadPolicy.withMaxRetries(retries);
+            return this;
+        }
+
+        /**
+         * Enables hedged range reads. When a range read takes longer than the given
+         * percentile of the latencies of previous range reads (normalized by their
+         * size), a duplicate request is launched and the first one to complete is
+         * used. Hedging starts once enough latencies have been observed.
+         *
+         * Hedged requests increase the number of GET requests sent to S3. A high
+         * percentile like 95 limits the extra requests to the slowest reads.
+         *
+         * @param percentile the latency percentile, between 0 and 100 (exclusive)
+         * @return this builder
+         */
+        public Builder hedgeRangeReadsAbovePercentile(double percentile) {
+            if (percentile <= 0 || percentile >= 100) {
+                throw new IllegalArgumentException("percentile must be between 0 and 100, got: " + percentile);
+            }
+            this.rangeReadPolicy = rangeReadPolicy.withHedgePercentile(percentile);
+            return this;
+        }
+
+        /**
+         * Enables streaming reads, optimized for scanning the whole file. The file is
+         * read sequentially with long-lived GET requests, prefetching up to 16 MB
+         * ahead of the reader, instead of issuing a ranged request per column chunk.
+         * Small reads that are not sequential, like footers or page indexes, still use
+         * ranged requests.
+         *
+         * Streaming reads are not recommended when only a few columns or row groups
+         * are read, because skipped data is still transferred when it is near the
+         * current position. Defaults to the value of the system property
+         * {@code carpet.s3.streaming.read}, or false.
+         *
+         * @param streamingReads true to enable streaming reads
+         * @return this builder
+         */
+        public Builder streamingReads(boolean streamingReads) {
+            this.streamingReads = streamingReads;
+            return this;
+        }
+
+        /**
+         * Configures the directory where files are pre-downloaded when system
+         * property {@code carpet.s3.predownload.file} is true. Files in the directory
+         * are deleted to keep it under its maximum size, so it should be dedicated to
+         * Carpet.
+         *
+         * @param directory the cache directory
+         * @return this builder
+         */
+        public Builder predownloadCacheDirectory(Path directory) {
+            this.predownloadCacheDirectory = directory;
+            return this;
+        }
+
+        /**
+         * Configures the maximum size in bytes of the pre-download cache directory.
+         * Defaults to 10 GB.
+         *
+         * @param maxSize the maximum size of the cache, must be > 0
+         * @return this builder
+         */
+        public Builder predownloadCacheMaxSize(long maxSize) {
+            if (maxSize <= 0) {
+                throw new IllegalArgumentException("maxSize must be > 0, got: " + maxSize);
+            }
+            this.predownloadCacheMaxSize = maxSize;
+            return this;
+        }
+
         /**
          * Builds the {@link S3InputFile} instance based on the configured properties.
          *
@@ -245,7 +374,14 @@ public interface S3InputFile extends InputFile {
             } else {
                 executor = createVirtualThreadExecutorWithCommonPoolFallback(DEFAULT_CONCURRENCY);
             }
-            return new S3InputFileImpl(actualClient, bucket, key, executor);
+            // Each concurrent read can have a primary and a hedged request in flight
+            int hedgeConcurrency = 2 * (concurrency != null ? concurrency : DEFAULT_CONCURRENCY);
+            LocalFileCache defaultCache = LocalFileCache.fromSystemProperties();
+            LocalFileCache predownloadCache = new LocalFileCache(
+                    predownloadCacheDirectory != null ? predownloadCacheDirectory : defaultCache.directory(),
+                    predownloadCacheMaxSize != null ? predownloadCacheMaxSize : defaultCache.maxSize());
+            return new S3InputFileImpl(actualClient, bucket, key, executor, rangeReadPolicy, hedgeConcurrency,
+                    streamingReads, predownloadCache);
         }
 
     }
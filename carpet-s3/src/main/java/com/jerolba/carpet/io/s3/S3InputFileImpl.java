@@ -27,6 +27,11 @@ class S3InputFileImpl implements S3InputFile {
 
     private final S3SeekableReader s3SeekableReader;
     private final Executor executor;
+    private final RangeReadPolicy rangeReadPolicy;
+    private final int hedgeConcurrency;
+    private final boolean streamingReads;
+    private final LocalFileCache predownloadCache;
+    private final LatencyTracker latencies = new LatencyTracker();
 
     /**
      * Constructs an S3InputFile with the specified S3 client, s3 bucket and key,
@@ -38,8 +43,36 @@ class S3InputFileImpl implements S3InputFile {
      * @param executor the executor to use for vectored read operations, or null
      */
     S3InputFileImpl(S3Client client, String bucket, String key, Executor executor) {
-        this.s3SeekableReader = new S3SeekableReader(client, bucket, key);
+        this(client, bucket, key, executor, RangeReadPolicy.defaultPolicy(), 0, false,
+                LocalFileCache.fromSystemProperties());
+    }
+
+    /**
+     * Constructs an S3InputFile with the specified S3 client, s3 bucket and key,
+     * executor and range read policy.
+     *
+     * @param client           the S3 client to use for operations
+     * @param bucket           the S3 bucket name
+     * @param key              the S3 object key
+     * @param executor         the executor to use for vectored read operations, or
+     *                         null
+     * @param rangeReadPolicy  timeouts, retries and hedging applied to range reads
+     * @param hedgeConcurrency the maximum number of concurrent requests when
+     *                         hedging is enabled
+     * @param streamingReads   whether to read the file with streaming GET
+     *                         requests instead of ranged reads
+     * @param predownloadCache the local cache where the file is downloaded when
+     *                         pre-download is enabled
+     */
+    S3InputFileImpl(S3Client client, String bucket, String key, Executor executor,
+            RangeReadPolicy rangeReadPolicy, int hedgeConcurrency, boolean streamingReads,
+            LocalFileCache predownloadCache) {
+        this.s3SeekableReader = new S3SeekableReader(client, bucket, key, rangeReadPolicy.attemptTimeout());
         this.executor = executor;
+        this.rangeReadPolicy = rangeReadPolicy;
+        this.hedgeConcurrency = hedgeConcurrency;
+        this.streamingReads = streamingReads;
+        this.predownloadCache = predownloadCache;
     }
 
     /**
@@ -67,10 +100,27 @@ class S3InputFileImpl implements S3InputFile {
     @Override
     public SeekableInputStream newStream() throws IOException {
         if (Boolean.getBoolean(CARPET_S3_PREDOWNLOAD_FILE)) {
-            Path localFile = s3SeekableReader.downloadToLocalFile();
+            Path localFile = s3SeekableReader.downloadToLocalFile(predownloadCache, executor);
             return new LocalFileInputStream(localFile);
         }
-        return new SeekableCachedFooterReader(s3SeekableReader, executor);
+        if (streamingReads) {
+            // Streams serve reads in order, so vectored reads are done sequentially
+            SeekableReader streaming = new StreamingSeekableReader(rangeReader(), s3SeekableReader::openStream,
+                    CustomExecutor.createCustomExecutor(StreamingSeekableReader.MAX_STREAMS));
+            return new SeekableCachedFooterReader(streaming, null);
+        }
+        return new SeekableCachedFooterReader(rangeReader(), executor);
+    }
+
+    private SeekableReader rangeReader() {
+        if (!rangeReadPolicy.requiresResilientReader()) {
+            return s3SeekableReader;
+        }
+        CustomExecutor hedgeExecutor = null;
+        if (rangeReadPolicy.isHedgingEnabled()) {
+            hedgeExecutor = CustomExecutor.createCustomExecutor(hedgeConcurrency);
+        }
+        return new ResilientSeekableReader(s3SeekableReader, rangeReadPolicy, hedgeExecutor, latencies);
     }
 
 }
\ No newline at end of file
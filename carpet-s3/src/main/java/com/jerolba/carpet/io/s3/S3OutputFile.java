@@ -43,6 +43,17 @@ import software.amazon.awssdk.services.s3.S3Client;
  * via the builder or configuring a custom Executor. By default, a virtual
  * thread executor is used for parallel uploads.
  *
+ * Part buffers are direct ByteBuffers taken from a bounded pool and reused
+ * between parts. The size of each part and the maximum number of parts being
+ * uploaded at the same time can be configured via the builder. When that limit
+ * is reached, writing blocks until a part upload finishes, so a fast writer
+ * can not accumulate an unbounded amount of pending data in memory.
+ *
+ * By default, the multipart upload is only started once the first part is
+ * full. If the stream is closed before that, the whole content is uploaded
+ * with a single PutObject request, saving the create and complete multipart
+ * requests for files smaller than the part size.
+ *
  * If the path provided to the builder is detected as a local file path (i.e. it
  * does not start with s3:// or s3a:// and points to a valid writable location),
  * the builder will automatically create a {@link LocalOutputFile} instance that
@@ -102,6 +113,10 @@ public interface S3OutputFile extends OutputFile {
         private String key;
         private Integer concurrency = null;
         private Executor executor = null;
+        private int partSize = S3OutputFileImpl.MIN_PART_SIZE;
+        private int maxInFlightParts = S3OutputFileImpl.DEFAULT_MAX_IN_FLIGHT_PARTS;
+        private int maxIdlePartBuffers = S3OutputFileImpl.DEFAULT_MAX_IDLE_PART_BUFFERS;
+        private boolean singlePutForSmallFiles = true;
         private Path localFilePath = null;
 
         /**
@@ -176,6 +191,72 @@ public interface S3OutputFile extends OutputFile {
             return this;
         }
 
+        /**
+         * Configures the size in bytes of each multipart upload part. Data is buffered
+         * in memory until a full part is available. S3 requires all parts except the
+         * last one to be at least 5 MiB, which is also the default value.
+         *
+         * @param partSize the part size in bytes, must be >= 5 MiB
+         * @return this builder
+         */
+        public Builder partSize(int partSize) {
+            if (partSize < S3OutputFileImpl.MIN_PART_SIZE) {
+                throw new IllegalArgumentException(
+                        "partSize must be >= " + S3OutputFileImpl.MIN_PART_SIZE + ", got: " + partSize);
+            }
+            this.partSize = partSize;
+            return this;
+        }
+
+        /**
+         * Configures the maximum number of parts that can be pending of upload at the
+         * same time. When the limit is reached, write operations block until a part
+         * upload finishes. The memory used by the writer is bounded to
+         * {@code (maxInFlightParts + 1) * partSize} bytes. Defaults to 8.
+         *
+         * @param maxInFlightParts the maximum number of parts in flight, must be > 0
+         * @return this builder
+         */
+        public Builder maxInFlightParts(int maxInFlightParts) {
+            if (maxInFlightParts <= 0) {
+                throw new IllegalArgumentException("maxInFlightParts must be > 0, got: " + maxInFlightParts);
+            }
+            this.maxInFlightParts = maxInFlightParts;
+            return this;
+        }
+
+        /**
+         * Configures the maximum number of free part buffers kept in memory to be
+         * reused by the next output files with the same part size. Buffers released
+         * when the limit is reached are dropped. Defaults to 9, the buffers of one
+         * file with the default limit of parts in flight.
+         *
+         * @param maxIdlePartBuffers the maximum number of idle part buffers, must be
+         *                           >= 0
+         * @return this builder
+         */
+        public Builder maxIdlePartBuffers(int maxIdlePartBuffers) {
+            if (maxIdlePartBuffers < 0) {
+                throw new IllegalArgumentException("maxIdlePartBuffers must be >= 0, got: " + maxIdlePartBuffers);
+            }
+            this.maxIdlePartBuffers = maxIdlePartBuffers;
+            return this;
+        }
+
+        /**
+         * Configures whether files smaller than the part size are uploaded with a
+         * single PutObject request instead of a multipart upload. When enabled, the
+         * multipart upload is started only after the first part is full. Enabled by
+         * default.
+         *
+         * @param enabled whether to use a single PutObject for small files
+         * @return this builder
+         */
+        public Builder singlePutForSmallFiles(boolean enabled) {
+            this.singlePutForSmallFiles = enabled;
+            return this;
+        }
+
         /**
          * Configures the S3 bucket and key by parsing a single S3 path string. The path
          * should be in the format s3://bucket/key or s3a://bucket/key. This is a
@@ -232,7 +313,8 @@ public interface S3OutputFile extends OutputFile {
             } else {
                 actualExecutor = createVirtualThreadExecutorWithCommonPoolFallback(DEFAULT_CONCURRENCY);
             }
-            return new S3OutputFileImpl(actualClient, bucket, key, actualExecutor);
+            return new S3OutputFileImpl(actualClient, bucket, key, actualExecutor, partSize, maxInFlightParts,
+                    maxIdlePartBuffers, singlePutForSmallFiles);
         }
 
     }
@@ -15,14 +15,17 @@
  */
 package com.jerolba.carpet.io.s3;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 
+import org.apache.parquet.bytes.ByteBufferInputStream;
 import org.apache.parquet.io.PositionOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +39,7 @@ import software.amazon.awssdk.services.s3.model.CompletedPart;
 import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 import software.amazon.awssdk.services.s3.model.UploadPartResponse;
 
@@ -45,16 +49,51 @@ class S3OutputFileImpl implements S3OutputFile {
 
     static final int MIN_PART_SIZE = 5 * 1024 * 1024;
 
+    static final int DEFAULT_MAX_IN_FLIGHT_PARTS = 8;
+
+    // Keeps the buffers of one stream with the default limit of parts in flight
+    static final int DEFAULT_MAX_IDLE_PART_BUFFERS = DEFAULT_MAX_IN_FLIGHT_PARTS + 1;
+
+    /**
+     * Part buffers are shared by all the output files with the same part size,
+     * so writing many files doesn't allocate new direct buffers for each one.
+     * Each pool keeps a bounded number of idle buffers.
+     */
+    private static final Map<PoolKey, PartBufferPool> SHARED_POOLS = new ConcurrentHashMap<>();
+
+    private record PoolKey(int partSize, int maxIdleBuffers) {
+    }
+
     private final S3Client client;
     private final String bucket;
     private final String key;
     private final Executor executor;
+    private final int partSize;
+    private final int maxInFlightParts;
+    private final int maxIdlePartBuffers;
+    private final boolean singlePutForSmallFiles;
 
     S3OutputFileImpl(S3Client client, String bucket, String key, Executor executor) {
+        this(client, bucket, key, executor, MIN_PART_SIZE, DEFAULT_MAX_IN_FLIGHT_PARTS,
+                DEFAULT_MAX_IDLE_PART_BUFFERS, true);
+    }
+
+    S3OutputFileImpl(S3Client client, String bucket, String key, Executor executor, int partSize,
+            int maxInFlightParts, int maxIdlePartBuffers, boolean singlePutForSmallFiles) {
         this.client = client;
         this.bucket = bucket;
         this.key = key;
         this.executor = executor;
+        this.partSize = partSize;
+        this.maxInFlightParts = maxInFlightParts;
+        this.maxIdlePartBuffers = maxIdlePartBuffers;
+        this.singlePutForSmallFiles = singlePutForSmallFiles;
+    }
+
+    // The shared pool only holds the free buffers, streams use pools derived from it
+    static PartBufferPool sharedPool(int partSize, int maxIdleBuffers) {
+        return SHARED_POOLS.computeIfAbsent(new PoolKey(partSize, maxIdleBuffers),
+                poolKey -> new PartBufferPool(partSize, 1, maxIdleBuffers));
     }
 
     @Override
@@ -67,7 +106,13 @@ class S3OutputFileImpl implements S3OutputFile {
 
     @Override
     public PositionOutputStream createOrOverwrite(long blockSizeHint) throws IOException {
-        return new S3MultipartPositionOutputStream(bucket, key, client, executor);
+        // One extra buffer lets the writer fill the next part while the others upload
+        PartBufferPool pool = sharedPool(partSize, maxIdlePartBuffers).withLimit(maxInFlightParts + 1);
+        var stream = new S3MultipartPositionOutputStream(bucket, key, client, executor, pool);
+        if (!singlePutForSmallFiles) {
+            stream.startMultipartUpload();
+        }
+        return stream;
     }
 
     @Override
@@ -107,18 +152,28 @@ class S3OutputFileImpl implements S3OutputFile {
         private final String key;
         private final S3Client client;
         private final Executor executor;
-        private final String uploadId;
+        private final PartBufferPool pool;
+        private String uploadId;
         private final List<CompletableFuture<CompletedPart>> futures = new ArrayList<>();
-        private ByteArrayOutputStream partBuffer = new ByteArrayOutputStream(MIN_PART_SIZE);
+        private ByteBuffer partBuffer;
         private long pos = 0;
         private boolean closed = false;
 
-        S3MultipartPositionOutputStream(String bucket, String key, S3Client client, Executor executor)
-                throws IOException {
+        S3MultipartPositionOutputStream(String bucket, String key, S3Client client, Executor executor,
+                PartBufferPool pool) {
             this.bucket = bucket;
             this.key = key;
             this.client = client;
             this.executor = executor;
+            this.pool = pool;
+        }
+
+        /**
+         * Starts the multipart upload. Until it is called, no request has been sent
+         * to S3, and if the stream is closed before the first part is full, the
+         * content is uploaded with a single PutObject request.
+         */
+        void startMultipartUpload() throws IOException {
             try {
                 this.uploadId = client.createMultipartUpload(
                         CreateMultipartUploadRequest.builder().bucket(bucket).key(key).build())
@@ -136,7 +191,7 @@ class S3OutputFileImpl implements S3OutputFile {
         @Override
         public void write(int b) throws IOException {
             ensureOpen();
-            partBuffer.write(b);
+            currentBuffer().put((byte) b);
             pos++;
             flushPartIfNeeded();
         }
@@ -144,9 +199,15 @@ class S3OutputFileImpl implements S3OutputFile {
         @Override
         public void write(byte[] b, int off, int len) throws IOException {
             ensureOpen();
-            partBuffer.write(b, off, len);
-            pos += len;
-            flushPartIfNeeded();
+            while (len > 0) {
+                ByteBuffer buffer = currentBuffer();
+                int toCopy = Math.min(len, buffer.remaining());
+                buffer.put(b, off, toCopy);
+                off += toCopy;
+                len -= toCopy;
+                pos += toCopy;
+                flushPartIfNeeded();
+            }
         }
 
         @Override
@@ -169,6 +230,10 @@ class S3OutputFileImpl implements S3OutputFile {
                 return;
             }
             closed = true;
+            if (uploadId == null) {
+                putSingleObject();
+                return;
+            }
             try {
                 flushFinalPart();
                 completeUpload(collectCompletedParts());
@@ -190,31 +255,107 @@ class S3OutputFileImpl implements S3OutputFile {
             }
         }
 
-        private void flushPartIfNeeded() {
-            if (partBuffer.size() >= MIN_PART_SIZE) {
+        /**
+         * Returns the buffer of the part being filled, taking a new one from the pool
+         * if needed. Blocks while the maximum number of parts are being uploaded.
+         */
+        private ByteBuffer currentBuffer() throws IOException {
+            if (partBuffer == null) {
+                try {
+                    partBuffer = pool.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while waiting for a free part buffer for s3://"
+                            + bucket + "/" + key, e);
+                }
+            }
+            return partBuffer;
+        }
+
+        private void flushPartIfNeeded() throws IOException {
+            if (!partBuffer.hasRemaining()) {
+                if (uploadId == null) {
+                    startPendingMultipartUpload();
+                }
                 uploadPart();
             }
         }
 
+        /**
+         * Starts the multipart upload once the first part is full. If it fails, the
+         * stream is closed because the buffered content can not be uploaded as a
+         * single object anymore.
+         */
+        private void startPendingMultipartUpload() throws IOException {
+            try {
+                startMultipartUpload();
+            } catch (IOException e) {
+                closed = true;
+                pool.release(partBuffer);
+                partBuffer = null;
+                if (executor instanceof CustomExecutor customExecutor) {
+                    customExecutor.shutdown();
+                }
+                throw e;
+            }
+        }
+
+        private void putSingleObject() throws IOException {
+            ByteBuffer data = partBuffer == null ? ByteBuffer.allocate(0) : partBuffer.flip();
+            int length = data.remaining();
+            logger.debug("Uploading s3://{}/{} with a single PutObject: length={}", bucket, key, length);
+            try {
+                client.putObject(PutObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentLength((long) length)
+                        .build(),
+                        RequestBody.fromContentProvider(() -> ByteBufferInputStream.wrap(data.duplicate()),
+                                length, "application/octet-stream"));
+            } catch (Exception e) {
+                throw new IOException("Failed to upload S3 object: s3://" + bucket + "/" + key, e);
+            } finally {
+                if (partBuffer != null) {
+                    pool.release(partBuffer);
+                    partBuffer = null;
+                }
+                if (executor instanceof CustomExecutor customExecutor) {
+                    customExecutor.shutdown();
+                }
+            }
+        }
+
         private void flushFinalPart() {
-            if (partBuffer.size() > 0) {
+            if (partBuffer == null) {
+                return;
+            }
+            if (partBuffer.position() > 0) {
                 uploadPart();
+            } else {
+                pool.release(partBuffer);
+                partBuffer = null;
             }
         }
 
         private void uploadPart() {
             int partNumber = futures.size() + 1;
-            byte[] data = partBuffer.toByteArray();
-            partBuffer.reset();
-            long partStartPos = pos - data.length;
-            CompletableFuture<CompletedPart> future = CompletableFuture.supplyAsync(
-                    () -> uploadPartS3(partNumber, partStartPos, data), executor);
-            futures.add(future);
+            ByteBuffer data = partBuffer.flip();
+            partBuffer = null;
+            long partStartPos = pos - data.remaining();
+            CompletableFuture<CompletedPart> future;
+            try {
+                future = CompletableFuture.supplyAsync(() -> uploadPartS3(partNumber, partStartPos, data), executor);
+            } catch (RuntimeException e) {
+                pool.release(data);
+                throw e;
+            }
+            futures.add(future.whenComplete((part, error) -> pool.release(data)));
         }
 
-        private CompletedPart uploadPartS3(int partNumber, long startPos, byte[] data) {
+        private CompletedPart uploadPartS3(int partNumber, long startPos, ByteBuffer data) {
+            int length = data.remaining();
             logger.debug("Uploading part {} to s3://{}/{}: position={}, length={}",
-                    partNumber, bucket, key, startPos, data.length);
+                    partNumber, bucket, key, startPos, length);
             long startTime = System.nanoTime();
             UploadPartResponse response = client.uploadPart(
                     UploadPartRequest.builder()
@@ -222,12 +363,14 @@ class S3OutputFileImpl implements S3OutputFile {
                             .key(key)
                             .uploadId(uploadId)
                             .partNumber(partNumber)
-                            .contentLength((long) data.length)
+                            .contentLength((long) length)
                             .build(),
-                    RequestBody.fromBytes(data));
+                    // Streams the pooled buffer on each attempt without copying it to the heap
+                    RequestBody.fromContentProvider(() -> ByteBufferInputStream.wrap(data.duplicate()),
+                            length, "application/octet-stream"));
             long elapsedMs = (System.nanoTime() - startTime) / 1_000_000;
             logger.debug("Uploaded part {} to s3://{}/{}: position={}, length={} bytes in {} ms",
-                    partNumber, bucket, key, startPos, data.length, elapsedMs);
+                    partNumber, bucket, key, startPos, length, elapsedMs);
             return CompletedPart.builder()
                     .partNumber(partNumber)
                     .eTag(response.eTag())
@@ -16,14 +16,26 @@
 package com.jerolba.carpet.io.s3;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
@@ -38,16 +50,29 @@ class S3SeekableReader implements SeekableReader {
 
     private static final Logger logger = LoggerFactory.getLogger(S3SeekableReader.class);
 
+    private static final int DOWNLOAD_CHUNK_SIZE = 8 * 1024 * 1024; // 8 MB
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
     private final S3Client client;
     private final String bucket;
     private final String key;
+    private final Duration rangeTimeout;
     private Long fileLength;
     private String etag;
 
     public S3SeekableReader(S3Client client, String bucket, String key) {
+        this(client, bucket, key, null);
+    }
+
+    /**
+     * @param rangeTimeout maximum duration of each ranged GET attempt, or null to
+     *                     use the timeouts configured in the S3 client
+     */
+    public S3SeekableReader(S3Client client, String bucket, String key, Duration rangeTimeout) {
         this.client = client;
         this.bucket = bucket;
         this.key = key;
+        this.rangeTimeout = rangeTimeout;
     }
 
     @Override
@@ -111,12 +136,41 @@ class S3SeekableReader implements SeekableReader {
 
     private GetObjectRequest createGetRequest(long pos, int len) {
         String range = String.format("bytes=%d-%d", pos, pos + len - 1);
-        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+        GetObjectRequest.Builder builder = GetObjectRequest.builder()
                 .bucket(bucket)
                 .key(key)
-                .range(range)
-                .build();
-        return getObjectRequest;
+                .range(range);
+        if (rangeTimeout != null) {
+            builder.overrideConfiguration(config -> config.apiCallAttemptTimeout(rangeTimeout));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Opens a streaming GET request of the object content between the given
+     * positions. The request is conditional on the ETag of the object, so all
+     * streams opened for the same file read the same version of it.
+     *
+     * @param from the first byte to read
+     * @param to   the position after the last byte to read
+     * @return the stream with the content of the range, that must be closed or
+     *         aborted by the caller
+     * @throws IOException if the request fails
+     */
+    public ResponseInputStream<GetObjectResponse> openStream(long from, long to) throws IOException {
+        getLength(); // Get etag and length
+        logger.debug("openStream() - Opening stream: offset={}, length={}", from, to - from);
+        try {
+            return client.getObject(GetObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .range(String.format("bytes=%d-%d", from, to - 1))
+                    .ifMatch(etag)
+                    .build());
+        } catch (Exception e) {
+            throw new IOException("Failed to open stream from S3 object: " + bucket + "/" + key +
+                    " at position " + from + " for " + (to - from) + " bytes", e);
+        }
     }
 
     @Override
@@ -126,32 +180,104 @@ class S3SeekableReader implements SeekableReader {
     }
 
     /**
-     * Downloads the S3 object to a local file in the system's temporary directory.
-     * The file name is constructed using the S3 object key file name and ETag to
-     * ensure uniqueness and avoid conflicts.
+     * Downloads the S3 object to the local file cache configured by system
+     * properties. Chunks are downloaded sequentially.
      *
      * @return the Path to the downloaded local file
      * @throws IOException if an error occurs while downloading the file
+     * @see #downloadToLocalFile(LocalFileCache, Executor)
      */
     public Path downloadToLocalFile() throws IOException {
-        getLength(); // Get etag and length
-        String tmpDir = System.getProperty("java.io.tmpdir");
+        return downloadToLocalFile(LocalFileCache.fromSystemProperties(), null);
+    }
+
+    /**
+     * Downloads the S3 object to a local file in the given cache directory. The
+     * file name is constructed using the S3 object key file name and ETag to
+     * ensure uniqueness and avoid conflicts. If the file is already in the cache,
+     * it is reused without downloading it again.
+     *
+     * The object is downloaded in chunks of {@code DOWNLOAD_CHUNK_SIZE} bytes with
+     * ranged requests, conditional on the ETag of the object, that are written at
+     * their position in a temporary file. The file is renamed to its final name
+     * once all chunks have been written.
+     *
+     * @param cache    the cache where the file is downloaded
+     * @param executor the executor used to download chunks concurrently, or null
+     *                 to download them sequentially
+     * @return the Path to the downloaded local file
+     * @throws IOException if an error occurs while downloading the file
+     */
+    public Path downloadToLocalFile(LocalFileCache cache, Executor executor) throws IOException {
+        long length = getLength(); // Get etag and length
         String targetFileName = buildTargetFileName(key, etag);
-        Path targetPath = Path.of(tmpDir, targetFileName);
-        if (targetPath.toFile().exists() && Files.size(targetPath) == getLength()) {
-            logger.info("Using cached local file for S3 object: {}", targetPath);
-            return targetPath;
+        Path cached = cache.lookup(targetFileName, length);
+        if (cached != null) {
+            logger.info("Using cached local file for S3 object: {}", cached);
+            return cached;
         }
-        logger.info("Downloading S3 object to local file: s3://{}/{} -> {}", bucket, key, targetPath);
+        Path download = cache.newDownloadFile(targetFileName, length);
+        logger.info("Downloading S3 object to local file: s3://{}/{} -> {}", bucket, key, download);
         try {
-            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(key)
-                    .build();
-            client.getObject(getObjectRequest, targetPath);
-            return targetPath;
-        } catch (Exception e) {
-            throw new IOException("Failed to download S3 object: " + bucket + "/" + key, e);
+            try (FileChannel channel = FileChannel.open(download, StandardOpenOption.WRITE)) {
+                downloadChunks(channel, length, executor);
+            }
+            return cache.commit(download, targetFileName);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(download);
+            throw e;
+        }
+    }
+
+    private void downloadChunks(FileChannel channel, long length, Executor executor) throws IOException {
+        if (executor == null) {
+            for (long from = 0; from < length; from += DOWNLOAD_CHUNK_SIZE) {
+                downloadChunk(channel, from, Math.min(from + DOWNLOAD_CHUNK_SIZE, length));
+            }
+            return;
+        }
+        AtomicBoolean failed = new AtomicBoolean(false);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (long from = 0; from < length; from += DOWNLOAD_CHUNK_SIZE) {
+            long chunkFrom = from;
+            long chunkTo = Math.min(from + DOWNLOAD_CHUNK_SIZE, length);
+            futures.add(CompletableFuture.runAsync(() -> {
+                if (failed.get()) {
+                    return; // Skip pending chunks once a chunk has failed
+                }
+                try {
+                    downloadChunk(channel, chunkFrom, chunkTo);
+                } catch (IOException e) {
+                    failed.set(true);
+                    throw new UncheckedIOException(e);
+                }
+            }, executor));
+        }
+        try {
+            // allOf completes when all chunks complete, keeping the channel open until then
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IOException("Failed to download S3 object: " + bucket + "/" + key, e.getCause());
+        }
+    }
+
+    private void downloadChunk(FileChannel channel, long from, long to) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long pos = from;
+        try (InputStream in = openStream(from, to)) {
+            while (pos < to) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, to - pos));
+                if (read < 0) {
+                    throw new IOException("Unexpected end of S3 object " + bucket + "/" + key + " at position " + pos);
+                }
+                ByteBuffer data = ByteBuffer.wrap(buffer, 0, read);
+                while (data.hasRemaining()) {
+                    pos += channel.write(data, pos);
+                }
+            }
         }
     }
 
@@ -0,0 +1,302 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.io.s3;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import software.amazon.awssdk.http.Abortable;
+
+/**
+ * SeekableReader optimized for full sequential scans. Instead of a ranged GET
+ * request per read, it keeps a small number of long-lived streaming GET
+ * requests, and serves each read from the stream whose position matches it.
+ * <p>
+ * Each stream is consumed by a background task that reads ahead up to
+ * {@code BUFFER_SIZE} bytes, so the network transfer continues while the
+ * Parquet reader decodes the data already received. Streams cover consecutive
+ * spans of {@code SPAN_SIZE} bytes: when a span is finished, the next one is
+ * requested by the same task until the end of the file.
+ * </p>
+ * <p>
+ * A read that starts a few bytes after the position of a stream (for example,
+ * because a column is not projected) skips the gap in that stream. Small reads
+ * that do not match any stream, like page indexes or bloom filters, are
+ * delegated to ranged reads, and larger ones open a new stream, closing the
+ * least recently used one if the maximum number of streams is reached.
+ * </p>
+ */
+class StreamingSeekableReader implements SeekableReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingSeekableReader.class);
+
+    static final int MAX_STREAMS = 2;
+    static final long SPAN_SIZE = 128 * 1024 * 1024; // 128 MB
+    static final int CHUNK_SIZE = 1024 * 1024; // 1 MB
+    static final int BUFFER_SIZE = 16 * 1024 * 1024; // 16 MB per stream
+    static final int MAX_SKIP = 4 * 1024 * 1024; // 4 MB
+    static final int MIN_STREAM_READ = 64 * 1024; // 64 KB
+
+    /**
+     * Opens a stream with the content of the file between two positions.
+     */
+    @FunctionalInterface
+    interface RangeStreamOpener {
+
+        InputStream open(long from, long to) throws IOException;
+
+    }
+
+    private final SeekableReader reader;
+    private final RangeStreamOpener opener;
+    private final CustomExecutor executor;
+    private final long fileLength;
+    private final long spanSize;
+    private final List<PrefetchedStream> streams = new ArrayList<>();
+
+    StreamingSeekableReader(SeekableReader reader, RangeStreamOpener opener, CustomExecutor executor)
+            throws IOException {
+        this(reader, opener, executor, SPAN_SIZE);
+    }
+
+    StreamingSeekableReader(SeekableReader reader, RangeStreamOpener opener, CustomExecutor executor,
+            long spanSize) throws IOException {
+        this.reader = reader;
+        this.opener = opener;
+        this.executor = executor;
+        this.fileLength = reader.getLength();
+        this.spanSize = spanSize;
+    }
+
+    @Override
+    public long getLength() throws IOException {
+        return fileLength;
+    }
+
+    @Override
+    public int readFully(long pos, byte[] b, int off, int len) throws IOException {
+        return readFully(pos, ByteBuffer.wrap(b, off, len));
+    }
+
+    @Override
+    public synchronized int readFully(long pos, ByteBuffer byteBuffer) throws IOException {
+        int len = byteBuffer.remaining();
+        if (pos + len > fileLength) {
+            throw new IOException("Requested " + len + " bytes at position " + pos
+                    + " beyond file length " + fileLength);
+        }
+        PrefetchedStream stream = findStream(pos);
+        if (stream == null) {
+            if (len < MIN_STREAM_READ) {
+                return reader.readFully(pos, byteBuffer);
+            }
+            stream = openStream(pos);
+        }
+        streams.remove(stream);
+        streams.add(stream); // most recently used at the end
+        try {
+            stream.read(pos, byteBuffer);
+        } catch (IOException e) {
+            streams.remove(stream);
+            stream.close();
+            throw e;
+        }
+        return len;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (PrefetchedStream stream : streams) {
+            stream.close();
+        }
+        streams.clear();
+        executor.shutdown();
+        reader.close();
+    }
+
+    private PrefetchedStream findStream(long pos) {
+        for (PrefetchedStream stream : streams) {
+            long gap = pos - stream.position();
+            if (gap >= 0 && gap <= MAX_SKIP) {
+                return stream;
+            }
+        }
+        return null;
+    }
+
+    private PrefetchedStream openStream(long pos) {
+        if (streams.size() >= MAX_STREAMS) {
+            streams.remove(0).close();
+        }
+        logger.debug("Opening streaming read at position {}", pos);
+        PrefetchedStream stream = new PrefetchedStream(pos);
+        executor.execute(stream::prefetch);
+        streams.add(stream);
+        return stream;
+    }
+
+    /**
+     * A chunk of bytes read from a stream, or the error found reading it.
+     */
+    private record Chunk(byte[] data, int length, IOException error) {
+    }
+
+    /**
+     * Sequential stream from a position to the end of the file, read ahead by a
+     * background task into a bounded queue of chunks. Chunks are recycled once
+     * they have been consumed.
+     */
+    private class PrefetchedStream {
+
+        private final BlockingQueue<Chunk> chunks = new ArrayBlockingQueue<>(BUFFER_SIZE / CHUNK_SIZE);
+        private final ConcurrentLinkedQueue<byte[]> freeChunks = new ConcurrentLinkedQueue<>();
+        private final long start;
+        private volatile boolean closed = false;
+        private volatile InputStream current;
+        private Chunk chunk;
+        private int chunkOffset;
+        private long position;
+
+        PrefetchedStream(long start) {
+            this.start = start;
+            this.position = start;
+        }
+
+        long position() {
+            return position;
+        }
+
+        void read(long pos, ByteBuffer target) throws IOException {
+            skip(pos - position);
+            while (target.hasRemaining()) {
+                Chunk available = nextChunk();
+                int toCopy = Math.min(target.remaining(), available.length() - chunkOffset);
+                target.put(available.data(), chunkOffset, toCopy);
+                consume(toCopy);
+            }
+        }
+
+        private void skip(long bytes) throws IOException {
+            while (bytes > 0) {
+                Chunk available = nextChunk();
+                int toSkip = (int) Math.min(bytes, available.length() - chunkOffset);
+                consume(toSkip);
+                bytes -= toSkip;
+            }
+        }
+
+        private void consume(int bytes) {
+            chunkOffset += bytes;
+            position += bytes;
+            if (chunkOffset == chunk.length()) {
+                freeChunks.add(chunk.data());
+                chunk = null;
+            }
+        }
+
+        private Chunk nextChunk() throws IOException {
+            if (chunk == null) {
+                try {
+                    chunk = chunks.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while waiting for streamed data", e);
+                }
+                chunkOffset = 0;
+                if (chunk.error() != null) {
+                    IOException error = chunk.error();
+                    chunk = null;
+                    throw error;
+                }
+            }
+            return chunk;
+        }
+
+        /**
+         * Background task that reads consecutive spans from the stream position to
+         * the end of the file, blocking while the queue of chunks is full.
+         */
+        void prefetch() {
+            long spanStart = start;
+            try {
+                while (!closed && spanStart < fileLength) {
+                    long spanEnd = Math.min(spanStart + spanSize, fileLength);
+                    try (InputStream in = opener.open(spanStart, spanEnd)) {
+                        current = in;
+                        long remaining = spanEnd - spanStart;
+                        while (!closed && remaining > 0) {
+                            byte[] data = freeChunks.poll();
+                            if (data == null) {
+                                data = new byte[CHUNK_SIZE];
+                            }
+                            int length = in.readNBytes(data, 0, (int) Math.min(CHUNK_SIZE, remaining));
+                            if (length == 0) {
+                                throw new IOException("Unexpected end of stream at position " + (spanEnd - remaining));
+                            }
+                            remaining -= length;
+                            enqueue(new Chunk(data, length, null));
+                        }
+                    }
+                    spanStart = spanEnd;
+                }
+            } catch (IOException e) {
+                if (!closed) {
+                    enqueueError(e);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void enqueueError(IOException error) {
+            try {
+                enqueue(new Chunk(null, 0, error));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void enqueue(Chunk newChunk) throws InterruptedException {
+            while (!closed) {
+                if (chunks.offer(newChunk, 100, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        }
+
+        void close() {
+            closed = true;
+            InputStream in = current;
+            if (in instanceof Abortable abortable) {
+                // Avoids draining the remaining content of the span on close
+                abortable.abort();
+            }
+            chunks.clear();
+        }
+
+    }
+
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.io.s3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyTrackerTest {
+
+    private static final int MB = 1024 * 1024;
+
+    @Test
+    void noEstimationWithoutEnoughSamples() {
+        LatencyTracker tracker = new LatencyTracker();
+        for (int i = 0; i < 10; i++) {
+            tracker.record(MB, 1_000_000);
+        }
+        assertEquals(-1, tracker.percentileNanos(95, MB));
+    }
+
+    @Test
+    void percentileOfRecordedLatencies() {
+        LatencyTracker tracker = new LatencyTracker();
+        for (int i = 1; i <= 100; i++) {
+            tracker.record(MB, i * 1_000_000L);
+        }
+        assertEquals(95_000_000L, tracker.percentileNanos(95, MB));
+        assertEquals(50_000_000L, tracker.percentileNanos(50, MB));
+    }
+
+    @Test
+    void smallRangesAreNormalizedToMinimumLength() {
+        LatencyTracker tracker = new LatencyTracker();
+        for (int i = 0; i < 20; i++) {
+            tracker.record(1024, 10_000_000L);
+        }
+        assertEquals(10_000_000L, tracker.percentileNanos(90, 1024));
+        assertEquals(10_000_000L, tracker.percentileNanos(90, MB));
+    }
+
+    @Test
+    void estimationScalesWithRangeLength() {
+        LatencyTracker tracker = new LatencyTracker();
+        for (int i = 0; i < 20; i++) {
+            tracker.record(2 * MB, 20_000_000L);
+        }
+        assertEquals(10_000_000L, tracker.percentileNanos(90, MB));
+        assertEquals(80_000_000L, tracker.percentileNanos(90, 8 * MB));
+    }
+
+    @Test
+    void windowKeepsLatestSamples() {
+        LatencyTracker tracker = new LatencyTracker();
+        for (int i = 0; i < 256; i++) {
+            tracker.record(MB, 100_000_000L);
+        }
+        for (int i = 0; i < 256; i++) {
+            tracker.record(MB, 1_000_000L);
+        }
+        assertEquals(1_000_000L, tracker.percentileNanos(99, MB));
+    }
+
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.io.s3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LocalFileCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private Path cachedFile(LocalFileCache cache, String name, int size, long lastModified) throws IOException {
+        Path download = cache.newDownloadFile(name, size);
+        Files.write(download, new byte[size]);
+        Path path = cache.commit(download, name);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(lastModified));
+        return path;
+    }
+
+    @Test
+    void invalidMaxSizeThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new LocalFileCache(directory, 0));
+    }
+
+    @Nested
+    class Lookup {
+
+        @Test
+        void missingFileIsNotFound() throws IOException {
+            var cache = new LocalFileCache(directory, 1000);
+            assertNull(cache.lookup("file_etag.parquet", 10));
+        }
+
+        @Test
+        void committedFileIsFound() throws IOException {
+            var cache = new LocalFileCache(directory, 1000);
+            Path path = cachedFile(cache, "file_etag.parquet", 10, 1000);
+
+            assertEquals(path, cache.lookup("file_etag.parquet", 10));
+            assertEquals(directory.resolve("file_etag.parquet"), path);
+        }
+
+        @Test
+        void fileWithDifferentLengthIsNotFound() throws IOException {
+            var cache = new LocalFileCache(directory, 1000);
+            cachedFile(cache, "file_etag.parquet", 10, 1000);
+
+            assertNull(cache.lookup("file_etag.parquet", 20));
+        }
+
+        @Test
+        void lookupMarksFileAsRecentlyUsed() throws IOException {
+            var cache = new LocalFileCache(directory, 1000);
+            Path path = cachedFile(cache, "file_etag.parquet", 10, 1000);
+
+            cache.lookup("file_etag.parquet", 10);
+            assertTrue(Files.getLastModifiedTime(path).toMillis() > 1000);
+        }
+
+        @Test
+        void downloadsInProgressAreNotFound() throws IOException {
+            var cache = new LocalFileCache(directory, 1000);
+            Path download = cache.newDownloadFile("file_etag.parquet", 10);
+            Files.write(download, new byte[10]);
+
+            assertNull(cache.lookup("file_etag.parquet", 10));
+            assertTrue(download.getFileName().toString().endsWith(LocalFileCache.DOWNLOAD_SUFFIX));
+        }
+
+    }
+
+    @Nested
+    class Eviction {
+
+        @Test
+        void filesAreKeptWhileTheyFit() throws IOException {
+            var cache = new LocalFileCache(directory, 100);
+            cachedFile(cache, "a", 40, 1000);
+            cachedFile(cache, "b", 40, 2000);
+            cache.newDownloadFile("c", 20);
+
+            assertNotNull(cache.lookup("a", 40));
+            assertNotNull(cache.lookup("b", 40));
+        }
+
+        @Test
+        void leastRecentlyUsedFilesAreEvicted() throws IOException {
+            var cache = new LocalFileCache(directory, 100);
+            cachedFile(cache, "a", 40, 3000);
+            cachedFile(cache, "b", 40, 1000);
+            cachedFile(cache, "c", 10, 2000);
+            cache.newDownloadFile("d", 50);
+
+            assertNotNull(cache.lookup("a", 40));
+            assertNull(cache.lookup("b", 40));
+            assertNotNull(cache.lookup("c", 10));
+        }
+
+        @Test
+        void allFilesAreEvictedForFilesLargerThanTheCache() throws IOException {
+            var cache = new LocalFileCache(directory, 100);
+            cachedFile(cache, "a", 40, 1000);
+            cachedFile(cache, "b", 40, 2000);
+            Path download = cache.newDownloadFile("c", 200);
+
+            assertNull(cache.lookup("a", 40));
+            assertNull(cache.lookup("b", 40));
+            assertTrue(Files.exists(download));
+        }
+
+        @Test
+        void staleDownloadsAreDeleted() throws IOException {
+            var cache = new LocalFileCache(directory, 100);
+            Path stale = cache.newDownloadFile("a", 10);
+            long staleTime = System.currentTimeMillis() - LocalFileCache.STALE_DOWNLOAD_AGE.toMillis() - 1000;
+            Files.setLastModifiedTime(stale, FileTime.fromMillis(staleTime));
+            Path recent = cache.newDownloadFile("b", 10);
+            Files.setLastModifiedTime(recent, FileTime.fromMillis(System.currentTimeMillis()
+                    - Duration.ofHours(1).toMillis()));
+
+            cache.newDownloadFile("c", 10);
+            assertFalse(Files.exists(stale));
+            assertTrue(Files.exists(recent));
+        }
+
+    }
+
+    @Test
+    void directoryIsCreatedOnFirstDownload() throws IOException {
+        Path nested = directory.resolve("nested/cache");
+        var cache = new LocalFileCache(nested, 100);
+        assertNull(cache.lookup("a", 10));
+
+        Path download = cache.newDownloadFile("a", 10);
+        assertEquals(nested, download.getParent());
+    }
+
+}
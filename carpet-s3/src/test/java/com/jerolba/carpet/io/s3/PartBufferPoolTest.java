@@ -0,0 +1,159 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.io.s3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+class PartBufferPoolTest {
+
+    @Test
+    void acquireReturnsDirectBufferOfConfiguredSize() throws InterruptedException {
+        PartBufferPool pool = new PartBufferPool(1024, 2);
+        ByteBuffer buffer = pool.acquire();
+        assertTrue(buffer.isDirect());
+        assertEquals(1024, buffer.capacity());
+        assertEquals(0, buffer.position());
+        assertEquals(1024, buffer.remaining());
+    }
+
+    @Test
+    void releasedBufferIsReusedAndCleared() throws InterruptedException {
+        PartBufferPool pool = new PartBufferPool(1024, 1);
+        ByteBuffer first = pool.acquire();
+        first.put(new byte[100]).flip();
+        pool.release(first);
+
+        ByteBuffer second = pool.acquire();
+        assertSame(first, second);
+        assertEquals(0, second.position());
+        assertEquals(1024, second.limit());
+    }
+
+    @Test
+    void acquireBlocksUntilBufferIsReleased() throws Exception {
+        PartBufferPool pool = new PartBufferPool(1024, 2);
+        ByteBuffer first = pool.acquire();
+        pool.acquire();
+
+        CompletableFuture<ByteBuffer> blocked = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.acquire();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertThrows(TimeoutException.class, () -> blocked.get(200, TimeUnit.MILLISECONDS));
+        assertFalse(blocked.isDone());
+
+        pool.release(first);
+        assertSame(first, blocked.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void releaseFromOtherThreadUnblocksAcquire() throws InterruptedException, ExecutionException {
+        PartBufferPool pool = new PartBufferPool(16, 1);
+        for (int i = 0; i < 100; i++) {
+            ByteBuffer buffer = pool.acquire();
+            CompletableFuture.runAsync(() -> pool.release(buffer)).get();
+        }
+        assertEquals(16, pool.acquire().capacity());
+    }
+
+    @Test
+    void poolsWithLimitShareFreeBuffers() throws InterruptedException {
+        PartBufferPool shared = new PartBufferPool(1024, 1);
+        PartBufferPool firstStream = shared.withLimit(2);
+        ByteBuffer first = firstStream.acquire();
+        firstStream.release(first);
+
+        PartBufferPool secondStream = shared.withLimit(2);
+        assertSame(first, secondStream.acquire());
+        assertEquals(1024, secondStream.acquire().capacity());
+    }
+
+    @Test
+    void poolsWithLimitKeepTheirOwnLimit() throws Exception {
+        PartBufferPool shared = new PartBufferPool(1024, 1);
+        PartBufferPool firstStream = shared.withLimit(1);
+        PartBufferPool secondStream = shared.withLimit(1);
+        ByteBuffer first = firstStream.acquire();
+        assertEquals(1024, secondStream.acquire().capacity());
+
+        CompletableFuture<ByteBuffer> blocked = CompletableFuture.supplyAsync(() -> {
+            try {
+                return firstStream.acquire();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertThrows(TimeoutException.class, () -> blocked.get(200, TimeUnit.MILLISECONDS));
+        firstStream.release(first);
+        assertSame(first, blocked.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void outputFilesShareThePoolOfTheirPartSize() {
+        assertSame(S3OutputFileImpl.sharedPool(S3OutputFileImpl.MIN_PART_SIZE, 2),
+                S3OutputFileImpl.sharedPool(S3OutputFileImpl.MIN_PART_SIZE, 2));
+    }
+
+    @Test
+    void releasedBuffersOverIdleLimitAreDropped() throws InterruptedException {
+        PartBufferPool shared = new PartBufferPool(1024, 1, 2);
+        PartBufferPool stream = shared.withLimit(4);
+        List<ByteBuffer> buffers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            buffers.add(stream.acquire());
+        }
+        buffers.forEach(stream::release);
+        assertEquals(2, shared.idleBuffers());
+        assertSame(buffers.get(1), stream.acquire());
+        assertSame(buffers.get(0), stream.acquire());
+        assertEquals(0, shared.idleBuffers());
+    }
+
+    @Test
+    void poolWithoutIdleBuffersAllocatesNewBuffers() throws InterruptedException {
+        PartBufferPool pool = new PartBufferPool(1024, 1, 0);
+        ByteBuffer first = pool.acquire();
+        pool.release(first);
+        assertEquals(0, pool.idleBuffers());
+        assertNotSame(first, pool.acquire());
+    }
+
+    @Test
+    void invalidConfigurationThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new PartBufferPool(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new PartBufferPool(1024, 0));
+        assertThrows(IllegalArgumentException.class, () -> new PartBufferPool(1024, 1, -1));
+    }
+
+}
@@ -0,0 +1,216 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.io.s3;
+
+import static com.jerolba.carpet.io.s3.SeekableReaderHelper.readerOf;
+import static com.jerolba.carpet.io.s3.SeekableReaderHelper.sequentialBytes;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class ResilientSeekableReaderTest {
+
+    private static final RangeReadPolicy NO_RETRIES = RangeReadPolicy.defaultPolicy();
+
+    /**
+     * SeekableReader that fails the first {@code failures} reads before
+     * delegating to the given reader.
+     */
+    private static class FailingReader implements SeekableReader {
+
+        private final SeekableReader delegate;
+        private final AtomicInteger pendingFailures;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        FailingReader(SeekableReader delegate, int failures) {
+            this.delegate = delegate;
+            this.pendingFailures = new AtomicInteger(failures);
+        }
+
+        @Override
+        public long getLength() throws IOException {
+            return delegate.getLength();
+        }
+
+        @Override
+        public int readFully(long pos, byte[] b, int off, int len) throws IOException {
+            calls.incrementAndGet();
+            if (pendingFailures.getAndDecrement() > 0) {
+                b[off] = -1;
+                throw new IOException("Forced failure");
+            }
+            return delegate.readFully(pos, b, off, len);
+        }
+
+        @Override
+        public int readFully(long pos, ByteBuffer byteBuffer) throws IOException {
+            calls.incrementAndGet();
+            if (pendingFailures.getAndDecrement() > 0) {
+                byteBuffer.put((byte) -1);
+                throw new IOException("Forced failure");
+            }
+            return delegate.readFully(pos, byteBuffer);
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+
+    @Nested
+    class Retries {
+
+        @Test
+        void readSucceedsWithoutRetries() throws IOException {
+            byte[] data = sequentialBytes(100);
+            var reader = new ResilientSeekableReader(readerOf(data), NO_RETRIES.withMaxRetries(2), null,
+                    new LatencyTracker());
+            byte[] result = new byte[10];
+            assertEquals(10, reader.readFully(20, result, 0, 10));
+            assertArrayEquals(Arrays.copyOfRange(data, 20, 30), result);
+        }
+
+        @Test
+        void failedReadIsRetried() throws IOException {
+            byte[] data = sequentialBytes(100);
+            var failing = new FailingReader(readerOf(data), 2);
+            var reader = new ResilientSeekableReader(failing, NO_RETRIES.withMaxRetries(2), null,
+                    new LatencyTracker());
+            byte[] result = new byte[10];
+            reader.readFully(20, result, 0, 10);
+            assertArrayEquals(Arrays.copyOfRange(data, 20, 30), result);
+            assertEquals(3, failing.calls.get());
+        }
+
+        @Test
+        void failedByteBufferReadIsRetriedFromOriginalPosition() throws IOException {
+            byte[] data = sequentialBytes(100);
+            var failing = new FailingReader(readerOf(data), 1);
+            var reader = new ResilientSeekableReader(failing, NO_RETRIES.withMaxRetries(1), null,
+                    new LatencyTracker());
+            ByteBuffer buffer = ByteBuffer.allocate(15);
+            buffer.position(5);
+            assertEquals(10, reader.readFully(40, buffer));
+            assertEquals(15, buffer.position());
+            buffer.flip().position(5);
+            for (int i = 0; i < 10; i++) {
+                assertEquals(40 + i, buffer.get() & 0xFF);
+            }
+        }
+
+        @Test
+        void failsWhenRetriesAreExhausted() {
+            var failing = new FailingReader(readerOf(sequentialBytes(100)), 3);
+            var reader = new ResilientSeekableReader(failing, NO_RETRIES.withMaxRetries(2), null,
+                    new LatencyTracker());
+            assertThrows(IOException.class, () -> reader.readFully(0, new byte[10], 0, 10));
+            assertEquals(3, failing.calls.get());
+        }
+    }
+
+    @Nested
+    class Hedging {
+
+        @Test
+        void readsWithoutSamplesDoNotHedge() throws IOException {
+            byte[] data = sequentialBytes(100);
+            var failing = new FailingReader(readerOf(data), 0);
+            CustomExecutor executor = CustomExecutor.createCustomExecutor(4);
+            try (var reader = new ResilientSeekableReader(failing, NO_RETRIES.withHedgePercentile(90.0), executor,
+                    new LatencyTracker())) {
+                ByteBuffer buffer = ByteBuffer.allocate(10);
+                reader.readFully(50, buffer);
+                assertEquals(50, buffer.get(0) & 0xFF);
+                assertEquals(1, failing.calls.get());
+            }
+        }
+
+        @Test
+        void slowReadIsHedged() throws IOException, InterruptedException {
+            byte[] data = sequentialBytes(100);
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger calls = new AtomicInteger();
+            SeekableReader slowFirstRead = new SeekableReader() {
+
+                @Override
+                public long getLength() {
+                    return data.length;
+                }
+
+                @Override
+                public int readFully(long pos, byte[] b, int off, int len) throws IOException {
+                    if (calls.incrementAndGet() == 1) {
+                        try {
+                            release.await(10, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            throw new IOException(e);
+                        }
+                    }
+                    System.arraycopy(data, (int) pos, b, off, len);
+                    return len;
+                }
+
+                @Override
+                public int readFully(long pos, ByteBuffer byteBuffer) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void close() {
+                    release.countDown();
+                }
+            };
+            LatencyTracker latencies = new LatencyTracker();
+            for (int i = 0; i < 32; i++) {
+                latencies.record(10, 1_000_000);
+            }
+            CustomExecutor executor = CustomExecutor.createCustomExecutor(4);
+            try (var reader = new ResilientSeekableReader(slowFirstRead, NO_RETRIES.withHedgePercentile(90.0),
+                    executor, latencies)) {
+                long start = System.nanoTime();
+                byte[] result = new byte[10];
+                reader.readFully(30, result, 0, 10);
+                long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+                assertArrayEquals(Arrays.copyOfRange(data, 30, 40), result);
+                assertEquals(2, calls.get());
+                assertTrue(elapsedMs < 5_000, "Hedged read took " + elapsedMs + " ms");
+            }
+        }
+
+        @Test
+        void hedgedReadFailsWhenAllAttemptsFail() throws IOException {
+            var failing = new FailingReader(readerOf(sequentialBytes(100)), 10);
+            CustomExecutor executor = CustomExecutor.createCustomExecutor(4);
+            try (var reader = new ResilientSeekableReader(failing, NO_RETRIES.withHedgePercentile(90.0), executor,
+                    new LatencyTracker())) {
+                assertThrows(IOException.class, () -> reader.readFully(0, new byte[10], 0, 10));
+            }
+        }
+    }
+
+}
@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -70,6 +71,15 @@ class S3InputFileLocalTest {
         assertInstanceOf(S3InputFileImpl.class, inputFile);
     }
 
+    @Test
+    void invalidRangeReadPolicyThrows() {
+        var builder = S3InputFile.builder("s3://bucket/key");
+        assertThrows(IllegalArgumentException.class, () -> builder.rangeReadTimeout(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> builder.rangeReadRetries(-1));
+        assertThrows(IllegalArgumentException.class, () -> builder.hedgeRangeReadsAbovePercentile(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.hedgeRangeReadsAbovePercentile(100));
+    }
+
     @Test
     void nonExistentPathIsNotDetectedAsLocal() {
         String nonExistent = tempDir.resolve("non-existent.parquet").toString();
@@ -30,6 +30,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.stream.IntStream;
 
@@ -313,6 +314,41 @@ class S3InputFileTest {
             assertEquals(seqResult, parResult);
             assertEquals(expected, seqResult);
         }
+
+        @Test
+        void readWithRangeReadPolicy() throws IOException {
+            var expected = IntStream.range(0, 500)
+                    .mapToObj(i -> new SimpleRecord(i, "policy-" + i, i * 1.5))
+                    .toList();
+            byte[] parquetBytes = writeParquetBytes(SimpleRecord.class, expected);
+            String url = "s3://test-bucket/read-range-policy.parquet";
+            uploadToS3(url, parquetBytes);
+
+            var inputFile = S3InputFile.builder(url)
+                    .concurrency(4)
+                    .rangeReadTimeout(Duration.ofSeconds(30))
+                    .rangeReadRetries(2)
+                    .hedgeRangeReadsAbovePercentile(95)
+                    .build();
+            List<SimpleRecord> actual = new CarpetReader<>(inputFile, SimpleRecord.class).toList();
+            assertEquals(expected, actual);
+        }
+
+        @Test
+        void readWithStreamingReads() throws IOException {
+            var expected = IntStream.range(0, 50_000)
+                    .mapToObj(i -> new SimpleRecord(i, "streaming-" + i, i * 1.5))
+                    .toList();
+            byte[] parquetBytes = writeParquetBytes(SimpleRecord.class, expected);
+            String url = "s3://test-bucket/read-streaming.parquet";
+            uploadToS3(url, parquetBytes);
+
+            var inputFile = S3InputFile.builder(url)
+                    .streamingReads(true)
+                    .build();
+            List<SimpleRecord> actual = new CarpetReader<>(inputFile, SimpleRecord.class).toList();
+            assertEquals(expected, actual);
+        }
     }
 
     @Nested
@@ -73,6 +73,18 @@ class S3OutputFileLocalTest {
         assertInstanceOf(S3OutputFileImpl.class, outputFile);
     }
 
+    @Test
+    void partSizeLowerThanMinimumThrows() {
+        var builder = S3OutputFile.builder("s3://bucket/key");
+        assertThrows(IllegalArgumentException.class, () -> builder.partSize(S3OutputFileImpl.MIN_PART_SIZE - 1));
+    }
+
+    @Test
+    void maxInFlightPartsMustBePositive() {
+        var builder = S3OutputFile.builder("s3://bucket/key");
+        assertThrows(IllegalArgumentException.class, () -> builder.maxInFlightParts(0));
+    }
+
     @Test
     void nonExistentParentDirectoryIsNotDetectedAsLocal() {
         String nonExistentParent = tempDir.resolve("nonexistent").resolve("output.parquet").toString();
@@ -260,6 +260,75 @@ class S3OutputFileTest {
             assertEquals(expected.get(recordCount - 1), actual.get(recordCount - 1));
             assertEquals(expected, actual);
         }
+
+        @Test
+        void writeLargeFileWithCustomPartSizeAndOneInFlightPart() throws IOException {
+            int recordCount = 40_000;
+            String url = "s3://test-bucket/write-large-custom-parts.parquet";
+
+            var expected = IntStream.range(0, recordCount)
+                    .mapToObj(i -> new HeavyRecord(i, i * 2L, makePayload(i)))
+                    .toList();
+
+            var outputFile = S3OutputFile.builder(url)
+                    .partSize(S3OutputFileImpl.MIN_PART_SIZE + 1024 * 1024)
+                    .maxInFlightParts(1)
+                    .build();
+            try (CarpetWriter<HeavyRecord> writer = new CarpetWriter<>(outputFile, HeavyRecord.class)) {
+                writer.write(expected);
+            }
+
+            List<HeavyRecord> actual = new CarpetReader<>(S3InputFile.of(url), HeavyRecord.class).toList();
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Nested
+    class SmallFiles {
+
+        @Test
+        void smallFileIsUploadedWithSinglePut() throws IOException {
+            String url = "s3://test-bucket/small-single-put.parquet";
+            var expected = List.of(new SimpleRecord(1, "Alice", 10.5), new SimpleRecord(2, "Bob", 20.3));
+
+            var outputFile = S3OutputFile.builder(url).singlePutForSmallFiles(true).build();
+            try (CarpetWriter<SimpleRecord> writer = new CarpetWriter<>(outputFile, SimpleRecord.class)) {
+                writer.write(expected);
+            }
+
+            List<SimpleRecord> actual = new CarpetReader<>(S3InputFile.of(url), SimpleRecord.class).toList();
+            assertEquals(expected, actual);
+        }
+
+        @Test
+        void smallFileIsUploadedWithMultipartIfDisabled() throws IOException {
+            String url = "s3://test-bucket/small-multipart.parquet";
+            var expected = List.of(new SimpleRecord(1, "Alice", 10.5), new SimpleRecord(2, "Bob", 20.3));
+
+            var outputFile = S3OutputFile.builder(url).singlePutForSmallFiles(false).build();
+            try (CarpetWriter<SimpleRecord> writer = new CarpetWriter<>(outputFile, SimpleRecord.class)) {
+                writer.write(expected);
+            }
+
+            List<SimpleRecord> actual = new CarpetReader<>(S3InputFile.of(url), SimpleRecord.class).toList();
+            assertEquals(expected, actual);
+        }
+
+        @Test
+        void emptyStreamCreatesEmptyObject() throws IOException {
+            String url = "s3://test-bucket/empty-stream.bin";
+            try (PositionOutputStream out = S3OutputFile.of(url).createOrOverwrite(0)) {
+                assertEquals(0, out.getPos());
+            }
+
+            try (S3Client s3Client = S3Client.create()) {
+                var head = s3Client.headObject(HeadObjectRequest.builder()
+                        .bucket(BUCKET_NAME)
+                        .key("empty-stream.bin")
+                        .build());
+                assertEquals(0, head.contentLength());
+            }
+        }
     }
 
     @Nested
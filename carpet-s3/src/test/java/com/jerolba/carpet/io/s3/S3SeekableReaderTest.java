@@ -21,6 +21,7 @@ import static com.jerolba.carpet.io.s3.S3ContainerHelper.createS3LocalStackConta
 import static com.jerolba.carpet.io.s3.S3ContainerHelper.stopLocalStack;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -28,11 +29,13 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Random;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.testcontainers.localstack.LocalStackContainer;
 
 import software.amazon.awssdk.core.sync.RequestBody;
@@ -380,6 +383,46 @@ class S3SeekableReaderTest {
             assertThrows(IOException.class, reader::downloadToLocalFile);
         }
 
+        @Test
+        void downloadsChunksConcurrentlyToCacheDirectory(@TempDir Path cacheDir) throws IOException {
+            String largeKey = "large-download.parquet";
+            byte[] largeData = new byte[20 * 1024 * 1024 + 123];
+            new Random(42).nextBytes(largeData);
+            putObject(largeKey, largeData);
+
+            var cache = new LocalFileCache(cacheDir, 100 * 1024 * 1024);
+            CustomExecutor executor = CustomExecutor.createCustomExecutor(4);
+            try (var reader = new S3SeekableReader(s3Client, BUCKET_NAME, largeKey)) {
+                Path localPath = reader.downloadToLocalFile(cache, executor);
+
+                assertEquals(cacheDir, localPath.getParent());
+                assertArrayEquals(largeData, Files.readAllBytes(localPath));
+                try (var files = Files.list(cacheDir)) {
+                    assertEquals(1, files.count());
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        @Test
+        void evictsLeastRecentlyUsedFilesOverBudget(@TempDir Path cacheDir) throws IOException {
+            putObject("first.parquet", testData);
+            putObject("second.parquet", testData);
+            var cache = new LocalFileCache(cacheDir, testData.length + testData.length / 2);
+
+            Path first;
+            try (var reader = new S3SeekableReader(s3Client, BUCKET_NAME, "first.parquet")) {
+                first = reader.downloadToLocalFile(cache, null);
+            }
+            Path second;
+            try (var reader = new S3SeekableReader(s3Client, BUCKET_NAME, "second.parquet")) {
+                second = reader.downloadToLocalFile(cache, null);
+            }
+            assertFalse(Files.exists(first));
+            assertArrayEquals(testData, Files.readAllBytes(second));
+        }
+
         @Test
         void fileNameUsesOnlyLastSegmentOfKeyWithPath() throws IOException {
             String keyWithPath = "path/to/nested-object.parquet";
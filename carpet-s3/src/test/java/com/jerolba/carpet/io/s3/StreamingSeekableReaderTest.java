@@ -0,0 +1,243 @@
+/**
+ * Copyright 2026 Jerónimo López Bezanilla
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jerolba.carpet.io.s3;
+
+import static com.jerolba.carpet.io.s3.SeekableReaderHelper.readerOf;
+import static com.jerolba.carpet.io.s3.SeekableReaderHelper.sequentialBytes;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class StreamingSeekableReaderTest {
+
+    private static final int SIZE = 10 * 1024 * 1024;
+    private static final byte[] DATA = sequentialBytes(SIZE);
+
+    /**
+     * Opens streams over an in-memory array, recording the requested ranges.
+     */
+    private static class RecordingOpener implements StreamingSeekableReader.RangeStreamOpener {
+
+        private final byte[] data;
+        private final List<long[]> ranges = new CopyOnWriteArrayList<>();
+        private final int failAfter;
+
+        RecordingOpener(byte[] data) {
+            this(data, -1);
+        }
+
+        RecordingOpener(byte[] data, int failAfter) {
+            this.data = data;
+            this.failAfter = failAfter;
+        }
+
+        @Override
+        public InputStream open(long from, long to) throws IOException {
+            ranges.add(new long[] { from, to });
+            InputStream in = new ByteArrayInputStream(data, (int) from, (int) (to - from));
+            if (failAfter < 0) {
+                return in;
+            }
+            return new InputStream() {
+
+                private int read = 0;
+
+                @Override
+                public int read() throws IOException {
+                    if (read++ >= failAfter) {
+                        throw new IOException("Connection reset");
+                    }
+                    return in.read();
+                }
+
+            };
+        }
+
+    }
+
+    /**
+     * SeekableReader that counts the ranged reads delegated to it.
+     */
+    private static class CountingReader implements SeekableReader {
+
+        private final SeekableReader delegate;
+        private final AtomicInteger reads = new AtomicInteger();
+
+        CountingReader(SeekableReader delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public long getLength() throws IOException {
+            return delegate.getLength();
+        }
+
+        @Override
+        public int readFully(long pos, byte[] b, int off, int len) throws IOException {
+            reads.incrementAndGet();
+            return delegate.readFully(pos, b, off, len);
+        }
+
+        @Override
+        public int readFully(long pos, ByteBuffer byteBuffer) throws IOException {
+            reads.incrementAndGet();
+            return delegate.readFully(pos, byteBuffer);
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+    }
+
+    private static StreamingSeekableReader streaming(SeekableReader reader, RecordingOpener opener, long spanSize)
+            throws IOException {
+        return new StreamingSeekableReader(reader, opener, CustomExecutor.createCustomExecutor(2), spanSize);
+    }
+
+    private static byte[] read(SeekableReader reader, long pos, int len) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(len);
+        reader.readFully(pos, buffer);
+        return buffer.array();
+    }
+
+    private static byte[] expected(long pos, int len) {
+        return Arrays.copyOfRange(DATA, (int) pos, (int) pos + len);
+    }
+
+    @Nested
+    class SequentialReads {
+
+        @Test
+        void fullScanUsesASingleStream() throws IOException {
+            RecordingOpener opener = new RecordingOpener(DATA);
+            CountingReader ranged = new CountingReader(readerOf(DATA));
+            try (var reader = streaming(ranged, opener, SIZE)) {
+                int chunk = 700 * 1024;
+                for (long pos = 0; pos < SIZE; pos += chunk) {
+                    int len = (int) Math.min(chunk, SIZE - pos);
+                    assertArrayEquals(expected(pos, len), read(reader, pos, len));
+                }
+            }
+            assertEquals(1, opener.ranges.size());
+            assertEquals(0, ranged.reads.get());
+        }
+
+        @Test
+        void streamContinuesWithNextSpans() throws IOException {
+            RecordingOpener opener = new RecordingOpener(DATA);
+            try (var reader = streaming(readerOf(DATA), opener, 3 * 1024 * 1024)) {
+                assertArrayEquals(expected(100_000, SIZE - 100_000), read(reader, 100_000, SIZE - 100_000));
+            }
+            assertEquals(4, opener.ranges.size());
+            assertArrayEquals(new long[] { 100_000, 100_000 + 3 * 1024 * 1024 }, opener.ranges.get(0));
+            assertArrayEquals(new long[] { 9_537_184, SIZE }, opener.ranges.get(3));
+        }
+
+        @Test
+        void smallGapsAreSkippedInTheStream() throws IOException {
+            RecordingOpener opener = new RecordingOpener(DATA);
+            try (var reader = streaming(readerOf(DATA), opener, SIZE)) {
+                assertArrayEquals(expected(0, 100_000), read(reader, 0, 100_000));
+                assertArrayEquals(expected(2_000_000, 100_000), read(reader, 2_000_000, 100_000));
+                assertArrayEquals(expected(5_000_000, 10), read(reader, 5_000_000, 10));
+            }
+            assertEquals(1, opener.ranges.size());
+        }
+
+    }
+
+    @Nested
+    class NonSequentialReads {
+
+        @Test
+        void smallReadsUseRangedReads() throws IOException {
+            RecordingOpener opener = new RecordingOpener(DATA);
+            CountingReader ranged = new CountingReader(readerOf(DATA));
+            try (var reader = streaming(ranged, opener, SIZE)) {
+                assertArrayEquals(expected(SIZE - 1000, 1000), read(reader, SIZE - 1000, 1000));
+            }
+            assertEquals(0, opener.ranges.size());
+            assertEquals(1, ranged.reads.get());
+        }
+
+        @Test
+        void backwardReadsOpenANewStream() throws IOException {
+            RecordingOpener opener = new RecordingOpener(DATA);
+            try (var reader = streaming(readerOf(DATA), opener, SIZE)) {
+                assertArrayEquals(expected(8_000_000, 200_000), read(reader, 8_000_000, 200_000));
+                assertArrayEquals(expected(1_000_000, 200_000), read(reader, 1_000_000, 200_000));
+                assertArrayEquals(expected(8_200_000, 200_000), read(reader, 8_200_000, 200_000));
+                assertArrayEquals(expected(1_200_000, 200_000), read(reader, 1_200_000, 200_000));
+            }
+            assertEquals(2, opener.ranges.size());
+        }
+
+        @Test
+        void leastRecentlyUsedStreamIsClosed() throws IOException {
+            RecordingOpener opener = new RecordingOpener(DATA);
+            try (var reader = streaming(readerOf(DATA), opener, SIZE)) {
+                read(reader, 9_000_000, 100_000);
+                read(reader, 0, 100_000);
+                read(reader, 4_500_000, 100_000);
+                assertArrayEquals(expected(100_000, 100_000), read(reader, 100_000, 100_000));
+                assertArrayEquals(expected(9_100_000, 100_000), read(reader, 9_100_000, 100_000));
+            }
+            assertEquals(4, opener.ranges.size());
+            assertArrayEquals(new long[] { 9_100_000, SIZE }, opener.ranges.get(3));
+        }
+
+    }
+
+    @Nested
+    class Errors {
+
+        @Test
+        void streamErrorsArePropagated() throws IOException {
+            RecordingOpener opener = new RecordingOpener(DATA, 1_500_000);
+            try (var reader = streaming(readerOf(DATA), opener, SIZE)) {
+                assertArrayEquals(expected(0, 1_000_000), read(reader, 0, 1_000_000));
+                IOException e = assertThrows(IOException.class, () -> read(reader, 1_000_000, 1_000_000));
+                assertEquals("Connection reset", e.getMessage());
+                // A new stream is opened in the next read
+                assertArrayEquals(expected(1_000_000, 100_000), read(reader, 1_000_000, 100_000));
+            }
+            assertEquals(2, opener.ranges.size());
+        }
+
+        @Test
+        void readsBeyondLengthFail() throws IOException {
+            try (var reader = streaming(readerOf(DATA), new RecordingOpener(DATA), SIZE)) {
+                assertThrows(IOException.class, () -> read(reader, SIZE - 10, 100));
+            }
+        }
+
+    }
+
+}